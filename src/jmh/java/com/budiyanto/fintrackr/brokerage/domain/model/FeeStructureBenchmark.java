@@ -0,0 +1,45 @@
+package com.budiyanto.fintrackr.brokerage.domain.model;
+
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FeeStructure#computeBuyFee} over a mix of share and fund-unit trades.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeeStructureBenchmark {
+
+    private static final int SIZE = 1_000;
+
+    private final FeeStructure feeStructure = FeeStructure.of(Percentage.of(new BigDecimal("0.0015")), Percentage.of(new BigDecimal("0.0025")));
+    private final Quantity[] quantities = new Quantity[SIZE];
+    private final Money[] prices = new Money[SIZE];
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < SIZE; i++) {
+            quantities[i] = i % 2 == 0
+                    ? Quantity.ofShares(100L * (i % 50 + 1))
+                    : Quantity.ofUnits(BigDecimal.valueOf(1_000_000L + 7_919L * i, 4));
+            prices[i] = Money.of(1_000L + 13L * i);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void computeBuyFee(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(feeStructure.computeBuyFee(quantities[i], prices[i]));
+        }
+    }
+}
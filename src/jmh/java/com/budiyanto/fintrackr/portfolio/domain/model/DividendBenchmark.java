@@ -0,0 +1,82 @@
+package com.budiyanto.fintrackr.portfolio.domain.model;
+
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.BrokerAccountId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Backfilling ten years of dividends, two a year, onto a portfolio that traded one asset {@code trades} times
+ * over those years.
+ * <p>
+ * {@code backfill} records every declaration with one {@code recordDividends}, which sweeps the holding
+ * intervals once; {@code backfillLegacy} records them one {@code recordDividend} at a time, each sweeping the
+ * intervals up to its own cum date. Each iteration starts from a fresh portfolio, so the score is time per
+ * dividend.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class DividendBenchmark {
+
+    private static final int DIVIDENDS = 20;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2016, 1, 4);
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+    private static final AssetId ASSET = AssetId.of("ID1000118201");
+    private static final Money DPS = Money.of(150L);
+
+    @Param({"1000", "10000"})
+    public int trades;
+
+    private final List<DividendDeclaration> declarations = new ArrayList<>(DIVIDENDS);
+    private Portfolio portfolio;
+
+    @Setup(Level.Trial)
+    public void setUpDeclarations() {
+        for (int i = 0; i < DIVIDENDS; i++) {
+            LocalDate cumDate = FIRST_DAY.plusMonths(3 + 6L * i);
+            declarations.add(new DividendDeclaration(ASSET, DPS, cumDate, cumDate.plusDays(14)));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpPortfolio() {
+        portfolio = Portfolio.create(BrokerAccountId.generate(), "Benchmark");
+        portfolio.recordDeposit(Money.of(trades * 1_000_000L), FIRST_DAY, TODAY);
+        int span = (int) (TODAY.toEpochDay() - FIRST_DAY.toEpochDay());
+        for (int i = 0; i < trades; i++) {
+            LocalDate date = FIRST_DAY.plusDays((long) i * span / trades);
+            if (i % 3 == 2) {
+                // every third trade sells part of what the previous two bought
+                portfolio.recordSell(ASSET, Quantity.ofShares(100L), Money.of(5_000L), Money.zero(), date, new AcquisitionSelectionStrategy.Fifo(), TODAY);
+            } else {
+                portfolio.recordBuy(ASSET, Quantity.ofShares(100L), Money.of(4_500L), Money.zero(), date, TODAY);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DIVIDENDS)
+    public List<Money> backfill() {
+        return portfolio.recordDividends(declarations, TODAY);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DIVIDENDS)
+    public Money backfillLegacy() {
+        Money received = Money.zero();
+        for (DividendDeclaration declaration : declarations) {
+            received = received.add(portfolio.recordDividend(declaration.assetId(), declaration.dps(), declaration.cumDate(), declaration.paymentDate(), TODAY));
+        }
+        return received;
+    }
+}
@@ -0,0 +1,64 @@
+package com.budiyanto.fintrackr.portfolio.domain.model;
+
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.BrokerAccountId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A dashboard refresh on a portfolio with {@code trades} trades in one asset: mark a new price, then read the
+ * portfolio's returns.
+ * <p>
+ * {@code refresh} reads the incrementally kept figures; {@code refreshLegacy} recomputes them by replaying the
+ * ledger first, as a per-request computation would.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PerformanceBenchmark {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2016, 1, 4);
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+    private static final AssetId ASSET = AssetId.of("ID1000118201");
+    private static final Money PRICE = Money.of(9_000L);
+
+    @Param({"1000", "100000"})
+    public int trades;
+
+    private Portfolio portfolio;
+
+    @Setup
+    public void setUp() {
+        portfolio = Portfolio.create(BrokerAccountId.generate(), "Benchmark");
+        portfolio.recordDeposit(Money.of(trades * 1_000_000L), FIRST_DAY, TODAY);
+        int span = (int) (TODAY.toEpochDay() - FIRST_DAY.toEpochDay());
+        for (int i = 0; i < trades; i++) {
+            LocalDate date = FIRST_DAY.plusDays((long) i * span / trades);
+            if (i % 3 == 2) {
+                portfolio.recordSell(ASSET, Quantity.ofShares(100L), Money.of(5_000L), Money.zero(), date, new AcquisitionSelectionStrategy.Fifo(), TODAY);
+            } else {
+                portfolio.recordBuy(ASSET, Quantity.ofShares(100L), Money.of(4_500L), Money.zero(), date, TODAY);
+            }
+        }
+    }
+
+    @Benchmark
+    public Performance refresh() {
+        portfolio.markPrice(ASSET, PRICE, TODAY);
+        return portfolio.performance();
+    }
+
+    @Benchmark
+    public Performance refreshLegacy() {
+        Portfolio recomputed = Portfolio.replay(portfolio.id(), portfolio.brokerAccountId(), portfolio.name(), portfolio.transactions());
+        recomputed.markPrice(ASSET, PRICE, TODAY);
+        return recomputed.performance();
+    }
+}
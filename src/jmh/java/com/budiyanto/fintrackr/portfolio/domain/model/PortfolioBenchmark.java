@@ -0,0 +1,231 @@
+package com.budiyanto.fintrackr.portfolio.domain.model;
+
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.BrokerAccountId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appending to a {@link Portfolio} whose ledger already holds {@code ledgerSize} transactions.
+ * <p>
+ * Each iteration rebuilds the portfolio and then times one batch of {@value #BATCH} appends, so the ledger stays
+ * at its parameterised size instead of growing with the iteration time. The score is therefore time per append
+ * (ops/s is its inverse), and {@code gc.alloc.rate.norm} is bytes allocated per append. Read benchmarks time a
+ * batch of {@value #QUERIES} queries, and load benchmarks {@value #LOADS} loads, the same way. Their {@code Legacy} variants scan the whole ledger per query, so
+ * at the largest sizes expect long iterations, or narrow the run with {@code -p ledgerSize=...}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PortfolioBenchmark {
+
+    private static final int BATCH = 1_000;
+    private static final int QUERIES = 100;
+    private static final int LOADS = 10;
+    private static final LocalDate FIRST_DATE = LocalDate.of(2020, 1, 2);
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+    private static final long HISTORY_DAYS = ChronoUnit.DAYS.between(FIRST_DATE, TODAY);
+    private static final AssetId[] ASSETS = {
+            AssetId.of("ID1000118201"), AssetId.of("ID1000094204"), AssetId.of("IDN000053402")
+    };
+
+    @Param({"10", "100", "1000", "10000", "100000", "1000000"})
+    public int ledgerSize;
+
+    private final Money depositAmount = Money.of(10_000_000L);
+    private final Quantity quantity = Quantity.ofShares(100L);
+    private final Money price = Money.of(4_500L);
+    private final Money fee = Money.of(675L);
+    private final LocalDate[] queryDates = new LocalDate[QUERIES];
+    private final List<PortfolioCommand> commands = new ArrayList<>(BATCH);
+    private Portfolio portfolio;
+    private PortfolioSnapshot snapshot;
+    private LedgerSource ledgerSource;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        portfolio = Portfolio.create(BrokerAccountId.generate(), "Benchmark");
+        for (int i = 0; i < ledgerSize; i++) {
+            // Alternate deposits and buys spread evenly over the history, oldest first
+            LocalDate date = FIRST_DATE.plusDays(i * HISTORY_DAYS / ledgerSize);
+            if (i % 2 == 0) {
+                portfolio.recordDeposit(depositAmount, date, TODAY);
+            } else {
+                portfolio.recordBuy(ASSETS[i % ASSETS.length], quantity, price, fee, date, TODAY);
+            }
+        }
+        for (int i = 0; i < QUERIES; i++) {
+            queryDates[i] = FIRST_DATE.plusDays((i * 7_919L) % HISTORY_DAYS);
+        }
+        commands.clear();
+        for (int i = 0; i < BATCH; i++) {
+            commands.add(i % 2 == 0
+                    ? new PortfolioCommand.RecordDeposit(depositAmount, TODAY)
+                    : new PortfolioCommand.RecordBuy(ASSETS[i % ASSETS.length], quantity, price, fee, TODAY));
+        }
+        // Headroom for a full batch of buys
+        portfolio.recordDeposit(Money.of(BATCH * 500_000L), TODAY, TODAY);
+        snapshot = portfolio.takeSnapshot();
+        ledgerSource = LedgerSource.of(List.copyOf(portfolio.transactions()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Money recordDeposit() {
+        for (int i = 0; i < BATCH; i++) {
+            portfolio.recordDeposit(depositAmount, TODAY, TODAY);
+        }
+        return portfolio.tradingBalance();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Money recordBuy() {
+        for (int i = 0; i < BATCH; i++) {
+            portfolio.recordBuy(ASSETS[i % ASSETS.length], quantity, price, fee, TODAY, TODAY);
+        }
+        return portfolio.tradingBalance();
+    }
+
+    // The same mix of deposits and buys as one all-or-nothing batch
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Money recordBatch() {
+        portfolio.recordBatch(commands, TODAY);
+        return portfolio.tradingBalance();
+    }
+
+    // What the same commands cost before batching: one record call each
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Money recordBatchLegacy() {
+        for (int i = 0; i < BATCH; i++) {
+            if (commands.get(i) instanceof PortfolioCommand.RecordBuy buy) {
+                portfolio.recordBuy(buy.assetId(), buy.quantity(), buy.price(), buy.fee(), buy.date(), TODAY);
+            } else {
+                portfolio.recordDeposit(depositAmount, TODAY, TODAY);
+            }
+        }
+        return portfolio.tradingBalance();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long holdingLookup() {
+        long open = 0;
+        for (int i = 0; i < BATCH; i++) {
+            open += portfolio.holding(ASSETS[i % ASSETS.length]).map(holding -> holding.totalQuantity().value().signum()).orElse(0);
+        }
+        return open;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int readLedger() {
+        int sizes = 0;
+        for (int i = 0; i < BATCH; i++) {
+            sizes += portfolio.transactions().size() + portfolio.acquisitions().size();
+        }
+        return sizes;
+    }
+
+    // What every read cost before the ledger handed out views: a defensive copy of both lists
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int readLedgerLegacy() {
+        int sizes = 0;
+        for (int i = 0; i < BATCH; i++) {
+            sizes += List.copyOf(portfolio.transactions()).size() + List.copyOf(portfolio.acquisitions()).size();
+        }
+        return sizes;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOADS)
+    public Money load() {
+        Money balance = null;
+        for (int i = 0; i < LOADS; i++) {
+            balance = Portfolio.restore(portfolio.id(), portfolio.brokerAccountId(), portfolio.name(), snapshot, ledgerSource).tradingBalance();
+        }
+        return balance;
+    }
+
+    // What a load cost before snapshots and the paged ledger: a replay of the whole ledger
+    @Benchmark
+    @OperationsPerInvocation(LOADS)
+    public Money loadLegacy() {
+        Money balance = null;
+        for (int i = 0; i < LOADS; i++) {
+            balance = Portfolio.replay(portfolio.id(), portfolio.brokerAccountId(), portfolio.name(), ledgerSource).tradingBalance();
+        }
+        return balance;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public long balanceAsOf() {
+        long sum = 0;
+        for (LocalDate date : queryDates) {
+            sum += portfolio.tradingBalanceAsOf(date).signum();
+        }
+        return sum;
+    }
+
+    // What a point-in-time balance cost before the date index: a full ledger scan
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public long balanceAsOfLegacy() {
+        long sum = 0;
+        for (LocalDate date : queryDates) {
+            Money balance = Money.zero();
+            for (Transaction transaction : portfolio.transactions()) {
+                if (!transaction.date().isAfter(date)) {
+                    balance = balance.add(transaction.cashDelta());
+                }
+            }
+            sum += balance.signum();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public long monthlyStatement() {
+        long sum = 0;
+        for (LocalDate date : queryDates) {
+            sum += portfolio.transactionsBetween(date.withDayOfMonth(1), date.withDayOfMonth(date.lengthOfMonth())).size();
+        }
+        return sum;
+    }
+
+    // What a statement cost before the date index: scan, filter and sort the ledger
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public long monthlyStatementLegacy() {
+        long sum = 0;
+        for (LocalDate date : queryDates) {
+            LocalDate from = date.withDayOfMonth(1);
+            LocalDate to = date.withDayOfMonth(date.lengthOfMonth());
+            List<Transaction> statement = new ArrayList<>();
+            for (Transaction transaction : portfolio.transactions()) {
+                if (!transaction.date().isBefore(from) && !transaction.date().isAfter(to)) {
+                    statement.add(transaction);
+                }
+            }
+            statement.sort(Comparator.comparing(Transaction::date));
+            sum += statement.size();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,96 @@
+package com.budiyanto.fintrackr.portfolio.domain.model;
+
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.BrokerAccountId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selling out of a holding of {@code openLots} lots of 100 shares, {@value #SELLS} sells of 250 shares each, so
+ * every sell spans three lots.
+ * <p>
+ * {@code sell} lets {@code recordSell} pick lots from the holding's indices; {@code sellLegacy} sorts the open
+ * Acquisitions on every sell, as a selection without indices would, and records the same lots as
+ * {@link AcquisitionSelectionStrategy.Manual}. Each iteration starts from a fresh portfolio, so the score is
+ * time per sell.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class SellBenchmark {
+
+    private static final int SELLS = 100;
+    private static final Quantity LOT = Quantity.ofShares(100L);
+    private static final Quantity SOLD = Quantity.ofShares(250L);
+    private static final Money PRICE = Money.of(9_000L);
+    private static final Money FEE = Money.of(2_500L);
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+    private static final AssetId ASSET = AssetId.of("ID1000118201");
+
+    @Param({"500", "2000"})
+    public int openLots;
+
+    @Param({"FIFO", "HIGHEST_COST"})
+    public String strategy;
+
+    private Portfolio portfolio;
+
+    @Setup(Level.Iteration)
+    public void setUpPortfolio() {
+        portfolio = Portfolio.create(BrokerAccountId.generate(), "Benchmark");
+        LocalDate firstDay = TODAY.minusDays(openLots);
+        portfolio.recordDeposit(Money.of(openLots * 1_000_000L), firstDay, TODAY);
+        for (int i = 0; i < openLots; i++) {
+            long price = 4_000L + (i * 7_919L) % 4_000L; // scattered, so cost order differs from date order
+            portfolio.recordBuy(ASSET, LOT, Money.of(price), FEE, firstDay.plusDays(i), TODAY);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SELLS)
+    public Money sell() {
+        AcquisitionSelectionStrategy selection = "FIFO".equals(strategy)
+                ? new AcquisitionSelectionStrategy.Fifo()
+                : new AcquisitionSelectionStrategy.HighestCost();
+        Money proceeds = Money.zero();
+        for (int i = 0; i < SELLS; i++) {
+            proceeds = proceeds.add(portfolio.recordSell(ASSET, SOLD, PRICE, FEE, TODAY, selection, TODAY));
+        }
+        return proceeds;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SELLS)
+    public Money sellLegacy() {
+        Comparator<Acquisition> order = "FIFO".equals(strategy)
+                ? Comparator.comparing(Acquisition::openDate)
+                : Comparator.comparing(Acquisition::unitCost).reversed();
+        Money proceeds = Money.zero();
+        for (int i = 0; i < SELLS; i++) {
+            List<Acquisition> open = new ArrayList<>(portfolio.holding(ASSET).orElseThrow().openAcquisitions());
+            open.sort(order);
+            List<AcquisitionSelectionStrategy.Manual.Lot> lots = new ArrayList<>();
+            Quantity outstanding = SOLD;
+            for (Acquisition acquisition : open) {
+                if (outstanding.isZero()) {
+                    break;
+                }
+                Quantity shares = acquisition.remainingQuantity().compareTo(outstanding) <= 0 ? acquisition.remainingQuantity() : outstanding;
+                lots.add(new AcquisitionSelectionStrategy.Manual.Lot(acquisition.id(), shares));
+                outstanding = outstanding.subtract(shares);
+            }
+            proceeds = proceeds.add(portfolio.recordSell(ASSET, SOLD, PRICE, FEE, TODAY, new AcquisitionSelectionStrategy.Manual(lots), TODAY));
+        }
+        return proceeds;
+    }
+}
@@ -0,0 +1,93 @@
+package com.budiyanto.fintrackr.portfolio.domain.model;
+
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.BrokerAccountId;
+import com.budiyanto.fintrackr.shared.DomainException;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingesting a statement of {@value #ROWS} rows of which {@code invalidPercent} break a rule.
+ * <p>
+ * {@code ingest} validates every row without throwing and records the accepted ones as one batch;
+ * {@code ingestLegacy} calls the throwing {@code record…} methods row by row and catches each rejection. Both
+ * record the same rows. Each iteration starts from a fresh portfolio, so the score is time per row.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final LocalDate DATE = LocalDate.of(2026, 6, 20);
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+    private static final AssetId ASSET = AssetId.of("ID1000118201");
+
+    @Param({"0", "50", "90", "99"})
+    public int invalidPercent;
+
+    private final List<PortfolioCommand> commands = new ArrayList<>(ROWS);
+    private Portfolio portfolio;
+
+    @Setup(Level.Trial)
+    public void setUpCommands() {
+        Money fee = Money.of(675L);
+        for (int i = 0; i < ROWS; i++) {
+            boolean invalid = i % 100 < invalidPercent;
+            commands.add(switch (i % 4) {
+                // Rows with a wrong sign, a zero quantity, or a date past the statement's end
+                case 0 -> new PortfolioCommand.RecordDeposit(Money.of(invalid ? -10_000L : 10_000_000L), DATE);
+                case 1 -> new PortfolioCommand.RecordBuy(ASSET, Quantity.ofShares(invalid ? 0L : 100L), Money.of(4_500L), fee, DATE);
+                case 2 -> new PortfolioCommand.RecordDeposit(Money.of(10_000_000L), invalid ? TODAY.plusDays(1) : DATE);
+                default -> new PortfolioCommand.RecordBuy(ASSET, Quantity.ofShares(100L), Money.of(4_500L), invalid ? fee.negate() : fee, DATE);
+            });
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpPortfolio() {
+        portfolio = Portfolio.create(BrokerAccountId.generate(), "Benchmark");
+        portfolio.recordDeposit(Money.of(ROWS * 500_000L), DATE, TODAY); // every valid buy is funded
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int ingest() {
+        List<Validation> validations = portfolio.validate(commands, TODAY);
+        List<PortfolioCommand> accepted = new ArrayList<>(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            if (validations.get(i) instanceof Validation.Accepted) {
+                accepted.add(commands.get(i));
+            }
+        }
+        portfolio.recordBatch(accepted, TODAY);
+        return accepted.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int ingestLegacy() {
+        int accepted = 0;
+        for (PortfolioCommand command : commands) {
+            try {
+                switch (command) {
+                    case PortfolioCommand.RecordDeposit deposit -> portfolio.recordDeposit(deposit.amount(), deposit.date(), TODAY);
+                    case PortfolioCommand.RecordBuy buy -> portfolio.recordBuy(buy.assetId(), buy.quantity(), buy.price(), buy.fee(), buy.date(), TODAY);
+                }
+                accepted++;
+            } catch (DomainException e) {
+                // rejected row
+            }
+        }
+        return accepted;
+    }
+}
@@ -0,0 +1,129 @@
+package com.budiyanto.fintrackr.portfolio.domain.service;
+
+import com.budiyanto.fintrackr.portfolio.domain.model.Portfolio;
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.BrokerAccountId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Returns over {@code flows} deposits, spread over ten years.
+ * <p>
+ * {@code xirr} and {@code twr} run on {@link CashFlows}; {@code xirrLegacy} solves the same XIRR with plain
+ * Newton steps over a list of dated flows, discounting each with {@code Math.pow} through a stream, as a
+ * straightforward implementation would. {@code returnsOf} measures {@value #PORTFOLIOS} portfolios splitting
+ * the deposits between them, one a day, in parallel from their ledgers; {@code returnsOfSequential} measures them one after
+ * another.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReturnBenchmark {
+
+    private static final int PORTFOLIOS = 16;
+    private static final int SPAN_DAYS = 3_650;
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+    private static final AssetId ASSET = AssetId.of("ID1000118201");
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int flows;
+
+    private final ReturnCalculator calculator = new ReturnCalculator();
+    private CashFlows cashFlows;
+    private List<Flow> legacyFlows;
+    private List<Portfolio> portfolios;
+
+    private record Flow(LocalDate date, double amount) {
+    }
+
+    @Setup
+    public void setUp() {
+        int[] days = new int[flows];
+        double[] contributions = new double[flows];
+        double[] valuesBefore = new double[flows];
+        legacyFlows = new ArrayList<>(flows + 1);
+        int firstDay = (int) TODAY.minusDays(SPAN_DAYS).toEpochDay();
+        double value = 0;
+        for (int i = 0; i < flows; i++) {
+            days[i] = firstDay + (int) ((long) i * SPAN_DAYS / flows);
+            contributions[i] = 1_000_000;
+            valuesBefore[i] = value;
+            value = (value + 1_000_000) * (1 + 0.8 / flows);  // about 8% a year over the ten years
+            legacyFlows.add(new Flow(LocalDate.ofEpochDay(days[i]), -1_000_000));
+        }
+        legacyFlows.add(new Flow(TODAY, value));
+        cashFlows = CashFlows.of(days, contributions, valuesBefore, (int) TODAY.toEpochDay(), value);
+
+        portfolios = new ArrayList<>(PORTFOLIOS);
+        int depositsEach = flows / PORTFOLIOS;
+        for (int p = 0; p < PORTFOLIOS; p++) {
+            Portfolio portfolio = Portfolio.create(BrokerAccountId.generate(), "Benchmark " + p);
+            LocalDate first = TODAY.minusDays(depositsEach);
+            for (int i = 0; i < depositsEach; i++) {
+                portfolio.recordDeposit(Money.of(1_000_000L), first.plusDays(i), TODAY);
+            }
+            portfolio.recordBuy(ASSET, Quantity.ofShares(100L), Money.of(9_000L), Money.zero(), first, TODAY);
+            portfolio.markPrice(ASSET, Money.of(9_500L), TODAY);
+            portfolios.add(portfolio);
+        }
+    }
+
+    @Benchmark
+    public OptionalDouble xirr() {
+        return calculator.xirr(cashFlows);
+    }
+
+    @Benchmark
+    public OptionalDouble twr() {
+        return calculator.twr(cashFlows);
+    }
+
+    @Benchmark
+    public double xirrLegacy() {
+        LocalDate first = legacyFlows.getFirst().date();
+        double rate = 0.1;
+        for (int i = 0; i < 100; i++) {
+            double r = rate;
+            double f = legacyFlows.stream()
+                    .mapToDouble(flow -> flow.amount() / Math.pow(1 + r, ChronoUnit.DAYS.between(first, flow.date()) / 365.0))
+                    .sum();
+            double df = legacyFlows.stream()
+                    .mapToDouble(flow -> {
+                        double years = ChronoUnit.DAYS.between(first, flow.date()) / 365.0;
+                        return -years * flow.amount() / Math.pow(1 + r, years + 1);
+                    })
+                    .sum();
+            double next = rate - f / df;
+            if (Math.abs(next - rate) <= 1e-12 * (1 + Math.abs(rate))) {
+                return next;
+            }
+            rate = next;
+        }
+        return rate;
+    }
+
+    @Benchmark
+    public List<Returns> returnsOf() {
+        return calculator.returnsOf(portfolios, TODAY);
+    }
+
+    @Benchmark
+    public List<Returns> returnsOfSequential() {
+        List<Returns> returns = new ArrayList<>(portfolios.size());
+        for (Portfolio portfolio : portfolios) {
+            returns.add(calculator.returnsOf(portfolio, TODAY));
+        }
+        return returns;
+    }
+}
@@ -0,0 +1,182 @@
+package com.budiyanto.fintrackr.portfolio.infrastructure.codec;
+
+import com.budiyanto.fintrackr.portfolio.domain.model.AcquisitionId;
+import com.budiyanto.fintrackr.portfolio.domain.model.AcquisitionSelectionStrategy;
+import com.budiyanto.fintrackr.portfolio.domain.model.Buy;
+import com.budiyanto.fintrackr.portfolio.domain.model.Deposit;
+import com.budiyanto.fintrackr.portfolio.domain.model.Dividend;
+import com.budiyanto.fintrackr.portfolio.domain.model.DividendAllocation;
+import com.budiyanto.fintrackr.portfolio.domain.model.Portfolio;
+import com.budiyanto.fintrackr.portfolio.domain.model.PortfolioId;
+import com.budiyanto.fintrackr.portfolio.domain.model.Sell;
+import com.budiyanto.fintrackr.portfolio.domain.model.SellAllocation;
+import com.budiyanto.fintrackr.portfolio.domain.model.Transaction;
+import com.budiyanto.fintrackr.portfolio.domain.model.TransactionId;
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.BrokerAccountId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.apache.commons.validator.routines.checkdigit.ISINCheckDigit;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding a ledger with {@link PortfolioCodec} against JSON, as Jackson writes it with the settings
+ * Spring Boot uses: ISO dates, and absent fields left out. Both sides start and end at domain {@link Transaction}s, so
+ * the JSON side includes mapping to and from the plain-value records Jackson can bind.
+ * <p>
+ * The ledger mixes deposits, buys of {@value #DISTINCT_ISINS} assets, FIFO sells and dividends. Sizes are printed
+ * once per trial, as bytes per transaction for each format; the score is time per ledger.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PortfolioCodecBenchmark {
+
+    private static final int DISTINCT_ISINS = 20;
+    private static final LocalDate FIRST_DATE = LocalDate.of(2020, 1, 2);
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+    private static final long HISTORY_DAYS = ChronoUnit.DAYS.between(FIRST_DATE, TODAY.minusDays(30));
+
+    @Param({"100", "10000"})
+    public int ledgerSize;
+
+    private final ObjectMapper json = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .build();
+    private PortfolioId portfolioId;
+    private List<Transaction> ledger;
+    private byte[] binaryLedger;
+    private byte[] jsonLedger;
+
+    @Setup
+    public void setUp() throws Exception {
+        AssetId[] assets = new AssetId[DISTINCT_ISINS];
+        for (int i = 0; i < DISTINCT_ISINS; i++) {
+            String nsin = "ID1" + String.format("%08d", i);
+            assets[i] = AssetId.of(nsin + ISINCheckDigit.ISIN_CHECK_DIGIT.calculate(nsin));
+        }
+        Portfolio portfolio = Portfolio.create(BrokerAccountId.generate(), "Benchmark");
+        Quantity lot = Quantity.ofShares(100L);
+        for (int i = 0; i < ledgerSize; i++) {
+            // Blocks of ten on one asset, oldest first: a deposit, five buys, two sells, a dividend and a deposit
+            LocalDate date = FIRST_DATE.plusDays(i * HISTORY_DAYS / ledgerSize);
+            AssetId asset = assets[(i / 10) % DISTINCT_ISINS];
+            Money price = Money.of(4_000L + (i % 997));
+            switch (i % 10) {
+                case 0, 9 -> portfolio.recordDeposit(Money.of(5_000_000L), date, TODAY);
+                case 1, 2, 3, 4, 5 -> portfolio.recordBuy(asset, lot, price, Money.of(675L), date, TODAY);
+                case 6, 7 -> portfolio.recordSell(asset, Quantity.ofShares(150L), price, Money.of(1_125L), date,
+                        new AcquisitionSelectionStrategy.Fifo(), TODAY);
+                default -> portfolio.recordDividend(asset, Money.of(25L), date, date.plusDays(14), TODAY);
+            }
+        }
+        portfolioId = portfolio.id();
+        ledger = List.copyOf(portfolio.transactions());
+        binaryLedger = encodeBinary();
+        jsonLedger = encodeJson();
+        System.out.printf("%nledgerSize=%d: binary %.1f bytes per transaction, JSON %.1f%n", ledgerSize,
+                (double) binaryLedger.length / ledgerSize, (double) jsonLedger.length / ledgerSize);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return PortfolioCodec.encodeLedger(portfolioId, ledger);
+    }
+
+    @Benchmark
+    public List<Transaction> decodeBinary() {
+        return PortfolioCodec.decodeLedger(binaryLedger);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        List<JsonTransaction> transactions = new ArrayList<>(ledger.size());
+        for (Transaction transaction : ledger) {
+            transactions.add(JsonTransaction.of(transaction));
+        }
+        return json.writeValueAsBytes(new JsonLedger(portfolioId.value(), transactions));
+    }
+
+    @Benchmark
+    public List<Transaction> decodeJson() throws IOException {
+        JsonLedger read = json.readValue(jsonLedger, JsonLedger.class);
+        PortfolioId id = new PortfolioId(read.portfolioId());
+        List<Transaction> transactions = new ArrayList<>(read.transactions().size());
+        for (JsonTransaction transaction : read.transactions()) {
+            transactions.add(transaction.toTransaction(id));
+        }
+        return transactions;
+    }
+
+    public record JsonLedger(UUID portfolioId, List<JsonTransaction> transactions) {
+    }
+
+    public record JsonAllocation(UUID acquisitionId, BigDecimal quantity, BigDecimal amount) {
+    }
+
+    // Plain values, as the ledger tables and PortfolioEvent carry them; null where a type has no such field
+    public record JsonTransaction(String type, UUID id, LocalDate date, String isin, BigDecimal quantity,
+                                  BigDecimal price, BigDecimal fee, BigDecimal amount, UUID acquisitionId,
+                                  LocalDate cumDate, List<JsonAllocation> allocations) {
+
+        static JsonTransaction of(Transaction transaction) {
+            UUID id = transaction.id().value();
+            LocalDate date = transaction.date();
+            return switch (transaction) {
+                case Deposit deposit -> new JsonTransaction("DEPOSIT", id, date, null, null, null, null,
+                        deposit.amount().amount(), null, null, null);
+                case Buy buy -> new JsonTransaction("BUY", id, date, buy.assetId().value(), buy.quantity().value(),
+                        buy.price().amount(), buy.fee().amount(), null, buy.acquisitionId().value(), null, null);
+                case Sell sell -> new JsonTransaction("SELL", id, date, sell.assetId().value(), sell.totalQuantity().value(),
+                        sell.price().amount(), sell.totalFee().amount(), null, null, null,
+                        sell.allocations().stream().map(allocation -> new JsonAllocation(allocation.acquisitionId().value(),
+                                allocation.sharesSoldFromAcquisition().value(), allocation.feeAllocated().amount())).toList());
+                case Dividend dividend -> new JsonTransaction("DIVIDEND", id, date, dividend.assetId().value(), null,
+                        dividend.dps().amount(), null, null, null, dividend.cumDate(),
+                        dividend.allocations().stream().map(allocation -> new JsonAllocation(allocation.acquisitionId().value(),
+                                allocation.sharesEligibleAtCumDate().value(), allocation.amount().amount())).toList());
+            };
+        }
+
+        Transaction toTransaction(PortfolioId portfolioId) {
+            TransactionId transactionId = new TransactionId(id);
+            return switch (type) {
+                case "DEPOSIT" -> new Deposit(transactionId, portfolioId, date, Money.of(amount));
+                case "BUY" -> new Buy(transactionId, portfolioId, date, AssetId.of(isin), quantity(quantity),
+                        Money.of(price), Money.of(fee), new AcquisitionId(acquisitionId));
+                case "SELL" -> new Sell(transactionId, portfolioId, date, AssetId.of(isin), Money.of(price),
+                        quantity(quantity), Money.of(fee), allocations.stream().map(allocation -> new SellAllocation(
+                                new AcquisitionId(allocation.acquisitionId()), quantity(allocation.quantity()),
+                                Money.of(allocation.amount()))).toList());
+                case "DIVIDEND" -> new Dividend(transactionId, portfolioId, date, AssetId.of(isin), cumDate, date,
+                        Money.of(price), allocations.stream().map(allocation -> new DividendAllocation(
+                                new AcquisitionId(allocation.acquisitionId()), quantity(allocation.quantity()),
+                                Money.of(allocation.amount()))).toList());
+                default -> throw new IllegalArgumentException("unknown transaction type: " + type);
+            };
+        }
+
+        // Shares are written with scale 0 and units with scale 4, as in the ledger tables
+        private static Quantity quantity(BigDecimal value) {
+            return value.scale() == 0 ? Quantity.ofShares(value) : Quantity.ofUnits(value);
+        }
+    }
+}
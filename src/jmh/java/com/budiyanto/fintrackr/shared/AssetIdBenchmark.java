@@ -0,0 +1,105 @@
+package com.budiyanto.fintrackr.shared;
+
+import org.apache.commons.validator.routines.checkdigit.ISINCheckDigit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AssetId} construction and map lookups, the way an import or price feed resolves each parsed ISIN
+ * against holdings: the interned id against the original record ({@link RecordAssetId}), which re-validates
+ * on every construction. {@code heldKey*} looks up with ids already in hand, isolating {@code equals}/{@code hashCode}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssetIdBenchmark {
+
+    private static final int DISTINCT_ISINS = 2_000;
+    private static final int FEED_SIZE = 10_000;
+
+    private final String[] feed = new String[FEED_SIZE];
+    private final AssetId[] heldIds = new AssetId[FEED_SIZE];
+    private final RecordAssetId[] heldLegacyIds = new RecordAssetId[FEED_SIZE];
+    private final Map<AssetId, Integer> holdings = new HashMap<>();
+    private final Map<RecordAssetId, Integer> legacyHoldings = new HashMap<>();
+
+    @Setup
+    public void setUp() throws Exception {
+        String[] isins = new String[DISTINCT_ISINS];
+        for (int i = 0; i < DISTINCT_ISINS; i++) {
+            String nsin = "ID1" + String.format("%08d", i);
+            isins[i] = nsin + ISINCheckDigit.ISIN_CHECK_DIGIT.calculate(nsin);
+            holdings.put(AssetId.of(isins[i]), i);
+            legacyHoldings.put(new RecordAssetId(isins[i]), i);
+        }
+        for (int i = 0; i < FEED_SIZE; i++) {
+            // A distinct String per row, as a parser would produce
+            feed[i] = new String(isins[(i * 7_919) % DISTINCT_ISINS].toCharArray());
+            heldIds[i] = AssetId.of(feed[i]);
+            heldLegacyIds[i] = new RecordAssetId(feed[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FEED_SIZE)
+    public long parseAndLookup() {
+        long sum = 0;
+        for (String isin : feed) {
+            sum += holdings.get(AssetId.of(isin));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FEED_SIZE)
+    public long parseAndLookupLegacy() {
+        long sum = 0;
+        for (String isin : feed) {
+            sum += legacyHoldings.get(new RecordAssetId(isin));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FEED_SIZE)
+    public long heldKeyLookup() {
+        long sum = 0;
+        for (AssetId id : heldIds) {
+            sum += holdings.get(id);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FEED_SIZE)
+    public long heldKeyLookupLegacy() {
+        long sum = 0;
+        for (RecordAssetId id : heldLegacyIds) {
+            sum += legacyHoldings.get(id);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FEED_SIZE)
+    public void construct(Blackhole blackhole) {
+        for (String isin : feed) {
+            blackhole.consume(AssetId.of(isin));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FEED_SIZE)
+    public void constructLegacy(Blackhole blackhole) {
+        for (String isin : feed) {
+            blackhole.consume(new RecordAssetId(isin));
+        }
+    }
+}
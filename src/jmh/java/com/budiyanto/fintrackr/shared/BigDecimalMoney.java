@@ -0,0 +1,53 @@
+package com.budiyanto.fintrackr.shared;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * Frozen copy of the original {@code BigDecimal}-backed {@link Money} record, kept as the baseline for
+ * {@link MoneyBenchmark}. Not used by production code.
+ */
+record BigDecimalMoney(BigDecimal amount, Currency currency) implements Comparable<BigDecimalMoney> {
+
+    BigDecimalMoney {
+        Objects.requireNonNull(amount, "amount cannot be null");
+        Objects.requireNonNull(currency, "currency cannot be null");
+        amount = amount.setScale(0, RoundingMode.HALF_EVEN);
+    }
+
+    static BigDecimalMoney of(BigDecimal amount) {
+        return new BigDecimalMoney(amount, Currency.getInstance("IDR"));
+    }
+
+    static BigDecimalMoney zero() {
+        return new BigDecimalMoney(BigDecimal.ZERO, Currency.getInstance("IDR"));
+    }
+
+    BigDecimalMoney add(BigDecimalMoney toAdd) {
+        checkSameCurrency(toAdd);
+        return new BigDecimalMoney(amount.add(toAdd.amount), currency);
+    }
+
+    BigDecimalMoney negate() {
+        return new BigDecimalMoney(amount.negate(), currency);
+    }
+
+    @Override
+    public int compareTo(BigDecimalMoney value) {
+        checkSameCurrency(value);
+        return amount.compareTo(value.amount);
+    }
+
+    boolean isNegative() {
+        return compareTo(BigDecimalMoney.zero()) < 0;
+    }
+
+    private void checkSameCurrency(BigDecimalMoney value) {
+        Objects.requireNonNull(value, "value cannot be null");
+        if (!currency.equals(value.currency)) {
+            throw new IllegalArgumentException("The input currency is not equal to currency");
+        }
+    }
+}
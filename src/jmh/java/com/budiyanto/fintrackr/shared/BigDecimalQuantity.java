@@ -0,0 +1,49 @@
+package com.budiyanto.fintrackr.shared;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * Frozen copy of the original {@code BigDecimal}-backed {@link Quantity}, kept as the baseline for
+ * {@link QuantityBenchmark}. Not used by production code.
+ */
+final class BigDecimalQuantity {
+
+    private final BigDecimal value;
+
+    private BigDecimalQuantity(BigDecimal value) {
+        Objects.requireNonNull(value, "Quantity value cannot be null");
+        if (value.compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("Quantity value cannot be negative");
+        }
+        this.value = value;
+    }
+
+    static BigDecimalQuantity ofShares(BigDecimal value) {
+        BigDecimal normalizedValue = normalize(value);
+        if (normalizedValue.scale() != 0) {
+            throw new IllegalArgumentException("Quantity of shares must be a whole number");
+        }
+        return new BigDecimalQuantity(normalizedValue);
+    }
+
+    static BigDecimalQuantity ofUnits(BigDecimal value) {
+        BigDecimal normalizedValue = normalize(value);
+        if (normalizedValue.scale() > 4) {
+            throw new IllegalArgumentException("Quantity of units cannot have more than 4 decimal places");
+        }
+        return new BigDecimalQuantity(value.setScale(4, RoundingMode.UNNECESSARY));
+    }
+
+    BigDecimal value() { return value; }
+
+    private static BigDecimal normalize(BigDecimal value) {
+        Objects.requireNonNull(value, "Quantity value must not be null");
+        BigDecimal normalizedValue = value.stripTrailingZeros();
+        if (normalizedValue.scale() <= 0) {
+            normalizedValue = normalizedValue.setScale(0, RoundingMode.UNNECESSARY);
+        }
+        return normalizedValue;
+    }
+}
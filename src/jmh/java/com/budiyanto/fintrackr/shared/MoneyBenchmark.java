@@ -0,0 +1,109 @@
+package com.budiyanto.fintrackr.shared;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the long-backed {@link Money} against the original {@code BigDecimal}-backed record
+ * ({@link BigDecimalMoney}). Run with {@code -prof gc} to see bytes allocated per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final int LEDGER_SIZE = 1_000;
+
+    private final Money[] amounts = new Money[LEDGER_SIZE];
+    private final BigDecimalMoney[] legacyAmounts = new BigDecimalMoney[LEDGER_SIZE];
+    private final BigDecimal[] rawAmounts = new BigDecimal[LEDGER_SIZE];
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < LEDGER_SIZE; i++) {
+            // Alternate deposits and buys so the running balance stays realistic
+            BigDecimal raw = BigDecimal.valueOf(i % 2 == 0 ? 5_802_500L + i : -1_250_000L - i);
+            rawAmounts[i] = raw;
+            amounts[i] = Money.of(raw);
+            legacyAmounts[i] = BigDecimalMoney.of(raw);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LEDGER_SIZE)
+    public Money replayLedger() {
+        Money balance = Money.zero();
+        for (Money amount : amounts) {
+            balance = balance.add(amount);
+        }
+        return balance;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LEDGER_SIZE)
+    public BigDecimalMoney replayLedgerLegacy() {
+        BigDecimalMoney balance = BigDecimalMoney.zero();
+        for (BigDecimalMoney amount : legacyAmounts) {
+            balance = balance.add(amount);
+        }
+        return balance;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LEDGER_SIZE)
+    public void negate(Blackhole blackhole) {
+        for (Money amount : amounts) {
+            blackhole.consume(amount.negate());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LEDGER_SIZE)
+    public void negateLegacy(Blackhole blackhole) {
+        for (BigDecimalMoney amount : legacyAmounts) {
+            blackhole.consume(amount.negate());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LEDGER_SIZE)
+    public void of(Blackhole blackhole) {
+        for (BigDecimal raw : rawAmounts) {
+            blackhole.consume(Money.of(raw));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LEDGER_SIZE)
+    public void ofLegacy(Blackhole blackhole) {
+        for (BigDecimal raw : rawAmounts) {
+            blackhole.consume(BigDecimalMoney.of(raw));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LEDGER_SIZE)
+    public int compare() {
+        int negatives = 0;
+        for (int i = 1; i < LEDGER_SIZE; i++) {
+            negatives += amounts[i].compareTo(amounts[i - 1]) < 0 ? 1 : 0;
+        }
+        return negatives;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LEDGER_SIZE)
+    public int compareLegacy() {
+        int negatives = 0;
+        for (int i = 1; i < LEDGER_SIZE; i++) {
+            negatives += legacyAmounts[i].compareTo(legacyAmounts[i - 1]) < 0 ? 1 : 0;
+        }
+        return negatives;
+    }
+}
@@ -0,0 +1,110 @@
+package com.budiyanto.fintrackr.shared;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Quantity} construction and arithmetic against the original {@code BigDecimal}-backed class
+ * ({@link BigDecimalQuantity}). Share inputs mix whole lots, which are interned, with odd lots.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuantityBenchmark {
+
+    private static final int SIZE = 1_000;
+
+    private final BigDecimal[] rawShares = new BigDecimal[SIZE];
+    private final BigDecimal[] rawUnits = new BigDecimal[SIZE];
+    private final Quantity[] units = new Quantity[SIZE];
+    private final BigDecimalQuantity[] legacyUnits = new BigDecimalQuantity[SIZE];
+    private final Money price = Money.of(5_801L);
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < SIZE; i++) {
+            rawShares[i] = BigDecimal.valueOf(i % 4 == 0 ? 37L * i : 100L * (i % 50 + 1));
+            rawUnits[i] = BigDecimal.valueOf(1_000_000L + 7_919L * i, 4);
+            units[i] = Quantity.ofUnits(rawUnits[i]);
+            legacyUnits[i] = BigDecimalQuantity.ofUnits(rawUnits[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void ofShares(Blackhole blackhole) {
+        for (BigDecimal raw : rawShares) {
+            blackhole.consume(Quantity.ofShares(raw));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void ofSharesLegacy(Blackhole blackhole) {
+        for (BigDecimal raw : rawShares) {
+            blackhole.consume(BigDecimalQuantity.ofShares(raw));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void ofUnits(Blackhole blackhole) {
+        for (BigDecimal raw : rawUnits) {
+            blackhole.consume(Quantity.ofUnits(raw));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void ofUnitsLegacy(Blackhole blackhole) {
+        for (BigDecimal raw : rawUnits) {
+            blackhole.consume(BigDecimalQuantity.ofUnits(raw));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public Quantity sum() {
+        Quantity total = Quantity.ofUnits(BigDecimal.ZERO);
+        for (Quantity quantity : units) {
+            total = total.add(quantity);
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public BigDecimal sumLegacy() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimalQuantity quantity : legacyUnits) {
+            total = total.add(quantity.value());
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public Money costBasis() {
+        MoneyAccumulator total = MoneyAccumulator.create();
+        for (Quantity quantity : units) {
+            total.addProduct(quantity, price);
+        }
+        return total.toMoney();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public Money costBasisLegacy() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimalQuantity quantity : legacyUnits) {
+            total = total.add(quantity.value().multiply(price.amount()));
+        }
+        return Money.of(total);
+    }
+}
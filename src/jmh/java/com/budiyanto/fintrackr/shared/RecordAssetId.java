@@ -0,0 +1,23 @@
+package com.budiyanto.fintrackr.shared;
+
+import org.apache.commons.validator.routines.checkdigit.ISINCheckDigit;
+
+import java.util.Objects;
+
+/**
+ * Frozen copy of the original {@link AssetId} record, which ran the full Luhn check on every construction,
+ * kept as the baseline for {@link AssetIdBenchmark}. Not used by production code.
+ */
+record RecordAssetId(String value) {
+
+    RecordAssetId {
+        Objects.requireNonNull(value, "Isin value cannot be null");
+        if (value.isBlank()) {
+            throw new IllegalArgumentException("Isin value cannot be blank");
+        }
+
+        if (!ISINCheckDigit.ISIN_CHECK_DIGIT.isValid(value)) {
+            throw new IllegalArgumentException("Isin value should be Luhn check digit");
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.budiyanto.fintrackr.brokerage;
+
+import com.budiyanto.fintrackr.brokerage.application.port.BrokerAccountRepository;
+import com.budiyanto.fintrackr.brokerage.domain.model.BrokerAccount;
+import com.budiyanto.fintrackr.shared.BrokerAccountId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Brokerage's published API: what other modules may ask of a broker account (ADR-001, ADR-003).
+ * <p>
+ * Runs in the caller's transaction when there is one, so Portfolio Management can move a trading balance and the
+ * RDN together.
+ */
+@Service
+@Transactional
+public class BrokerAccountService {
+
+    private final BrokerAccountRepository brokerAccounts;
+
+    public BrokerAccountService(BrokerAccountRepository brokerAccounts) {
+        this.brokerAccounts = brokerAccounts;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Money> rdnOf(BrokerAccountId brokerAccountId) {
+        Objects.requireNonNull(brokerAccountId, "brokerAccountId cannot be null");
+        return brokerAccounts.findById(brokerAccountId).map(BrokerAccount::rdn);
+    }
+
+    @Transactional(readOnly = true)
+    public Money computeBuyFee(BrokerAccountId brokerAccountId, Quantity quantity, Money price) {
+        return find(brokerAccountId).computeBuyFee(quantity, price);
+    }
+
+    @Transactional(readOnly = true)
+    public Money computeSellFee(BrokerAccountId brokerAccountId, Quantity quantity, Money price) {
+        return find(brokerAccountId).computeSellFee(quantity, price);
+    }
+
+    /**
+     * Moves the RDN by {@code delta}, the signed change a portfolio transaction made to its trading balance.
+     *
+     * @throws com.budiyanto.fintrackr.brokerage.domain.exception.InsufficientRdnException when the RDN would go
+     *         negative
+     */
+    public void applyCashFlow(BrokerAccountId brokerAccountId, Money delta) {
+        BrokerAccount brokerAccount = find(brokerAccountId);
+        brokerAccount.applyCashFlow(delta);
+        brokerAccounts.save(brokerAccount);
+    }
+
+    private BrokerAccount find(BrokerAccountId brokerAccountId) {
+        Objects.requireNonNull(brokerAccountId, "brokerAccountId cannot be null");
+        return brokerAccounts.findById(brokerAccountId)
+                .orElseThrow(() -> new IllegalArgumentException("unknown broker account: " + brokerAccountId.value()));
+    }
+}
@@ -0,0 +1,16 @@
+package com.budiyanto.fintrackr.brokerage.application.port;
+
+import com.budiyanto.fintrackr.brokerage.domain.model.BrokerAccount;
+import com.budiyanto.fintrackr.shared.BrokerAccountId;
+
+import java.util.Optional;
+
+/**
+ * Loads and stores {@link BrokerAccount} aggregates.
+ */
+public interface BrokerAccountRepository {
+
+    Optional<BrokerAccount> findById(BrokerAccountId id);
+
+    void save(BrokerAccount brokerAccount);
+}
@@ -14,18 +14,30 @@ public class BrokerAccount {
     private Money rdn;
     private FeeStructure feeStructure;
 
-    private BrokerAccount(String name, FeeStructure feeStructure) {
+    private BrokerAccount(BrokerAccountId id, String name, Money rdn, FeeStructure feeStructure) {
         validateName(name);
         Objects.requireNonNull(feeStructure, "feeStructure cannot be null");
 
-        this.id = BrokerAccountId.generate();
+        this.id = id;
         this.name = name;
-        this.rdn = Money.zero();
+        this.rdn = rdn;
         this.feeStructure = feeStructure;
     }
 
     public static BrokerAccount create(String name, FeeStructure feeStructure) {
-        return new BrokerAccount(name, feeStructure);
+        return new BrokerAccount(BrokerAccountId.generate(), name, Money.zero(), feeStructure);
+    }
+
+    /**
+     * Rehydrates a stored BrokerAccount with the RDN it was saved with.
+     */
+    public static BrokerAccount restore(BrokerAccountId id, String name, Money rdn, FeeStructure feeStructure) {
+        Objects.requireNonNull(id, "id cannot be null");
+        Objects.requireNonNull(rdn, "rdn cannot be null");
+        if (rdn.isNegative()) {
+            throw new IllegalArgumentException("rdn cannot be negative");
+        }
+        return new BrokerAccount(id, name, rdn, feeStructure);
     }
 
     public void rename(String name) {
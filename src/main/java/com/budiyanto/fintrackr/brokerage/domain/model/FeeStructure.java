@@ -33,7 +33,7 @@ public record FeeStructure(Percentage buyRate, Percentage sellRate) {
             throw new IllegalArgumentException("price cannot be negative");
         }
 
-        BigDecimal result = quantity.value().multiply(price.amount()).multiply(rate.rate());
+        BigDecimal result = quantity.multiply(price).multiply(rate.rate());
         return Money.of(result, price.currency());
     }
 
@@ -0,0 +1,45 @@
+package com.budiyanto.fintrackr.brokerage.infrastructure.adapter.out.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Entity
+@Table(name = "broker_accounts")
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+class BrokerAccountJpaEntity {
+
+    @Id
+    private UUID id;
+
+    @Version
+    @Setter(AccessLevel.NONE)
+    private long version;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(nullable = false, precision = 19, scale = 0)
+    private BigDecimal rdn;
+
+    @Column(name = "buy_fee_rate", nullable = false, precision = 7, scale = 6)
+    private BigDecimal buyFeeRate;
+
+    @Column(name = "sell_fee_rate", nullable = false, precision = 7, scale = 6)
+    private BigDecimal sellFeeRate;
+
+    BrokerAccountJpaEntity(UUID id) {
+        this.id = id;
+    }
+}
@@ -0,0 +1,53 @@
+package com.budiyanto.fintrackr.brokerage.infrastructure.adapter.out.persistence;
+
+import com.budiyanto.fintrackr.brokerage.application.port.BrokerAccountRepository;
+import com.budiyanto.fintrackr.brokerage.domain.model.BrokerAccount;
+import com.budiyanto.fintrackr.brokerage.domain.model.FeeStructure;
+import com.budiyanto.fintrackr.brokerage.domain.model.Percentage;
+import com.budiyanto.fintrackr.shared.BrokerAccountId;
+import com.budiyanto.fintrackr.shared.Money;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Stores BrokerAccounts as one JPA-mapped row each (ADR-009), rebuilt through {@link BrokerAccount#restore} so
+ * the domain's checks run again on every read.
+ */
+@Repository
+@Transactional
+public class BrokerAccountPersistenceAdapter implements BrokerAccountRepository {
+
+    private final EntityManager entityManager;
+
+    public BrokerAccountPersistenceAdapter(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<BrokerAccount> findById(BrokerAccountId id) {
+        return Optional.ofNullable(entityManager.find(BrokerAccountJpaEntity.class, id.value()))
+                .map(BrokerAccountPersistenceAdapter::toDomain);
+    }
+
+    @Override
+    public void save(BrokerAccount brokerAccount) {
+        BrokerAccountJpaEntity entity = entityManager.find(BrokerAccountJpaEntity.class, brokerAccount.id().value());
+        if (entity == null) {
+            entity = new BrokerAccountJpaEntity(brokerAccount.id().value());
+            entityManager.persist(entity);
+        }
+        entity.setName(brokerAccount.name());
+        entity.setRdn(brokerAccount.rdn().amount());
+        entity.setBuyFeeRate(brokerAccount.feeStructure().buyRate().rate());
+        entity.setSellFeeRate(brokerAccount.feeStructure().sellRate().rate());
+    }
+
+    private static BrokerAccount toDomain(BrokerAccountJpaEntity entity) {
+        FeeStructure feeStructure = FeeStructure.of(Percentage.of(entity.getBuyFeeRate()), Percentage.of(entity.getSellFeeRate()));
+        return BrokerAccount.restore(new BrokerAccountId(entity.getId()), entity.getName(), Money.of(entity.getRdn()), feeStructure);
+    }
+}
@@ -0,0 +1,38 @@
+package com.budiyanto.fintrackr.dashboard;
+
+import com.budiyanto.fintrackr.dashboard.application.port.DashboardStore;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The dashboard's published API: Portfolio holdings and valuation read from precomputed rows, without loading
+ * the Portfolio aggregate or its ledger.
+ * <p>
+ * The rows are projected asynchronously from Portfolio Management's events, so they trail a just-recorded
+ * transaction briefly; {@link PortfolioValuation#position()} says which ledger position they reflect.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DashboardService {
+
+    private final DashboardStore store;
+
+    public DashboardService(DashboardStore store) {
+        this.store = store;
+    }
+
+    public List<HoldingView> holdingsOf(UUID portfolioId) {
+        Objects.requireNonNull(portfolioId, "portfolioId cannot be null");
+        return store.holdings(portfolioId);
+    }
+
+    public Optional<PortfolioValuation> valuationOf(UUID portfolioId) {
+        Objects.requireNonNull(portfolioId, "portfolioId cannot be null");
+        return store.valuation(portfolioId);
+    }
+}
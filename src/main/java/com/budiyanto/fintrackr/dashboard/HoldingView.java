@@ -0,0 +1,18 @@
+package com.budiyanto.fintrackr.dashboard;
+
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+
+import java.time.LocalDate;
+
+/**
+ * One held asset of a Portfolio as the dashboard shows it, valued at the last price the asset traded at in any
+ * recorded ledger.
+ *
+ * @param lastPrice   {@code null} until a trade of the asset has been projected
+ * @param priceDate   the date of that trade, {@code null} with it
+ * @param marketValue {@code quantity × lastPrice}, or the amount invested while there is no price
+ */
+public record HoldingView(AssetId assetId, Quantity quantity, Money invested, Money lastPrice, LocalDate priceDate, Money marketValue) {
+}
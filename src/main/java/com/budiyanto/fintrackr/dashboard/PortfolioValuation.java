@@ -0,0 +1,19 @@
+package com.budiyanto.fintrackr.dashboard;
+
+import com.budiyanto.fintrackr.shared.Money;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A Portfolio's cash and holdings as of the last event the dashboard projected for it.
+ *
+ * @param position   the ledger position of that event; the view is behind the ledger while this is
+ * @param recordedAt when that event was recorded
+ */
+public record PortfolioValuation(UUID portfolioId, int position, Instant recordedAt, Money tradingBalance, Money invested, Money marketValue) {
+
+    public Money total() {
+        return tradingBalance.add(marketValue);
+    }
+}
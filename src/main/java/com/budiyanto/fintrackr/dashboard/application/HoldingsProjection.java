@@ -0,0 +1,108 @@
+package com.budiyanto.fintrackr.dashboard.application;
+
+import com.budiyanto.fintrackr.dashboard.application.port.DashboardStore;
+import com.budiyanto.fintrackr.portfolio.PortfolioEvent;
+import com.budiyanto.fintrackr.portfolio.PortfolioState;
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Keeps the dashboard's rows in step with Portfolio Management's {@link PortfolioEvent}s.
+ * <p>
+ * Every event carries the state after the save that recorded it, so a projection only ever overwrites rows with
+ * newer state and never adds deltas; see {@link DashboardStore}. Events can therefore be delivered late, twice or
+ * out of order, which is what an asynchronous listener resubmitted from the publication registry does. A rebuild
+ * restores each Portfolio's stored state the same way, so it and the events still in flight meet in the same rows.
+ * <p>
+ * How far the dashboard trails the ledger is recorded per event as {@value #LAG}: the time from the recording
+ * transaction to the projection.
+ */
+public class HoldingsProjection {
+
+    public static final String LAG = "fintrackr.dashboard.projection.lag";
+
+    private final DashboardStore store;
+    private final Clock clock;
+    private final Timer lag;
+
+    public HoldingsProjection(DashboardStore store, Clock clock, MeterRegistry meterRegistry) {
+        this.store = Objects.requireNonNull(store, "store cannot be null");
+        this.clock = Objects.requireNonNull(clock, "clock cannot be null");
+        this.lag = Timer.builder(LAG)
+                .description("Time from recording a portfolio transaction to projecting it onto the dashboard")
+                .publishPercentileHistogram()
+                .register(Objects.requireNonNull(meterRegistry, "meterRegistry cannot be null"));
+    }
+
+    /**
+     * Projects an event as it is delivered, and records how late it is.
+     */
+    public void apply(PortfolioEvent event) {
+        project(event);
+        Duration behind = Duration.between(event.recordedAt(), clock.instant());
+        lag.record(behind.isNegative() ? Duration.ZERO : behind);
+    }
+
+    private void project(PortfolioEvent event) {
+        Objects.requireNonNull(event, "event cannot be null");
+        switch (event) {
+            case PortfolioEvent.BuyRecorded buy -> {
+                holding(event, buy.holding());
+                store.applyPrice(AssetId.of(buy.isin()), Money.of(buy.price()), buy.date());
+            }
+            case PortfolioEvent.SellRecorded sell -> {
+                holding(event, sell.holding());
+                store.applyPrice(AssetId.of(sell.isin()), Money.of(sell.price()), sell.date());
+            }
+            case PortfolioEvent.LedgerImported imported -> {
+                imported.holdings().forEach(holding -> holding(event, holding));
+                imported.prices().forEach(price -> store.applyPrice(AssetId.of(price.isin()), Money.of(price.price()), price.date()));
+            }
+            case PortfolioEvent.DepositRecorded deposit -> { }
+            case PortfolioEvent.DividendRecorded dividend -> { }
+        }
+        store.applyBalance(event.portfolioId(), event.position(), Money.of(event.tradingBalance()), event.recordedAt());
+    }
+
+    /**
+     * Projects a Portfolio's stored state during a rebuild, as if it were the Portfolio's latest event. An event
+     * still in flight for the same position or an earlier one changes nothing once it arrives.
+     */
+    public void restore(PortfolioState state) {
+        Objects.requireNonNull(state, "state cannot be null");
+        state.holdings().forEach(holding -> holding(state.portfolioId(), state.position(), holding));
+        store.applyBalance(state.portfolioId(), state.position(), Money.of(state.tradingBalance()), clock.instant());
+    }
+
+    /**
+     * Projects the price an asset last traded at during a rebuild.
+     */
+    public void restore(PortfolioEvent.TradePrice price) {
+        Objects.requireNonNull(price, "price cannot be null");
+        store.applyPrice(AssetId.of(price.isin()), Money.of(price.price()), price.date());
+    }
+
+    private void holding(PortfolioEvent event, PortfolioEvent.HoldingState holding) {
+        holding(event.portfolioId(), event.position(), holding);
+    }
+
+    private void holding(UUID portfolioId, int position, PortfolioEvent.HoldingState holding) {
+        store.applyHolding(portfolioId, position, AssetId.of(holding.isin()), quantity(holding.quantity()),
+                Money.of(holding.invested()));
+    }
+
+    // Events keep the stored scale: 0 for shares, 4 for units
+    static Quantity quantity(BigDecimal value) {
+        return value.scale() == 0 ? Quantity.ofShares(value) : Quantity.ofUnits(value);
+    }
+}
@@ -0,0 +1,38 @@
+package com.budiyanto.fintrackr.dashboard.application.port;
+
+import com.budiyanto.fintrackr.dashboard.HoldingView;
+import com.budiyanto.fintrackr.dashboard.PortfolioValuation;
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The dashboard's denormalized rows. Every write keeps whichever state is newest, by ledger position for a
+ * Portfolio's rows and by trade date for prices, so applying an event twice or late changes nothing.
+ */
+public interface DashboardStore {
+
+    void applyBalance(UUID portfolioId, int position, Money tradingBalance, Instant recordedAt);
+
+    void applyHolding(UUID portfolioId, int position, AssetId assetId, Quantity quantity, Money invested);
+
+    void applyPrice(AssetId assetId, Money price, LocalDate date);
+
+    /**
+     * Drops every row, ahead of a rebuild from Portfolio Management's stored state.
+     */
+    void clear();
+
+    /**
+     * The assets a Portfolio holds now; sold-out ones are left out.
+     */
+    List<HoldingView> holdings(UUID portfolioId);
+
+    Optional<PortfolioValuation> valuation(UUID portfolioId);
+}
@@ -0,0 +1,28 @@
+package com.budiyanto.fintrackr.dashboard.infrastructure.adapter.in.events;
+
+import com.budiyanto.fintrackr.dashboard.application.HoldingsProjection;
+import com.budiyanto.fintrackr.portfolio.PortfolioEvent;
+import org.springframework.modulith.events.ApplicationModuleListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Projects each {@link PortfolioEvent} after the transaction that published it commits, on its own thread and in
+ * its own transaction. Its publication is completed only once that transaction commits; one that fails stays
+ * incomplete in the registry until {@link PortfolioEventReplay} hands it over again.
+ */
+@Component
+public class PortfolioEventListener {
+
+    static final String ID = "dashboard.holdings-projection";
+
+    private final HoldingsProjection projection;
+
+    public PortfolioEventListener(HoldingsProjection projection) {
+        this.projection = projection;
+    }
+
+    @ApplicationModuleListener(id = ID)
+    public void on(PortfolioEvent event) {
+        projection.apply(event);
+    }
+}
@@ -0,0 +1,45 @@
+package com.budiyanto.fintrackr.dashboard.infrastructure.adapter.in.events;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.modulith.events.EventPublication;
+import org.springframework.modulith.events.IncompleteEventPublications;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * The dashboard's path back to the event publication registry.
+ * <p>
+ * {@link #catchUp()} runs on a schedule and resubmits the dashboard's publications that are still incomplete
+ * after a grace period, such as those whose listener failed. The grace period keeps it from racing a first
+ * delivery still in flight; a race would only cost a repeated, harmless projection. Publications left over by a
+ * shutdown are resubmitted on restart by Spring Modulith itself.
+ * <p>
+ * Completed publications are deleted ({@code spring.modulith.events.completion-mode=delete}); a rebuild restores
+ * the dashboard from Portfolio Management's stored state instead, see {@code DashboardRebuild}.
+ */
+@Component
+public class PortfolioEventReplay {
+
+    private final IncompleteEventPublications incomplete;
+    private final Duration grace;
+
+    public PortfolioEventReplay(IncompleteEventPublications incomplete,
+                                @Value("${fintrackr.dashboard.catch-up.grace}") Duration grace) {
+        this.incomplete = incomplete;
+        this.grace = grace;
+    }
+
+    @Scheduled(fixedDelayString = "${fintrackr.dashboard.catch-up.interval}", initialDelayString = "${fintrackr.dashboard.catch-up.interval}")
+    public void catchUp() {
+        Instant cutoff = Instant.now().minus(grace);
+        incomplete.resubmitIncompletePublications(publication ->
+                isProjected(publication) && publication.getPublicationDate().isBefore(cutoff));
+    }
+
+    private static boolean isProjected(EventPublication publication) {
+        return PortfolioEventListener.ID.equals(publication.getTargetIdentifier().getValue());
+    }
+}
@@ -0,0 +1,55 @@
+package com.budiyanto.fintrackr.dashboard.infrastructure.adapter.in.portfolio;
+
+import com.budiyanto.fintrackr.dashboard.application.HoldingsProjection;
+import com.budiyanto.fintrackr.dashboard.application.port.DashboardStore;
+import com.budiyanto.fintrackr.portfolio.PortfolioState;
+import com.budiyanto.fintrackr.portfolio.PortfolioStateService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Drops the dashboard's rows and restores them from Portfolio Management's stored state, a page of Portfolios at a
+ * time, so neither its memory nor the event publication registry has to hold the whole history.
+ * <p>
+ * It runs in one transaction, so readers keep the old rows until the new ones are complete. Events delivered
+ * meanwhile wait on the rows it wrote and then apply only if they are newer.
+ */
+@Component
+public class DashboardRebuild {
+
+    static final int PAGE_SIZE = 500;
+
+    private final PortfolioStateService portfolioStates;
+    private final HoldingsProjection projection;
+    private final DashboardStore store;
+
+    public DashboardRebuild(PortfolioStateService portfolioStates, HoldingsProjection projection, DashboardStore store) {
+        this.portfolioStates = portfolioStates;
+        this.projection = projection;
+        this.store = store;
+    }
+
+    /**
+     * @return the number of Portfolios restored
+     */
+    @Transactional
+    public int rebuild() {
+        store.clear();
+        int restored = 0;
+        UUID after = null;
+        List<PortfolioState> page;
+        do {
+            page = portfolioStates.page(after, PAGE_SIZE);
+            page.forEach(projection::restore);
+            restored += page.size();
+            if (!page.isEmpty()) {
+                after = page.getLast().portfolioId();
+            }
+        } while (page.size() == PAGE_SIZE);
+        portfolioStates.lastTradePrices().forEach(projection::restore);
+        return restored;
+    }
+}
@@ -0,0 +1,127 @@
+package com.budiyanto.fintrackr.dashboard.infrastructure.adapter.out.persistence;
+
+import com.budiyanto.fintrackr.dashboard.HoldingView;
+import com.budiyanto.fintrackr.dashboard.PortfolioValuation;
+import com.budiyanto.fintrackr.dashboard.application.port.DashboardStore;
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.MoneyAccumulator;
+import com.budiyanto.fintrackr.shared.Quantity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The {@code dashboard_*} tables. Each write is one upsert whose {@code WHERE} keeps the stored row when it is
+ * already as new as the incoming one, so the projection needs no read-modify-write and no lock beyond the row.
+ */
+@Repository
+public class JdbcDashboardStore implements DashboardStore {
+
+    private static final String UPSERT_PORTFOLIO = """
+            INSERT INTO dashboard_portfolios (portfolio_id, position, trading_balance, recorded_at)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (portfolio_id) DO UPDATE
+            SET position = EXCLUDED.position, trading_balance = EXCLUDED.trading_balance, recorded_at = EXCLUDED.recorded_at
+            WHERE dashboard_portfolios.position < EXCLUDED.position
+            """;
+    private static final String UPSERT_HOLDING = """
+            INSERT INTO dashboard_holdings (portfolio_id, asset_id, position, quantity, invested)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (portfolio_id, asset_id) DO UPDATE
+            SET position = EXCLUDED.position, quantity = EXCLUDED.quantity, invested = EXCLUDED.invested
+            WHERE dashboard_holdings.position < EXCLUDED.position
+            """;
+    private static final String UPSERT_PRICE = """
+            INSERT INTO dashboard_prices (asset_id, price, price_date)
+            VALUES (?, ?, ?)
+            ON CONFLICT (asset_id) DO UPDATE
+            SET price = EXCLUDED.price, price_date = EXCLUDED.price_date
+            WHERE dashboard_prices.price_date <= EXCLUDED.price_date
+            """;
+    private static final String SELECT_HOLDINGS = """
+            SELECT h.asset_id, h.quantity, h.invested, p.price, p.price_date
+            FROM dashboard_holdings h
+            LEFT JOIN dashboard_prices p ON p.asset_id = h.asset_id
+            WHERE h.portfolio_id = ? AND h.quantity > 0
+            ORDER BY h.asset_id
+            """;
+    private static final String SELECT_PORTFOLIO = """
+            SELECT position, trading_balance, recorded_at
+            FROM dashboard_portfolios
+            WHERE portfolio_id = ?
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    public JdbcDashboardStore(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public void applyBalance(UUID portfolioId, int position, Money tradingBalance, Instant recordedAt) {
+        jdbc.update(UPSERT_PORTFOLIO, portfolioId, position, tradingBalance.amount(), OffsetDateTime.ofInstant(recordedAt, ZoneOffset.UTC));
+    }
+
+    @Override
+    public void applyHolding(UUID portfolioId, int position, AssetId assetId, Quantity quantity, Money invested) {
+        jdbc.update(UPSERT_HOLDING, portfolioId, assetId.value(), position, quantity.value(), invested.amount());
+    }
+
+    @Override
+    public void applyPrice(AssetId assetId, Money price, LocalDate date) {
+        jdbc.update(UPSERT_PRICE, assetId.value(), price.amount(), date);
+    }
+
+    @Override
+    public void clear() {
+        jdbc.execute("TRUNCATE dashboard_portfolios, dashboard_holdings, dashboard_prices");
+    }
+
+    @Override
+    public List<HoldingView> holdings(UUID portfolioId) {
+        return jdbc.query(SELECT_HOLDINGS, (rs, rowNum) -> {
+            Quantity quantity = quantity(rs.getBigDecimal("quantity"));
+            Money invested = Money.of(rs.getBigDecimal("invested"));
+            BigDecimal price = rs.getBigDecimal("price");
+            if (price == null) {
+                return new HoldingView(AssetId.of(rs.getString("asset_id")), quantity, invested, null, null, invested);
+            }
+            Money lastPrice = Money.of(price);
+            return new HoldingView(AssetId.of(rs.getString("asset_id")), quantity, invested, lastPrice,
+                    rs.getObject("price_date", LocalDate.class), Money.of(quantity.multiply(lastPrice)));
+        }, portfolioId);
+    }
+
+    @Override
+    public Optional<PortfolioValuation> valuation(UUID portfolioId) {
+        List<PortfolioValuation> cash = jdbc.query(SELECT_PORTFOLIO, (rs, rowNum) -> new PortfolioValuation(portfolioId,
+                rs.getInt("position"), rs.getObject("recorded_at", OffsetDateTime.class).toInstant(),
+                Money.of(rs.getBigDecimal("trading_balance")), Money.zero(), Money.zero()), portfolioId);
+        if (cash.isEmpty()) {
+            return Optional.empty();
+        }
+        MoneyAccumulator invested = MoneyAccumulator.create();
+        MoneyAccumulator marketValue = MoneyAccumulator.create();
+        for (HoldingView holding : holdings(portfolioId)) {
+            invested.add(holding.invested());
+            marketValue.add(holding.marketValue());
+        }
+        PortfolioValuation row = cash.getFirst();
+        return Optional.of(new PortfolioValuation(portfolioId, row.position(), row.recordedAt(), row.tradingBalance(),
+                invested.toMoney(), marketValue.toMoney()));
+    }
+
+    // Shares are stored with scale 0 and units with scale 4; an unconstrained NUMERIC keeps the scale written
+    private static Quantity quantity(BigDecimal value) {
+        return value.scale() == 0 ? Quantity.ofShares(value) : Quantity.ofUnits(value);
+    }
+}
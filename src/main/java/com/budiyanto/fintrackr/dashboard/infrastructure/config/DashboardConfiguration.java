@@ -0,0 +1,26 @@
+package com.budiyanto.fintrackr.dashboard.infrastructure.config;
+
+import com.budiyanto.fintrackr.dashboard.application.HoldingsProjection;
+import com.budiyanto.fintrackr.dashboard.application.port.DashboardStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Clock;
+
+/**
+ * Wires the dashboard read model. Its event listener is asynchronous and its catch-up scheduled, so this is also
+ * where async execution and scheduling are switched on.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableAsync
+@EnableScheduling
+public class DashboardConfiguration {
+
+    @Bean
+    HoldingsProjection holdingsProjection(DashboardStore store, MeterRegistry meterRegistry) {
+        return new HoldingsProjection(store, Clock.systemDefaultZone(), meterRegistry);
+    }
+}
@@ -0,0 +1,93 @@
+package com.budiyanto.fintrackr.portfolio;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * What Portfolio Management publishes once a save has recorded transactions (ADR-003): part of its published API,
+ * for read models and audit. Events never drive the RDN; that stays in the recording transaction.
+ * <p>
+ * Events carry plain values only (ISIN text, {@code BigDecimal} amounts and quantities with their stored scale),
+ * so the event publication registry can store them as JSON and hand them back on replay. Besides the transaction
+ * itself, each event carries the Portfolio's state as of the end of the save that recorded it, and the ledger
+ * position it was recorded at. A consumer that keeps the state of the highest position it has seen therefore ends
+ * up right whatever order, and however often, events are delivered.
+ */
+public sealed interface PortfolioEvent {
+
+    UUID portfolioId();
+
+    /**
+     * Ledger position of the (last) transaction this event reports.
+     */
+    int position();
+
+    BigDecimal tradingBalance();
+
+    Instant recordedAt();
+
+    /**
+     * A Holding as of the end of a save; zero quantity and invested once it is sold out.
+     */
+    record HoldingState(String isin, BigDecimal quantity, BigDecimal invested) {
+
+        public HoldingState {
+            Objects.requireNonNull(isin, "isin cannot be null");
+            Objects.requireNonNull(quantity, "quantity cannot be null");
+            Objects.requireNonNull(invested, "invested cannot be null");
+        }
+    }
+
+    /**
+     * The price an asset last traded at in a Portfolio's ledger.
+     */
+    record TradePrice(String isin, BigDecimal price, LocalDate date) {
+
+        public TradePrice {
+            Objects.requireNonNull(isin, "isin cannot be null");
+            Objects.requireNonNull(price, "price cannot be null");
+            Objects.requireNonNull(date, "date cannot be null");
+        }
+    }
+
+    record DepositRecorded(UUID portfolioId, int position, LocalDate date, BigDecimal amount,
+                           BigDecimal tradingBalance, Instant recordedAt) implements PortfolioEvent {
+    }
+
+    record BuyRecorded(UUID portfolioId, int position, LocalDate date, String isin, BigDecimal quantity, BigDecimal price,
+                       BigDecimal fee, HoldingState holding, BigDecimal tradingBalance, Instant recordedAt) implements PortfolioEvent {
+    }
+
+    record SellRecorded(UUID portfolioId, int position, LocalDate date, String isin, BigDecimal quantity, BigDecimal price,
+                        BigDecimal fee, HoldingState holding, BigDecimal tradingBalance, Instant recordedAt) implements PortfolioEvent {
+    }
+
+    /**
+     * @param amount the total paid, over every eligible lot
+     */
+    record DividendRecorded(UUID portfolioId, int position, LocalDate date, String isin, BigDecimal amount,
+                            BigDecimal tradingBalance, Instant recordedAt) implements PortfolioEvent {
+    }
+
+    /**
+     * A bulk import, reported as one event instead of one per row so the registry does not undo the cost of the
+     * COPY append.
+     *
+     * @param firstPosition ledger position of the first imported transaction
+     * @param position      ledger position of the last one
+     * @param holdings      every Holding the import touched
+     * @param prices        the last price each imported asset traded at
+     */
+    record LedgerImported(UUID portfolioId, int firstPosition, int position, List<HoldingState> holdings,
+                          List<TradePrice> prices, BigDecimal tradingBalance, Instant recordedAt) implements PortfolioEvent {
+
+        public LedgerImported {
+            holdings = List.copyOf(holdings);
+            prices = List.copyOf(prices);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.budiyanto.fintrackr.portfolio;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A Portfolio's stored state as of the end of its ledger, in the same plain values its {@link PortfolioEvent}s
+ * carry: part of Portfolio Management's published API, for read models rebuilding from scratch.
+ *
+ * @param position the ledger position of the last transaction, as the latest event would report it
+ * @param holdings every asset the Portfolio ever bought, with zero quantity and invested once it is sold out
+ */
+public record PortfolioState(UUID portfolioId, int position, BigDecimal tradingBalance,
+                             List<PortfolioEvent.HoldingState> holdings) {
+
+    public PortfolioState {
+        Objects.requireNonNull(portfolioId, "portfolioId cannot be null");
+        Objects.requireNonNull(tradingBalance, "tradingBalance cannot be null");
+        holdings = List.copyOf(holdings);
+    }
+}
@@ -0,0 +1,46 @@
+package com.budiyanto.fintrackr.portfolio;
+
+import com.budiyanto.fintrackr.portfolio.application.port.PortfolioStateReader;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Portfolio Management's published API for read models: every Portfolio's stored state, read from the Portfolio,
+ * Acquisition and Holding tables without loading the aggregate or its ledger (ADR-003).
+ * <p>
+ * A read model can rebuild from this instead of replaying every event ever published, so the event publication
+ * registry needs to keep only publications still in flight.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PortfolioStateService {
+
+    private final PortfolioStateReader states;
+
+    public PortfolioStateService(PortfolioStateReader states) {
+        this.states = states;
+    }
+
+    /**
+     * The next page of Portfolios with at least one transaction, in id order.
+     *
+     * @param after the last id of the previous page, or {@code null} for the first page
+     */
+    public List<PortfolioState> page(UUID after, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return states.page(after, limit);
+    }
+
+    /**
+     * The price each asset last traded at, over every Portfolio's ledger.
+     */
+    public List<PortfolioEvent.TradePrice> lastTradePrices() {
+        return states.lastTradePrices();
+    }
+}
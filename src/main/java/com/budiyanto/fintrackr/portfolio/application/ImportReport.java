@@ -0,0 +1,31 @@
+package com.budiyanto.fintrackr.portfolio.application;
+
+import com.budiyanto.fintrackr.portfolio.domain.model.Violation;
+import com.budiyanto.fintrackr.shared.Money;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Outcome of a {@link LedgerImportService} run. An import is all or nothing: either every row was recorded and
+ * {@code cashDelta} moved the trading balance and RDN, or nothing was written and the maps say which rows to fix.
+ *
+ * @param rows         the rows submitted
+ * @param cashDelta    the sum of the recorded rows' cash deltas; zero when nothing was recorded
+ * @param invalidIsins the text of each ISIN that is not a valid {@code AssetId}, keyed by row index
+ * @param violations   the rule each other failing row broke, keyed by row index
+ */
+public record ImportReport(int rows, Money cashDelta, SortedMap<Integer, String> invalidIsins, SortedMap<Integer, Violation> violations) {
+
+    public ImportReport {
+        Objects.requireNonNull(cashDelta, "cashDelta cannot be null");
+        invalidIsins = Collections.unmodifiableSortedMap(new TreeMap<>(invalidIsins));
+        violations = Collections.unmodifiableSortedMap(new TreeMap<>(violations));
+    }
+
+    public boolean isImported() {
+        return invalidIsins.isEmpty() && violations.isEmpty();
+    }
+}
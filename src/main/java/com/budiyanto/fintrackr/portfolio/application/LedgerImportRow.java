@@ -0,0 +1,37 @@
+package com.budiyanto.fintrackr.portfolio.application;
+
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * One parsed line of a ledger import, as {@link LedgerImportService} receives it. The ISIN is still the raw text
+ * of the source file; it is checked per row, so one bad code is reported instead of failing the whole file.
+ */
+public sealed interface LedgerImportRow permits LedgerImportRow.Deposit, LedgerImportRow.Buy {
+
+    LocalDate date();
+
+    record Deposit(Money amount, LocalDate date) implements LedgerImportRow {
+
+        public Deposit {
+            Objects.requireNonNull(amount, "amount cannot be null");
+            Objects.requireNonNull(date, "date cannot be null");
+        }
+    }
+
+    /**
+     * @param fee the fee the broker charged, as stated in the source; imported history keeps what was paid
+     */
+    record Buy(String isin, Quantity quantity, Money price, Money fee, LocalDate date) implements LedgerImportRow {
+
+        public Buy {
+            Objects.requireNonNull(quantity, "quantity cannot be null");
+            Objects.requireNonNull(price, "price cannot be null");
+            Objects.requireNonNull(fee, "fee cannot be null");
+            Objects.requireNonNull(date, "date cannot be null");
+        }
+    }
+}
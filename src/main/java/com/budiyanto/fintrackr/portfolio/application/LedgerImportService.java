@@ -0,0 +1,106 @@
+package com.budiyanto.fintrackr.portfolio.application;
+
+import com.budiyanto.fintrackr.portfolio.PortfolioEvent;
+import com.budiyanto.fintrackr.portfolio.application.port.BrokerAccountCash;
+import com.budiyanto.fintrackr.portfolio.application.port.PortfolioEventPublisher;
+import com.budiyanto.fintrackr.portfolio.application.port.PortfolioRepository;
+import com.budiyanto.fintrackr.portfolio.domain.exception.RejectedBatchException;
+import com.budiyanto.fintrackr.portfolio.domain.model.Portfolio;
+import com.budiyanto.fintrackr.portfolio.domain.model.PortfolioCommand;
+import com.budiyanto.fintrackr.portfolio.domain.model.PortfolioId;
+import com.budiyanto.fintrackr.portfolio.domain.model.Validation;
+import com.budiyanto.fintrackr.portfolio.domain.model.Violation;
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.Money;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Imports a ledger, such as a broker's trade history, into a Portfolio in one database transaction.
+ * <p>
+ * Every row is checked in memory before anything is written: ISINs with {@link AssetId#isValid(String)}, then
+ * the rows as a whole with the Portfolio's own rules, each against the balance the rows before it leave behind.
+ * A file with any bad row is reported and nothing is recorded. A clean file is recorded as one batch, saved in a
+ * single append, which the persistence adapter streams with COPY once it is large enough, and the broker
+ * account's RDN is moved once by the sum of the rows (ADR-003). The import is published as a single
+ * {@link PortfolioEvent.LedgerImported}.
+ */
+public class LedgerImportService {
+
+    private final PortfolioRepository portfolios;
+    private final BrokerAccountCash brokerAccounts;
+    private final PortfolioEventPublisher events;
+    private final OptimisticRetry retry;
+    private final Clock clock;
+
+    public LedgerImportService(PortfolioRepository portfolios, BrokerAccountCash brokerAccounts, PortfolioEventPublisher events,
+                               OptimisticRetry retry, Clock clock) {
+        this.portfolios = Objects.requireNonNull(portfolios, "portfolios cannot be null");
+        this.brokerAccounts = Objects.requireNonNull(brokerAccounts, "brokerAccounts cannot be null");
+        this.events = Objects.requireNonNull(events, "events cannot be null");
+        this.retry = Objects.requireNonNull(retry, "retry cannot be null");
+        this.clock = Objects.requireNonNull(clock, "clock cannot be null");
+    }
+
+    public ImportReport importLedger(PortfolioId portfolioId, List<LedgerImportRow> rows) {
+        Objects.requireNonNull(portfolioId, "portfolioId cannot be null");
+        Objects.requireNonNull(rows, "rows cannot be null");
+
+        // Rows with a bad ISIN cannot become commands; the others are still validated so one pass reports them all
+        SortedMap<Integer, String> invalidIsins = new TreeMap<>();
+        List<PortfolioCommand> commands = new ArrayList<>(rows.size());
+        int[] rowOfCommand = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            LedgerImportRow row = Objects.requireNonNull(rows.get(i), "row cannot be null");
+            if (row instanceof LedgerImportRow.Buy buy && !AssetId.isValid(buy.isin())) {
+                invalidIsins.put(i, buy.isin());
+                continue;
+            }
+            rowOfCommand[commands.size()] = i;
+            commands.add(switch (row) {
+                case LedgerImportRow.Deposit deposit -> new PortfolioCommand.RecordDeposit(deposit.amount(), deposit.date());
+                case LedgerImportRow.Buy buy -> new PortfolioCommand.RecordBuy(AssetId.of(buy.isin()), buy.quantity(), buy.price(), buy.fee(), buy.date());
+            });
+        }
+
+        return retry.execute("import", () -> {
+            Portfolio portfolio = portfolios.findById(portfolioId)
+                    .orElseThrow(() -> new IllegalArgumentException("unknown portfolio: " + portfolioId.value()));
+            LocalDate today = LocalDate.now(clock);
+
+            SortedMap<Integer, Violation> violations = new TreeMap<>();
+            if (!invalidIsins.isEmpty()) {
+                List<Validation> validations = portfolio.validate(commands, today);
+                for (int i = 0; i < validations.size(); i++) {
+                    if (validations.get(i) instanceof Validation.Rejected rejected) {
+                        violations.put(rowOfCommand[i], rejected.violation());
+                    }
+                }
+                return new ImportReport(rows.size(), Money.zero(), invalidIsins, violations);
+            }
+
+            Money cashDelta;
+            try {
+                cashDelta = portfolio.recordBatch(commands, today);
+            } catch (RejectedBatchException e) {
+                for (Map.Entry<Integer, Violation> failure : e.failures().entrySet()) {
+                    violations.put(rowOfCommand[failure.getKey()], failure.getValue());
+                }
+                return new ImportReport(rows.size(), Money.zero(), invalidIsins, violations);
+            }
+
+            PortfolioEvent.LedgerImported imported = RecordedEvents.imported(portfolio, portfolio.unsavedTransactions(), clock.instant());
+            portfolios.save(portfolio);
+            brokerAccounts.applyCashFlow(portfolio.brokerAccountId(), cashDelta);
+            events.publish(imported);
+            return new ImportReport(rows.size(), cashDelta, invalidIsins, violations);
+        });
+    }
+}
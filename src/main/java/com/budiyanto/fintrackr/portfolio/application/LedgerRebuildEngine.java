@@ -0,0 +1,153 @@
+package com.budiyanto.fintrackr.portfolio.application;
+
+import com.budiyanto.fintrackr.portfolio.application.port.PortfolioRepository;
+import com.budiyanto.fintrackr.portfolio.application.port.RdnLookup;
+import com.budiyanto.fintrackr.portfolio.domain.model.Holding;
+import com.budiyanto.fintrackr.portfolio.domain.model.Portfolio;
+import com.budiyanto.fintrackr.portfolio.domain.model.PortfolioId;
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.BrokerAccountId;
+import com.budiyanto.fintrackr.shared.Money;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The rebuild path of ADR-004: replays every Portfolio's ledger and compares the result with the cached trading
+ * balance and Holdings, optionally saving the replayed state over drifted ones. It then checks the ADR-003
+ * invariant, {@code sum(tradingBalance) == rdn}, for each broker account using the replayed balances.
+ * <p>
+ * Each portfolio is one task on a virtual thread and touches no state shared with the others, apart from its
+ * broker account's running sum. A portfolio that cannot be loaded, replayed or saved is reported as a failure and
+ * the run carries on with the rest; that includes one with history in an archived year, whose ledger cannot be
+ * replayed while the year is detached. A semaphore caps the number of portfolios held in memory at once at
+ * {@code parallelism}.
+ */
+public class LedgerRebuildEngine {
+
+    private final PortfolioRepository portfolios;
+    private final RdnLookup rdnLookup;
+    private final int parallelism;
+
+    public LedgerRebuildEngine(PortfolioRepository portfolios, RdnLookup rdnLookup, int parallelism) {
+        Objects.requireNonNull(portfolios, "portfolios cannot be null");
+        Objects.requireNonNull(rdnLookup, "rdnLookup cannot be null");
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.portfolios = portfolios;
+        this.rdnLookup = rdnLookup;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Reports drift without changing anything.
+     */
+    public RebuildReport verify() {
+        return run(false);
+    }
+
+    /**
+     * Reports drift and saves the replayed state of every drifted portfolio.
+     */
+    public RebuildReport repair() {
+        return run(true);
+    }
+
+    private RebuildReport run(boolean repair) {
+        List<PortfolioId> ids = portfolios.findAllIds();
+        RebuildReport.PortfolioDrift[] drifts = new RebuildReport.PortfolioDrift[ids.size()]; // one slot per task
+        RebuildReport.PortfolioFailure[] failures = new RebuildReport.PortfolioFailure[ids.size()];
+        Map<BrokerAccountId, Money> tradingBalances = new ConcurrentHashMap<>();
+        Semaphore permits = new Semaphore(parallelism);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < ids.size(); i++) {
+                int slot = i;
+                permits.acquire();
+                executor.submit(() -> {
+                    try {
+                        drifts[slot] = check(ids.get(slot), repair, tradingBalances);
+                    } catch (RuntimeException e) {
+                        // One unreadable or concurrently modified portfolio must not hide the drift in the others
+                        failures[slot] = new RebuildReport.PortfolioFailure(ids.get(slot), e.toString());
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ledger rebuild was interrupted", e);
+        }
+
+        List<RebuildReport.PortfolioDrift> drifted = new ArrayList<>();
+        List<RebuildReport.PortfolioFailure> failed = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (drifts[i] != null) {
+                drifted.add(drifts[i]);
+            }
+            if (failures[i] != null) {
+                failed.add(failures[i]);
+            }
+        }
+        return new RebuildReport(ids.size(), drifted, failed, breaches(tradingBalances));
+    }
+
+    private RebuildReport.PortfolioDrift check(PortfolioId id, boolean repair, Map<BrokerAccountId, Money> tradingBalances) {
+        Optional<Portfolio> found = portfolios.findById(id);
+        if (found.isEmpty()) {
+            return null; // removed since the ids were listed
+        }
+        Portfolio cached = found.get();
+        Portfolio replayed = Portfolio.replay(cached.id(), cached.brokerAccountId(), cached.name(), cached.transactions());
+        tradingBalances.merge(cached.brokerAccountId(), replayed.tradingBalance(), Money::add);
+
+        Set<AssetId> driftedAssets = driftedAssets(cached.holdings(), replayed.holdings());
+        if (cached.tradingBalance().equals(replayed.tradingBalance()) && driftedAssets.isEmpty()) {
+            return null;
+        }
+        if (repair) {
+            replayed.version(cached.version());  // written over the state it was replayed from, not whatever is newer
+            portfolios.repair(replayed);
+        }
+        return new RebuildReport.PortfolioDrift(id, cached.tradingBalance(), replayed.tradingBalance(), driftedAssets, repair);
+    }
+
+    private static Set<AssetId> driftedAssets(List<Holding> cached, List<Holding> replayed) {
+        Map<AssetId, Holding> replayedByAsset = replayed.stream()
+                .collect(Collectors.toMap(Holding::assetId, Function.identity()));
+        Set<AssetId> drifted = new LinkedHashSet<>();
+        for (Holding holding : cached) {
+            if (!holding.equals(replayedByAsset.remove(holding.assetId()))) {
+                drifted.add(holding.assetId());
+            }
+        }
+        drifted.addAll(replayedByAsset.keySet());
+        return drifted;
+    }
+
+    private List<RebuildReport.CashInvariantBreach> breaches(Map<BrokerAccountId, Money> tradingBalances) {
+        List<RebuildReport.CashInvariantBreach> breaches = new ArrayList<>();
+        for (Map.Entry<BrokerAccountId, Money> entry : tradingBalances.entrySet()) {
+            Money rdn = rdnLookup.rdnOf(entry.getKey()).orElse(null);
+            if (!entry.getValue().equals(rdn)) {
+                breaches.add(new RebuildReport.CashInvariantBreach(entry.getKey(), entry.getValue(), rdn));
+            }
+        }
+        breaches.sort(Comparator.comparing(breach -> breach.brokerAccountId().value()));
+        return breaches;
+    }
+}
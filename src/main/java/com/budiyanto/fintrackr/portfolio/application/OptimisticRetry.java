@@ -0,0 +1,73 @@
+package com.budiyanto.fintrackr.portfolio.application;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work in a transaction of its own and, when it loses an optimistic concurrency check, runs it
+ * again from the start after a backoff, up to the {@link RetryPolicy}'s attempts.
+ * <p>
+ * Each attempt reloads what it changes, so a retry works on the state the winning writer committed. Only
+ * {@link ConcurrencyFailureException}s are retried; a domain exception means the command itself was rejected and
+ * would be rejected again.
+ * <p>
+ * Counts, tagged by {@code operation}: {@value #CONFLICTS} for every attempt that lost, {@value #RETRIES} for
+ * every attempt run again, and {@value #EXHAUSTED} for every unit of work given up on.
+ */
+public class OptimisticRetry {
+
+    static final String CONFLICTS = "fintrackr.portfolio.write.conflicts";
+    static final String RETRIES = "fintrackr.portfolio.write.retries";
+    static final String EXHAUSTED = "fintrackr.portfolio.write.exhausted";
+
+    private final TransactionOperations transactions;
+    private final RetryPolicy policy;
+    private final MeterRegistry meterRegistry;
+
+    public OptimisticRetry(TransactionOperations transactions, RetryPolicy policy, MeterRegistry meterRegistry) {
+        this.transactions = Objects.requireNonNull(transactions, "transactions cannot be null");
+        this.policy = Objects.requireNonNull(policy, "policy cannot be null");
+        this.meterRegistry = Objects.requireNonNull(meterRegistry, "meterRegistry cannot be null");
+    }
+
+    /**
+     * @throws ConcurrencyFailureException the last conflict, once every attempt has lost
+     */
+    public <T> T execute(String operation, Supplier<T> work) {
+        Objects.requireNonNull(operation, "operation cannot be null");
+        Objects.requireNonNull(work, "work cannot be null");
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactions.execute(status -> work.get());
+            } catch (ConcurrencyFailureException conflict) {
+                counter(CONFLICTS, operation).increment();
+                if (attempt >= policy.maxAttempts()) {
+                    counter(EXHAUSTED, operation).increment();
+                    throw conflict;
+                }
+                counter(RETRIES, operation).increment();
+                pause(policy.backoff(attempt), conflict);
+            }
+        }
+    }
+
+    private Counter counter(String name, String operation) {
+        return Counter.builder(name).tag("operation", operation).register(meterRegistry);
+    }
+
+    private static void pause(Duration backoff, ConcurrencyFailureException conflict) {
+        try {
+            Thread.sleep(backoff);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            conflict.addSuppressed(e);
+            throw conflict;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.budiyanto.fintrackr.portfolio.application;
+
+import com.budiyanto.fintrackr.portfolio.domain.model.PortfolioId;
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.BrokerAccountId;
+import com.budiyanto.fintrackr.shared.Money;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Outcome of a {@link LedgerRebuildEngine} run: every portfolio whose cached state differed from a replay of its
+ * ledger (ADR-004), and every broker account whose RDN differed from the sum of its replayed trading balances
+ * (ADR-003). Portfolios that could not be checked are listed as failures; their broker accounts' sums are then
+ * incomplete, so a breach reported for one of them may be spurious.
+ */
+public record RebuildReport(int portfoliosChecked, List<PortfolioDrift> drifts, List<PortfolioFailure> failures, List<CashInvariantBreach> breaches) {
+
+    public RebuildReport {
+        Objects.requireNonNull(drifts, "drifts cannot be null");
+        Objects.requireNonNull(failures, "failures cannot be null");
+        Objects.requireNonNull(breaches, "breaches cannot be null");
+        drifts = List.copyOf(drifts);
+        failures = List.copyOf(failures);
+        breaches = List.copyOf(breaches);
+    }
+
+    public boolean isClean() {
+        return drifts.isEmpty() && failures.isEmpty() && breaches.isEmpty();
+    }
+
+    /**
+     * @param driftedAssets the assets whose cached Holding differs from the replayed one
+     * @param repaired      whether the replayed state was saved over the cached one
+     */
+    public record PortfolioDrift(PortfolioId portfolioId, Money cachedBalance, Money replayedBalance, Set<AssetId> driftedAssets, boolean repaired) {
+
+        public PortfolioDrift {
+            driftedAssets = Set.copyOf(driftedAssets);
+        }
+
+        public boolean balanceDrifted() {
+            return !cachedBalance.equals(replayedBalance);
+        }
+    }
+
+    /**
+     * @param error the exception that stopped this portfolio's check
+     */
+    public record PortfolioFailure(PortfolioId portfolioId, String error) {
+    }
+
+    /**
+     * @param rdn the broker account's RDN, or {@code null} when no such broker account was found
+     */
+    public record CashInvariantBreach(BrokerAccountId brokerAccountId, Money tradingBalances, Money rdn) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.budiyanto.fintrackr.portfolio.application;
+
+import com.budiyanto.fintrackr.portfolio.PortfolioEvent;
+import com.budiyanto.fintrackr.portfolio.application.port.BrokerAccountCash;
+import com.budiyanto.fintrackr.portfolio.application.port.PortfolioEventPublisher;
+import com.budiyanto.fintrackr.portfolio.application.port.PortfolioRepository;
+import com.budiyanto.fintrackr.portfolio.domain.model.AcquisitionSelectionStrategy;
+import com.budiyanto.fintrackr.portfolio.domain.model.Portfolio;
+import com.budiyanto.fintrackr.portfolio.domain.model.PortfolioId;
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+/**
+ * The record-a-transaction use cases of ADR-003: each moves a Portfolio's trading balance and its broker account's
+ * RDN by the same delta, in one database transaction.
+ * <p>
+ * Neither aggregate is locked while the command runs. Both are saved with optimistic version checks, and a
+ * command that loses a race with another writer of either is re-run through {@link OptimisticRetry}. Writers of
+ * different broker accounts never touch the same rows, so they do not slow each other down. Portfolios of one
+ * broker account still meet at its RDN row, which is held only from the RDN update to the commit.
+ * <p>
+ * Each recorded transaction is published as a {@link PortfolioEvent} in the same database transaction.
+ */
+public class RecordTransactionService {
+
+    private final PortfolioRepository portfolios;
+    private final BrokerAccountCash brokerAccounts;
+    private final PortfolioEventPublisher events;
+    private final OptimisticRetry retry;
+    private final Clock clock;
+
+    public RecordTransactionService(PortfolioRepository portfolios, BrokerAccountCash brokerAccounts, PortfolioEventPublisher events,
+                                    OptimisticRetry retry, Clock clock) {
+        this.portfolios = Objects.requireNonNull(portfolios, "portfolios cannot be null");
+        this.brokerAccounts = Objects.requireNonNull(brokerAccounts, "brokerAccounts cannot be null");
+        this.events = Objects.requireNonNull(events, "events cannot be null");
+        this.retry = Objects.requireNonNull(retry, "retry cannot be null");
+        this.clock = Objects.requireNonNull(clock, "clock cannot be null");
+    }
+
+    /**
+     * @return the cash delta moved
+     */
+    public Money recordDeposit(PortfolioId portfolioId, Money amount, LocalDate date) {
+        return record("deposit", portfolioId, (portfolio, today) -> {
+            portfolio.recordDeposit(amount, date, today);
+            return amount;
+        });
+    }
+
+    /**
+     * Buys at the broker account's buy fee.
+     *
+     * @return the cash delta moved, negative
+     */
+    public Money recordBuy(PortfolioId portfolioId, AssetId assetId, Quantity quantity, Money price, LocalDate date) {
+        return record("buy", portfolioId, (portfolio, today) -> {
+            Money fee = brokerAccounts.buyFee(portfolio.brokerAccountId(), quantity, price);
+            return portfolio.recordBuy(assetId, quantity, price, fee, date, today);
+        });
+    }
+
+    /**
+     * Sells at the broker account's sell fee.
+     *
+     * @return the cash delta moved
+     */
+    public Money recordSell(PortfolioId portfolioId, AssetId assetId, Quantity quantity, Money price, LocalDate date, AcquisitionSelectionStrategy strategy) {
+        return record("sell", portfolioId, (portfolio, today) -> {
+            Money fee = brokerAccounts.sellFee(portfolio.brokerAccountId(), quantity, price);
+            return portfolio.recordSell(assetId, quantity, price, fee, date, strategy, today);
+        });
+    }
+
+    /**
+     * @return the cash delta moved
+     */
+    public Money recordDividend(PortfolioId portfolioId, AssetId assetId, Money dps, LocalDate cumDate, LocalDate paymentDate) {
+        return record("dividend", portfolioId, (portfolio, today) ->
+                portfolio.recordDividend(assetId, dps, cumDate, paymentDate, today));
+    }
+
+    // Portfolio first, then the RDN: one lock order for every command, so two of them cannot deadlock
+    private Money record(String operation, PortfolioId portfolioId, BiFunction<Portfolio, LocalDate, Money> command) {
+        Objects.requireNonNull(portfolioId, "portfolioId cannot be null");
+        return retry.execute(operation, () -> {
+            Portfolio portfolio = portfolios.findById(portfolioId)
+                    .orElseThrow(() -> new IllegalArgumentException("unknown portfolio: " + portfolioId.value()));
+            Money delta = command.apply(portfolio, LocalDate.now(clock));
+            List<PortfolioEvent> recorded = RecordedEvents.of(portfolio, portfolio.unsavedTransactions(), clock.instant());
+            portfolios.save(portfolio);
+            brokerAccounts.applyCashFlow(portfolio.brokerAccountId(), delta);
+            recorded.forEach(events::publish);
+            return delta;
+        });
+    }
+}
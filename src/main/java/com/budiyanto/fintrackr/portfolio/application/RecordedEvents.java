@@ -0,0 +1,87 @@
+package com.budiyanto.fintrackr.portfolio.application;
+
+import com.budiyanto.fintrackr.portfolio.PortfolioEvent;
+import com.budiyanto.fintrackr.portfolio.domain.model.Buy;
+import com.budiyanto.fintrackr.portfolio.domain.model.Deposit;
+import com.budiyanto.fintrackr.portfolio.domain.model.Dividend;
+import com.budiyanto.fintrackr.portfolio.domain.model.Portfolio;
+import com.budiyanto.fintrackr.portfolio.domain.model.Sell;
+import com.budiyanto.fintrackr.portfolio.domain.model.Transaction;
+import com.budiyanto.fintrackr.shared.AssetId;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Turns the transactions a save appended into {@link PortfolioEvent}s, with the Portfolio's state after the save.
+ * Built before {@link Portfolio#markSaved()} clears the unsaved list, published after the save succeeded.
+ */
+final class RecordedEvents {
+
+    private RecordedEvents() {
+    }
+
+    /**
+     * One event per transaction, in recording order.
+     */
+    static List<PortfolioEvent> of(Portfolio portfolio, List<Transaction> saved, Instant recordedAt) {
+        UUID portfolioId = portfolio.id().value();
+        BigDecimal balance = portfolio.tradingBalance().amount();
+        int position = portfolio.transactions().size() - saved.size();
+        List<PortfolioEvent> events = new ArrayList<>(saved.size());
+        for (Transaction transaction : saved) {
+            events.add(switch (transaction) {
+                case Deposit deposit -> new PortfolioEvent.DepositRecorded(portfolioId, position, deposit.date(),
+                        deposit.amount().amount(), balance, recordedAt);
+                case Buy buy -> new PortfolioEvent.BuyRecorded(portfolioId, position, buy.date(), buy.assetId().value(),
+                        buy.quantity().value(), buy.price().amount(), buy.fee().amount(), holding(portfolio, buy.assetId()),
+                        balance, recordedAt);
+                case Sell sell -> new PortfolioEvent.SellRecorded(portfolioId, position, sell.date(), sell.assetId().value(),
+                        sell.totalQuantity().value(), sell.price().amount(), sell.totalFee().amount(),
+                        holding(portfolio, sell.assetId()), balance, recordedAt);
+                case Dividend dividend -> new PortfolioEvent.DividendRecorded(portfolioId, position, dividend.date(),
+                        dividend.assetId().value(), dividend.cashDelta().amount(), balance, recordedAt);
+            });
+            position++;
+        }
+        return events;
+    }
+
+    /**
+     * One event for a whole import: the Holdings it touched and the last price of each asset it traded.
+     */
+    static PortfolioEvent.LedgerImported imported(Portfolio portfolio, List<Transaction> saved, Instant recordedAt) {
+        Map<AssetId, PortfolioEvent.TradePrice> prices = new LinkedHashMap<>();
+        for (Transaction transaction : saved) {
+            switch (transaction) {
+                case Buy buy -> lastPrice(prices, new PortfolioEvent.TradePrice(buy.assetId().value(), buy.price().amount(), buy.date()), buy.assetId());
+                case Sell sell -> lastPrice(prices, new PortfolioEvent.TradePrice(sell.assetId().value(), sell.price().amount(), sell.date()), sell.assetId());
+                case Deposit deposit -> { }
+                case Dividend dividend -> { }
+            }
+        }
+        List<PortfolioEvent.HoldingState> holdings = new ArrayList<>(prices.size());
+        for (AssetId assetId : prices.keySet()) {
+            holdings.add(holding(portfolio, assetId));
+        }
+        int position = portfolio.transactions().size() - 1;
+        return new PortfolioEvent.LedgerImported(portfolio.id().value(), position - saved.size() + 1, position, holdings,
+                List.copyOf(prices.values()), portfolio.tradingBalance().amount(), recordedAt);
+    }
+
+    // Ledger order is not date order; the latest-dated trade wins, and the later-recorded one on a tie
+    private static void lastPrice(Map<AssetId, PortfolioEvent.TradePrice> prices, PortfolioEvent.TradePrice price, AssetId assetId) {
+        prices.merge(assetId, price, (kept, candidate) -> candidate.date().isBefore(kept.date()) ? kept : candidate);
+    }
+
+    private static PortfolioEvent.HoldingState holding(Portfolio portfolio, AssetId assetId) {
+        return portfolio.holding(assetId)
+                .map(holding -> new PortfolioEvent.HoldingState(assetId.value(), holding.totalQuantity().value(), holding.totalInvested().amount()))
+                .orElseGet(() -> new PortfolioEvent.HoldingState(assetId.value(), BigDecimal.ZERO, BigDecimal.ZERO));
+    }
+}
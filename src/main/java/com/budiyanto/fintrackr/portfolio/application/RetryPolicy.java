@@ -0,0 +1,42 @@
+package com.budiyanto.fintrackr.portfolio.application;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How often and how patiently {@link OptimisticRetry} re-runs a write that lost a concurrency check.
+ * <p>
+ * The pause before retry n is drawn uniformly from {@code [0, min(maxBackoff, initialBackoff · 2^(n−1))]}. The
+ * jitter keeps writers that collided once from colliding again on the same schedule.
+ *
+ * @param maxAttempts the attempts in total, the first included
+ */
+public record RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+
+    public RetryPolicy {
+        Objects.requireNonNull(initialBackoff, "initialBackoff cannot be null");
+        Objects.requireNonNull(maxBackoff, "maxBackoff cannot be null");
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        if (initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0) {
+            throw new IllegalArgumentException("backoff must satisfy 0 <= initialBackoff <= maxBackoff");
+        }
+    }
+
+    public static RetryPolicy defaults() {
+        return new RetryPolicy(5, Duration.ofMillis(10), Duration.ofMillis(200));
+    }
+
+    /**
+     * The pause before retry {@code retry}, counting from 1.
+     */
+    Duration backoff(int retry) {
+        long ceiling = initialBackoff.toNanos() << Math.min(retry - 1, 30);
+        if (ceiling < 0 || ceiling > maxBackoff.toNanos()) {
+            ceiling = maxBackoff.toNanos();
+        }
+        return Duration.ofNanos(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+}
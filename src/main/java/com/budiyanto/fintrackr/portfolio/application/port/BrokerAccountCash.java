@@ -0,0 +1,18 @@
+package com.budiyanto.fintrackr.portfolio.application.port;
+
+import com.budiyanto.fintrackr.shared.BrokerAccountId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+
+/**
+ * Fees and RDN movements of a broker account, through Brokerage's published API (ADR-003). Calls join the
+ * caller's transaction.
+ */
+public interface BrokerAccountCash {
+
+    Money buyFee(BrokerAccountId brokerAccountId, Quantity quantity, Money price);
+
+    Money sellFee(BrokerAccountId brokerAccountId, Quantity quantity, Money price);
+
+    void applyCashFlow(BrokerAccountId brokerAccountId, Money delta);
+}
@@ -0,0 +1,12 @@
+package com.budiyanto.fintrackr.portfolio.application.port;
+
+import com.budiyanto.fintrackr.portfolio.PortfolioEvent;
+
+/**
+ * Hands {@link PortfolioEvent}s to other modules. Called inside the recording transaction, so an event is
+ * registered for delivery exactly when the save it reports commits.
+ */
+public interface PortfolioEventPublisher {
+
+    void publish(PortfolioEvent event);
+}
@@ -0,0 +1,30 @@
+package com.budiyanto.fintrackr.portfolio.application.port;
+
+import com.budiyanto.fintrackr.portfolio.domain.model.Portfolio;
+import com.budiyanto.fintrackr.portfolio.domain.model.PortfolioId;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Loads and stores {@link Portfolio} aggregates, including their cached derived state (ADR-004).
+ */
+public interface PortfolioRepository {
+
+    List<PortfolioId> findAllIds();
+
+    Optional<Portfolio> findById(PortfolioId id);
+
+    /**
+     * Appends what {@code portfolio} recorded since it was loaded or last saved, and the derived state that moved
+     * with it. A Portfolio with nothing recorded since is not written.
+     */
+    void save(Portfolio portfolio);
+
+    /**
+     * Overwrites the stored trading balance, Acquisitions and Holdings of a Portfolio with those of
+     * {@code replayed}, a replay of its whole stored ledger, which is left as it is. For the rebuild path of
+     * ADR-004 only.
+     */
+    void repair(Portfolio replayed);
+}
@@ -0,0 +1,20 @@
+package com.budiyanto.fintrackr.portfolio.application.port;
+
+import com.budiyanto.fintrackr.portfolio.PortfolioEvent;
+import com.budiyanto.fintrackr.portfolio.PortfolioState;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads stored Portfolio state for read models, straight from the tables (ADR-003).
+ */
+public interface PortfolioStateReader {
+
+    /**
+     * @param after the last id of the previous page, or {@code null} for the first page
+     */
+    List<PortfolioState> page(UUID after, int limit);
+
+    List<PortfolioEvent.TradePrice> lastTradePrices();
+}
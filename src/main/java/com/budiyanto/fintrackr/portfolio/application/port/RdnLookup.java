@@ -0,0 +1,14 @@
+package com.budiyanto.fintrackr.portfolio.application.port;
+
+import com.budiyanto.fintrackr.shared.BrokerAccountId;
+import com.budiyanto.fintrackr.shared.Money;
+
+import java.util.Optional;
+
+/**
+ * Reads a broker account's RDN through Brokerage's published API (ADR-003).
+ */
+public interface RdnLookup {
+
+    Optional<Money> rdnOf(BrokerAccountId brokerAccountId);
+}
@@ -0,0 +1,12 @@
+package com.budiyanto.fintrackr.portfolio.domain.exception;
+
+import com.budiyanto.fintrackr.shared.DomainException;
+
+import java.time.LocalDate;
+
+public class ArchivedYearException extends DomainException {
+
+    public ArchivedYearException(LocalDate date) {
+        super("Transaction dated in an archived year is not allowed. Date: " + date + ".");
+    }
+}
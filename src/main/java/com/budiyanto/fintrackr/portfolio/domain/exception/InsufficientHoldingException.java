@@ -0,0 +1,12 @@
+package com.budiyanto.fintrackr.portfolio.domain.exception;
+
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.DomainException;
+import com.budiyanto.fintrackr.shared.Quantity;
+
+public class InsufficientHoldingException extends DomainException {
+
+    public InsufficientHoldingException(AssetId assetId, Quantity held, Quantity requested) {
+        super("Selling more than is held is not allowed. Asset: " + assetId + ", Held: " + held.value() + ", Requested: " + requested.value());
+    }
+}
@@ -0,0 +1,13 @@
+package com.budiyanto.fintrackr.portfolio.domain.exception;
+
+import com.budiyanto.fintrackr.portfolio.domain.model.AcquisitionId;
+import com.budiyanto.fintrackr.shared.DomainException;
+import com.budiyanto.fintrackr.shared.Quantity;
+
+public class InvalidSellAllocationException extends DomainException {
+
+    public InvalidSellAllocationException(AcquisitionId acquisitionId, Quantity shares) {
+        super("Sell allocation must take a positive quantity of no more than the open shares of an open acquisition. Acquisition: "
+                + acquisitionId.value() + ", Shares: " + shares.value());
+    }
+}
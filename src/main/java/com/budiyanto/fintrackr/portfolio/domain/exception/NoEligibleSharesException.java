@@ -0,0 +1,13 @@
+package com.budiyanto.fintrackr.portfolio.domain.exception;
+
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.DomainException;
+
+import java.time.LocalDate;
+
+public class NoEligibleSharesException extends DomainException {
+
+    public NoEligibleSharesException(AssetId assetId, LocalDate cumDate) {
+        super("Dividend without eligible shares is not allowed. Asset: " + assetId + ", Cum date: " + cumDate + ".");
+    }
+}
@@ -0,0 +1,12 @@
+package com.budiyanto.fintrackr.portfolio.domain.exception;
+
+import com.budiyanto.fintrackr.shared.DomainException;
+
+import java.time.LocalDate;
+
+public class PaymentBeforeCumDateException extends DomainException {
+
+    public PaymentBeforeCumDateException(LocalDate cumDate, LocalDate paymentDate) {
+        super("Dividend paid before its cum date is not allowed. Cum date: " + cumDate + ", Payment date: " + paymentDate + ".");
+    }
+}
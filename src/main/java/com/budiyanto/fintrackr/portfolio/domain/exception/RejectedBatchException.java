@@ -0,0 +1,24 @@
+package com.budiyanto.fintrackr.portfolio.domain.exception;
+
+import com.budiyanto.fintrackr.portfolio.domain.model.Violation;
+import com.budiyanto.fintrackr.shared.DomainException;
+
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+public class RejectedBatchException extends DomainException {
+
+    private final SortedMap<Integer, Violation> failures;
+
+    public RejectedBatchException(int batchSize, SortedMap<Integer, Violation> failures) {
+        super("Batch rejected, nothing was recorded. " + failures.size() + " of " + batchSize + " commands failed. First failure at index "
+                + failures.firstKey() + ": " + failures.get(failures.firstKey()));
+        this.failures = Collections.unmodifiableSortedMap(new TreeMap<>(failures));
+    }
+
+    /**
+     * The rule each failing command broke, keyed by its index in the batch.
+     */
+    public SortedMap<Integer, Violation> failures() { return failures; }
+}
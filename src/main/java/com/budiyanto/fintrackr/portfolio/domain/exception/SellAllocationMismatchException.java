@@ -0,0 +1,11 @@
+package com.budiyanto.fintrackr.portfolio.domain.exception;
+
+import com.budiyanto.fintrackr.shared.DomainException;
+import com.budiyanto.fintrackr.shared.Quantity;
+
+public class SellAllocationMismatchException extends DomainException {
+
+    public SellAllocationMismatchException(Quantity allocated, Quantity quantity) {
+        super("Sell allocations must add up to the sold quantity. Allocated: " + allocated.value() + ", Quantity: " + quantity.value());
+    }
+}
@@ -4,11 +4,15 @@ import com.budiyanto.fintrackr.shared.AssetId;
 import com.budiyanto.fintrackr.shared.Money;
 import com.budiyanto.fintrackr.shared.Quantity;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.Objects;
 
 public class Acquisition {
 
+    private static final int UNIT_COST_SCALE = 8;
+
     private final AcquisitionId id;
     private final PortfolioId portfolioId;
     private final AssetId assetId;
@@ -16,6 +20,8 @@ public class Acquisition {
     private final Money openPrice;
     private final Money openFee;
     private final Quantity initialQuantity;
+    private Quantity remainingQuantity;     // initialQuantity − Σ SellAllocations against this Acquisition
+    private BigDecimal unitCost;            // open cost per share, fee included; computed on first use
 
     private Acquisition(AcquisitionId id, PortfolioId portfolioId, AssetId assetId, LocalDate openDate, Money openPrice, Money openFee, Quantity initialQuantity) {
         this.id = id;
@@ -25,12 +31,81 @@ public class Acquisition {
         this.openPrice = openPrice;
         this.openFee = openFee;
         this.initialQuantity = initialQuantity;
+        this.remainingQuantity = initialQuantity;
     }
 
     public static Acquisition create(PortfolioId portfolioId, AssetId assetId, LocalDate openDate, Money openPrice, Money openFee, Quantity initialQuantity) {
         return new Acquisition(AcquisitionId.generate(), portfolioId, assetId, openDate, openPrice, openFee, initialQuantity);
     }
 
+    /**
+     * Rehydrates a stored Acquisition with the shares it still held when it was saved.
+     */
+    public static Acquisition restore(AcquisitionId id, PortfolioId portfolioId, AssetId assetId, LocalDate openDate, Money openPrice, Money openFee, Quantity initialQuantity, Quantity remainingQuantity) {
+        Objects.requireNonNull(id, "id cannot be null");
+        Objects.requireNonNull(portfolioId, "portfolioId cannot be null");
+        Objects.requireNonNull(assetId, "assetId cannot be null");
+        Objects.requireNonNull(openDate, "openDate cannot be null");
+        Objects.requireNonNull(openPrice, "openPrice cannot be null");
+        Objects.requireNonNull(openFee, "openFee cannot be null");
+        Objects.requireNonNull(initialQuantity, "initialQuantity cannot be null");
+        Objects.requireNonNull(remainingQuantity, "remainingQuantity cannot be null");
+        if (remainingQuantity.compareTo(initialQuantity) > 0) {
+            throw new IllegalArgumentException("remainingQuantity cannot exceed initialQuantity");
+        }
+        Acquisition acquisition = new Acquisition(id, portfolioId, assetId, openDate, openPrice, openFee, initialQuantity);
+        acquisition.remainingQuantity = remainingQuantity;
+        return acquisition;
+    }
+
+    // The Acquisition a recorded buy opened, for replaying the ledger
+    static Acquisition openedBy(Buy buy) {
+        return new Acquisition(buy.acquisitionId(), buy.portfolioId(), buy.assetId(), buy.date(), buy.price(), buy.fee(), buy.quantity());
+    }
+
+    // An independent copy, for snapshots
+    Acquisition copy() {
+        Acquisition copy = new Acquisition(id, portfolioId, assetId, openDate, openPrice, openFee, initialQuantity);
+        copy.remainingQuantity = remainingQuantity;
+        return copy;
+    }
+
+    void consume(Quantity shares) {
+        remainingQuantity = remainingQuantity.subtract(shares);
+    }
+
+    // Resets the derived remaining quantity to one re-derived from the ledger (ADR-004)
+    void restoreRemaining(Quantity remaining) {
+        remainingQuantity = remaining;
+    }
+
+    boolean isOpen() {
+        return !remainingQuantity.isZero();
+    }
+
+    // The cash the opening buy moved
+    Money openCost() {
+        return Buy.costDelta(initialQuantity, openPrice, openFee).negate();
+    }
+
+    // The open cost of the shares still held, pro rata
+    Money remainingCost() {
+        if (remainingQuantity.equals(initialQuantity)) {
+            return openCost();
+        }
+        BigDecimal remaining = openCost().amount().multiply(remainingQuantity.value())
+                .divide(initialQuantity.value(), UNIT_COST_SCALE, RoundingMode.HALF_EVEN);
+        return Money.of(remaining, openPrice.currency());
+    }
+
+    // Orders lots for HighestCost/LowestCost
+    BigDecimal unitCost() {
+        if (unitCost == null) {
+            unitCost = openCost().amount().divide(initialQuantity.value(), UNIT_COST_SCALE, RoundingMode.HALF_EVEN);
+        }
+        return unitCost;
+    }
+
     public AcquisitionId id() { return id; }
 
     public PortfolioId portfolioId() { return portfolioId; }
@@ -45,6 +120,15 @@ public class Acquisition {
 
     public Quantity initialQuantity() { return initialQuantity; }
 
+    public Quantity remainingQuantity() { return remainingQuantity; }
+
+    public AcquisitionStatus status() {
+        if (remainingQuantity.isZero()) {
+            return AcquisitionStatus.CLOSED;
+        }
+        return remainingQuantity.equals(initialQuantity) ? AcquisitionStatus.OPEN : AcquisitionStatus.PARTIALLY_CLOSED;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
@@ -1,5 +1,7 @@
 package com.budiyanto.fintrackr.portfolio.domain.model;
 
+import com.budiyanto.fintrackr.shared.IdGenerator;
+
 import java.util.Objects;
 import java.util.UUID;
 
@@ -10,7 +12,12 @@ public record AcquisitionId(UUID value) {
     }
 
     public static AcquisitionId generate() {
-        return new AcquisitionId(UUID.randomUUID());
+        return generate(IdGenerator.timeOrdered());
+    }
+
+    public static AcquisitionId generate(IdGenerator generator) {
+        Objects.requireNonNull(generator, "generator cannot be null");
+        return new AcquisitionId(generator.nextId());
     }
 
 }
@@ -0,0 +1,49 @@
+package com.budiyanto.fintrackr.portfolio.domain.model;
+
+import com.budiyanto.fintrackr.shared.Quantity;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Which open Acquisitions a Sell consumes (ADR-005). Every strategy but {@link Manual} takes lots in its order,
+ * partially consuming the last one, until the sold quantity is covered.
+ */
+public sealed interface AcquisitionSelectionStrategy {
+
+    /** Oldest open date first. */
+    record Fifo() implements AcquisitionSelectionStrategy {
+    }
+
+    /** Newest open date first. */
+    record Lifo() implements AcquisitionSelectionStrategy {
+    }
+
+    /** Highest cost per share, fee included, first. */
+    record HighestCost() implements AcquisitionSelectionStrategy {
+    }
+
+    /** Lowest cost per share, fee included, first. */
+    record LowestCost() implements AcquisitionSelectionStrategy {
+    }
+
+    /**
+     * The user names each lot and how many of its shares to sell. The Sell's fee is still allocated
+     * proportionally.
+     */
+    record Manual(List<Lot> lots) implements AcquisitionSelectionStrategy {
+
+        public Manual {
+            Objects.requireNonNull(lots, "lots cannot be null");
+            lots = List.copyOf(lots);
+        }
+
+        public record Lot(AcquisitionId acquisitionId, Quantity quantity) {
+
+            public Lot {
+                Objects.requireNonNull(acquisitionId, "acquisitionId cannot be null");
+                Objects.requireNonNull(quantity, "quantity cannot be null");
+            }
+        }
+    }
+}
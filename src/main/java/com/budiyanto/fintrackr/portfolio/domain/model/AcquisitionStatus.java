@@ -0,0 +1,10 @@
+package com.budiyanto.fintrackr.portfolio.domain.model;
+
+/**
+ * Derived from how much of an Acquisition's initial quantity Sells have consumed.
+ */
+public enum AcquisitionStatus {
+    OPEN,
+    PARTIALLY_CLOSED,
+    CLOSED
+}
@@ -0,0 +1,70 @@
+package com.budiyanto.fintrackr.portfolio.domain.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Backing store for the aggregate's append-only lists (the ledger, acquisitions) that hands out O(1),
+ * immutable read views.
+ * <p>
+ * A view is the current backing array plus a size watermark. Appends only ever write past every existing
+ * watermark, and growing copies into a new array, so a view never observes a later append. Repeated reads
+ * between appends return the same view. Like the aggregate itself, not thread-safe.
+ */
+final class AppendOnlyList<E> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Object[] elements = new Object[INITIAL_CAPACITY];
+    private int size;
+    private View<E> view = new View<>(elements, 0);
+
+    void add(E element) {
+        Objects.requireNonNull(element, "element cannot be null");
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size + (size >> 1));
+        }
+        elements[size++] = element;
+    }
+
+    @SuppressWarnings("unchecked")
+    E get(int index) {
+        Objects.checkIndex(index, size);
+        return (E) elements[index];
+    }
+
+    int size() { return size; }
+
+    List<E> view() {
+        if (view.size != size) {
+            view = new View<>(elements, size);
+        }
+        return view;
+    }
+
+    private static final class View<E> extends AbstractList<E> implements RandomAccess {
+
+        private final Object[] elements;
+        private final int size;
+
+        private View(Object[] elements, int size) {
+            this.elements = elements;
+            this.size = size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            Objects.checkIndex(index, size);
+            return (E) elements[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -24,4 +24,14 @@ public record Buy(TransactionId id, PortfolioId portfolioId, LocalDate date, Ass
         return new Buy(id, portfolioId, date, assetId, quantity, price, fee, acquisitionId);
     }
 
+    @Override
+    public Money cashDelta() {
+        return costDelta(quantity, price, fee);
+    }
+
+    // −(quantity × price + fee) as one BigDecimal expression, normalized to Money once (ADR-007)
+    static Money costDelta(Quantity quantity, Money price, Money fee) {
+        return Money.of(quantity.multiply(price).add(fee.amount()), price.currency()).negate();
+    }
+
 }
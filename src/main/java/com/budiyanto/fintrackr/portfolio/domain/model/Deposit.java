@@ -18,4 +18,9 @@ public record Deposit(TransactionId id, PortfolioId portfolioId, LocalDate date,
         return new Deposit(id, portfolioId, date, amount);
     }
 
+    @Override
+    public Money cashDelta() {
+        return amount;
+    }
+
 }
@@ -0,0 +1,44 @@
+package com.budiyanto.fintrackr.portfolio.domain.model;
+
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.MoneyAccumulator;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A dividend paid on {@code paymentDate} to every Acquisition of the asset held at {@code cumDate}. It is
+ * dated by its payment, when the cash moves.
+ */
+public record Dividend(TransactionId id, PortfolioId portfolioId, LocalDate date, AssetId assetId, LocalDate cumDate, LocalDate paymentDate, Money dps, List<DividendAllocation> allocations) implements Transaction {
+
+    public Dividend {
+        Objects.requireNonNull(id, "id cannot be null");
+        Objects.requireNonNull(portfolioId, "portfolioId cannot be null");
+        Objects.requireNonNull(date, "date cannot be null");
+        Objects.requireNonNull(assetId, "assetId cannot be null");
+        Objects.requireNonNull(cumDate, "cumDate cannot be null");
+        Objects.requireNonNull(paymentDate, "paymentDate cannot be null");
+        Objects.requireNonNull(dps, "dps cannot be null");
+        Objects.requireNonNull(allocations, "allocations cannot be null");
+        if (!date.equals(paymentDate)) {
+            throw new IllegalArgumentException("a dividend is dated by its payment date");
+        }
+        allocations = List.copyOf(allocations);
+    }
+
+    public static Dividend create(TransactionId id, PortfolioId portfolioId, AssetId assetId, LocalDate cumDate, LocalDate paymentDate, Money dps, List<DividendAllocation> allocations) {
+        return new Dividend(id, portfolioId, paymentDate, assetId, cumDate, paymentDate, dps, allocations);
+    }
+
+    @Override
+    public Money cashDelta() {
+        MoneyAccumulator total = MoneyAccumulator.create(dps.currency());
+        for (DividendAllocation allocation : allocations) {
+            total.add(allocation.amount());
+        }
+        return total.toMoney();
+    }
+}
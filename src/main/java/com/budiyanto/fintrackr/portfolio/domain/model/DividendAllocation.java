@@ -0,0 +1,19 @@
+package com.budiyanto.fintrackr.portfolio.domain.model;
+
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+
+import java.util.Objects;
+
+/**
+ * The dividend one Acquisition earned: the shares it still held at the cum date, times the dividend per share
+ * (ADR-005).
+ */
+public record DividendAllocation(AcquisitionId acquisitionId, Quantity sharesEligibleAtCumDate, Money amount) {
+
+    public DividendAllocation {
+        Objects.requireNonNull(acquisitionId, "acquisitionId cannot be null");
+        Objects.requireNonNull(sharesEligibleAtCumDate, "sharesEligibleAtCumDate cannot be null");
+        Objects.requireNonNull(amount, "amount cannot be null");
+    }
+}
@@ -0,0 +1,20 @@
+package com.budiyanto.fintrackr.portfolio.domain.model;
+
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.Money;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * One entry of a {@link Portfolio#recordDividends(java.util.List, LocalDate)}: a dividend as the issuer declared it.
+ */
+public record DividendDeclaration(AssetId assetId, Money dps, LocalDate cumDate, LocalDate paymentDate) {
+
+    public DividendDeclaration {
+        Objects.requireNonNull(assetId, "assetId cannot be null");
+        Objects.requireNonNull(dps, "dps cannot be null");
+        Objects.requireNonNull(cumDate, "cumDate cannot be null");
+        Objects.requireNonNull(paymentDate, "paymentDate cannot be null");
+    }
+}
@@ -0,0 +1,163 @@
+package com.budiyanto.fintrackr.portfolio.domain.model;
+
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.Quantity;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Per-asset holding intervals, for the shares each Acquisition held at a dividend's cum date (ADR-005).
+ * <p>
+ * Every Buy opens an interval and every SellAllocation steps one down; the steps are kept per asset in a
+ * {@link TreeMap} by date, so a backdated entry is an O(log n) insert. A cum date is answered from the lots held
+ * now, by undoing the steps dated after it, newest first. Several cum dates of one asset are answered by one sweep,
+ * latest first, so a backfill of d dividends over the e steps after its earliest cum date costs O(e + d·k) for k
+ * lots held at each cum date, whatever the length of the history before it. An Acquisition opened on the cum date
+ * is eligible; shares sold on the cum date are not.
+ * <p>
+ * The index takes every transaction recorded in memory. A Portfolio loaded with history adds the stored steps of an
+ * asset only as far back as a cum date has asked for ({@link #addStored}), so the steps an answer undoes are always
+ * all in it.
+ */
+final class DividendEligibilityIndex {
+
+    private final Map<AssetId, TreeMap<LocalDate, List<Step>>> stepsByAsset = new HashMap<>();
+    private final Map<AssetId, LocalDate> storedFrom = new HashMap<>();
+
+    // Shares entering (a Buy) or leaving (a SellAllocation) one Acquisition
+    private record Step(AcquisitionId acquisitionId, Quantity shares, boolean opens) {
+    }
+
+    void add(Transaction transaction) {
+        switch (transaction) {
+            case Buy buy -> stepsOn(buy.assetId(), buy.date()).add(new Step(buy.acquisitionId(), buy.quantity(), true));
+            case Sell sell -> {
+                List<Step> steps = stepsOn(sell.assetId(), sell.date());
+                for (SellAllocation allocation : sell.allocations()) {
+                    steps.add(new Step(allocation.acquisitionId(), allocation.sharesSoldFromAcquisition(), false));
+                }
+            }
+            case Deposit deposit -> { }
+            case Dividend dividend -> { }
+        }
+    }
+
+    /**
+     * The date from which every stored step of {@code assetId} is in the index; null while none has been added.
+     */
+    LocalDate storedFrom(AssetId assetId) {
+        return storedFrom.get(assetId);
+    }
+
+    /**
+     * Adds the stored Buys and Sells of {@code assetId} dated from {@code from} up to the previous
+     * {@link #storedFrom(AssetId)}, which are then all in the index from {@code from} on.
+     */
+    void addStored(AssetId assetId, LocalDate from, List<Transaction> trades) {
+        for (Transaction trade : trades) {
+            add(trade);
+        }
+        storedFrom.put(assetId, from);
+    }
+
+    /**
+     * The shares each Acquisition of {@code assetId} held at the end of {@code cumDate}, given the lots of it open
+     * now; lots with none are left out. Lots still open come first, in the order given, then lots sold out since,
+     * in the order they were first sold from after the cum date.
+     */
+    Map<AcquisitionId, Quantity> eligibleAt(AssetId assetId, LocalDate cumDate, Collection<Acquisition> openNow) {
+        return eligibleAt(assetId, new TreeSet<>(List.of(cumDate)), openNow).get(cumDate);
+    }
+
+    /**
+     * As {@link #eligibleAt(AssetId, LocalDate, Collection)} for every date in {@code cumDates}, in one sweep.
+     */
+    Map<LocalDate, Map<AcquisitionId, Quantity>> eligibleAt(AssetId assetId, SortedSet<LocalDate> cumDates,
+                                                            Collection<Acquisition> openNow) {
+        Map<AcquisitionId, Quantity> held = new LinkedHashMap<>();
+        for (Acquisition acquisition : openNow) {
+            held.put(acquisition.id(), acquisition.remainingQuantity());
+        }
+        // The steps after the earliest cum date, oldest first; a sold-out lot is ordered by its earliest sell among them
+        List<List<Step>> after = new ArrayList<>();
+        List<LocalDate> dates = new ArrayList<>();
+        TreeMap<LocalDate, List<Step>> steps = stepsByAsset.getOrDefault(assetId, new TreeMap<>());
+        for (Map.Entry<LocalDate, List<Step>> entry : steps.tailMap(cumDates.first(), false).entrySet()) {
+            dates.add(entry.getKey());
+            after.add(entry.getValue());
+        }
+        Map<AcquisitionId, Integer> firstSold = new HashMap<>();
+
+        Map<LocalDate, Map<AcquisitionId, Quantity>> result = new LinkedHashMap<>();
+        int undone = after.size();
+        List<LocalDate> latestFirst = new ArrayList<>(cumDates);
+        Collections.reverse(latestFirst);
+        for (LocalDate cumDate : latestFirst) {
+            while (undone > 0 && dates.get(undone - 1).isAfter(cumDate)) {
+                undone--;
+                undo(held, firstSold, after.get(undone), undone);
+            }
+            result.put(cumDate, ordered(held, openNow, firstSold));
+        }
+        return result;
+    }
+
+    // A Sell on a date only takes from lots opened by then, so its steps are undone before the opening ones
+    private static void undo(Map<AcquisitionId, Quantity> held, Map<AcquisitionId, Integer> firstSold, List<Step> onDate, int order) {
+        for (Step step : onDate) {
+            if (!step.opens()) {
+                held.merge(step.acquisitionId(), step.shares(), Quantity::add);
+                firstSold.put(step.acquisitionId(), order);
+            }
+        }
+        for (Step step : onDate) {
+            if (step.opens()) {
+                Quantity left = held.get(step.acquisitionId()).subtract(step.shares());
+                if (!left.isZero()) {
+                    throw new IllegalStateException("opening step leaves shares in its acquisition");
+                }
+                held.remove(step.acquisitionId());
+            }
+        }
+    }
+
+    private static Map<AcquisitionId, Quantity> ordered(Map<AcquisitionId, Quantity> held, Collection<Acquisition> openNow,
+                                                        Map<AcquisitionId, Integer> firstSold) {
+        Map<AcquisitionId, Quantity> eligible = new LinkedHashMap<>();
+        for (Acquisition acquisition : openNow) {
+            Quantity shares = held.get(acquisition.id());
+            if (shares != null) {
+                eligible.put(acquisition.id(), shares);
+            }
+        }
+        if (eligible.size() < held.size()) {
+            List<AcquisitionId> soldOut = new ArrayList<>();
+            for (AcquisitionId acquisitionId : held.keySet()) {
+                if (!eligible.containsKey(acquisitionId)) {
+                    soldOut.add(acquisitionId);
+                }
+            }
+            soldOut.sort(Comparator.comparing(firstSold::get));
+            for (AcquisitionId acquisitionId : soldOut) {
+                eligible.put(acquisitionId, held.get(acquisitionId));
+            }
+        }
+        return Collections.unmodifiableMap(eligible);
+    }
+
+    private List<Step> stepsOn(AssetId assetId, LocalDate date) {
+        return stepsByAsset.computeIfAbsent(assetId, id -> new TreeMap<>())
+                .computeIfAbsent(date, d -> new ArrayList<>(2));
+    }
+}
@@ -0,0 +1,318 @@
+package com.budiyanto.fintrackr.portfolio.domain.model;
+
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+
+import java.util.ArrayDeque;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Cached position in one asset, derived from its open Acquisitions (ADR-004).
+ * <p>
+ * Only {@link Portfolio} mutates a Holding, in the same operation that records the transaction; a Holding
+ * handed out by {@link Portfolio#holding(AssetId)} is therefore a live view of the position. Two Holdings are
+ * equal when they describe the same position, which is what lets the cache be verified against a rebuild
+ * from the ledger.
+ * <p>
+ * The open Acquisitions are also indexed in each order a Sell can take them in (ADR-005): a deque by open date
+ * serves FIFO from its head and LIFO from its tail, and two heaps by cost per share serve HighestCost and
+ * LowestCost. Picking k lots out of n is then O(k log n) rather than a sort per Sell. Lots closed out of
+ * order stay in the other indices until they surface and are dropped there; an index that grows to twice the
+ * open lots is compacted. The heaps are only built once a cost-ordered Sell needs them.
+ */
+public class Holding {
+
+    private static final Comparator<Acquisition> BY_OPEN_DATE =
+            Comparator.comparing(Acquisition::openDate).thenComparing(acquisition -> acquisition.id().value());
+    private static final Comparator<Acquisition> BY_LOWEST_COST =
+            Comparator.comparing(Acquisition::unitCost).thenComparing(BY_OPEN_DATE);
+    private static final Comparator<Acquisition> BY_HIGHEST_COST =
+            Comparator.comparing(Acquisition::unitCost).reversed().thenComparing(BY_OPEN_DATE);
+    private static final int MIN_COMPACT_SIZE = 16;
+
+    private final PortfolioId portfolioId;
+    private final AssetId assetId;
+    private Quantity totalQuantity;
+    private Money totalInvested;
+    private final Map<AcquisitionId, Acquisition> openAcquisitions;   // in recording order
+    private final ArrayDeque<Acquisition> byOpenDate;
+    private PriorityQueue<Acquisition> byHighestCost;                 // null until first needed
+    private PriorityQueue<Acquisition> byLowestCost;                  // null until first needed
+
+    private Holding(PortfolioId portfolioId, AssetId assetId, Quantity totalQuantity, Money totalInvested) {
+        this.portfolioId = portfolioId;
+        this.assetId = assetId;
+        this.totalQuantity = totalQuantity;
+        this.totalInvested = totalInvested;
+        this.openAcquisitions = new LinkedHashMap<>();
+        this.byOpenDate = new ArrayDeque<>();
+    }
+
+    static Holding create(PortfolioId portfolioId, AssetId assetId, Acquisition first) {
+        Holding holding = new Holding(portfolioId, assetId, first.remainingQuantity(), first.remainingCost());
+        holding.index(first);
+        return holding;
+    }
+
+    static Holding restore(PortfolioId portfolioId, PortfolioSnapshot.HoldingState state, List<Acquisition> openAcquisitions) {
+        Holding holding = new Holding(portfolioId, state.assetId(), state.totalQuantity(), state.totalInvested());
+        for (Acquisition acquisition : openAcquisitions) {
+            holding.index(acquisition);
+        }
+        return holding;
+    }
+
+    PortfolioSnapshot.HoldingState state() {
+        return new PortfolioSnapshot.HoldingState(assetId, totalQuantity, totalInvested, List.copyOf(openAcquisitions.keySet()));
+    }
+
+    void open(Acquisition acquisition) {
+        totalQuantity = totalQuantity.add(acquisition.remainingQuantity());
+        totalInvested = totalInvested.add(acquisition.remainingCost());
+        index(acquisition);
+    }
+
+    /**
+     * The shares held in Acquisitions opened on or before {@code date}: all that a Sell dated then can take.
+     */
+    Quantity quantityOpenedBy(LocalDate date) {
+        if (!opensAfter(date)) {
+            return totalQuantity;
+        }
+        Quantity held = Quantity.ofShares(0);
+        for (Acquisition acquisition : openAcquisitions.values()) {
+            if (!acquisition.openDate().isAfter(date)) {
+                held = held.add(acquisition.remainingQuantity());
+            }
+        }
+        return held;
+    }
+
+    /**
+     * Consumes {@code quantity} shares from the open Acquisitions in the strategy's order, partially consuming
+     * the last lot, and skipping lots opened after {@code date}. The caller has checked that the lots opened by
+     * {@code date} cover {@code quantity}.
+     *
+     * @return the shares taken from each Acquisition, in the order taken
+     */
+    List<AcquisitionSelectionStrategy.Manual.Lot> take(AcquisitionSelectionStrategy strategy, Quantity quantity, LocalDate date) {
+        return switch (strategy) {
+            case AcquisitionSelectionStrategy.Fifo fifo -> takeInOrder(quantity, Pick.OLDEST, date);
+            case AcquisitionSelectionStrategy.Lifo lifo -> takeInOrder(quantity, Pick.NEWEST, date);
+            case AcquisitionSelectionStrategy.HighestCost highestCost -> takeInOrder(quantity, Pick.HIGHEST_COST, date);
+            case AcquisitionSelectionStrategy.LowestCost lowestCost -> takeInOrder(quantity, Pick.LOWEST_COST, date);
+            case AcquisitionSelectionStrategy.Manual manual -> {
+                for (AcquisitionSelectionStrategy.Manual.Lot lot : manual.lots()) {
+                    consume(openAcquisitions.get(lot.acquisitionId()), lot.quantity());
+                }
+                yield manual.lots();
+            }
+        };
+    }
+
+    void consume(Acquisition acquisition, Quantity shares) {
+        Money costBefore = acquisition.remainingCost();
+        acquisition.consume(shares);
+        totalQuantity = totalQuantity.subtract(shares);
+        totalInvested = totalInvested.add(costBefore.negate()).add(acquisition.remainingCost());
+        if (!acquisition.isOpen()) {
+            openAcquisitions.remove(acquisition.id());
+            compactIfSparse();
+        }
+    }
+
+    // Null when the Acquisition is not open in this Holding
+    Acquisition openAcquisition(AcquisitionId acquisitionId) {
+        return openAcquisitions.get(acquisitionId);
+    }
+
+    boolean isEmpty() {
+        return totalQuantity.isZero();
+    }
+
+    private enum Pick { OLDEST, NEWEST, HIGHEST_COST, LOWEST_COST }
+
+    private List<AcquisitionSelectionStrategy.Manual.Lot> takeInOrder(Quantity quantity, Pick pick, LocalDate date) {
+        if (opensAfter(date)) {
+            return takeOpenedBy(quantity, pick, date);
+        }
+        List<AcquisitionSelectionStrategy.Manual.Lot> taken = new ArrayList<>();
+        Quantity outstanding = quantity;
+        while (!outstanding.isZero()) {
+            Acquisition next = next(pick);
+            Quantity shares = next.remainingQuantity().compareTo(outstanding) <= 0 ? next.remainingQuantity() : outstanding;
+            consume(next, shares);
+            taken.add(new AcquisitionSelectionStrategy.Manual.Lot(next.id(), shares));
+            outstanding = outstanding.subtract(shares);
+        }
+        return taken;
+    }
+
+    // A backdated Sell, with lots opened after its date still open, sorts the lots it may take instead of using
+    // the indices; those drop whatever it closes as they surface, as usual
+    private List<AcquisitionSelectionStrategy.Manual.Lot> takeOpenedBy(Quantity quantity, Pick pick, LocalDate date) {
+        List<Acquisition> eligible = new ArrayList<>();
+        for (Acquisition acquisition : openAcquisitions.values()) {
+            if (!acquisition.openDate().isAfter(date)) {
+                eligible.add(acquisition);
+            }
+        }
+        eligible.sort(switch (pick) {
+            case OLDEST -> BY_OPEN_DATE;
+            case NEWEST -> BY_OPEN_DATE.reversed();
+            case HIGHEST_COST -> BY_HIGHEST_COST;
+            case LOWEST_COST -> BY_LOWEST_COST;
+        });
+        List<AcquisitionSelectionStrategy.Manual.Lot> taken = new ArrayList<>();
+        Quantity outstanding = quantity;
+        for (Iterator<Acquisition> lots = eligible.iterator(); !outstanding.isZero(); ) {
+            Acquisition next = lots.next();
+            Quantity shares = next.remainingQuantity().compareTo(outstanding) <= 0 ? next.remainingQuantity() : outstanding;
+            consume(next, shares);
+            taken.add(new AcquisitionSelectionStrategy.Manual.Lot(next.id(), shares));
+            outstanding = outstanding.subtract(shares);
+        }
+        return taken;
+    }
+
+    // The deque's tail is its newest lot; one already closed but not yet dropped only sends a Sell the slow way
+    private boolean opensAfter(LocalDate date) {
+        return !byOpenDate.isEmpty() && byOpenDate.getLast().openDate().isAfter(date);
+    }
+
+    // The next open lot in the given order, dropping closed lots that have surfaced
+    private Acquisition next(Pick pick) {
+        return switch (pick) {
+            case OLDEST -> {
+                while (!byOpenDate.getFirst().isOpen()) {
+                    byOpenDate.removeFirst();
+                }
+                yield byOpenDate.getFirst();
+            }
+            case NEWEST -> {
+                while (!byOpenDate.getLast().isOpen()) {
+                    byOpenDate.removeLast();
+                }
+                yield byOpenDate.getLast();
+            }
+            case HIGHEST_COST -> {
+                if (byHighestCost == null) {
+                    byHighestCost = heapOf(BY_HIGHEST_COST);
+                }
+                yield peekOpen(byHighestCost);
+            }
+            case LOWEST_COST -> {
+                if (byLowestCost == null) {
+                    byLowestCost = heapOf(BY_LOWEST_COST);
+                }
+                yield peekOpen(byLowestCost);
+            }
+        };
+    }
+
+    private static Acquisition peekOpen(PriorityQueue<Acquisition> heap) {
+        while (!heap.element().isOpen()) {
+            heap.remove();
+        }
+        return heap.element();
+    }
+
+    private PriorityQueue<Acquisition> heapOf(Comparator<Acquisition> order) {
+        PriorityQueue<Acquisition> heap = new PriorityQueue<>(Math.max(1, openAcquisitions.size()), order);
+        heap.addAll(openAcquisitions.values());
+        return heap;
+    }
+
+    private void index(Acquisition acquisition) {
+        openAcquisitions.put(acquisition.id(), acquisition);
+        insertByOpenDate(acquisition);
+        if (byHighestCost != null) {
+            byHighestCost.add(acquisition);
+        }
+        if (byLowestCost != null) {
+            byLowestCost.add(acquisition);
+        }
+    }
+
+    // Lots are almost always recorded in date order, or newest first from a statement import; any other
+    // backdated one walks back from the tail to its place
+    private void insertByOpenDate(Acquisition acquisition) {
+        if (byOpenDate.isEmpty() || BY_OPEN_DATE.compare(byOpenDate.getLast(), acquisition) <= 0) {
+            byOpenDate.addLast(acquisition);
+            return;
+        }
+        if (BY_OPEN_DATE.compare(acquisition, byOpenDate.getFirst()) < 0) {
+            byOpenDate.addFirst(acquisition);
+            return;
+        }
+        ArrayDeque<Acquisition> later = new ArrayDeque<>();
+        while (!byOpenDate.isEmpty() && BY_OPEN_DATE.compare(byOpenDate.getLast(), acquisition) > 0) {
+            later.addFirst(byOpenDate.removeLast());
+        }
+        byOpenDate.addLast(acquisition);
+        byOpenDate.addAll(later);
+    }
+
+    private void compactIfSparse() {
+        int limit = Math.max(MIN_COMPACT_SIZE, 2 * openAcquisitions.size());
+        if (byOpenDate.size() > limit) {
+            byOpenDate.removeIf(acquisition -> !acquisition.isOpen());
+        }
+        if (byHighestCost != null && byHighestCost.size() > limit) {
+            byHighestCost = null;
+        }
+        if (byLowestCost != null && byLowestCost.size() > limit) {
+            byLowestCost = null;
+        }
+    }
+
+    public PortfolioId portfolioId() { return portfolioId; }
+
+    public AssetId assetId() { return assetId; }
+
+    public Quantity totalQuantity() { return totalQuantity; }
+
+    public Money totalInvested() { return totalInvested; }
+
+    public List<Acquisition> openAcquisitions() { return List.copyOf(openAcquisitions.values()); }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        Holding holding = (Holding) o;
+        return Objects.equals(portfolioId, holding.portfolioId)
+                && Objects.equals(assetId, holding.assetId)
+                && Objects.equals(totalQuantity, holding.totalQuantity)
+                && Objects.equals(totalInvested, holding.totalInvested)
+                && sameOpenLots(openAcquisitions, holding.openAcquisitions);
+    }
+
+    // Acquisition equality is by id; the position also depends on how much of each lot is left
+    private static boolean sameOpenLots(Map<AcquisitionId, Acquisition> these, Map<AcquisitionId, Acquisition> those) {
+        if (these.size() != those.size()) {
+            return false;
+        }
+        Iterator<Acquisition> other = those.values().iterator();
+        for (Acquisition acquisition : these.values()) {
+            Acquisition that = other.next();
+            if (!acquisition.equals(that) || !acquisition.remainingQuantity().equals(that.remainingQuantity())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(portfolioId, assetId);
+    }
+}
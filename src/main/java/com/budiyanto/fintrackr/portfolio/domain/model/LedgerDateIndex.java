@@ -0,0 +1,155 @@
+package com.budiyanto.fintrackr.portfolio.domain.model;
+
+import com.budiyanto.fintrackr.shared.Money;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Date-ordered index over the ledger, kept alongside the insertion-ordered ledger itself.
+ * <p>
+ * Transactions are bucketed by date in a {@link TreeMap}, so a backdated entry is an O(log n) insert and a date
+ * range is an O(log n + k) walk. Cash deltas are also summed per day into a Fenwick (binary indexed) tree over
+ * epoch-day offsets, which answers "balance as of date" in O(log d) for a ledger spanning d days. The tree covers
+ * a window of days and is rebuilt, doubling, when a date falls outside it, up to {@link #MAX_CAPACITY} days.
+ * Amounts live in exact {@code long}s: while the sum of absolute deltas fits, so does every tree node and prefix
+ * sum. Should the amounts ever leave the {@code long} range, or the dates spread wider than the window may grow,
+ * the index drops the tree and answers by scanning instead.
+ */
+final class LedgerDateIndex {
+
+    private static final int MIN_CAPACITY = 64;
+    // About 179 years of days, half a megabyte of tree; a ledger spread wider than half of it is scanned instead
+    private static final int MAX_CAPACITY = 1 << 16;
+
+    private final Currency currency;
+    private final TreeMap<LocalDate, List<Transaction>> byDate = new TreeMap<>();
+
+    private long[] tree;       // Fenwick tree, 1-based; null until the first entry or once scanning
+    private long firstDay;     // epoch day stored at tree index 1
+    private long total;
+    private long magnitude;    // sum of |delta|, bounds every node and prefix sum
+    private boolean overflowed; // amounts or dates outgrew the tree, so balances are scanned
+
+    LedgerDateIndex(Currency currency) {
+        this.currency = currency;
+    }
+
+    void add(Transaction transaction) {
+        byDate.computeIfAbsent(transaction.date(), date -> new ArrayList<>(2)).add(transaction);
+        if (overflowed) {
+            return;
+        }
+        try {
+            long delta = transaction.cashDelta().longValueExact();
+            magnitude = Math.addExact(magnitude, Math.absExact(delta));
+            long day = transaction.date().toEpochDay();
+            if ((tree == null || day < firstDay || day >= firstDay + tree.length - 1) && !resize(day)) {
+                dropTree();
+                return;
+            }
+            update(tree, (int) (day - firstDay) + 1, delta);
+            total += delta;
+        } catch (ArithmeticException e) {
+            dropTree();
+        }
+    }
+
+    private void dropTree() {
+        overflowed = true;
+        tree = null;
+    }
+
+    /**
+     * Transactions dated within {@code [from, to]}, in date order and, within a date, in recording order.
+     */
+    List<Transaction> between(LocalDate from, LocalDate to) {
+        List<Transaction> result = new ArrayList<>();
+        for (List<Transaction> onDate : byDate.subMap(from, true, to, true).values()) {
+            result.addAll(onDate);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * The sum of the cash deltas of every transaction dated on or before {@code date}.
+     */
+    Money balanceAsOf(LocalDate date) {
+        if (overflowed) {
+            return scanBalanceAsOf(date);
+        }
+        long day = date.toEpochDay();
+        if (tree == null || day < firstDay) {
+            return Money.of(0L, currency);
+        }
+        if (day >= firstDay + tree.length - 2) {
+            return Money.of(total, currency);
+        }
+        return Money.of(prefixSum(tree, (int) (day - firstDay) + 1), currency);
+    }
+
+    private Money scanBalanceAsOf(LocalDate date) {
+        Money balance = Money.of(0L, currency);
+        for (Map.Entry<LocalDate, List<Transaction>> entry : byDate.headMap(date, true).entrySet()) {
+            for (Transaction transaction : entry.getValue()) {
+                balance = balance.add(transaction.cashDelta());
+            }
+        }
+        return balance;
+    }
+
+    // Rebuilds the tree over a window that covers both the current days and the new one, with room to grow
+    // on the side the window is extending towards. False, leaving the tree as it was, when that window would
+    // exceed MAX_CAPACITY.
+    private boolean resize(long day) {
+        long oldFirst = tree == null ? day : firstDay;
+        long oldEnd = tree == null ? day + 1 : firstDay + tree.length - 1;
+        long newFirst = Math.min(oldFirst, day);
+        long newEnd = Math.max(oldEnd, day + 1);
+        if (2 * (newEnd - newFirst) > MAX_CAPACITY) {
+            return false;
+        }
+        int capacity = MIN_CAPACITY;
+        while (capacity < 2 * (newEnd - newFirst)) {
+            capacity <<= 1;
+        }
+        if (day < oldFirst) {
+            newFirst = newEnd - capacity;
+        }
+
+        long[] resized = new long[capacity + 1];
+        if (tree != null) {
+            // Recover each day's total from the old prefix sums and re-insert it at its new offset
+            long previous = 0;
+            for (int i = 1; i < tree.length; i++) {
+                long prefix = prefixSum(tree, i);
+                if (prefix != previous) {
+                    update(resized, (int) (firstDay + i - 1 - newFirst) + 1, prefix - previous);
+                }
+                previous = prefix;
+            }
+        }
+        tree = resized;
+        firstDay = newFirst;
+        return true;
+    }
+
+    private static void update(long[] tree, int index, long delta) {
+        for (int i = index; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private static long prefixSum(long[] tree, int index) {
+        long sum = 0;
+        for (int i = index; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+}
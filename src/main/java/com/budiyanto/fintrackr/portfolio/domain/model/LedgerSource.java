@@ -0,0 +1,176 @@
+package com.budiyanto.fintrackr.portfolio.domain.model;
+
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.MoneyAccumulator;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Read access to a Portfolio's already recorded ledger, in recording order.
+ * <p>
+ * A restored {@link Portfolio} keeps only its derived state in memory and pulls historical transactions through
+ * this interface, a page at a time, when a caller iterates them. Implementations are expected to be backed by
+ * storage that pages cheaply by position, such as the ledger table keyed by its {@code position} column. Ids are
+ * not an order: UUIDv7 (ADR-013) is monotonic only within the thread that generated them.
+ * <p>
+ * The date queries back the Portfolio's date-ordered reads, which must not cost a pass over the whole history. Their
+ * defaults do scan every page, which suits a source over a list in memory; a storage-backed source overrides them
+ * with queries bounded by date. The same goes for the returns of stored lots and Sells, which a restored Portfolio
+ * does not hold, and of the lots closed before it was restored: the defaults replay the ledger, a storage-backed
+ * source reads what was saved with it. Such a source need not hold every transaction any more: one whose older
+ * years are archived still answers those from stored state, and fails the reads that need the archived rows.
+ */
+public interface LedgerSource {
+
+    /**
+     * The number of recorded transactions; fixed for the lifetime of the source.
+     */
+    int size();
+
+    /**
+     * The transactions at positions {@code [offset, offset + limit)}, in recording order.
+     */
+    List<Transaction> page(int offset, int limit);
+
+    /**
+     * The transactions dated within {@code [from, to]}, in date order and, within a date, in recording order.
+     */
+    default List<Transaction> between(LocalDate from, LocalDate to) {
+        return scan(transaction -> !transaction.date().isBefore(from) && !transaction.date().isAfter(to));
+    }
+
+    /**
+     * The sum of the cash deltas of the transactions dated after {@code date}.
+     */
+    default Money cashDeltaAfter(LocalDate date) {
+        MoneyAccumulator sum = MoneyAccumulator.create();
+        for (Transaction transaction : scan(transaction -> transaction.date().isAfter(date))) {
+            sum.add(transaction.cashDelta());
+        }
+        return sum.toMoney();
+    }
+
+    /**
+     * The Buys and Sells of {@code assetId} dated within {@code [from, to]}, in date order and, within a date, in
+     * recording order.
+     */
+    default List<Transaction> trades(AssetId assetId, LocalDate from, LocalDate to) {
+        return scan(transaction -> assetId.equals(tradedAsset(transaction))
+                && !transaction.date().isBefore(from) && !transaction.date().isAfter(to));
+    }
+
+    /**
+     * A stored Acquisition as it stood after the first {@code position} transactions, with the returns it had made by
+     * then; empty if none of them opened it.
+     */
+    default Optional<StoredLot> lot(AcquisitionId acquisitionId, int position) {
+        return replayed(position).stored(acquisitionId);
+    }
+
+    /**
+     * What the stored Sell {@code sellId} realized; empty if no stored transaction is a Sell with that id.
+     */
+    default Optional<Money> realizedGain(TransactionId sellId) {
+        return replayed(size()).realizedGain(sellId);
+    }
+
+    /**
+     * Every Acquisition the stored transactions opened, in the order they were opened, with what remains of them
+     * after all of them.
+     */
+    default List<Acquisition> acquisitions() {
+        Map<AcquisitionId, Acquisition> opened = new LinkedHashMap<>();
+        for (int offset = 0; offset < size(); offset += PagedLedger.PAGE_SIZE) {
+            for (Transaction transaction : page(offset, Math.min(PagedLedger.PAGE_SIZE, size() - offset))) {
+                switch (transaction) {
+                    case Buy buy -> opened.put(buy.acquisitionId(), Acquisition.openedBy(buy));
+                    case Sell sell -> {
+                        for (SellAllocation allocation : sell.allocations()) {
+                            opened.get(allocation.acquisitionId()).consume(allocation.sharesSoldFromAcquisition());
+                        }
+                    }
+                    case Deposit deposit -> { }
+                    case Dividend dividend -> { }
+                }
+            }
+        }
+        return List.copyOf(opened.values());
+    }
+
+    /**
+     * One Acquisition read back from storage, with its returns.
+     */
+    record StoredLot(Acquisition acquisition, PortfolioSnapshot.LotState state) {
+
+        public StoredLot {
+            Objects.requireNonNull(acquisition, "acquisition cannot be null");
+            Objects.requireNonNull(state, "state cannot be null");
+        }
+    }
+
+    private PerformanceTracker replayed(int position) {
+        PerformanceTracker tracker = new PerformanceTracker(Money.zero().currency());
+        for (int offset = 0; offset < position; offset += PagedLedger.PAGE_SIZE) {
+            for (Transaction transaction : page(offset, Math.min(PagedLedger.PAGE_SIZE, position - offset))) {
+                tracker.add(transaction);
+            }
+        }
+        return tracker;
+    }
+
+    // Every page, filtered and then stably sorted by date
+    private List<Transaction> scan(Predicate<Transaction> filter) {
+        List<Transaction> matching = new ArrayList<>();
+        for (int offset = 0; offset < size(); offset += PagedLedger.PAGE_SIZE) {
+            for (Transaction transaction : page(offset, Math.min(PagedLedger.PAGE_SIZE, size() - offset))) {
+                if (filter.test(transaction)) {
+                    matching.add(transaction);
+                }
+            }
+        }
+        matching.sort(Comparator.comparing(Transaction::date));
+        return matching;
+    }
+
+    private static AssetId tradedAsset(Transaction transaction) {
+        return switch (transaction) {
+            case Buy buy -> buy.assetId();
+            case Sell sell -> sell.assetId();
+            case Deposit deposit -> null;
+            case Dividend dividend -> null;
+        };
+    }
+
+    static LedgerSource empty() {
+        return of(List.of());
+    }
+
+    /**
+     * A source over a list already in memory. The list must not change while the source is in use.
+     */
+    static LedgerSource of(List<Transaction> transactions) {
+        Objects.requireNonNull(transactions, "transactions cannot be null");
+        int size = transactions.size();
+        return new LedgerSource() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public List<Transaction> page(int offset, int limit) {
+                Objects.checkFromIndexSize(offset, limit, size);
+                return transactions.subList(offset, offset + limit);
+            }
+        };
+    }
+}
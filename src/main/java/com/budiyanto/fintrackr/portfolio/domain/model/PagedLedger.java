@@ -0,0 +1,110 @@
+package com.budiyanto.fintrackr.portfolio.domain.model;
+
+import java.util.AbstractList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * The ledger behind a {@link Portfolio}: the history it was loaded with, read lazily from a {@link LedgerSource},
+ * followed by the transactions recorded since.
+ * <p>
+ * History is fetched in pages of {@value #PAGE_SIZE} only when a position in it is read, and at most
+ * {@value #MAX_CACHED_PAGES} pages are kept, so holding a Portfolio costs nothing per historical transaction.
+ * Reads hand out O(1) views with the same guarantee as {@link AppendOnlyList}: a view never observes a later
+ * append. Like the aggregate itself, not thread-safe.
+ */
+final class PagedLedger {
+
+    static final int PAGE_SIZE = 1_024;
+    private static final int MAX_CACHED_PAGES = 8;
+
+    private final LedgerSource history;
+    private final int historySize;
+    private final AppendOnlyList<Transaction> recorded = new AppendOnlyList<>();
+    private final Map<Integer, List<Transaction>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Transaction>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+    private int currentPageNumber = -1;
+    private List<Transaction> currentPage;
+    private View view = new View(0);
+
+    PagedLedger(LedgerSource history) {
+        this.history = history;
+        this.historySize = history.size();
+    }
+
+    void add(Transaction transaction) {
+        recorded.add(transaction);
+    }
+
+    int size() {
+        return historySize + recorded.size();
+    }
+
+    /**
+     * The source of the history this ledger was loaded with; the transactions recorded since are not in it.
+     */
+    LedgerSource history() {
+        return history;
+    }
+
+    Transaction get(int index) {
+        Objects.checkIndex(index, size());
+        if (index >= historySize) {
+            return recorded.get(index - historySize);
+        }
+        int pageNumber = index / PAGE_SIZE;
+        if (pageNumber != currentPageNumber) {
+            currentPage = page(pageNumber);
+            currentPageNumber = pageNumber;
+        }
+        return currentPage.get(index % PAGE_SIZE);
+    }
+
+    List<Transaction> view() {
+        if (view.size != size()) {
+            view = new View(size());
+        }
+        return view;
+    }
+
+    private List<Transaction> page(int pageNumber) {
+        List<Transaction> page = pages.get(pageNumber);
+        if (page == null) {
+            int offset = pageNumber * PAGE_SIZE;
+            int limit = Math.min(PAGE_SIZE, historySize - offset);
+            page = List.copyOf(history.page(offset, limit));
+            if (page.size() != limit) {
+                throw new IllegalStateException("Ledger source returned " + page.size() + " transactions for a page of " + limit);
+            }
+            pages.put(pageNumber, page);
+        }
+        return page;
+    }
+
+    private final class View extends AbstractList<Transaction> implements RandomAccess {
+
+        private final int size;
+
+        private View(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public Transaction get(int index) {
+            Objects.checkIndex(index, size);
+            return PagedLedger.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.budiyanto.fintrackr.portfolio.domain.model;
+
+import com.budiyanto.fintrackr.shared.Money;
+
+import java.util.Objects;
+
+/**
+ * Returns on an Acquisition, a Holding or a whole Portfolio (ADR-005).
+ * <p>
+ * {@code costBasis} is what the lots cost to open, fees included. {@code realizedGain} is what sells brought in,
+ * net of their fees, over the cost of the shares sold. {@code unrealizedGain} is the open shares at the last
+ * marked price over their remaining cost; it is zero for an asset that was never marked.
+ */
+public record Performance(Money costBasis, Money realizedGain, Money unrealizedGain, Money dividends) {
+
+    public Performance {
+        Objects.requireNonNull(costBasis, "costBasis cannot be null");
+        Objects.requireNonNull(realizedGain, "realizedGain cannot be null");
+        Objects.requireNonNull(unrealizedGain, "unrealizedGain cannot be null");
+        Objects.requireNonNull(dividends, "dividends cannot be null");
+    }
+
+    /**
+     * Capital gain, realized and unrealized, plus dividends: the user's preferred performance metric.
+     */
+    public Money totalReturn() {
+        return realizedGain.add(unrealizedGain).add(dividends);
+    }
+}
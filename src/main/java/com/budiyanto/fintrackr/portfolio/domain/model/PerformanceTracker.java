@@ -0,0 +1,350 @@
+package com.budiyanto.fintrackr.portfolio.domain.model;
+
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.MoneyAccumulator;
+import com.budiyanto.fintrackr.shared.Quantity;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Running returns per Acquisition, per asset and for the whole Portfolio, kept up to date as transactions are
+ * recorded and prices are marked.
+ * <p>
+ * Every transaction adjusts only the lots it references, their asset and the portfolio totals, and a price mark
+ * only its asset and the totals, so each is O(1) per lot touched and every query is O(1) however long the
+ * ledger is. The tracker keeps its own copy of each Acquisition: the cost of shares sold is the drop in the
+ * lot's pro-rata remaining cost, exactly as the Holding computes it, so realized cost and remaining cost always
+ * add up to the cost basis.
+ * <p>
+ * A restored tracker starts from a snapshot's {@link PortfolioSnapshot.LotState}s and
+ * {@link PortfolioSnapshot.PositionState}s rather than a replay. It then holds the lots open at the snapshot and
+ * those opened since; a lot closed before it, or a Sell recorded before it, is looked up in the {@link LedgerSource}
+ * the first time a query or a Dividend allocation needs it.
+ */
+final class PerformanceTracker {
+
+    private static final int CAGR_SCALE = 6;
+    private static final double DAYS_PER_YEAR = 365.25;
+
+    private final Currency currency;
+    private final LedgerSource stored;
+    private final int storedPosition;    // the ledger position stored lots are looked up as of
+    private final Map<AcquisitionId, Lot> lots = new HashMap<>();
+    private final Map<AssetId, Position> positions = new LinkedHashMap<>();
+    private final Map<TransactionId, Money> realizedBySell = new HashMap<>();
+    private final Totals totals;
+
+    PerformanceTracker(Currency currency) {
+        this(currency, LedgerSource.empty(), 0);
+    }
+
+    private PerformanceTracker(Currency currency, LedgerSource stored, int storedPosition) {
+        this.currency = currency;
+        this.stored = stored;
+        this.storedPosition = storedPosition;
+        this.totals = new Totals(zero());
+    }
+
+    /**
+     * A tracker in the state {@code snapshot} captured, looking up what it does not hold in {@code stored}.
+     */
+    static PerformanceTracker restore(Currency currency, PortfolioSnapshot snapshot, LedgerSource stored) {
+        PerformanceTracker tracker = new PerformanceTracker(currency, stored, snapshot.ledgerPosition());
+        Map<AcquisitionId, PortfolioSnapshot.LotState> lotStates = new HashMap<>();
+        for (PortfolioSnapshot.LotState state : snapshot.lots()) {
+            lotStates.put(state.acquisitionId(), state);
+        }
+        for (Acquisition acquisition : snapshot.acquisitions()) {
+            PortfolioSnapshot.LotState state = Objects.requireNonNull(lotStates.get(acquisition.id()), "snapshot has no lot state for an acquisition");
+            tracker.lots.put(acquisition.id(), new Lot(acquisition.copy(), state));
+        }
+        Map<AssetId, PortfolioSnapshot.HoldingState> holdings = new HashMap<>();
+        for (PortfolioSnapshot.HoldingState holding : snapshot.holdings()) {
+            holdings.put(holding.assetId(), holding);
+        }
+        for (PortfolioSnapshot.PositionState state : snapshot.positions()) {
+            Position position = new Position(tracker.zero());
+            PortfolioSnapshot.HoldingState holding = holdings.get(state.assetId());
+            if (holding != null) {
+                position.quantity = holding.totalQuantity();
+                position.remainingCost = holding.totalInvested();
+            }
+            position.costBasis = state.costBasis();
+            position.realizedGain = state.realizedGain();
+            position.dividends = state.dividends();
+            tracker.positions.put(state.assetId(), position);
+            tracker.totals.costBasis = tracker.totals.costBasis.add(state.costBasis());
+            tracker.totals.realizedGain = tracker.totals.realizedGain.add(state.realizedGain());
+            tracker.totals.dividends = tracker.totals.dividends.add(state.dividends());
+        }
+        return tracker;
+    }
+
+    private static final class Lot {
+        private final Acquisition acquisition;
+        private Money realizedGain;
+        private Money dividends;
+        private LocalDate closedOn;
+
+        private Lot(Acquisition acquisition, Money zero) {
+            this.acquisition = acquisition;
+            this.realizedGain = zero;
+            this.dividends = zero;
+        }
+
+        private Lot(Acquisition acquisition, PortfolioSnapshot.LotState state) {
+            this.acquisition = acquisition;
+            this.realizedGain = state.realizedGain();
+            this.dividends = state.dividends();
+            this.closedOn = state.closedOn();
+        }
+
+        private PortfolioSnapshot.LotState state() {
+            return new PortfolioSnapshot.LotState(acquisition.id(), realizedGain, dividends, closedOn);
+        }
+    }
+
+    private static final class Position {
+        private Quantity quantity = Quantity.ofShares(0);
+        private Money costBasis;
+        private Money remainingCost;
+        private Money realizedGain;
+        private Money unrealizedGain;
+        private Money dividends;
+        private Money price;             // null until marked
+        private LocalDate priceAsOf;
+
+        private Position(Money zero) {
+            this.costBasis = zero;
+            this.remainingCost = zero;
+            this.realizedGain = zero;
+            this.unrealizedGain = zero;
+            this.dividends = zero;
+        }
+    }
+
+    private static final class Totals {
+        private Money costBasis;
+        private Money realizedGain;
+        private Money unrealizedGain;
+        private Money dividends;
+
+        private Totals(Money zero) {
+            this.costBasis = zero;
+            this.realizedGain = zero;
+            this.unrealizedGain = zero;
+            this.dividends = zero;
+        }
+    }
+
+    void add(Transaction transaction) {
+        switch (transaction) {
+            case Buy buy -> open(Acquisition.openedBy(buy));
+            case Sell sell -> {
+                MoneyAccumulator realized = MoneyAccumulator.create(currency);
+                for (SellAllocation allocation : sell.allocations()) {
+                    realized.add(sell(sell, allocation));
+                }
+                realizedBySell.put(sell.id(), realized.toMoney());
+                refreshUnrealized(positions.get(sell.assetId()));
+            }
+            case Dividend dividend -> {
+                Position position = positions.get(dividend.assetId());
+                for (DividendAllocation allocation : dividend.allocations()) {
+                    Lot lot = lot(allocation.acquisitionId());
+                    lot.dividends = lot.dividends.add(allocation.amount());
+                }
+                Money paid = dividend.cashDelta();
+                position.dividends = position.dividends.add(paid);
+                totals.dividends = totals.dividends.add(paid);
+            }
+            case Deposit deposit -> { }
+        }
+    }
+
+    void mark(AssetId assetId, Money price, LocalDate asOf) {
+        Position position = positions.computeIfAbsent(assetId, id -> new Position(zero()));
+        position.price = price;
+        position.priceAsOf = asOf;
+        refreshUnrealized(position);
+    }
+
+    Performance total() {
+        return new Performance(totals.costBasis, totals.realizedGain, totals.unrealizedGain, totals.dividends);
+    }
+
+    Optional<Performance> of(AssetId assetId) {
+        Position position = positions.get(assetId);
+        if (position == null || position.costBasis.isZero()) {
+            return Optional.empty();
+        }
+        return Optional.of(new Performance(position.costBasis, position.realizedGain, position.unrealizedGain, position.dividends));
+    }
+
+    Optional<Performance> of(AcquisitionId acquisitionId) {
+        Lot lot = lot(acquisitionId);
+        if (lot == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new Performance(lot.acquisition.openCost(), lot.realizedGain, unrealizedGain(lot), lot.dividends));
+    }
+
+    Optional<Money> realizedGain(TransactionId sellId) {
+        Money realized = realizedBySell.get(sellId);
+        return realized != null ? Optional.of(realized) : stored.realizedGain(sellId);
+    }
+
+    /**
+     * The Acquisition as this tracker holds it, with its returns; empty if it is neither held nor stored.
+     */
+    Optional<LedgerSource.StoredLot> stored(AcquisitionId acquisitionId) {
+        Lot lot = lot(acquisitionId);
+        return lot == null ? Optional.empty() : Optional.of(new LedgerSource.StoredLot(lot.acquisition.copy(), lot.state()));
+    }
+
+    /**
+     * The returns of one Acquisition in their stored form; empty if it is neither held nor stored.
+     */
+    Optional<PortfolioSnapshot.LotState> lotState(AcquisitionId acquisitionId) {
+        return Optional.ofNullable(lot(acquisitionId)).map(Lot::state);
+    }
+
+    /**
+     * The returns of one asset in their stored form; empty if it was never bought.
+     */
+    Optional<PortfolioSnapshot.PositionState> positionState(AssetId assetId) {
+        Position position = positions.get(assetId);
+        if (position == null || position.costBasis.isZero()) {
+            return Optional.empty();
+        }
+        return Optional.of(new PortfolioSnapshot.PositionState(assetId, position.costBasis, position.realizedGain, position.dividends));
+    }
+
+    /**
+     * Every asset ever bought, in the stored form a snapshot keeps, ordered by asset id.
+     */
+    List<PortfolioSnapshot.PositionState> positionStates() {
+        List<PortfolioSnapshot.PositionState> states = new ArrayList<>(positions.size());
+        for (AssetId assetId : positions.keySet()) {
+            positionState(assetId).ifPresent(states::add);
+        }
+        states.sort(Comparator.comparing(state -> state.assetId().value()));
+        return states;
+    }
+
+    /**
+     * The annual rate that grows the lot's cost basis into its cost basis plus total return, from its open date
+     * to the day it closed or, while open, to its asset's last price mark.
+     */
+    Optional<BigDecimal> cagr(AcquisitionId acquisitionId) {
+        Lot lot = lot(acquisitionId);
+        if (lot == null) {
+            return Optional.empty();
+        }
+        LocalDate end = lot.closedOn;
+        if (end == null) {
+            Position position = positions.get(lot.acquisition.assetId());
+            if (position.price == null) {
+                return Optional.empty();
+            }
+            end = position.priceAsOf;
+        }
+        long days = ChronoUnit.DAYS.between(lot.acquisition.openDate(), end);
+        if (days <= 0) {
+            return Optional.empty();
+        }
+
+        Money costBasis = lot.acquisition.openCost();
+        Money endValue = MoneyAccumulator.create(currency)
+                .add(costBasis).add(lot.realizedGain).add(unrealizedGain(lot)).add(lot.dividends)
+                .toMoney();
+        if (!endValue.isPositive()) {
+            return Optional.of(BigDecimal.ONE.negate().setScale(CAGR_SCALE, RoundingMode.HALF_EVEN));
+        }
+        double growth = endValue.amount().doubleValue() / costBasis.amount().doubleValue();
+        double rate = Math.pow(growth, DAYS_PER_YEAR / days) - 1;
+        return Optional.of(BigDecimal.valueOf(rate).setScale(CAGR_SCALE, RoundingMode.HALF_EVEN));
+    }
+
+    private void open(Acquisition acquisition) {
+        lots.put(acquisition.id(), new Lot(acquisition, zero()));
+        Position position = positions.computeIfAbsent(acquisition.assetId(), id -> new Position(zero()));
+        Money openCost = acquisition.openCost();
+        position.quantity = position.quantity.add(acquisition.initialQuantity());
+        position.costBasis = position.costBasis.add(openCost);
+        position.remainingCost = position.remainingCost.add(openCost);
+        totals.costBasis = totals.costBasis.add(openCost);
+        refreshUnrealized(position);
+    }
+
+    // The lot held, or else the stored one, which is held from then on so what happens to it next is counted
+    private Lot lot(AcquisitionId acquisitionId) {
+        Lot lot = lots.get(acquisitionId);
+        if (lot == null) {
+            Optional<LedgerSource.StoredLot> fromStorage = stored.lot(acquisitionId, storedPosition);
+            if (fromStorage.isEmpty()) {
+                return null;
+            }
+            lot = new Lot(fromStorage.get().acquisition(), fromStorage.get().state());
+            lots.put(acquisitionId, lot);
+        }
+        return lot;
+    }
+
+    private Money sell(Sell sell, SellAllocation allocation) {
+        Lot lot = lots.get(allocation.acquisitionId());
+        Position position = positions.get(sell.assetId());
+        Quantity shares = allocation.sharesSoldFromAcquisition();
+
+        Money costBefore = lot.acquisition.remainingCost();
+        lot.acquisition.consume(shares);
+        Money costSold = costBefore.add(lot.acquisition.remainingCost().negate());
+        Money proceeds = Money.of(shares.multiply(sell.price()).subtract(allocation.feeAllocated().amount()), currency);
+        Money gain = proceeds.add(costSold.negate());
+
+        lot.realizedGain = lot.realizedGain.add(gain);
+        if (!lot.acquisition.isOpen()) {
+            lot.closedOn = sell.date();
+        }
+        position.quantity = position.quantity.subtract(shares);
+        position.remainingCost = position.remainingCost.add(costSold.negate());
+        position.realizedGain = position.realizedGain.add(gain);
+        totals.realizedGain = totals.realizedGain.add(gain);
+        return gain;
+    }
+
+    // The position's open shares at its last price over their remaining cost; the totals move by the difference
+    private void refreshUnrealized(Position position) {
+        Money unrealized = position.price == null
+                ? zero()
+                : Money.of(position.quantity.multiply(position.price), currency).add(position.remainingCost.negate());
+        totals.unrealizedGain = totals.unrealizedGain.add(unrealized).add(position.unrealizedGain.negate());
+        position.unrealizedGain = unrealized;
+    }
+
+    private Money unrealizedGain(Lot lot) {
+        Position position = positions.get(lot.acquisition.assetId());
+        if (position.price == null || !lot.acquisition.isOpen()) {
+            return zero();
+        }
+        Money marketValue = Money.of(lot.acquisition.remainingQuantity().multiply(position.price), currency);
+        return marketValue.add(lot.acquisition.remainingCost().negate());
+    }
+
+    private Money zero() {
+        return Money.of(0L, currency);
+    }
+}
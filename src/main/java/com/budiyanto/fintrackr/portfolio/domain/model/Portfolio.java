@@ -4,102 +4,928 @@ import com.budiyanto.fintrackr.portfolio.domain.exception.*;
 import com.budiyanto.fintrackr.shared.AssetId;
 import com.budiyanto.fintrackr.shared.BrokerAccountId;
 import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.MoneyAccumulator;
 import com.budiyanto.fintrackr.shared.Quantity;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.time.Year;
+import java.util.*;
 
 public class Portfolio {
 
+    // Transactions between automatic snapshots
+    static final int SNAPSHOT_INTERVAL = 1_000;
+    private static final int FEE_SLICE_SCALE = 8;
+
     private final PortfolioId id;
     private final BrokerAccountId brokerAccountId;
     private String name;
     private Money tradingBalance;
-    private final List<Transaction> transactions;
-    private final List<Acquisition> acquisitions;
+    private final PagedLedger transactions;
+    private AppendOnlyList<Acquisition> acquisitions;       // when restored, only those open at the snapshot and since
+    private boolean closedAcquisitionsLoaded;
+    private final Map<AssetId, Holding> holdings;
+    private final LedgerDateIndex dateIndex;                // recorded since load; the ledger source has the rest
+    private final DividendEligibilityIndex eligibility;     // the same, plus the stored trades asked for so far
+    private PerformanceTracker performance;         // restored from the snapshot when loaded
+    private PortfolioSnapshot latestSnapshot;
+    private int savedPosition;                      // ledger entries already in storage
+    private int savedAcquisitions;                  // entries of acquisitions already in storage
+    private Set<Year> archivedYears = Set.of();     // years no transaction may be dated in any more
+    private LocalDate archivedThrough;              // the last day of the latest of them; null while none is
+    private long version;                           // storage version loaded or last saved at
 
     private Portfolio (BrokerAccountId brokerAccountId, String name) {
-        this.id = PortfolioId.generate();
+        this(PortfolioId.generate(), brokerAccountId, name, LedgerSource.empty());
+    }
+
+    private Portfolio (PortfolioId id, BrokerAccountId brokerAccountId, String name, LedgerSource history) {
+        this.id = id;
         this.brokerAccountId = brokerAccountId;
         this.name = name;
         this.tradingBalance = Money.zero();
-        this.transactions = new ArrayList<>();
-        this.acquisitions = new ArrayList<>();
+        this.transactions = new PagedLedger(history);
+        this.acquisitions = new AppendOnlyList<>();
+        this.closedAcquisitionsLoaded = true;
+        this.holdings = new LinkedHashMap<>();
+        this.dateIndex = new LedgerDateIndex(tradingBalance.currency());
+        this.eligibility = new DividendEligibilityIndex();
+        this.performance = new PerformanceTracker(tradingBalance.currency());
+        this.savedPosition = history.size();
     }
 
     public static Portfolio create(BrokerAccountId brokerAccountId, String name) {
         return new Portfolio(brokerAccountId, name);
     }
 
+    /**
+     * Rehydrates a Portfolio by replaying its whole ledger, in recording order.
+     */
+    public static Portfolio replay(PortfolioId id, BrokerAccountId brokerAccountId, String name, List<Transaction> ledger) {
+        Objects.requireNonNull(ledger, "ledger cannot be null");
+        return replay(id, brokerAccountId, name, LedgerSource.of(ledger));
+    }
+
+    /**
+     * As {@link #replay(PortfolioId, BrokerAccountId, String, List)}, reading the ledger a page at a time. The
+     * replayed Portfolio keeps only its derived state and reads the ledger back from {@code ledger} on demand.
+     */
+    public static Portfolio replay(PortfolioId id, BrokerAccountId brokerAccountId, String name, LedgerSource ledger) {
+        Objects.requireNonNull(id, "id cannot be null");
+        Objects.requireNonNull(ledger, "ledger cannot be null");
+        Portfolio portfolio = new Portfolio(id, brokerAccountId, name, ledger);
+        for (Transaction transaction : portfolio.transactions.view()) {
+            portfolio.apply(transaction);
+        }
+        portfolio.savedAcquisitions = portfolio.acquisitions.size();
+        return portfolio;
+    }
+
+    /**
+     * Rehydrates a Portfolio from a snapshot of its derived state, replaying only the part of the ledger
+     * recorded after it. The result is the same aggregate as {@link #replay} over the whole ledger.
+     */
+    public static Portfolio restore(PortfolioId id, BrokerAccountId brokerAccountId, String name, PortfolioSnapshot snapshot, List<Transaction> ledger) {
+        Objects.requireNonNull(ledger, "ledger cannot be null");
+        return restore(id, brokerAccountId, name, snapshot, LedgerSource.of(ledger));
+    }
+
+    /**
+     * As {@link #restore(PortfolioId, BrokerAccountId, String, PortfolioSnapshot, List)}, reading only the
+     * ledger pages after the snapshot. Loading therefore costs the same however long the ledger before the
+     * snapshot is; earlier transactions are read from {@code ledger} only when a caller asks for them.
+     */
+    public static Portfolio restore(PortfolioId id, BrokerAccountId brokerAccountId, String name, PortfolioSnapshot snapshot, LedgerSource ledger) {
+        Objects.requireNonNull(id, "id cannot be null");
+        Objects.requireNonNull(snapshot, "snapshot cannot be null");
+        Objects.requireNonNull(ledger, "ledger cannot be null");
+        if (!snapshot.portfolioId().equals(id)) {
+            throw new IllegalArgumentException("snapshot belongs to another portfolio");
+        }
+        if (snapshot.ledgerPosition() > ledger.size()) {
+            throw new IllegalArgumentException("snapshot is ahead of the ledger");
+        }
+
+        Portfolio portfolio = new Portfolio(id, brokerAccountId, name, ledger);
+        portfolio.tradingBalance = snapshot.tradingBalance();
+        Map<AcquisitionId, Acquisition> acquisitionsById = new HashMap<>();
+        for (Acquisition snapshotted : snapshot.acquisitions()) {
+            // Sells consume Acquisitions in place; the snapshot must keep the state it captured
+            Acquisition acquisition = snapshotted.copy();
+            portfolio.acquisitions.add(acquisition);
+            acquisitionsById.put(acquisition.id(), acquisition);
+        }
+        for (PortfolioSnapshot.HoldingState state : snapshot.holdings()) {
+            List<Acquisition> openAcquisitions = new ArrayList<>(state.openAcquisitionIds().size());
+            for (AcquisitionId acquisitionId : state.openAcquisitionIds()) {
+                openAcquisitions.add(Objects.requireNonNull(acquisitionsById.get(acquisitionId), "snapshot holding references an unknown acquisition"));
+            }
+            portfolio.holdings.put(state.assetId(), Holding.restore(id, state, openAcquisitions));
+        }
+        portfolio.performance = PerformanceTracker.restore(portfolio.tradingBalance.currency(), snapshot, ledger);
+        portfolio.latestSnapshot = snapshot;
+        portfolio.closedAcquisitionsLoaded = snapshot.ledgerPosition() == 0;
+
+        for (int i = snapshot.ledgerPosition(); i < ledger.size(); i++) {
+            portfolio.apply(portfolio.transactions.get(i));
+        }
+        portfolio.savedAcquisitions = portfolio.acquisitions.size();
+        return portfolio;
+    }
+
+    /**
+     * Closes {@code years} to new transactions: their ledger has been archived, so a command dated in one of them,
+     * or a dividend whose cum date is not after the latest of them, is rejected with {@link Violation.ArchivedYear}.
+     * Set by the repository on load.
+     */
+    public void archivedYears(Set<Year> years) {
+        this.archivedYears = Set.copyOf(Objects.requireNonNull(years, "years cannot be null"));
+        this.archivedThrough = archivedYears.stream().max(Comparator.naturalOrder())
+                .map(year -> year.atMonth(12).atEndOfMonth())
+                .orElse(null);
+    }
+
     public void recordDeposit(Money amount, LocalDate date, LocalDate today) {
         Objects.requireNonNull(amount, "amount cannot be null");
         Objects.requireNonNull(date, "date cannot be null");
         Objects.requireNonNull(today, "today cannot be null");
 
-        if (amount.isZeroOrNegative()) {
-            throw new NonPositiveAmountException(amount);
+        Violation violation = depositViolation(amount, date, today);
+        if (violation != null) {
+            throw violation.toException();
         }
 
-        if (date.isAfter(today)) {
-            throw new FutureDatedTransactionException(date, today);
+        tradingBalance = tradingBalance.add(appendDeposit(amount, date));
+        snapshotIfDue();
+    }
+
+    public Money recordBuy(AssetId assetId, Quantity quantity, Money price, Money fee, LocalDate date, LocalDate today) {
+        Objects.requireNonNull(assetId, "assetId cannot be null");
+        Objects.requireNonNull(quantity, "quantity cannot be null");
+        Objects.requireNonNull(price, "price cannot be null");
+        Objects.requireNonNull(fee, "fee cannot be null");
+        Objects.requireNonNull(date, "date cannot be null");
+        Objects.requireNonNull(today, "today cannot be null");
+
+        Violation violation = tradeViolation(quantity, price, fee, date, today);
+        if (violation != null) {
+            throw violation.toException();
+        }
+
+        Money costDelta = Buy.costDelta(quantity, price, fee);
+
+        Money endBalance = tradingBalance.add(costDelta);
+        if (endBalance.isNegative()) {
+            throw new InsufficientBalanceException(tradingBalance, costDelta.negate());
         }
 
-        Transaction deposit = Deposit.create(TransactionId.generate(), id, date, amount);
-        transactions.add(deposit);
+        appendBuy(assetId, quantity, price, fee, date);
 
-        tradingBalance = tradingBalance.add(amount);
+        tradingBalance = endBalance;
+        snapshotIfDue();
+        return costDelta;
     }
 
-    public Money recordBuy(AssetId assetId, Quantity quantity, Money price, Money fee, LocalDate date, LocalDate today) {
+    /**
+     * Sells shares of a held asset, taking them from its open Acquisitions in the order {@code strategy} gives
+     * (ADR-005). The fee is allocated to the consumed Acquisitions in proportion to the shares taken from each.
+     *
+     * @return the cash delta moved, signed: {@code quantity × price − fee}
+     */
+    public Money recordSell(AssetId assetId, Quantity quantity, Money price, Money fee, LocalDate date, AcquisitionSelectionStrategy strategy, LocalDate today) {
         Objects.requireNonNull(assetId, "assetId cannot be null");
         Objects.requireNonNull(quantity, "quantity cannot be null");
         Objects.requireNonNull(price, "price cannot be null");
         Objects.requireNonNull(fee, "fee cannot be null");
         Objects.requireNonNull(date, "date cannot be null");
+        Objects.requireNonNull(strategy, "strategy cannot be null");
+        Objects.requireNonNull(today, "today cannot be null");
+
+        Violation violation = tradeViolation(quantity, price, fee, date, today);
+        if (violation == null) {
+            violation = sellViolation(assetId, quantity, date, strategy);
+        }
+        if (violation != null) {
+            throw violation.toException();
+        }
+
+        Money proceedsDelta = Sell.proceedsDelta(quantity, price, fee);
+
+        Money endBalance = tradingBalance.add(proceedsDelta);
+        if (endBalance.isNegative()) {
+            throw new InsufficientBalanceException(tradingBalance, proceedsDelta.negate());
+        }
+
+        appendSell(assetId, quantity, price, fee, date, strategy);
+
+        tradingBalance = endBalance;
+        snapshotIfDue();
+        return proceedsDelta;
+    }
+
+    /**
+     * Pays a dividend to every Acquisition of {@code assetId} held at {@code cumDate}, in proportion to the
+     * shares it still held then (ADR-005). Lots opened on the cum date are eligible; shares sold on it are not.
+     *
+     * @return the cash delta moved: the sum of the allocated amounts
+     */
+    public Money recordDividend(AssetId assetId, Money dps, LocalDate cumDate, LocalDate paymentDate, LocalDate today) {
+        Objects.requireNonNull(assetId, "assetId cannot be null");
+        Objects.requireNonNull(dps, "dps cannot be null");
+        Objects.requireNonNull(cumDate, "cumDate cannot be null");
+        Objects.requireNonNull(paymentDate, "paymentDate cannot be null");
+        Objects.requireNonNull(today, "today cannot be null");
+
+        List<DividendAllocation> allocations = List.of();
+        Violation violation = dividendViolation(dps, cumDate, paymentDate, today);
+        if (violation == null) {
+            allocations = dividendAllocations(eligibleShares(assetId, cumDate), dps);
+            if (allocations.isEmpty()) {
+                violation = new Violation.NoEligibleShares(assetId, cumDate);
+            }
+        }
+        if (violation != null) {
+            throw violation.toException();
+        }
+
+        Dividend dividend = Dividend.create(TransactionId.generate(), id, assetId, cumDate, paymentDate, dps, allocations);
+        append(dividend);
+        tradingBalance = tradingBalance.add(dividend.cashDelta());
+        snapshotIfDue();
+        return dividend.cashDelta();
+    }
+
+    /**
+     * Records many dividend declarations at once, such as a backfill of an asset's dividend history. Each asset's
+     * holding intervals are swept once for all of its cum dates, rather than once per declaration.
+     * <p>
+     * Every declaration is checked first; if any breaks a rule, nothing is recorded. A declaration whose cum date
+     * found no shares held is skipped rather than rejected, since a backfill covers periods the asset was not held.
+     *
+     * @return the cash delta of each declaration, in order; zero for a skipped one
+     * @throws RejectedBatchException when any declaration breaks a rule; nothing was recorded
+     */
+    public List<Money> recordDividends(List<DividendDeclaration> declarations, LocalDate today) {
+        Objects.requireNonNull(declarations, "declarations cannot be null");
+        Objects.requireNonNull(today, "today cannot be null");
+
+        SortedMap<Integer, Violation> failures = new TreeMap<>();
+        Map<AssetId, SortedSet<LocalDate>> cumDatesByAsset = new LinkedHashMap<>();
+        for (int i = 0; i < declarations.size(); i++) {
+            DividendDeclaration declaration = Objects.requireNonNull(declarations.get(i), "declaration cannot be null");
+            Violation violation = dividendViolation(declaration.dps(), declaration.cumDate(), declaration.paymentDate(), today);
+            if (violation != null) {
+                failures.put(i, violation);
+            }
+            cumDatesByAsset.computeIfAbsent(declaration.assetId(), assetId -> new TreeSet<>()).add(declaration.cumDate());
+        }
+        if (!failures.isEmpty()) {
+            throw new RejectedBatchException(declarations.size(), failures);
+        }
+
+        Map<AssetId, Map<LocalDate, Map<AcquisitionId, Quantity>>> eligibleByAsset = new HashMap<>();
+        for (Map.Entry<AssetId, SortedSet<LocalDate>> entry : cumDatesByAsset.entrySet()) {
+            AssetId assetId = entry.getKey();
+            eligibleByAsset.put(assetId, eligibility(assetId, entry.getValue().first()).eligibleAt(assetId, entry.getValue(), openAcquisitions(assetId)));
+        }
+
+        List<Money> cashDeltas = new ArrayList<>(declarations.size());
+        Money endBalance = tradingBalance;
+        for (DividendDeclaration declaration : declarations) {
+            Map<AcquisitionId, Quantity> eligible = eligibleByAsset.get(declaration.assetId()).get(declaration.cumDate());
+            List<DividendAllocation> allocations = dividendAllocations(eligible, declaration.dps());
+            if (allocations.isEmpty()) {
+                cashDeltas.add(Money.of(0L, declaration.dps().currency()));
+                continue;
+            }
+            Dividend dividend = Dividend.create(TransactionId.generate(), id, declaration.assetId(), declaration.cumDate(),
+                    declaration.paymentDate(), declaration.dps(), allocations);
+            append(dividend);
+            cashDeltas.add(dividend.cashDelta());
+            endBalance = endBalance.add(dividend.cashDelta());
+        }
+        tradingBalance = endBalance;
+        snapshotIfDue();
+        return Collections.unmodifiableList(cashDeltas);
+    }
+
+    /**
+     * Records several deposits and buys as one unit: either every command is recorded or none is.
+     * <p>
+     * All commands are {@linkplain #validate(List, LocalDate) validated} first, and every failure is collected
+     * before anything is appended. The cash deltas are summed in a {@link MoneyAccumulator} and the balance is
+     * then written once.
+     *
+     * @return the signed cash delta of the whole batch
+     * @throws RejectedBatchException when any command breaks a rule; nothing was recorded
+     */
+    public Money recordBatch(List<PortfolioCommand> commands, LocalDate today) {
+        List<Validation> validations = validate(commands, today);
+
+        MoneyAccumulator cashDelta = MoneyAccumulator.create(tradingBalance.currency());
+        SortedMap<Integer, Violation> failures = new TreeMap<>();
+        for (int i = 0; i < validations.size(); i++) {
+            switch (validations.get(i)) {
+                case Validation.Accepted accepted -> cashDelta.add(accepted.cashDelta());
+                case Validation.Rejected rejected -> failures.put(i, rejected.violation());
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new RejectedBatchException(commands.size(), failures);
+        }
+
+        // Every command passed; nothing from here on can fail
+        for (PortfolioCommand command : commands) {
+            switch (command) {
+                case PortfolioCommand.RecordDeposit deposit -> appendDeposit(deposit.amount(), deposit.date());
+                case PortfolioCommand.RecordBuy buy -> appendBuy(buy.assetId(), buy.quantity(), buy.price(), buy.fee(), buy.date());
+            }
+        }
+        Money total = cashDelta.toMoney();
+        tradingBalance = tradingBalance.add(total);
+        snapshotIfDue();
+        return total;
+    }
+
+    /**
+     * Checks commands against the same rules as the {@code record…} methods without recording or throwing.
+     * Each command is checked against the balance the accepted commands before it would leave behind, so the
+     * accepted ones can be recorded together with {@link #recordBatch(List, LocalDate)}.
+     *
+     * @return one result per command, in order
+     */
+    public List<Validation> validate(List<PortfolioCommand> commands, LocalDate today) {
+        Objects.requireNonNull(commands, "commands cannot be null");
         Objects.requireNonNull(today, "today cannot be null");
 
+        List<Validation> validations = new ArrayList<>(commands.size());
+        Money runningBalance = tradingBalance;
+        for (PortfolioCommand command : commands) {
+            Objects.requireNonNull(command, "command cannot be null");
+            Violation violation = switch (command) {
+                case PortfolioCommand.RecordDeposit deposit -> depositViolation(deposit.amount(), deposit.date(), today);
+                case PortfolioCommand.RecordBuy buy -> tradeViolation(buy.quantity(), buy.price(), buy.fee(), buy.date(), today);
+            };
+            if (violation == null) {
+                Money cashDelta = cashDelta(command);
+                Money endBalance = runningBalance.add(cashDelta);
+                if (endBalance.isNegative()) {
+                    violation = new Violation.InsufficientBalance(runningBalance, cashDelta.negate());
+                } else {
+                    runningBalance = endBalance;
+                    validations.add(new Validation.Accepted(cashDelta));
+                    continue;
+                }
+            }
+            validations.add(new Validation.Rejected(violation));
+        }
+        return Collections.unmodifiableList(validations);
+    }
+
+    // Rule checks shared by the single and batch paths; null when the command is valid
+
+    private Violation depositViolation(Money amount, LocalDate date, LocalDate today) {
+        if (amount.isZeroOrNegative()) {
+            return new Violation.NonPositiveAmount(amount);
+        }
+
+        if (date.isAfter(today)) {
+            return new Violation.FutureDated(date, today);
+        }
+        return archivedViolation(date);
+    }
+
+    private Violation tradeViolation(Quantity quantity, Money price, Money fee, LocalDate date, LocalDate today) {
         if (quantity.isZero()) {
-            throw new ZeroQuantityException(quantity);
+            return new Violation.ZeroQuantity(quantity);
         }
 
         if (price.isZeroOrNegative()) {
-            throw new NonPositivePriceException(price);
+            return new Violation.NonPositivePrice(price);
         }
 
         if (fee.isNegative()) {
-            throw new NegativeFeeException(fee);
+            return new Violation.NegativeFee(fee);
         }
 
         if (date.isAfter(today)) {
-            throw new FutureDatedTransactionException(date, today);
+            return new Violation.FutureDated(date, today);
         }
+        return archivedViolation(date);
+    }
 
-        Money costDelta = Money.of(quantity.value().multiply(price.amount()).add(fee.amount()), price.currency()).negate();
+    // Only lots opened on or before the Sell's date count; a backdated Sell cannot take shares bought after it
+    private Violation sellViolation(AssetId assetId, Quantity quantity, LocalDate date, AcquisitionSelectionStrategy strategy) {
+        Holding holding = holdings.get(assetId);
+        Quantity held = holding == null ? Quantity.ofShares(0) : holding.quantityOpenedBy(date);
+        if (held.compareTo(quantity) < 0) {
+            return new Violation.InsufficientHolding(assetId, held, quantity);
+        }
 
-        Money endBalance = tradingBalance.add(costDelta);
-        if (endBalance.isNegative()) {
-            throw new InsufficientBalanceException(tradingBalance, costDelta.negate());
+        if (strategy instanceof AcquisitionSelectionStrategy.Manual manual) {
+            Map<AcquisitionId, Quantity> requested = new HashMap<>();
+            Quantity allocated = Quantity.ofShares(0);
+            for (AcquisitionSelectionStrategy.Manual.Lot lot : manual.lots()) {
+                Acquisition acquisition = holding.openAcquisition(lot.acquisitionId());
+                Quantity fromLot = requested.merge(lot.acquisitionId(), lot.quantity(), Quantity::add);
+                if (lot.quantity().isZero() || acquisition == null || acquisition.openDate().isAfter(date)
+                        || fromLot.compareTo(acquisition.remainingQuantity()) > 0) {
+                    return new Violation.InvalidSellAllocation(lot.acquisitionId(), lot.quantity());
+                }
+                allocated = allocated.add(lot.quantity());
+            }
+            if (allocated.compareTo(quantity) != 0) {
+                return new Violation.SellAllocationMismatch(allocated, quantity);
+            }
+        }
+        return null;
+    }
+
+    private Violation dividendViolation(Money dps, LocalDate cumDate, LocalDate paymentDate, LocalDate today) {
+        if (dps.isZeroOrNegative()) {
+            return new Violation.NonPositiveAmount(dps);
+        }
+
+        if (paymentDate.isBefore(cumDate)) {
+            return new Violation.PaymentBeforeCumDate(cumDate, paymentDate);
+        }
+
+        if (paymentDate.isAfter(today)) {
+            return new Violation.FutureDated(paymentDate, today);
+        }
+
+        // The shares held at the cum date are found by undoing the trades dated after it, archived ones included
+        if (archivedThrough != null && !cumDate.isAfter(archivedThrough)) {
+            return new Violation.ArchivedYear(cumDate);
+        }
+        return archivedViolation(paymentDate);
+    }
+
+    // Year.from allocates, so a Portfolio with nothing archived, the usual case, does not look
+    private Violation archivedViolation(LocalDate date) {
+        if (archivedYears.isEmpty() || !archivedYears.contains(Year.from(date))) {
+            return null;
+        }
+        return new Violation.ArchivedYear(date);
+    }
+
+    private Map<AcquisitionId, Quantity> eligibleShares(AssetId assetId, LocalDate cumDate) {
+        return eligibility(assetId, cumDate).eligibleAt(assetId, cumDate, openAcquisitions(assetId));
+    }
+
+    private List<Acquisition> openAcquisitions(AssetId assetId) {
+        Holding holding = holdings.get(assetId);
+        return holding == null ? List.of() : holding.openAcquisitions();
+    }
+
+    // shares × dps for each lot, each normalized to Money once (ADR-007)
+    private static List<DividendAllocation> dividendAllocations(Map<AcquisitionId, Quantity> eligible, Money dps) {
+        List<DividendAllocation> allocations = new ArrayList<>(eligible.size());
+        for (Map.Entry<AcquisitionId, Quantity> entry : eligible.entrySet()) {
+            Money amount = Money.of(entry.getValue().multiply(dps), dps.currency());
+            allocations.add(new DividendAllocation(entry.getKey(), entry.getValue(), amount));
         }
+        return allocations;
+    }
 
+    private static Money cashDelta(PortfolioCommand command) {
+        return switch (command) {
+            case PortfolioCommand.RecordDeposit deposit -> deposit.amount();
+            case PortfolioCommand.RecordBuy buy -> Buy.costDelta(buy.quantity(), buy.price(), buy.fee());
+        };
+    }
+
+    private Money appendDeposit(Money amount, LocalDate date) {
+        append(Deposit.create(TransactionId.generate(), id, date, amount));
+        return amount;
+    }
+
+    private void appendBuy(AssetId assetId, Quantity quantity, Money price, Money fee, LocalDate date) {
         Acquisition acquisition = Acquisition.create(id, assetId, date, price, fee, quantity);
         acquisitions.add(acquisition);
+        openInHolding(holdings, acquisition);
 
-        Transaction buy = Buy.create(TransactionId.generate(), id, date, assetId, quantity, price, fee, acquisition.id());
-        transactions.add(buy);
+        append(Buy.create(TransactionId.generate(), id, date, assetId, quantity, price, fee, acquisition.id()));
+    }
 
-        tradingBalance = endBalance;
-        return costDelta;
+    private void appendSell(AssetId assetId, Quantity quantity, Money price, Money fee, LocalDate date, AcquisitionSelectionStrategy strategy) {
+        Holding holding = holdings.get(assetId);
+        List<AcquisitionSelectionStrategy.Manual.Lot> taken = holding.take(strategy, quantity, date);
+        if (holding.isEmpty()) {
+            holdings.remove(assetId);
+        }
+
+        append(Sell.create(TransactionId.generate(), id, date, assetId, price, quantity, fee, allocateFee(taken, quantity, fee)));
+    }
+
+    // Each lot's proportional slice is rounded once; the rounding remainder goes to the last lot, so the
+    // slices add up to the fee exactly (ADR-007)
+    private static List<SellAllocation> allocateFee(List<AcquisitionSelectionStrategy.Manual.Lot> lots, Quantity quantity, Money fee) {
+        List<SellAllocation> allocations = new ArrayList<>(lots.size());
+        Money allocated = Money.of(0L, fee.currency());
+        for (int i = 0; i < lots.size(); i++) {
+            AcquisitionSelectionStrategy.Manual.Lot lot = lots.get(i);
+            Money slice;
+            if (i == lots.size() - 1) {
+                slice = fee.add(allocated.negate());
+            } else {
+                BigDecimal share = fee.amount().multiply(lot.quantity().value()).divide(quantity.value(), FEE_SLICE_SCALE, RoundingMode.HALF_EVEN);
+                slice = Money.of(share, fee.currency());
+            }
+            allocated = allocated.add(slice);
+            allocations.add(new SellAllocation(lot.acquisitionId(), lot.quantity(), slice));
+        }
+        return allocations;
     }
 
     public PortfolioId id() { return id; }
 
+    public BrokerAccountId brokerAccountId() { return brokerAccountId; }
+
+    public String name() { return name; }
+
     public Money tradingBalance() { return tradingBalance; }
 
-    public List<Transaction> transactions() { return List.copyOf(transactions); }
+    public List<Transaction> transactions() { return transactions.view(); }
+
+    /**
+     * Every Acquisition, open or closed, in the order they were opened. A restored Portfolio holds only the open
+     * ones; the first call reads the closed ones from the {@link LedgerSource}.
+     */
+    public List<Acquisition> acquisitions() {
+        if (!closedAcquisitionsLoaded) {
+            loadClosedAcquisitions();
+        }
+        return acquisitions.view();
+    }
+
+    /**
+     * The Acquisitions opened by {@link #unsavedTransactions()}, in the order they were opened, with what
+     * remains of them now. Reading them never pages in history.
+     */
+    public List<Acquisition> unsavedAcquisitions() {
+        return acquisitions.view().subList(savedAcquisitions, acquisitions.size());
+    }
+
+    /**
+     * The transactions recorded since this Portfolio was created, loaded or last {@linkplain #markSaved() saved},
+     * in recording order: what a repository appends to the stored ledger. Reading them never pages in history.
+     */
+    public List<Transaction> unsavedTransactions() {
+        return transactions.view().subList(savedPosition, transactions.size());
+    }
+
+    /**
+     * Records that every transaction so far is in storage.
+     */
+    public void markSaved() {
+        savedPosition = transactions.size();
+        savedAcquisitions = acquisitions.size();
+    }
+
+    /**
+     * The storage version this Portfolio was loaded or last saved at, 0 until it is stored. A repository compares
+     * it with the stored version on save, so a save from a stale copy fails instead of overwriting a newer one.
+     */
+    public long version() { return version; }
+
+    /**
+     * Records the storage version this Portfolio now matches. Set by the repository on load and save.
+     */
+    public void version(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Transactions dated within {@code [from, to]}, in date order; a backdated entry appears at its date, not
+     * where it was recorded. Stored transactions are read through the {@link LedgerSource}, bounded by the dates,
+     * which fails for dates reaching into an archived year with history in it.
+     */
+    public List<Transaction> transactionsBetween(LocalDate from, LocalDate to) {
+        Objects.requireNonNull(from, "from cannot be null");
+        Objects.requireNonNull(to, "to cannot be null");
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from cannot be after to");
+        }
+        List<Transaction> stored = transactions.history().between(from, to);
+        List<Transaction> recorded = dateIndex.between(from, to);
+        if (recorded.isEmpty()) {
+            return stored;
+        }
+        // Everything recorded since load comes after the stored transactions of the same date
+        List<Transaction> merged = new ArrayList<>(stored.size() + recorded.size());
+        int i = 0;
+        for (Transaction transaction : recorded) {
+            while (i < stored.size() && !stored.get(i).date().isAfter(transaction.date())) {
+                merged.add(stored.get(i++));
+            }
+            merged.add(transaction);
+        }
+        merged.addAll(stored.subList(i, stored.size()));
+        return Collections.unmodifiableList(merged);
+    }
+
+    /**
+     * The trading balance counting only transactions dated on or before {@code date}: the current one less the
+     * cash deltas dated after it, which the {@link LedgerSource} sums for the stored transactions, archived ones
+     * included. It fails for a date within an archived year with history in it.
+     */
+    public Money tradingBalanceAsOf(LocalDate date) {
+        Objects.requireNonNull(date, "date cannot be null");
+        // The trading balance is the sum of every cash delta, so this takes out those dated after the date
+        Money recordedAfter = dateIndex.balanceAsOf(LocalDate.MAX).add(dateIndex.balanceAsOf(date).negate());
+        return tradingBalance.add(recordedAfter.negate()).add(transactions.history().cashDeltaAfter(date).negate());
+    }
+
+    public Optional<Holding> holding(AssetId assetId) { return Optional.ofNullable(holdings.get(assetId)); }
+
+    public List<Holding> holdings() { return List.copyOf(holdings.values()); }
+
+    /**
+     * Marks {@code assetId} at {@code price} as of {@code asOf}, for unrealized gains and CAGR. Prices are market
+     * data rather than ledger entries, so they are not part of a snapshot and are marked again after loading.
+     */
+    public void markPrice(AssetId assetId, Money price, LocalDate asOf) {
+        Objects.requireNonNull(assetId, "assetId cannot be null");
+        Objects.requireNonNull(price, "price cannot be null");
+        Objects.requireNonNull(asOf, "asOf cannot be null");
+        if (price.isZeroOrNegative()) {
+            throw new Violation.NonPositivePrice(price).toException();
+        }
+        performance.mark(assetId, price, asOf);
+    }
+
+    /**
+     * Returns across every Acquisition this Portfolio has opened. Kept up to date as transactions are recorded
+     * and prices marked, so the cost of asking does not grow with the ledger.
+     */
+    public Performance performance() { return performance.total(); }
+
+    /**
+     * Returns across every Acquisition of {@code assetId}, open or closed; empty if the asset was never bought.
+     */
+    public Optional<Performance> performance(AssetId assetId) {
+        Objects.requireNonNull(assetId, "assetId cannot be null");
+        return performance.of(assetId);
+    }
+
+    public Optional<Performance> performance(AcquisitionId acquisitionId) {
+        Objects.requireNonNull(acquisitionId, "acquisitionId cannot be null");
+        return performance.of(acquisitionId);
+    }
+
+    /**
+     * What the Sell {@code sellId} brought in, net of its fee, over the cost of the shares it sold; empty if no
+     * such Sell was recorded.
+     */
+    public Optional<Money> realizedGain(TransactionId sellId) {
+        Objects.requireNonNull(sellId, "sellId cannot be null");
+        return performance.realizedGain(sellId);
+    }
+
+    /**
+     * The compound annual growth rate of one Acquisition's cost basis into its cost basis plus total return,
+     * from its open date to the day it closed or, while open, to its asset's last price mark. Empty when the
+     * lot is open and its asset unmarked, or when no full day has passed.
+     */
+    public Optional<BigDecimal> cagr(AcquisitionId acquisitionId) {
+        Objects.requireNonNull(acquisitionId, "acquisitionId cannot be null");
+        return performance.cagr(acquisitionId);
+    }
+
+    /**
+     * The returns of one Acquisition, open or closed, as a repository stores them; empty if it was never opened.
+     */
+    public Optional<PortfolioSnapshot.LotState> lotState(AcquisitionId acquisitionId) {
+        Objects.requireNonNull(acquisitionId, "acquisitionId cannot be null");
+        return performance.lotState(acquisitionId);
+    }
+
+    /**
+     * The returns of every Acquisition of {@code assetId}, as a repository stores them; empty if the asset was
+     * never bought.
+     */
+    public Optional<PortfolioSnapshot.PositionState> positionState(AssetId assetId) {
+        Objects.requireNonNull(assetId, "assetId cannot be null");
+        return performance.positionState(assetId);
+    }
+
+    /**
+     * Diffs the cached Holdings against a rebuild from the ledger (ADR-004).
+     *
+     * @return the assets whose cached Holding has drifted; empty when the cache is in sync
+     */
+    public Set<AssetId> verifyHoldings() {
+        Map<AssetId, Holding> rebuilt = holdingsFromLedger(new HashMap<>());
+        Set<AssetId> drifted = new LinkedHashSet<>();
+        for (AssetId assetId : holdings.keySet()) {
+            if (!holdings.get(assetId).equals(rebuilt.get(assetId))) {
+                drifted.add(assetId);
+            }
+        }
+        for (AssetId assetId : rebuilt.keySet()) {
+            if (!holdings.containsKey(assetId)) {
+                drifted.add(assetId);
+            }
+        }
+        return drifted;
+    }
+
+    /**
+     * Replaces the cached Holdings with a rebuild from the ledger: the recovery path for drift (ADR-004).
+     */
+    public void rebuildHoldings() {
+        Map<AcquisitionId, Acquisition> replayed = new HashMap<>();
+        Map<AssetId, Holding> rebuilt = holdingsFromLedger(replayed);
 
-    public List<Acquisition> acquisitions() { return List.copyOf(acquisitions); }
+        // Re-derive this Portfolio's own Acquisitions too, and point the rebuilt Holdings at them
+        Map<AcquisitionId, Acquisition> acquisitionsById = new HashMap<>();
+        for (Acquisition acquisition : acquisitions()) {
+            Acquisition fromLedger = replayed.get(acquisition.id());
+            if (fromLedger != null) {
+                acquisition.restoreRemaining(fromLedger.remainingQuantity());
+            }
+            acquisitionsById.put(acquisition.id(), acquisition);
+        }
+        holdings.clear();
+        for (Holding holding : rebuilt.values()) {
+            PortfolioSnapshot.HoldingState state = holding.state();
+            List<Acquisition> openAcquisitions = new ArrayList<>(state.openAcquisitionIds().size());
+            for (AcquisitionId acquisitionId : state.openAcquisitionIds()) {
+                openAcquisitions.add(acquisitionsById.get(acquisitionId));
+            }
+            holdings.put(state.assetId(), Holding.restore(id, state, openAcquisitions));
+        }
+    }
+
+    /**
+     * Captures the derived state as of the current end of the ledger, with only the Acquisitions still open. One
+     * is also taken automatically every {@value #SNAPSHOT_INTERVAL} recorded transactions.
+     */
+    public PortfolioSnapshot takeSnapshot() {
+        List<PortfolioSnapshot.HoldingState> holdingStates = new ArrayList<>(holdings.size());
+        for (Holding holding : holdings.values()) {
+            holdingStates.add(holding.state());
+        }
+        List<Acquisition> acquisitionStates = new ArrayList<>();
+        List<PortfolioSnapshot.LotState> lotStates = new ArrayList<>();
+        for (Acquisition acquisition : acquisitions.view()) {
+            if (acquisition.isOpen()) {
+                acquisitionStates.add(acquisition.copy());
+                lotStates.add(performance.lotState(acquisition.id()).orElseThrow());
+            }
+        }
+        latestSnapshot = new PortfolioSnapshot(id, transactions.size(), tradingBalance, acquisitionStates, holdingStates,
+                lotStates, performance.positionStates());
+        return latestSnapshot;
+    }
+
+    public Optional<PortfolioSnapshot> latestSnapshot() { return Optional.ofNullable(latestSnapshot); }
+
+    /**
+     * Checks a snapshot against a full replay of this Portfolio's ledger up to the snapshot's position.
+     *
+     * @return {@code true} when replaying the ledger prefix reproduces the snapshot exactly
+     */
+    public boolean verifySnapshot(PortfolioSnapshot snapshot) {
+        Objects.requireNonNull(snapshot, "snapshot cannot be null");
+        if (!snapshot.portfolioId().equals(id) || snapshot.ledgerPosition() > transactions.size()) {
+            return false;
+        }
+        Portfolio replayed = replay(id, brokerAccountId, name, transactions.view().subList(0, snapshot.ledgerPosition()));
+        PortfolioSnapshot expected = replayed.takeSnapshot();
+        return expected.equals(snapshot) && sameAcquisitions(expected.acquisitions(), snapshot.acquisitions());
+    }
+
+    private void snapshotIfDue() {
+        int snapshotted = latestSnapshot == null ? 0 : latestSnapshot.ledgerPosition();
+        if (transactions.size() - snapshotted >= SNAPSHOT_INTERVAL) {
+            takeSnapshot();
+        }
+    }
+
+    // Acquisition equality is by id; a snapshot is only sound if every field matches
+    private static boolean sameAcquisitions(List<Acquisition> expected, List<Acquisition> actual) {
+        for (int i = 0; i < expected.size(); i++) {
+            Acquisition e = expected.get(i);
+            Acquisition a = actual.get(i);
+            if (!e.portfolioId().equals(a.portfolioId()) || !e.assetId().equals(a.assetId())
+                    || !e.openDate().equals(a.openDate()) || !e.openPrice().equals(a.openPrice())
+                    || !e.openFee().equals(a.openFee()) || !e.initialQuantity().equals(a.initialQuantity())
+                    || !e.remainingQuantity().equals(a.remainingQuantity())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Re-derives state from an already validated entry of the loaded ledger
+    private void apply(Transaction transaction) {
+        if (!transaction.portfolioId().equals(id)) {
+            throw new IllegalArgumentException("transaction belongs to another portfolio");
+        }
+        switch (transaction) {
+            case Buy buy -> {
+                Acquisition acquisition = Acquisition.openedBy(buy);
+                acquisitions.add(acquisition);
+                openInHolding(holdings, acquisition);
+            }
+            case Sell sell -> sellFromHolding(holdings, sell);
+            case Deposit deposit -> { }
+            case Dividend dividend -> { }
+        }
+        performance.add(transaction);
+        tradingBalance = tradingBalance.add(transaction.cashDelta());
+    }
+
+    private void append(Transaction transaction) {
+        transactions.add(transaction);
+        dateIndex.add(transaction);
+        eligibility.add(transaction);
+        performance.add(transaction);
+    }
+
+    // The eligibility index, holding every stored Buy and Sell of the asset dated after cumDate: they are read from
+    // the ledger source, bounded by date, the first time a cum date that early is asked for
+    private DividendEligibilityIndex eligibility(AssetId assetId, LocalDate cumDate) {
+        LedgerSource history = transactions.history();
+        LocalDate from = cumDate.plusDays(1);
+        LocalDate storedFrom = eligibility.storedFrom(assetId);
+        if (history.size() > 0 && (storedFrom == null || from.isBefore(storedFrom))) {
+            LocalDate to = storedFrom == null ? LocalDate.MAX : storedFrom.minusDays(1);
+            eligibility.addStored(assetId, from, history.trades(assetId, from, to));
+        }
+        return eligibility;
+    }
+
+    private void openInHolding(Map<AssetId, Holding> holdings, Acquisition acquisition) {
+        Holding holding = holdings.get(acquisition.assetId());
+        if (holding == null) {
+            holdings.put(acquisition.assetId(), Holding.create(id, acquisition.assetId(), acquisition));
+        } else {
+            holding.open(acquisition);
+        }
+    }
+
+    // Consumes a recorded Sell's allocations, as recorded rather than by re-running its strategy
+    private static void sellFromHolding(Map<AssetId, Holding> holdings, Sell sell) {
+        Holding holding = holdings.get(sell.assetId());
+        for (SellAllocation allocation : sell.allocations()) {
+            Acquisition acquisition = holding == null ? null : holding.openAcquisition(allocation.acquisitionId());
+            if (acquisition == null || acquisition.remainingQuantity().compareTo(allocation.sharesSoldFromAcquisition()) < 0) {
+                throw new IllegalArgumentException("sell allocation exceeds the open shares of its acquisition");
+            }
+            if (sell.date().isBefore(acquisition.openDate())) {
+                throw new IllegalArgumentException("sell is dated before its acquisition opened");
+            }
+            holding.consume(acquisition, allocation.sharesSoldFromAcquisition());
+        }
+        if (holding != null && holding.isEmpty()) {
+            holdings.remove(sell.assetId());
+        }
+    }
+
+    // Closed Acquisitions come from the ledger source; the ones already held stay the same instances, since
+    // Holdings reference them, and those opened since loading follow the stored ones
+    private void loadClosedAcquisitions() {
+        Map<AcquisitionId, Acquisition> held = new HashMap<>();
+        for (Acquisition acquisition : acquisitions.view()) {
+            held.put(acquisition.id(), acquisition);
+        }
+        AppendOnlyList<Acquisition> all = new AppendOnlyList<>();
+        for (Acquisition stored : transactions.history().acquisitions()) {
+            Acquisition acquisition = held.remove(stored.id());
+            all.add(acquisition == null ? stored : acquisition);
+        }
+        for (Acquisition acquisition : acquisitions.view()) {
+            if (held.containsKey(acquisition.id())) {
+                all.add(acquisition);
+            }
+        }
+        savedAcquisitions += all.size() - acquisitions.size();
+        acquisitions = all;
+        closedAcquisitionsLoaded = true;
+    }
+
+    // Replays the ledger over fresh Acquisitions, collected into opened, leaving this Portfolio untouched
+    private Map<AssetId, Holding> holdingsFromLedger(Map<AcquisitionId, Acquisition> opened) {
+        Map<AssetId, Holding> rebuilt = new LinkedHashMap<>();
+        for (Transaction transaction : transactions.view()) {
+            switch (transaction) {
+                case Buy buy -> {
+                    Acquisition acquisition = Acquisition.openedBy(buy);
+                    opened.put(acquisition.id(), acquisition);
+                    openInHolding(rebuilt, acquisition);
+                }
+                case Sell sell -> sellFromHolding(rebuilt, sell);
+                case Deposit deposit -> { }
+                case Dividend dividend -> { }
+            }
+        }
+        return rebuilt;
+    }
 
     @Override
     public boolean equals(Object o) {
@@ -0,0 +1,36 @@
+package com.budiyanto.fintrackr.portfolio.domain.model;
+
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * One entry of a {@link Portfolio#recordBatch(java.util.List, LocalDate)}: the arguments of the matching
+ * {@code record…} method, minus {@code today}, which the batch supplies once.
+ */
+public sealed interface PortfolioCommand permits PortfolioCommand.RecordDeposit, PortfolioCommand.RecordBuy {
+
+    LocalDate date();
+
+    record RecordDeposit(Money amount, LocalDate date) implements PortfolioCommand {
+
+        public RecordDeposit {
+            Objects.requireNonNull(amount, "amount cannot be null");
+            Objects.requireNonNull(date, "date cannot be null");
+        }
+    }
+
+    record RecordBuy(AssetId assetId, Quantity quantity, Money price, Money fee, LocalDate date) implements PortfolioCommand {
+
+        public RecordBuy {
+            Objects.requireNonNull(assetId, "assetId cannot be null");
+            Objects.requireNonNull(quantity, "quantity cannot be null");
+            Objects.requireNonNull(price, "price cannot be null");
+            Objects.requireNonNull(fee, "fee cannot be null");
+            Objects.requireNonNull(date, "date cannot be null");
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.budiyanto.fintrackr.portfolio.domain.model;
 
+import com.budiyanto.fintrackr.shared.IdGenerator;
+
 import java.util.Objects;
 import java.util.UUID;
 
@@ -10,7 +12,12 @@ public record PortfolioId(UUID value) {
     }
 
     public static PortfolioId generate() {
-        return new PortfolioId(UUID.randomUUID());
+        return generate(IdGenerator.timeOrdered());
+    }
+
+    public static PortfolioId generate(IdGenerator generator) {
+        Objects.requireNonNull(generator, "generator cannot be null");
+        return new PortfolioId(generator.nextId());
     }
 
 }
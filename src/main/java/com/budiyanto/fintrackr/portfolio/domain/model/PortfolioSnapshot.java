@@ -0,0 +1,82 @@
+package com.budiyanto.fintrackr.portfolio.domain.model;
+
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The derived state of a {@link Portfolio} after its first {@code ledgerPosition} transactions (ADR-004).
+ * <p>
+ * A snapshot is plain data: restoring one and replaying the ledger from {@code ledgerPosition} yields the same
+ * aggregate as replaying the whole ledger, which {@link Portfolio#verifySnapshot(PortfolioSnapshot)} checks.
+ * <p>
+ * Only the Acquisitions open at {@code ledgerPosition} are kept: later Sells can only consume those, and a
+ * restored Portfolio reads the closed ones through its {@link LedgerSource} if it is ever asked for them.
+ * <p>
+ * The returns are kept as well: one {@link LotState} per open Acquisition and one {@link PositionState} per asset
+ * ever bought, so a restored Portfolio answers performance queries without replaying the ledger. A closed lot's
+ * returns are looked up in the {@link LedgerSource} when asked for.
+ */
+public record PortfolioSnapshot(PortfolioId portfolioId, int ledgerPosition, Money tradingBalance, List<Acquisition> acquisitions,
+                                List<HoldingState> holdings, List<LotState> lots, List<PositionState> positions) {
+
+    public PortfolioSnapshot {
+        Objects.requireNonNull(portfolioId, "portfolioId cannot be null");
+        Objects.requireNonNull(tradingBalance, "tradingBalance cannot be null");
+        Objects.requireNonNull(acquisitions, "acquisitions cannot be null");
+        Objects.requireNonNull(holdings, "holdings cannot be null");
+        Objects.requireNonNull(lots, "lots cannot be null");
+        Objects.requireNonNull(positions, "positions cannot be null");
+        if (ledgerPosition < 0) {
+            throw new IllegalArgumentException("ledgerPosition cannot be negative");
+        }
+        acquisitions = List.copyOf(acquisitions);
+        holdings = List.copyOf(holdings);
+        lots = List.copyOf(lots);
+        positions = List.copyOf(positions);
+    }
+
+    /**
+     * One cached {@link Holding}, with its open Acquisitions referenced by id.
+     */
+    public record HoldingState(AssetId assetId, Quantity totalQuantity, Money totalInvested, List<AcquisitionId> openAcquisitionIds) {
+
+        public HoldingState {
+            Objects.requireNonNull(assetId, "assetId cannot be null");
+            Objects.requireNonNull(totalQuantity, "totalQuantity cannot be null");
+            Objects.requireNonNull(totalInvested, "totalInvested cannot be null");
+            Objects.requireNonNull(openAcquisitionIds, "openAcquisitionIds cannot be null");
+            openAcquisitionIds = List.copyOf(openAcquisitionIds);
+        }
+    }
+
+    /**
+     * What one Acquisition has realized and been paid so far, and the day its last share was sold; null while open.
+     */
+    public record LotState(AcquisitionId acquisitionId, Money realizedGain, Money dividends, LocalDate closedOn) {
+
+        public LotState {
+            Objects.requireNonNull(acquisitionId, "acquisitionId cannot be null");
+            Objects.requireNonNull(realizedGain, "realizedGain cannot be null");
+            Objects.requireNonNull(dividends, "dividends cannot be null");
+        }
+    }
+
+    /**
+     * The returns of every Acquisition of one asset, open or closed, other than the unrealized gain, which needs a
+     * price.
+     */
+    public record PositionState(AssetId assetId, Money costBasis, Money realizedGain, Money dividends) {
+
+        public PositionState {
+            Objects.requireNonNull(assetId, "assetId cannot be null");
+            Objects.requireNonNull(costBasis, "costBasis cannot be null");
+            Objects.requireNonNull(realizedGain, "realizedGain cannot be null");
+            Objects.requireNonNull(dividends, "dividends cannot be null");
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.budiyanto.fintrackr.portfolio.domain.model;
+
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+public record Sell(TransactionId id, PortfolioId portfolioId, LocalDate date, AssetId assetId, Money price, Quantity totalQuantity, Money totalFee, List<SellAllocation> allocations) implements Transaction {
+
+    public Sell {
+        Objects.requireNonNull(id, "id cannot be null");
+        Objects.requireNonNull(portfolioId, "portfolioId cannot be null");
+        Objects.requireNonNull(date, "date cannot be null");
+        Objects.requireNonNull(assetId, "assetId cannot be null");
+        Objects.requireNonNull(price, "price cannot be null");
+        Objects.requireNonNull(totalQuantity, "totalQuantity cannot be null");
+        Objects.requireNonNull(totalFee, "totalFee cannot be null");
+        Objects.requireNonNull(allocations, "allocations cannot be null");
+        allocations = List.copyOf(allocations);
+    }
+
+    public static Sell create(TransactionId id, PortfolioId portfolioId, LocalDate date, AssetId assetId, Money price, Quantity totalQuantity, Money totalFee, List<SellAllocation> allocations) {
+        return new Sell(id, portfolioId, date, assetId, price, totalQuantity, totalFee, allocations);
+    }
+
+    @Override
+    public Money cashDelta() {
+        return proceedsDelta(totalQuantity, price, totalFee);
+    }
+
+    // quantity × price − fee as one BigDecimal expression, normalized to Money once (ADR-007)
+    static Money proceedsDelta(Quantity quantity, Money price, Money fee) {
+        return Money.of(quantity.multiply(price).subtract(fee.amount()), price.currency());
+    }
+}
@@ -0,0 +1,18 @@
+package com.budiyanto.fintrackr.portfolio.domain.model;
+
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+
+import java.util.Objects;
+
+/**
+ * The shares a Sell took from one Acquisition, and the slice of the Sell's fee that goes with them (ADR-005).
+ */
+public record SellAllocation(AcquisitionId acquisitionId, Quantity sharesSoldFromAcquisition, Money feeAllocated) {
+
+    public SellAllocation {
+        Objects.requireNonNull(acquisitionId, "acquisitionId cannot be null");
+        Objects.requireNonNull(sharesSoldFromAcquisition, "sharesSoldFromAcquisition cannot be null");
+        Objects.requireNonNull(feeAllocated, "feeAllocated cannot be null");
+    }
+}
@@ -1,9 +1,16 @@
 package com.budiyanto.fintrackr.portfolio.domain.model;
 
+import com.budiyanto.fintrackr.shared.Money;
+
 import java.time.LocalDate;
 
-public sealed interface Transaction permits Deposit, Buy {
+public sealed interface Transaction permits Deposit, Buy, Sell, Dividend {
     TransactionId id();
     PortfolioId portfolioId();
     LocalDate date();
+
+    /**
+     * The signed change this transaction made to the trading balance.
+     */
+    Money cashDelta();
 }
@@ -0,0 +1,16 @@
+package com.budiyanto.fintrackr.portfolio.domain.model;
+
+import com.budiyanto.fintrackr.shared.Money;
+
+/**
+ * The outcome of validating one {@link PortfolioCommand}: either the cash delta it would move, or the first
+ * rule it breaks, in the order the {@code record…} methods check them.
+ */
+public sealed interface Validation {
+
+    record Accepted(Money cashDelta) implements Validation {
+    }
+
+    record Rejected(Violation violation) implements Validation {
+    }
+}
@@ -0,0 +1,81 @@
+package com.budiyanto.fintrackr.portfolio.domain.model;
+
+import com.budiyanto.fintrackr.portfolio.domain.exception.*;
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.DomainException;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+
+import java.time.LocalDate;
+
+/**
+ * A business rule a {@link PortfolioCommand} breaks, as data (ADR-011).
+ * <p>
+ * {@link Portfolio#validate(java.util.List, LocalDate)} reports violations without throwing, so bulk imports pay
+ * nothing per bad row beyond this record. The throwing {@code record…} methods convert the violation with
+ * {@link #toException()}, which is where the stack trace is captured.
+ */
+public sealed interface Violation {
+
+    DomainException toException();
+
+    record NonPositiveAmount(Money amount) implements Violation {
+        @Override
+        public DomainException toException() { return new NonPositiveAmountException(amount); }
+    }
+
+    record ZeroQuantity(Quantity quantity) implements Violation {
+        @Override
+        public DomainException toException() { return new ZeroQuantityException(quantity); }
+    }
+
+    record NonPositivePrice(Money price) implements Violation {
+        @Override
+        public DomainException toException() { return new NonPositivePriceException(price); }
+    }
+
+    record NegativeFee(Money fee) implements Violation {
+        @Override
+        public DomainException toException() { return new NegativeFeeException(fee); }
+    }
+
+    record FutureDated(LocalDate date, LocalDate today) implements Violation {
+        @Override
+        public DomainException toException() { return new FutureDatedTransactionException(date, today); }
+    }
+
+    record ArchivedYear(LocalDate date) implements Violation {
+        @Override
+        public DomainException toException() { return new ArchivedYearException(date); }
+    }
+
+    record InsufficientBalance(Money tradingBalance, Money cost) implements Violation {
+        @Override
+        public DomainException toException() { return new InsufficientBalanceException(tradingBalance, cost); }
+    }
+
+    record InsufficientHolding(AssetId assetId, Quantity held, Quantity requested) implements Violation {
+        @Override
+        public DomainException toException() { return new InsufficientHoldingException(assetId, held, requested); }
+    }
+
+    record InvalidSellAllocation(AcquisitionId acquisitionId, Quantity shares) implements Violation {
+        @Override
+        public DomainException toException() { return new InvalidSellAllocationException(acquisitionId, shares); }
+    }
+
+    record SellAllocationMismatch(Quantity allocated, Quantity quantity) implements Violation {
+        @Override
+        public DomainException toException() { return new SellAllocationMismatchException(allocated, quantity); }
+    }
+
+    record PaymentBeforeCumDate(LocalDate cumDate, LocalDate paymentDate) implements Violation {
+        @Override
+        public DomainException toException() { return new PaymentBeforeCumDateException(cumDate, paymentDate); }
+    }
+
+    record NoEligibleShares(AssetId assetId, LocalDate cumDate) implements Violation {
+        @Override
+        public DomainException toException() { return new NoEligibleSharesException(assetId, cumDate); }
+    }
+}
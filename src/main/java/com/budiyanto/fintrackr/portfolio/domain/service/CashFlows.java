@@ -0,0 +1,128 @@
+package com.budiyanto.fintrackr.portfolio.domain.service;
+
+import com.budiyanto.fintrackr.portfolio.domain.model.Buy;
+import com.budiyanto.fintrackr.portfolio.domain.model.Deposit;
+import com.budiyanto.fintrackr.portfolio.domain.model.Dividend;
+import com.budiyanto.fintrackr.portfolio.domain.model.Portfolio;
+import com.budiyanto.fintrackr.portfolio.domain.model.Sell;
+import com.budiyanto.fintrackr.portfolio.domain.model.Transaction;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The money a Portfolio took in from outside, in primitive arrays, with the Portfolio's value just before each
+ * flow and at the end.
+ * <p>
+ * Flows are dated by epoch day, in date order, and positive for money paid in. A day may carry several flows;
+ * its value-before is then the value after the previous one. Nothing here is boxed, so {@link ReturnCalculator}
+ * can sweep a million flows per iteration without allocating.
+ */
+public final class CashFlows {
+
+    final int[] days;
+    final double[] contributions;
+    final double[] valuesBefore;
+    final int endDay;
+    final double endValue;
+
+    private CashFlows(int[] days, double[] contributions, double[] valuesBefore, int endDay, double endValue) {
+        this.days = days;
+        this.contributions = contributions;
+        this.valuesBefore = valuesBefore;
+        this.endDay = endDay;
+        this.endValue = endValue;
+    }
+
+    /**
+     * @param days          epoch day of each flow, in non-decreasing order
+     * @param contributions each flow, positive for money paid in and negative for money taken out
+     * @param valuesBefore  the value just before each flow
+     * @param endDay        the valuation day, on or after the last flow
+     * @param endValue      the value on {@code endDay}
+     */
+    public static CashFlows of(int[] days, double[] contributions, double[] valuesBefore, int endDay, double endValue) {
+        Objects.requireNonNull(days, "days cannot be null");
+        Objects.requireNonNull(contributions, "contributions cannot be null");
+        Objects.requireNonNull(valuesBefore, "valuesBefore cannot be null");
+        if (contributions.length != days.length || valuesBefore.length != days.length) {
+            throw new IllegalArgumentException("days, contributions and valuesBefore must have the same length");
+        }
+        for (int i = 1; i < days.length; i++) {
+            if (days[i] < days[i - 1]) {
+                throw new IllegalArgumentException("days must be in date order");
+            }
+        }
+        if (days.length > 0 && endDay < days[days.length - 1]) {
+            throw new IllegalArgumentException("endDay cannot be before the last flow");
+        }
+        return new CashFlows(days.clone(), contributions.clone(), valuesBefore.clone(), endDay, endValue);
+    }
+
+    /**
+     * The Deposits of {@code portfolio}, one flow per day, valued up to {@code asOf}.
+     * <p>
+     * Only Deposits bring money in from outside; buys, sells and dividends move value within the Portfolio.
+     * Values are the trading balance plus the remaining cost of the open lots, taken at the start of each
+     * deposit's day: a Buy leaves that sum unchanged, a Sell moves it by its realized gain and a Dividend by its
+     * amount. Past prices are not kept, so the end value alone adds the unrealized gain at the last marked
+     * prices.
+     *
+     * @throws IllegalArgumentException when the ledger holds transactions dated after {@code asOf}
+     */
+    public static CashFlows of(Portfolio portfolio, LocalDate asOf) {
+        Objects.requireNonNull(portfolio, "portfolio cannot be null");
+        Objects.requireNonNull(asOf, "asOf cannot be null");
+        List<Transaction> ledger = portfolio.transactionsBetween(LocalDate.MIN, asOf);
+        if (ledger.size() != portfolio.transactions().size()) {
+            throw new IllegalArgumentException("asOf cannot be before the latest transaction");
+        }
+
+        int[] days = new int[16];
+        double[] contributions = new double[16];
+        double[] valuesBefore = new double[16];
+        int size = 0;
+        long value = 0;
+        long valueAtDayStart = 0;
+        long day = Long.MIN_VALUE;
+        for (Transaction transaction : ledger) {
+            long transactionDay = transaction.date().toEpochDay();
+            if (transactionDay != day) {
+                day = transactionDay;
+                valueAtDayStart = value;
+            }
+            switch (transaction) {
+                case Deposit deposit -> {
+                    if (size == 0 || days[size - 1] != day) {
+                        if (size == days.length) {
+                            days = Arrays.copyOf(days, size * 2);
+                            contributions = Arrays.copyOf(contributions, size * 2);
+                            valuesBefore = Arrays.copyOf(valuesBefore, size * 2);
+                        }
+                        days[size] = (int) day;
+                        valuesBefore[size] = valueAtDayStart;
+                        size++;
+                    }
+                    long amount = deposit.amount().longValueExact();
+                    contributions[size - 1] += amount;
+                    value += amount;
+                }
+                case Buy buy -> { }
+                case Sell sell -> value += portfolio.realizedGain(sell.id()).orElseThrow().longValueExact();
+                case Dividend dividend -> value += dividend.cashDelta().longValueExact();
+            }
+        }
+
+        double endValue = value + portfolio.performance().unrealizedGain().longValueExact();
+        return new CashFlows(Arrays.copyOf(days, size), Arrays.copyOf(contributions, size),
+                Arrays.copyOf(valuesBefore, size), (int) asOf.toEpochDay(), endValue);
+    }
+
+    public int size() { return days.length; }
+
+    public int endDay() { return endDay; }
+
+    public double endValue() { return endValue; }
+}
@@ -0,0 +1,166 @@
+package com.budiyanto.fintrackr.portfolio.domain.service;
+
+import com.budiyanto.fintrackr.portfolio.domain.model.Portfolio;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalDouble;
+
+/**
+ * Money-weighted (XIRR) and time-weighted returns over a Portfolio's {@link CashFlows}.
+ * <p>
+ * XIRR is the rate r at which {@code endValue − Σ contribution·(1 + r)^years} is zero, with {@code years} the
+ * time from each flow to the end day over a 365-day year, as spreadsheet XIRR counts it. Compounding forward to
+ * the end day rather than discounting back to the first flow keeps every term finite as r nears −100%. The
+ * root is bracketed by a scan of growth factors, then refined by Newton steps that fall back to bisection
+ * whenever a step would leave the bracket. Each step is one pass over the arrays computing the function and its
+ * derivative together, with one {@code exp} per distinct day and no allocation. When money is only paid in, the
+ * function falls as r rises, so the root is unique; otherwise the lowest root is returned.
+ * <p>
+ * The time-weighted return chains the growth of each sub-period between flows, from the value just after one
+ * flow to the value just before the next.
+ * <p>
+ * Holds no state; Portfolios are read, never changed, so any number can be measured at once as long as nothing
+ * records into them meanwhile.
+ */
+public final class ReturnCalculator {
+
+    private static final double DAYS_PER_YEAR = 365.0;
+    private static final double MIN_GROWTH = 1e-6;          // 1 + r at the bottom of the bracket scan
+    private static final double MAX_GROWTH = 0x1p40;        // and at the top
+    private static final int MAX_ITERATIONS = 100;
+    private static final double TOLERANCE = 1e-12;
+    private static final int RATE_SCALE = 6;
+
+    public Returns returnsOf(Portfolio portfolio, LocalDate asOf) {
+        CashFlows flows = CashFlows.of(portfolio, asOf);
+        return new Returns(portfolio.id(), asOf, rate(xirr(flows)), rate(twr(flows)));
+    }
+
+    /**
+     * As {@link #returnsOf(Portfolio, LocalDate)} for each Portfolio, measured in parallel, in the order given.
+     */
+    public List<Returns> returnsOf(Collection<Portfolio> portfolios, LocalDate asOf) {
+        Objects.requireNonNull(portfolios, "portfolios cannot be null");
+        Objects.requireNonNull(asOf, "asOf cannot be null");
+        return portfolios.parallelStream()
+                .map(portfolio -> returnsOf(portfolio, asOf))
+                .toList();
+    }
+
+    public OptionalDouble xirr(CashFlows flows) {
+        Objects.requireNonNull(flows, "flows cannot be null");
+        if (flows.size() == 0) {
+            return OptionalDouble.empty();
+        }
+
+        // Scan for the first sign change, doubling the growth factor from just above zero
+        double lo = MIN_GROWTH - 1;
+        double fLo = value(flows, lo);
+        double hi = lo;
+        double fHi = fLo;
+        for (double growth = 0.5; fHi != 0 && Math.signum(fHi) == Math.signum(fLo); growth *= 2) {
+            if (growth > MAX_GROWTH) {
+                return OptionalDouble.empty();
+            }
+            lo = hi;
+            fLo = fHi;
+            hi = growth - 1;
+            fHi = value(flows, hi);
+        }
+        if (fHi == 0) {
+            return OptionalDouble.of(hi);
+        }
+        if (Double.isNaN(fHi)) {
+            return OptionalDouble.empty();
+        }
+
+        double rate = lo < 0.1 && 0.1 < hi ? 0.1 : 0.5 * (lo + hi);
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            double growth = 1 + rate;
+            double logGrowth = Math.log1p(rate);
+            double f = flows.endValue;
+            double df = 0;
+            int day = Integer.MIN_VALUE;
+            double years = 0;
+            double compounding = 0;
+            for (int j = 0; j < flows.days.length; j++) {
+                if (flows.days[j] != day) {
+                    day = flows.days[j];
+                    years = (flows.endDay - day) / DAYS_PER_YEAR;
+                    compounding = Math.exp(years * logGrowth);
+                }
+                double term = flows.contributions[j] * compounding;
+                f -= term;
+                df -= years * term;
+            }
+            df /= growth;
+
+            if (f == 0) {
+                return OptionalDouble.of(rate);
+            }
+            if (Math.signum(f) == Math.signum(fLo)) {
+                lo = rate;
+            } else {
+                hi = rate;
+            }
+            double next = rate - f / df;
+            if (!(next > lo && next < hi)) {
+                next = 0.5 * (lo + hi);
+            }
+            if (Math.abs(next - rate) <= TOLERANCE * (1 + Math.abs(rate))) {
+                return OptionalDouble.of(next);
+            }
+            rate = next;
+        }
+        return OptionalDouble.of(rate);
+    }
+
+    /**
+     * The growth from the first flow to the end day, sub-period by sub-period; a sub-period that starts with
+     * nothing invested is skipped.
+     */
+    public OptionalDouble twr(CashFlows flows) {
+        Objects.requireNonNull(flows, "flows cannot be null");
+        int size = flows.size();
+        if (size == 0) {
+            return OptionalDouble.empty();
+        }
+        double growth = 1;
+        for (int i = 0; i < size; i++) {
+            double start = flows.valuesBefore[i] + flows.contributions[i];
+            double end = i + 1 < size ? flows.valuesBefore[i + 1] : flows.endValue;
+            if (start > 0) {
+                growth *= end / start;
+            }
+        }
+        return OptionalDouble.of(growth - 1);
+    }
+
+    // endValue − Σ contribution·(1 + rate)^years
+    private static double value(CashFlows flows, double rate) {
+        double logGrowth = Math.log1p(rate);
+        double f = flows.endValue;
+        int day = Integer.MIN_VALUE;
+        double compounding = 0;
+        for (int j = 0; j < flows.days.length; j++) {
+            if (flows.days[j] != day) {
+                day = flows.days[j];
+                compounding = Math.exp((flows.endDay - day) / DAYS_PER_YEAR * logGrowth);
+            }
+            f -= flows.contributions[j] * compounding;
+        }
+        return f;
+    }
+
+    private static Optional<BigDecimal> rate(OptionalDouble rate) {
+        return rate.isPresent()
+                ? Optional.of(BigDecimal.valueOf(rate.getAsDouble()).setScale(RATE_SCALE, RoundingMode.HALF_EVEN))
+                : Optional.empty();
+    }
+}
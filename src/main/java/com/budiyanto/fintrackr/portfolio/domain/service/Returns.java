@@ -0,0 +1,26 @@
+package com.budiyanto.fintrackr.portfolio.domain.service;
+
+import com.budiyanto.fintrackr.portfolio.domain.model.PortfolioId;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A Portfolio's returns up to {@code asOf}, as rates with six decimals.
+ *
+ * @param moneyWeighted the annual rate (XIRR) that discounts every deposit and the end value to zero; empty when
+ *                      nothing was deposited before {@code asOf} or no rate does
+ * @param timeWeighted  the growth over the whole period with the timing and size of deposits taken out, not
+ *                      annualized; empty when nothing was deposited
+ */
+public record Returns(PortfolioId portfolioId, LocalDate asOf, Optional<BigDecimal> moneyWeighted, Optional<BigDecimal> timeWeighted) {
+
+    public Returns {
+        Objects.requireNonNull(portfolioId, "portfolioId cannot be null");
+        Objects.requireNonNull(asOf, "asOf cannot be null");
+        Objects.requireNonNull(moneyWeighted, "moneyWeighted cannot be null");
+        Objects.requireNonNull(timeWeighted, "timeWeighted cannot be null");
+    }
+}
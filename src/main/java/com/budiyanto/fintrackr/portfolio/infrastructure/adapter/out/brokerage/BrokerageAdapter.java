@@ -0,0 +1,44 @@
+package com.budiyanto.fintrackr.portfolio.infrastructure.adapter.out.brokerage;
+
+import com.budiyanto.fintrackr.brokerage.BrokerAccountService;
+import com.budiyanto.fintrackr.portfolio.application.port.BrokerAccountCash;
+import com.budiyanto.fintrackr.portfolio.application.port.RdnLookup;
+import com.budiyanto.fintrackr.shared.BrokerAccountId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Portfolio Management's ports onto Brokerage, served by its published {@link BrokerAccountService}.
+ */
+@Component
+public class BrokerageAdapter implements BrokerAccountCash, RdnLookup {
+
+    private final BrokerAccountService brokerAccountService;
+
+    public BrokerageAdapter(BrokerAccountService brokerAccountService) {
+        this.brokerAccountService = brokerAccountService;
+    }
+
+    @Override
+    public Money buyFee(BrokerAccountId brokerAccountId, Quantity quantity, Money price) {
+        return brokerAccountService.computeBuyFee(brokerAccountId, quantity, price);
+    }
+
+    @Override
+    public Money sellFee(BrokerAccountId brokerAccountId, Quantity quantity, Money price) {
+        return brokerAccountService.computeSellFee(brokerAccountId, quantity, price);
+    }
+
+    @Override
+    public void applyCashFlow(BrokerAccountId brokerAccountId, Money delta) {
+        brokerAccountService.applyCashFlow(brokerAccountId, delta);
+    }
+
+    @Override
+    public Optional<Money> rdnOf(BrokerAccountId brokerAccountId) {
+        return brokerAccountService.rdnOf(brokerAccountId);
+    }
+}
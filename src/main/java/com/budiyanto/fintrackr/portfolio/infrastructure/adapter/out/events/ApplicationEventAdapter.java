@@ -0,0 +1,26 @@
+package com.budiyanto.fintrackr.portfolio.infrastructure.adapter.out.events;
+
+import com.budiyanto.fintrackr.portfolio.PortfolioEvent;
+import com.budiyanto.fintrackr.portfolio.application.port.PortfolioEventPublisher;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes {@link PortfolioEvent}s as Spring application events. Spring Modulith's event publication registry
+ * stores one publication per listener in the publishing transaction and completes it once that listener ran, so
+ * an asynchronous listener that fails or is cut off by a restart can be handed the event again.
+ */
+@Component
+public class ApplicationEventAdapter implements PortfolioEventPublisher {
+
+    private final ApplicationEventPublisher publisher;
+
+    public ApplicationEventAdapter(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    public void publish(PortfolioEvent event) {
+        publisher.publishEvent(event);
+    }
+}
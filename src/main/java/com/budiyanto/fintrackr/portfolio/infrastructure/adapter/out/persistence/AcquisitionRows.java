@@ -0,0 +1,219 @@
+package com.budiyanto.fintrackr.portfolio.infrastructure.adapter.out.persistence;
+
+import com.budiyanto.fintrackr.portfolio.domain.model.Acquisition;
+import com.budiyanto.fintrackr.portfolio.domain.model.AcquisitionId;
+import com.budiyanto.fintrackr.portfolio.domain.model.LedgerSource;
+import com.budiyanto.fintrackr.portfolio.domain.model.PortfolioId;
+import com.budiyanto.fintrackr.portfolio.domain.model.PortfolioSnapshot;
+import com.budiyanto.fintrackr.portfolio.domain.model.SellAllocation;
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.Money;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * The {@code acquisitions} table. A new Acquisition is inserted once, with what remains of it at the save that
+ * opened it; every Sell after that subtracts its allocations in place, so saving costs the rows a command touched,
+ * not the lots held. Each row also keeps the lot's returns (V12), set again for every lot a save's Sells and
+ * Dividends touched, so a loaded Portfolio reads a closed lot's returns instead of replaying the ledger.
+ * <p>
+ * The table is partitioned by open date. Updates name the row's open date, or bound it by the Portfolio's
+ * {@link LedgerSpan}, so each one looks only in the partitions that can hold the row.
+ */
+final class AcquisitionRows {
+
+    private static final String INSERT = """
+            INSERT INTO acquisitions (id, portfolio_id, position, asset_id, open_date, open_price, open_fee,
+                                      initial_quantity, remaining_quantity, realized_gain, dividends, closed_on)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String COPY = """
+            COPY acquisitions (id, portfolio_id, position, asset_id, open_date, open_price, open_fee,
+                               initial_quantity, remaining_quantity, realized_gain, dividends, closed_on)
+            FROM STDIN
+            """;
+    private static final String SUBTRACT_SOLD = """
+            UPDATE acquisitions SET remaining_quantity = remaining_quantity - ?
+            WHERE id = ? AND portfolio_id = ? AND open_date >= ? AND open_date <= ?
+            """;
+    private static final String SET_RETURNS = """
+            UPDATE acquisitions SET realized_gain = ?, dividends = ?, closed_on = ?
+            WHERE id = ? AND portfolio_id = ? AND open_date >= ? AND open_date <= ?
+            """;
+    private static final String SET_REMAINING = """
+            UPDATE acquisitions SET remaining_quantity = ?, realized_gain = ?, dividends = ?, closed_on = ?
+            WHERE id = ? AND open_date = ?
+            """;
+    private static final String SELECT_OPEN = """
+            SELECT id, asset_id, open_date, open_price, open_fee, initial_quantity, remaining_quantity, realized_gain,
+                   dividends, closed_on
+            FROM acquisitions
+            WHERE portfolio_id = ? AND open_date >= ? AND open_date <= ? AND remaining_quantity > 0
+            ORDER BY position
+            """;
+    private static final String SELECT_ALL = """
+            SELECT id, asset_id, open_date, open_price, open_fee, initial_quantity, remaining_quantity, realized_gain,
+                   dividends, closed_on
+            FROM acquisitions
+            WHERE portfolio_id = ? AND open_date >= ? AND open_date <= ?
+            ORDER BY position
+            """;
+    private static final String SELECT_ONE = """
+            SELECT id, asset_id, open_date, open_price, open_fee, initial_quantity, remaining_quantity, realized_gain,
+                   dividends, closed_on
+            FROM acquisitions
+            WHERE id = ? AND portfolio_id = ? AND open_date >= ? AND open_date <= ?
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    AcquisitionRows(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Inserts Acquisitions opened since the last save at positions {@code firstPosition, firstPosition + 1, …},
+     * with their current remaining quantity and returns, so sells recorded in the same save are already taken out of
+     * them. From {@link CopyRows#THRESHOLD} Acquisitions on they are copied instead of batch-inserted.
+     */
+    void insert(PortfolioId portfolioId, int firstPosition, List<Acquisition> opened,
+                Function<AcquisitionId, PortfolioSnapshot.LotState> returns) {
+        UUID portfolio = portfolioId.value();
+        int[] position = {firstPosition};
+        if (opened.size() >= CopyRows.THRESHOLD) {
+            CopyRows.copy(jdbc, COPY, opened, (acquisition, out) -> {
+                PortfolioSnapshot.LotState lot = returns.apply(acquisition.id());
+                out.add(acquisition.id().value()).add(portfolio)
+                        .add(position[0]++).add(acquisition.assetId().value()).add(acquisition.openDate())
+                        .add(acquisition.openPrice().amount()).add(acquisition.openFee().amount())
+                        .add(acquisition.initialQuantity().value()).add(acquisition.remainingQuantity().value())
+                        .add(lot.realizedGain().amount()).add(lot.dividends().amount()).add(lot.closedOn());
+            });
+            return;
+        }
+        jdbc.batchUpdate(INSERT, opened, TransactionRows.BATCH_SIZE, (ps, acquisition) -> {
+            PortfolioSnapshot.LotState lot = returns.apply(acquisition.id());
+            ps.setObject(1, acquisition.id().value());
+            ps.setObject(2, portfolio);
+            ps.setInt(3, position[0]++);
+            ps.setString(4, acquisition.assetId().value());
+            ps.setObject(5, acquisition.openDate());
+            ps.setBigDecimal(6, acquisition.openPrice().amount());
+            ps.setBigDecimal(7, acquisition.openFee().amount());
+            ps.setBigDecimal(8, acquisition.initialQuantity().value());
+            ps.setBigDecimal(9, acquisition.remainingQuantity().value());
+            ps.setBigDecimal(10, lot.realizedGain().amount());
+            ps.setBigDecimal(11, lot.dividends().amount());
+            ps.setObject(12, lot.closedOn());
+        });
+    }
+
+    /**
+     * Takes sold shares out of Acquisitions stored by an earlier save; {@code span} is the Portfolio's, which every
+     * one of them was opened in. An allocation carries no open date, so the span stands in for it.
+     */
+    void subtractSold(PortfolioId portfolioId, LedgerSpan span, List<SellAllocation> allocations) {
+        if (allocations.isEmpty()) {
+            return;
+        }
+        jdbc.batchUpdate(SUBTRACT_SOLD, allocations, TransactionRows.BATCH_SIZE, (ps, allocation) -> {
+            ps.setBigDecimal(1, allocation.sharesSoldFromAcquisition().value());
+            ps.setObject(2, allocation.acquisitionId().value());
+            ps.setObject(3, portfolioId.value());
+            ps.setObject(4, span.first());
+            ps.setObject(5, span.last());
+        });
+    }
+
+    /**
+     * Sets the returns of Acquisitions stored by an earlier save, as the Sells and Dividends since left them;
+     * {@code span} is the Portfolio's, as for {@link #subtractSold}.
+     */
+    void updateReturns(PortfolioId portfolioId, LedgerSpan span, List<PortfolioSnapshot.LotState> lots) {
+        if (lots.isEmpty()) {
+            return;
+        }
+        jdbc.batchUpdate(SET_RETURNS, lots, TransactionRows.BATCH_SIZE, (ps, lot) -> {
+            ps.setBigDecimal(1, lot.realizedGain().amount());
+            ps.setBigDecimal(2, lot.dividends().amount());
+            ps.setObject(3, lot.closedOn());
+            ps.setObject(4, lot.acquisitionId().value());
+            ps.setObject(5, portfolioId.value());
+            ps.setObject(6, span.first());
+            ps.setObject(7, span.last());
+        });
+    }
+
+    /**
+     * Overwrites the remaining quantity and returns of every stored Acquisition, after a repair that changed them
+     * without recording anything.
+     */
+    void rewriteRemaining(List<Acquisition> acquisitions, Function<AcquisitionId, PortfolioSnapshot.LotState> returns) {
+        jdbc.batchUpdate(SET_REMAINING, acquisitions, TransactionRows.BATCH_SIZE, (ps, acquisition) -> {
+            PortfolioSnapshot.LotState lot = returns.apply(acquisition.id());
+            ps.setBigDecimal(1, acquisition.remainingQuantity().value());
+            ps.setBigDecimal(2, lot.realizedGain().amount());
+            ps.setBigDecimal(3, lot.dividends().amount());
+            ps.setObject(4, lot.closedOn());
+            ps.setObject(5, acquisition.id().value());
+            ps.setObject(6, acquisition.openDate());
+        });
+    }
+
+    /**
+     * The Portfolio's open Acquisitions with their returns, in the order they were opened; {@code span} is the
+     * Portfolio's, null when it has no transactions stored. Sold-out ones are left in storage: the partial index of
+     * V6 skips them, so loading costs the lots held, not every lot ever bought.
+     */
+    List<LedgerSource.StoredLot> readOpen(PortfolioId portfolioId, LedgerSpan span) {
+        if (span == null) {
+            return List.of();
+        }
+        return jdbc.query(SELECT_OPEN, (rs, rowNum) -> storedLot(rs, portfolioId), portfolioId.value(), span.first(), span.last());
+    }
+
+    /**
+     * Every one of the Portfolio's Acquisitions, open or sold out, in the order they were opened.
+     */
+    List<Acquisition> readAll(PortfolioId portfolioId, LedgerSpan span) {
+        if (span == null) {
+            return List.of();
+        }
+        return jdbc.query(SELECT_ALL, (rs, rowNum) -> storedLot(rs, portfolioId).acquisition(), portfolioId.value(),
+                span.first(), span.last());
+    }
+
+    /**
+     * One of the Portfolio's Acquisitions, open or sold out, with its returns; empty if it opened none with that id.
+     */
+    Optional<LedgerSource.StoredLot> read(PortfolioId portfolioId, LedgerSpan span, AcquisitionId acquisitionId) {
+        if (span == null) {
+            return Optional.empty();
+        }
+        return jdbc.query(SELECT_ONE, (rs, rowNum) -> storedLot(rs, portfolioId), acquisitionId.value(),
+                portfolioId.value(), span.first(), span.last()).stream().findFirst();
+    }
+
+    private static LedgerSource.StoredLot storedLot(ResultSet rs, PortfolioId portfolioId) throws SQLException {
+        AcquisitionId id = new AcquisitionId(rs.getObject("id", UUID.class));
+        Acquisition acquisition = Acquisition.restore(
+                id,
+                portfolioId,
+                AssetId.of(rs.getString("asset_id")),
+                rs.getObject("open_date", LocalDate.class),
+                Money.of(rs.getBigDecimal("open_price")),
+                Money.of(rs.getBigDecimal("open_fee")),
+                TransactionRows.quantity(rs.getBigDecimal("initial_quantity")),
+                TransactionRows.quantity(rs.getBigDecimal("remaining_quantity")));
+        return new LedgerSource.StoredLot(acquisition, new PortfolioSnapshot.LotState(id,
+                Money.of(rs.getBigDecimal("realized_gain")), Money.of(rs.getBigDecimal("dividends")),
+                rs.getObject("closed_on", LocalDate.class)));
+    }
+}
@@ -0,0 +1,94 @@
+package com.budiyanto.fintrackr.portfolio.infrastructure.adapter.out.persistence;
+
+import com.budiyanto.fintrackr.portfolio.domain.model.PortfolioId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.MoneyAccumulator;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The archived part of one Portfolio's ledger: every year {@link LedgerPartitions} has detached (V8), and for each
+ * the Portfolio had history in, the number of transactions and the cash delta it held there (V13). A loaded
+ * Portfolio reads none of those rows; its balances count them through these totals instead.
+ */
+record ArchivedLedger(Set<Year> years, Map<Year, Totals> totals) {
+
+    static final ArchivedLedger NONE = new ArchivedLedger(Set.of(), Map.of());
+
+    private static final String SELECT = """
+            SELECT y.year, t.transactions, t.cash_delta
+            FROM archived_ledger_years y
+            LEFT JOIN archived_ledger_totals t ON t.year = y.year AND t.portfolio_id = ?
+            """;
+
+    record Totals(int transactions, Money cashDelta) {
+    }
+
+    ArchivedLedger {
+        years = Set.copyOf(Objects.requireNonNull(years, "years cannot be null"));
+        totals = Map.copyOf(Objects.requireNonNull(totals, "totals cannot be null"));
+    }
+
+    static ArchivedLedger read(JdbcTemplate jdbc, PortfolioId portfolioId) {
+        Set<Year> years = new HashSet<>();
+        Map<Year, Totals> totals = new HashMap<>();
+        jdbc.query(SELECT, rs -> {
+            Year year = Year.of(rs.getInt(1));
+            years.add(year);
+            if (rs.getBigDecimal(3) != null) {
+                totals.put(year, new Totals(rs.getInt(2), Money.of(rs.getBigDecimal(3))));
+            }
+        }, portfolioId.value());
+        return years.isEmpty() ? NONE : new ArchivedLedger(years, totals);
+    }
+
+    /**
+     * The number of the Portfolio's transactions in archived years.
+     */
+    int transactions() {
+        int transactions = 0;
+        for (Totals yearTotals : totals.values()) {
+            transactions += yearTotals.transactions();
+        }
+        return transactions;
+    }
+
+    /**
+     * Whether the Portfolio has archived transactions in a year within {@code [from, to]}.
+     */
+    boolean holds(LocalDate from, LocalDate to) {
+        for (Year year : totals.keySet()) {
+            if (from.getYear() <= year.getValue() && year.getValue() <= to.getYear()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The sum of the cash deltas of the Portfolio's archived transactions dated after {@code date}.
+     *
+     * @throws IllegalArgumentException when {@code date} falls before the last day of an archived year the
+     *                                  Portfolio has transactions in, which is not split by date
+     */
+    Money cashDeltaAfter(LocalDate date) {
+        Year within = Year.from(date);
+        if (totals.containsKey(within) && !date.equals(within.atMonth(12).atEndOfMonth())) {
+            throw new IllegalArgumentException("date " + date + " falls within archived year " + within);
+        }
+        MoneyAccumulator sum = MoneyAccumulator.create();
+        for (Map.Entry<Year, Totals> entry : totals.entrySet()) {
+            if (entry.getKey().isAfter(within)) {
+                sum.add(entry.getValue().cashDelta());
+            }
+        }
+        return sum.toMoney();
+    }
+}
@@ -0,0 +1,69 @@
+package com.budiyanto.fintrackr.portfolio.infrastructure.adapter.out.persistence;
+
+import com.budiyanto.fintrackr.portfolio.domain.model.PortfolioId;
+import com.budiyanto.fintrackr.portfolio.domain.model.PortfolioSnapshot;
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.Money;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The {@code asset_performance} table (V12): the returns of every asset a Portfolio ever bought, upserted for the
+ * assets a save touched. Unlike a Holding's row, an asset's row stays once it is sold out, since its realized gain
+ * and dividends still count.
+ */
+final class AssetPerformanceRows {
+
+    private static final String UPSERT = """
+            INSERT INTO asset_performance (portfolio_id, asset_id, cost_basis, realized_gain, dividends)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (portfolio_id, asset_id)
+            DO UPDATE SET cost_basis = EXCLUDED.cost_basis, realized_gain = EXCLUDED.realized_gain,
+                          dividends = EXCLUDED.dividends
+            """;
+    private static final String DELETE_ALL = """
+            DELETE FROM asset_performance WHERE portfolio_id = ?
+            """;
+    private static final String SELECT_ALL = """
+            SELECT asset_id, cost_basis, realized_gain, dividends
+            FROM asset_performance
+            WHERE portfolio_id = ?
+            ORDER BY asset_id COLLATE "C"
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    AssetPerformanceRows(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    void upsert(PortfolioId portfolioId, Collection<PortfolioSnapshot.PositionState> positions) {
+        UUID portfolio = portfolioId.value();
+        jdbc.batchUpdate(UPSERT, positions, TransactionRows.BATCH_SIZE, (ps, position) -> {
+            ps.setObject(1, portfolio);
+            ps.setString(2, position.assetId().value());
+            ps.setBigDecimal(3, position.costBasis().amount());
+            ps.setBigDecimal(4, position.realizedGain().amount());
+            ps.setBigDecimal(5, position.dividends().amount());
+        });
+    }
+
+    void rewrite(PortfolioId portfolioId, Collection<PortfolioSnapshot.PositionState> positions) {
+        jdbc.update(DELETE_ALL, portfolioId.value());
+        upsert(portfolioId, positions);
+    }
+
+    /**
+     * Every asset's returns, ordered by asset id as a snapshot keeps them.
+     */
+    List<PortfolioSnapshot.PositionState> readAll(PortfolioId portfolioId) {
+        return jdbc.query(SELECT_ALL, (rs, rowNum) -> new PortfolioSnapshot.PositionState(
+                AssetId.of(rs.getString("asset_id")),
+                Money.of(rs.getBigDecimal("cost_basis")),
+                Money.of(rs.getBigDecimal("realized_gain")),
+                Money.of(rs.getBigDecimal("dividends"))), portfolioId.value());
+    }
+}
@@ -0,0 +1,137 @@
+package com.budiyanto.fintrackr.portfolio.infrastructure.adapter.out.persistence;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Streams rows into a table with {@code COPY … FROM STDIN} in PostgreSQL's text format: one line per row, fields
+ * separated by tabs, {@code \N} for null. Rows are encoded into a buffer and sent a block at a time, so a large
+ * append costs one statement and a few round trips instead of one batched INSERT per {@link TransactionRows#BATCH_SIZE}
+ * rows. The copy runs on the connection of the surrounding transaction and is cancelled if writing a row fails.
+ */
+final class CopyRows {
+
+    // Appends at least this long go through COPY; shorter ones are cheaper as a JDBC batch
+    static final int THRESHOLD = 1_000;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(BUFFER_SIZE + 1024);
+    private boolean firstField = true;
+
+    private CopyRows(CopyIn copyIn) {
+        this.copyIn = copyIn;
+    }
+
+    @FunctionalInterface
+    interface Format<T> {
+        void write(T row, CopyRows out);
+    }
+
+    /**
+     * Copies {@code rows} with {@code sql}, a {@code COPY table (columns) FROM STDIN} statement whose column list
+     * matches the fields {@code format} writes per row. Returns the number of rows the server stored.
+     */
+    static <T> long copy(JdbcTemplate jdbc, String sql, Collection<T> rows, Format<T> format) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Long copied = jdbc.execute((ConnectionCallback<Long>) connection -> {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+            try {
+                CopyRows out = new CopyRows(copyIn);
+                for (T row : rows) {
+                    format.write(row, out);
+                    out.endRow();
+                }
+                out.send();
+                return copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        });
+        return copied == null ? 0 : copied;
+    }
+
+    CopyRows add(UUID value) {
+        return value == null ? addNull() : field(value.toString());
+    }
+
+    CopyRows add(int value) {
+        return field(Integer.toString(value));
+    }
+
+    // toPlainString keeps the scale, which is how a stored quantity tells shares from units
+    CopyRows add(BigDecimal value) {
+        return value == null ? addNull() : field(value.toPlainString());
+    }
+
+    CopyRows add(LocalDate value) {
+        return value == null ? addNull() : field(value.toString());
+    }
+
+    CopyRows add(String value) {
+        if (value == null) {
+            return addNull();
+        }
+        separate();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> buffer.append("\\\\");
+                case '\t' -> buffer.append("\\t");
+                case '\n' -> buffer.append("\\n");
+                case '\r' -> buffer.append("\\r");
+                default -> buffer.append(c);
+            }
+        }
+        return this;
+    }
+
+    private CopyRows addNull() {
+        return field("\\N");
+    }
+
+    // For values whose text form never needs escaping
+    private CopyRows field(String text) {
+        separate();
+        buffer.append(text);
+        return this;
+    }
+
+    private void separate() {
+        if (!firstField) {
+            buffer.append('\t');
+        }
+        firstField = false;
+    }
+
+    private void endRow() throws SQLException {
+        buffer.append('\n');
+        firstField = true;
+        if (buffer.length() >= BUFFER_SIZE) {
+            send();
+        }
+    }
+
+    private void send() throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+}
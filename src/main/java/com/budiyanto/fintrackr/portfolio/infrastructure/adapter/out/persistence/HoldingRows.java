@@ -0,0 +1,76 @@
+package com.budiyanto.fintrackr.portfolio.infrastructure.adapter.out.persistence;
+
+import com.budiyanto.fintrackr.portfolio.domain.model.Holding;
+import com.budiyanto.fintrackr.portfolio.domain.model.PortfolioId;
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The {@code holdings} table: one row per asset a Portfolio holds, upserted for the assets a save touched and
+ * deleted once a Holding is sold out.
+ */
+final class HoldingRows {
+
+    private static final String UPSERT = """
+            INSERT INTO holdings (portfolio_id, asset_id, total_quantity, total_invested)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (portfolio_id, asset_id)
+            DO UPDATE SET total_quantity = EXCLUDED.total_quantity, total_invested = EXCLUDED.total_invested
+            """;
+    private static final String DELETE = """
+            DELETE FROM holdings WHERE portfolio_id = ? AND asset_id = ?
+            """;
+    private static final String DELETE_ALL = """
+            DELETE FROM holdings WHERE portfolio_id = ?
+            """;
+    private static final String SELECT_ALL = """
+            SELECT asset_id, total_quantity, total_invested
+            FROM holdings
+            WHERE portfolio_id = ?
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    HoldingRows(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    void upsert(PortfolioId portfolioId, Collection<Holding> holdings) {
+        UUID portfolio = portfolioId.value();
+        jdbc.batchUpdate(UPSERT, holdings, TransactionRows.BATCH_SIZE, (ps, holding) -> {
+            ps.setObject(1, portfolio);
+            ps.setString(2, holding.assetId().value());
+            ps.setBigDecimal(3, holding.totalQuantity().value());
+            ps.setBigDecimal(4, holding.totalInvested().amount());
+        });
+    }
+
+    void delete(PortfolioId portfolioId, Collection<AssetId> assetIds) {
+        UUID portfolio = portfolioId.value();
+        jdbc.batchUpdate(DELETE, assetIds, TransactionRows.BATCH_SIZE, (ps, assetId) -> {
+            ps.setObject(1, portfolio);
+            ps.setString(2, assetId.value());
+        });
+    }
+
+    void rewrite(PortfolioId portfolioId, Collection<Holding> holdings) {
+        jdbc.update(DELETE_ALL, portfolioId.value());
+        upsert(portfolioId, holdings);
+    }
+
+    List<Row> readAll(PortfolioId portfolioId) {
+        return jdbc.query(SELECT_ALL, (rs, rowNum) -> new Row(
+                AssetId.of(rs.getString("asset_id")),
+                TransactionRows.quantity(rs.getBigDecimal("total_quantity")),
+                Money.of(rs.getBigDecimal("total_invested"))), portfolioId.value());
+    }
+
+    record Row(AssetId assetId, Quantity totalQuantity, Money totalInvested) {
+    }
+}
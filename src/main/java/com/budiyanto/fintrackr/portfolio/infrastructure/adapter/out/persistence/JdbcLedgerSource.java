@@ -0,0 +1,122 @@
+package com.budiyanto.fintrackr.portfolio.infrastructure.adapter.out.persistence;
+
+import com.budiyanto.fintrackr.portfolio.domain.model.Acquisition;
+import com.budiyanto.fintrackr.portfolio.domain.model.AcquisitionId;
+import com.budiyanto.fintrackr.portfolio.domain.model.LedgerSource;
+import com.budiyanto.fintrackr.portfolio.domain.model.PortfolioId;
+import com.budiyanto.fintrackr.portfolio.domain.model.Transaction;
+import com.budiyanto.fintrackr.portfolio.domain.model.TransactionId;
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.Money;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A stored ledger, paged by position through the {@code transactions} primary key. Every page is also bounded by
+ * the Portfolio's {@link LedgerSpan}, which skips only the years outside the Portfolio's whole history.
+ * <p>
+ * The date queries read only the rows dated within their dates, narrowed to the span, through the
+ * {@code (portfolio_id, date)} index. All of them stop at the size the source was loaded with: rows the same
+ * Portfolio saves later are its recorded transactions, which it answers for itself.
+ * <p>
+ * A lot's returns are read from its {@code acquisitions} row and a Sell's from its ledger row (V12), and every lot
+ * from its row as well. Those hold the state as of the last save, which is the source's size; a lot asked for as of
+ * an earlier position, which only a snapshot older than the stored one would ask, falls back to replaying the pages
+ * before it.
+ * <p>
+ * Rows in a year {@link LedgerPartitions} has detached are not read at all. A balance counts them through the
+ * {@link ArchivedLedger} totals, and a Sell among them has no stored returns. A page or a date query that would need
+ * them fails instead of leaving them out: a Portfolio with archived history keeps working from its stored state,
+ * but its whole ledger can no longer be read. Any other page missing transactions means storage is broken.
+ */
+final class JdbcLedgerSource implements LedgerSource {
+
+    private final TransactionRows rows;
+    private final AcquisitionRows acquisitions;
+    private final PortfolioId portfolioId;
+    private final int size;
+    private final LedgerSpan span;
+    private final ArchivedLedger archived;
+
+    JdbcLedgerSource(TransactionRows rows, AcquisitionRows acquisitions, PortfolioId portfolioId, int size, LedgerSpan span,
+                     ArchivedLedger archived) {
+        this.rows = rows;
+        this.acquisitions = acquisitions;
+        this.portfolioId = portfolioId;
+        this.size = size;
+        this.span = span;
+        this.archived = archived;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public List<Transaction> page(int offset, int limit) {
+        Objects.checkFromIndexSize(offset, limit, size);
+        List<Transaction> page = rows.read(portfolioId, offset, offset + limit, span);
+        if (page.size() != limit && archived.transactions() > 0) {
+            throw new IllegalStateException("ledger of portfolio " + portfolioId.value() + " has "
+                    + archived.transactions() + " transactions in archived years " + archived.totals().keySet()
+                    + ", which are not read back");
+        }
+        if (page.size() != limit) {
+            throw new IllegalStateException("ledger of portfolio " + portfolioId.value() + " is missing transactions in ["
+                    + offset + ", " + (offset + limit) + ")");
+        }
+        return page;
+    }
+
+    @Override
+    public List<Transaction> between(LocalDate from, LocalDate to) {
+        checkNotArchived(from, to);
+        LedgerSpan dates = span == null ? null : span.overlap(from, to);
+        return dates == null ? List.of() : rows.readDated(portfolioId, size, dates);
+    }
+
+    @Override
+    public Money cashDeltaAfter(LocalDate date) {
+        Money archivedAfter = archived.cashDeltaAfter(date);
+        if (span == null || !span.last().isAfter(date)) {
+            return archivedAfter;
+        }
+        return rows.sumCashDeltaAfter(portfolioId, size, date, span.last()).add(archivedAfter);
+    }
+
+    @Override
+    public List<Transaction> trades(AssetId assetId, LocalDate from, LocalDate to) {
+        checkNotArchived(from, to);
+        LedgerSpan dates = span == null ? null : span.overlap(from, to);
+        return dates == null ? List.of() : rows.readTrades(portfolioId, size, assetId, dates);
+    }
+
+    @Override
+    public Optional<StoredLot> lot(AcquisitionId acquisitionId, int position) {
+        if (position != size) {
+            return LedgerSource.super.lot(acquisitionId, position);
+        }
+        return acquisitions.read(portfolioId, span, acquisitionId);
+    }
+
+    @Override
+    public List<Acquisition> acquisitions() {
+        return acquisitions.readAll(portfolioId, span);
+    }
+
+    @Override
+    public Optional<Money> realizedGain(TransactionId sellId) {
+        return span == null ? Optional.empty() : rows.readRealizedGain(portfolioId, size, sellId, span);
+    }
+
+    private void checkNotArchived(LocalDate from, LocalDate to) {
+        if (archived.holds(from, to)) {
+            throw new IllegalArgumentException("transactions of portfolio " + portfolioId.value() + " within [" + from
+                    + ", " + to + "] are in archived years " + archived.totals().keySet());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.budiyanto.fintrackr.portfolio.infrastructure.adapter.out.persistence;
+
+import com.budiyanto.fintrackr.portfolio.PortfolioEvent;
+import com.budiyanto.fintrackr.portfolio.PortfolioState;
+import com.budiyanto.fintrackr.portfolio.application.port.PortfolioStateReader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads Portfolio state for read models with plain SQL, one query per page.
+ * <p>
+ * A page lists every asset a Portfolio ever bought, taken from its Acquisitions, and joins the Holding when there
+ * still is one. A sold-out asset therefore comes back with zero quantity and invested, just as the Sell that sold
+ * it out reported it, so a read model rebuilt from here and then sent that late Sell ends up the same either way.
+ */
+@Repository
+@Transactional(readOnly = true)
+public class JdbcPortfolioStateReader implements PortfolioStateReader {
+
+    private static final UUID FIRST = new UUID(0, 0);
+
+    private static final String SELECT_PAGE = """
+            SELECT p.id, p.ledger_size, p.trading_balance, a.asset_id, h.total_quantity, h.total_invested
+            FROM (SELECT id, ledger_size, trading_balance
+                  FROM portfolios
+                  WHERE ledger_size > 0 AND id > ?
+                  ORDER BY id
+                  LIMIT ?) p
+            LEFT JOIN LATERAL (SELECT DISTINCT asset_id FROM acquisitions WHERE portfolio_id = p.id) a ON true
+            LEFT JOIN holdings h ON h.portfolio_id = p.id AND h.asset_id = a.asset_id
+            ORDER BY p.id, a.asset_id
+            """;
+    private static final String SELECT_LAST_PRICES = """
+            SELECT DISTINCT ON (asset_id) asset_id, price, date
+            FROM transactions
+            WHERE type IN ('BUY', 'SELL')
+            ORDER BY asset_id, date DESC, position DESC
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    public JdbcPortfolioStateReader(JdbcTemplate jdbcTemplate) {
+        this.jdbc = jdbcTemplate;
+    }
+
+    @Override
+    public List<PortfolioState> page(UUID after, int limit) {
+        List<PortfolioState> page = new ArrayList<>(limit);
+        PageBuilder builder = new PageBuilder(page);
+        jdbc.query(SELECT_PAGE, rs -> {
+            builder.row(rs.getObject("id", UUID.class), rs.getInt("ledger_size"), rs.getBigDecimal("trading_balance"));
+            String assetId = rs.getString("asset_id");
+            if (assetId != null) {
+                BigDecimal quantity = rs.getBigDecimal("total_quantity");
+                BigDecimal invested = rs.getBigDecimal("total_invested");
+                builder.holdings.add(quantity == null
+                        ? new PortfolioEvent.HoldingState(assetId, BigDecimal.ZERO, BigDecimal.ZERO)
+                        : new PortfolioEvent.HoldingState(assetId, quantity, invested));
+            }
+        }, after == null ? FIRST : after, limit);
+        builder.finish();
+        return page;
+    }
+
+    @Override
+    public List<PortfolioEvent.TradePrice> lastTradePrices() {
+        return jdbc.query(SELECT_LAST_PRICES, (rs, rowNum) -> new PortfolioEvent.TradePrice(rs.getString("asset_id"),
+                rs.getBigDecimal("price"), rs.getObject("date", LocalDate.class)));
+    }
+
+    /**
+     * Folds the page's rows, one per Portfolio and asset, into one {@link PortfolioState} per Portfolio.
+     */
+    private static final class PageBuilder {
+
+        private final List<PortfolioState> page;
+        private UUID portfolioId;
+        private int ledgerSize;
+        private BigDecimal tradingBalance;
+        private List<PortfolioEvent.HoldingState> holdings = new ArrayList<>();
+
+        PageBuilder(List<PortfolioState> page) {
+            this.page = page;
+        }
+
+        void row(UUID id, int ledgerSize, BigDecimal tradingBalance) {
+            if (id.equals(portfolioId)) {
+                return;
+            }
+            finish();
+            this.portfolioId = id;
+            this.ledgerSize = ledgerSize;
+            this.tradingBalance = tradingBalance;
+            this.holdings = new ArrayList<>();
+        }
+
+        void finish() {
+            if (portfolioId != null) {
+                page.add(new PortfolioState(portfolioId, ledgerSize - 1, tradingBalance, holdings));
+                portfolioId = null;
+            }
+        }
+    }
+}
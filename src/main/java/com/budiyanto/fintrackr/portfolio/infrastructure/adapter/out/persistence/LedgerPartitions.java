@@ -0,0 +1,106 @@
+package com.budiyanto.fintrackr.portfolio.infrastructure.adapter.out.persistence;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Keeps the yearly partitions of the ledger and Acquisition tables (V5) ahead of the calendar, and detaches finished
+ * years of the ledger for archival.
+ * <p>
+ * There is no default partition: a transaction dated in a year without one fails to insert. {@link #createAhead()}
+ * runs daily and makes sure this year and the configured number of years after it exist, well before a
+ * transaction can be dated in them. Creating partitions is left to this job rather than to the save that first
+ * needs one, because attaching a partition locks the whole table.
+ * <p>
+ * A detached year is a plain table again, ready to be dumped and dropped. Acquisitions are not detached: they hold
+ * the lots and their returns as of the last save (V12), which a loaded Portfolio reads in place of a replay. A
+ * Portfolio is loaded from stored state, never by replaying its ledger, so it loads and records the same with
+ * history in a detached year. What the year held is recorded first: the year in {@code archived_ledger_years}, so
+ * a loaded Portfolio rejects any command dated in it or a dividend whose cum date is not after it (see
+ * {@code Portfolio#archivedYears}), and each Portfolio's transaction count and cash delta in it in
+ * {@code archived_ledger_totals}, so its balance as of an earlier date still counts them ({@link ArchivedLedger}).
+ * Only what needs the rows themselves, such as reading its whole ledger, a replay or an export, is no longer
+ * possible for a Portfolio with archived history.
+ */
+@Component
+public class LedgerPartitions {
+
+    private static final String[] LEDGER_TABLES = {"transaction_allocations", "transactions"};
+    private static final String INSERT_ARCHIVED = "INSERT INTO archived_ledger_years (year) VALUES (?)";
+    private static final String DELETE_ARCHIVED = "DELETE FROM archived_ledger_years WHERE year = ?";
+    private static final String SELECT_ARCHIVED = "SELECT year FROM archived_ledger_years";
+    private static final String DELETE_TOTALS = "DELETE FROM archived_ledger_totals WHERE year = ?";
+    private static final String SUM_TOTALS = "SELECT coalesce(sum(transactions), 0) FROM archived_ledger_totals WHERE year = ?";
+
+    private final JdbcTemplate jdbc;
+    private final int yearsAhead;
+
+    public LedgerPartitions(JdbcTemplate jdbc, @Value("${fintrackr.portfolio.partitions.years-ahead}") int yearsAhead) {
+        this.jdbc = jdbc;
+        this.yearsAhead = yearsAhead;
+    }
+
+    @Scheduled(cron = "${fintrackr.portfolio.partitions.cron}")
+    public void createAhead() {
+        int year = LocalDate.now().getYear();
+        jdbc.query("SELECT create_ledger_partitions(?, ?)", rs -> { }, year, year + yearsAhead);
+    }
+
+    /**
+     * Detaches {@code year}'s ledger partitions, {@code transaction_allocations_<year>} and
+     * {@code transactions_<year>}, without blocking writers to the other years. Must not run inside a transaction.
+     * <p>
+     * The year is closed to new commands before each Portfolio's totals in it are recorded, and its rows are
+     * counted again once detached, so a backdated save that was already under way is caught: the partitions are
+     * then attached again.
+     *
+     * @throws IllegalArgumentException for this year or a later one, which can still be written to
+     * @throws IllegalStateException    when the year was written to while it was being detached
+     */
+    public void detach(int year) {
+        if (year >= LocalDate.now().getYear()) {
+            throw new IllegalArgumentException("year " + year + " can still be written to");
+        }
+        jdbc.update(INSERT_ARCHIVED, year);
+        jdbc.update("INSERT INTO archived_ledger_totals (portfolio_id, year, transactions, cash_delta) "
+                + "SELECT portfolio_id, ?, count(*), sum(cash_delta) FROM transactions_" + year + " GROUP BY portfolio_id", year);
+        for (String table : LEDGER_TABLES) {
+            jdbc.execute("ALTER TABLE " + table + " DETACH PARTITION " + table + "_" + year + " CONCURRENTLY");
+        }
+        Long recorded = jdbc.queryForObject(SUM_TOTALS, Long.class, year);
+        Long detached = jdbc.queryForObject("SELECT count(*) FROM transactions_" + year, Long.class);
+        if (!Objects.equals(recorded, detached)) {
+            attach(year);
+            throw new IllegalStateException("year " + year + " was written to while it was detached");
+        }
+    }
+
+    /**
+     * Attaches {@code year}'s detached ledger partitions again and reopens the year to new commands; loaded
+     * Portfolios read its rows again instead of its totals.
+     */
+    public void attach(int year) {
+        for (String table : LEDGER_TABLES) {
+            jdbc.execute("ALTER TABLE " + table + " ATTACH PARTITION " + table + "_" + year
+                    + " FOR VALUES FROM ('" + year + "-01-01') TO ('" + (year + 1) + "-01-01')");
+        }
+        jdbc.update(DELETE_TOTALS, year);
+        jdbc.update(DELETE_ARCHIVED, year);
+    }
+
+    static Set<Year> archivedYears(JdbcTemplate jdbc) {
+        Set<Year> years = new HashSet<>();
+        jdbc.query(SELECT_ARCHIVED, rs -> {
+            years.add(Year.of(rs.getInt(1)));
+        });
+        return years;
+    }
+}
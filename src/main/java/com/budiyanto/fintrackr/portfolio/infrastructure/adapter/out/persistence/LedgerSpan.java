@@ -0,0 +1,54 @@
+package com.budiyanto.fintrackr.portfolio.infrastructure.adapter.out.persistence;
+
+import com.budiyanto.fintrackr.portfolio.domain.model.Transaction;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The dates of a Portfolio's earliest and latest stored transactions. Its ledger rows, and the Acquisitions its
+ * Buys opened, all fall within it, so bounding the partition key by it lets the planner skip every other year's
+ * partition (V5).
+ */
+record LedgerSpan(LocalDate first, LocalDate last) {
+
+    LedgerSpan {
+        Objects.requireNonNull(first, "first cannot be null");
+        Objects.requireNonNull(last, "last cannot be null");
+    }
+
+    /**
+     * The span stored on a Portfolio row, or null for a Portfolio without transactions.
+     */
+    static LedgerSpan of(PortfolioJpaEntity entity) {
+        return entity == null || entity.getFirstDate() == null ? null : new LedgerSpan(entity.getFirstDate(), entity.getLastDate());
+    }
+
+    /**
+     * The dates within both this span and {@code [from, to]}, or null when they do not meet.
+     */
+    LedgerSpan overlap(LocalDate from, LocalDate to) {
+        LocalDate overlapFirst = from.isAfter(first) ? from : first;
+        LocalDate overlapLast = to.isBefore(last) ? to : last;
+        return overlapFirst.isAfter(overlapLast) ? null : new LedgerSpan(overlapFirst, overlapLast);
+    }
+
+    /**
+     * {@code span} widened to the dates of {@code transactions}; {@code span} may be null.
+     */
+    static LedgerSpan including(LedgerSpan span, List<Transaction> transactions) {
+        LedgerSpan widened = span;
+        for (Transaction transaction : transactions) {
+            LocalDate date = transaction.date();
+            if (widened == null) {
+                widened = new LedgerSpan(date, date);
+            } else if (date.isBefore(widened.first)) {
+                widened = new LedgerSpan(date, widened.last);
+            } else if (date.isAfter(widened.last)) {
+                widened = new LedgerSpan(widened.first, date);
+            }
+        }
+        return widened;
+    }
+}
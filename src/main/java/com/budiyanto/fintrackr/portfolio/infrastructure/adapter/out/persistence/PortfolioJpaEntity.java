@@ -0,0 +1,63 @@
+package com.budiyanto.fintrackr.portfolio.infrastructure.adapter.out.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * The Portfolio row: identity, name, and the scalar derived state. The ledger, Acquisitions and Holdings live in
+ * their own tables and are written in JDBC batches by {@link PortfolioPersistenceAdapter}.
+ */
+@Entity
+@Table(name = "portfolios")
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+class PortfolioJpaEntity {
+
+    @Id
+    private UUID id;
+
+    @Version
+    @Setter(AccessLevel.NONE)
+    private long version;
+
+    @Column(name = "broker_account_id", nullable = false, updatable = false)
+    private UUID brokerAccountId;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(name = "trading_balance", nullable = false, precision = 19, scale = 0)
+    private BigDecimal tradingBalance;
+
+    // Transactions stored for this Portfolio; the position the next one is appended at
+    @Column(name = "ledger_size", nullable = false)
+    private int ledgerSize;
+
+    // Acquisitions stored for this Portfolio; the position the next one is inserted at
+    @Column(name = "acquisition_count", nullable = false)
+    private int acquisitionCount;
+
+    // Dates of the earliest and latest stored transactions, which bound the ledger partitions its queries read
+    @Column(name = "first_date")
+    private LocalDate firstDate;
+
+    @Column(name = "last_date")
+    private LocalDate lastDate;
+
+    PortfolioJpaEntity(UUID id, UUID brokerAccountId) {
+        this.id = id;
+        this.brokerAccountId = brokerAccountId;
+    }
+}
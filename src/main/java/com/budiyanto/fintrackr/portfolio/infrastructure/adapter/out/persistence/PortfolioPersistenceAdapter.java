@@ -0,0 +1,265 @@
+package com.budiyanto.fintrackr.portfolio.infrastructure.adapter.out.persistence;
+
+import com.budiyanto.fintrackr.portfolio.application.port.PortfolioRepository;
+import com.budiyanto.fintrackr.portfolio.domain.model.Acquisition;
+import com.budiyanto.fintrackr.portfolio.domain.model.AcquisitionId;
+import com.budiyanto.fintrackr.portfolio.domain.model.Buy;
+import com.budiyanto.fintrackr.portfolio.domain.model.Deposit;
+import com.budiyanto.fintrackr.portfolio.domain.model.Dividend;
+import com.budiyanto.fintrackr.portfolio.domain.model.DividendAllocation;
+import com.budiyanto.fintrackr.portfolio.domain.model.Holding;
+import com.budiyanto.fintrackr.portfolio.domain.model.LedgerSource;
+import com.budiyanto.fintrackr.portfolio.domain.model.Portfolio;
+import com.budiyanto.fintrackr.portfolio.domain.model.PortfolioId;
+import com.budiyanto.fintrackr.portfolio.domain.model.PortfolioSnapshot;
+import com.budiyanto.fintrackr.portfolio.domain.model.Sell;
+import com.budiyanto.fintrackr.portfolio.domain.model.SellAllocation;
+import com.budiyanto.fintrackr.portfolio.domain.model.Transaction;
+import com.budiyanto.fintrackr.portfolio.domain.model.TransactionId;
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.BrokerAccountId;
+import com.budiyanto.fintrackr.shared.Money;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Stores Portfolios as one JPA-mapped row plus the ledger, Acquisition and Holding tables, written in JDBC
+ * batches (ADR-009).
+ * <p>
+ * Every save bumps the Portfolio row's version. A loaded Portfolio carries the version it was read at, and a save
+ * whose {@link Portfolio#version()} differs from the stored one fails with an
+ * {@link OptimisticLockingFailureException}, as does the update itself when another writer commits first. Of two
+ * concurrent writers the second fails instead of waiting on a row lock held across the whole command, even when
+ * it loaded in an earlier transaction. The application service retries it.
+ * <p>
+ * Saving appends only {@link Portfolio#unsavedTransactions()}, inserts the Acquisitions they opened, subtracts what
+ * their Sells took from older ones and upserts the Holdings they touched, along with the returns of the lots and
+ * assets they touched, so its cost follows the commands since the last save and not the length of the ledger. A bulk append, such as a ledger import, is streamed with COPY. The
+ * stored ledger size must also equal the position the unsaved transactions start at; anything else means the
+ * Portfolio was loaded before another writer appended, which is the same conflict. A save with nothing to append
+ * writes nothing. Rewriting the derived state whole is {@link #repair(Portfolio)}, for {@code LedgerRebuildEngine}
+ * only.
+ * <p>
+ * Loading reads the Portfolio row, open Acquisitions, Holdings and per-asset returns as a {@link PortfolioSnapshot}
+ * at the end of the ledger; the ledger itself, and with it the closed Acquisitions, is paged in only when a caller
+ * asks for it, its date queries read only the rows dated within them, and a closed lot's or a stored Sell's returns
+ * are read from its own row ({@link JdbcLedgerSource}). Nothing of that reads a ledger row, so a Portfolio
+ * with history in an archived year loads the same; the loaded Portfolio is told which years are archived, so it
+ * rejects commands dated in them, and its ledger source which of its transactions are, so it counts them by their
+ * totals ({@link ArchivedLedger}).
+ * <p>
+ * The ledger and Acquisition tables are partitioned by date (V5). The Portfolio row keeps the dates of its earliest
+ * and latest transactions, widened on every append, and every query against those tables is bounded by them. That
+ * skips the years before and after the Portfolio's history, not the years within it: a ledger page is a position
+ * range and probes each of those years' primary keys.
+ */
+@Repository
+@Transactional
+public class PortfolioPersistenceAdapter implements PortfolioRepository {
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbc;
+    private final TransactionRows transactionRows;
+    private final AcquisitionRows acquisitionRows;
+    private final HoldingRows holdingRows;
+    private final AssetPerformanceRows assetPerformanceRows;
+
+    public PortfolioPersistenceAdapter(EntityManager entityManager, JdbcTemplate jdbcTemplate) {
+        this.entityManager = entityManager;
+        this.jdbc = jdbcTemplate;
+        this.transactionRows = new TransactionRows(jdbcTemplate);
+        this.acquisitionRows = new AcquisitionRows(jdbcTemplate);
+        this.holdingRows = new HoldingRows(jdbcTemplate);
+        this.assetPerformanceRows = new AssetPerformanceRows(jdbcTemplate);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PortfolioId> findAllIds() {
+        return entityManager.createQuery("SELECT p.id FROM PortfolioJpaEntity p ORDER BY p.id", UUID.class)
+                .getResultStream()
+                .map(PortfolioId::new)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Portfolio> findById(PortfolioId id) {
+        PortfolioJpaEntity entity = entityManager.find(PortfolioJpaEntity.class, id.value());
+        if (entity == null) {
+            return Optional.empty();
+        }
+
+        LedgerSpan span = LedgerSpan.of(entity);
+        List<Acquisition> acquisitions = new ArrayList<>();
+        List<PortfolioSnapshot.LotState> lots = new ArrayList<>();
+        Map<AssetId, List<AcquisitionId>> openByAsset = new HashMap<>();
+        for (LedgerSource.StoredLot lot : acquisitionRows.readOpen(id, span)) {
+            Acquisition acquisition = lot.acquisition();
+            acquisitions.add(acquisition);
+            lots.add(lot.state());
+            openByAsset.computeIfAbsent(acquisition.assetId(), asset -> new ArrayList<>()).add(acquisition.id());
+        }
+        List<PortfolioSnapshot.HoldingState> holdings = new ArrayList<>();
+        for (HoldingRows.Row row : holdingRows.readAll(id)) {
+            holdings.add(new PortfolioSnapshot.HoldingState(row.assetId(), row.totalQuantity(), row.totalInvested(),
+                    openByAsset.getOrDefault(row.assetId(), List.of())));
+        }
+
+        PortfolioSnapshot snapshot = new PortfolioSnapshot(id, entity.getLedgerSize(), Money.of(entity.getTradingBalance()),
+                acquisitions, holdings, lots, assetPerformanceRows.readAll(id));
+        ArchivedLedger archived = ArchivedLedger.read(jdbc, id);
+        JdbcLedgerSource ledger = new JdbcLedgerSource(transactionRows, acquisitionRows, id, entity.getLedgerSize(), span, archived);
+        Portfolio portfolio = Portfolio.restore(id, new BrokerAccountId(entity.getBrokerAccountId()), entity.getName(), snapshot, ledger);
+        portfolio.archivedYears(archived.years());
+        portfolio.version(entity.getVersion());
+        return Optional.of(portfolio);
+    }
+
+    @Override
+    public void save(Portfolio portfolio) {
+        PortfolioId id = portfolio.id();
+        List<Transaction> unsaved = portfolio.unsavedTransactions();
+        int ledgerSize = portfolio.transactions().size();
+        int firstPosition = ledgerSize - unsaved.size();
+
+        PortfolioJpaEntity entity = entityManager.find(PortfolioJpaEntity.class, id.value());
+        checkVersion(entity, portfolio);
+        int storedSize = entity == null ? 0 : entity.getLedgerSize();
+        if (storedSize != firstPosition) {
+            throw new OptimisticLockingFailureException("portfolio " + id.value() + " has " + storedSize
+                    + " stored transactions, but its unsaved ones start at " + firstPosition);
+        }
+        if (entity != null && unsaved.isEmpty()) {
+            return;  // nothing recorded since it was loaded or saved
+        }
+        if (entity == null) {
+            entity = new PortfolioJpaEntity(id.value(), portfolio.brokerAccountId().value());
+            entityManager.persist(entity);
+        }
+        entity.setName(portfolio.name());
+        entity.setTradingBalance(portfolio.tradingBalance().amount());
+        entity.setLedgerSize(ledgerSize);
+        LedgerSpan span = LedgerSpan.including(LedgerSpan.of(entity), unsaved);
+        if (span != null) {
+            entity.setFirstDate(span.first());
+            entity.setLastDate(span.last());
+        }
+        int firstOpened = entity.getAcquisitionCount();
+        List<Acquisition> opened = portfolio.unsavedAcquisitions();
+        entity.setAcquisitionCount(firstOpened + opened.size());
+        entityManager.flush();  // bumps and checks the version now, and the JDBC rows below reference the portfolio row
+
+        if (!unsaved.isEmpty()) {
+            saveDerivedState(portfolio, firstPosition, unsaved, firstOpened, opened, span);
+        }
+        portfolio.markSaved();
+        portfolio.version(entity.getVersion());
+    }
+
+    @Override
+    public void repair(Portfolio replayed) {
+        PortfolioId id = replayed.id();
+        PortfolioJpaEntity entity = entityManager.find(PortfolioJpaEntity.class, id.value());
+        if (entity == null) {
+            throw new IllegalArgumentException("unknown portfolio: " + id.value());
+        }
+        checkVersion(entity, replayed);
+        if (entity.getLedgerSize() != replayed.transactions().size()) {
+            throw new OptimisticLockingFailureException("portfolio " + id.value() + " has " + entity.getLedgerSize()
+                    + " stored transactions, but was replayed from " + replayed.transactions().size());
+        }
+        entity.setTradingBalance(replayed.tradingBalance().amount());
+        entityManager.lock(entity, LockModeType.PESSIMISTIC_FORCE_INCREMENT);  // the balance may not have changed
+        entityManager.flush();
+
+        acquisitionRows.rewriteRemaining(replayed.acquisitions(), acquisitionId -> replayed.lotState(acquisitionId).orElseThrow());
+        holdingRows.rewrite(id, replayed.holdings());
+        assetPerformanceRows.rewrite(id, replayed.takeSnapshot().positions());
+        replayed.version(entity.getVersion());
+    }
+
+    private static void checkVersion(PortfolioJpaEntity entity, Portfolio portfolio) {
+        if (entity != null && entity.getVersion() != portfolio.version()) {
+            throw new OptimisticLockingFailureException("portfolio " + portfolio.id().value() + " was loaded at version "
+                    + portfolio.version() + ", but version " + entity.getVersion() + " is stored");
+        }
+    }
+
+    private void saveDerivedState(Portfolio portfolio, int firstPosition, List<Transaction> unsaved, int firstOpened,
+                                  List<Acquisition> opened, LedgerSpan span) {
+        PortfolioId id = portfolio.id();
+        List<SellAllocation> sold = new ArrayList<>();
+        Set<AssetId> touched = new LinkedHashSet<>();
+        Set<AssetId> paid = new LinkedHashSet<>();
+        Set<AcquisitionId> lotsTouched = new LinkedHashSet<>();
+        Map<TransactionId, Money> realizedBySell = new HashMap<>();
+        for (Transaction transaction : unsaved) {
+            switch (transaction) {
+                case Buy buy -> touched.add(buy.assetId());
+                case Sell sell -> {
+                    sold.addAll(sell.allocations());
+                    touched.add(sell.assetId());
+                    realizedBySell.put(sell.id(), portfolio.realizedGain(sell.id()).orElseThrow());
+                    for (SellAllocation allocation : sell.allocations()) {
+                        lotsTouched.add(allocation.acquisitionId());
+                    }
+                }
+                case Deposit deposit -> { }
+                case Dividend dividend -> {
+                    paid.add(dividend.assetId());
+                    for (DividendAllocation allocation : dividend.allocations()) {
+                        lotsTouched.add(allocation.acquisitionId());
+                    }
+                }
+            }
+        }
+
+        transactionRows.append(id, firstPosition, unsaved, realizedBySell);
+
+        // Every Buy opens one Acquisition, appended in recording order. Those are inserted with what is left of
+        // them now, so only allocations against Acquisitions stored before are subtracted
+        acquisitionRows.insert(id, firstOpened, opened, acquisitionId -> portfolio.lotState(acquisitionId).orElseThrow());
+        Set<AcquisitionId> insertedIds = new HashSet<>(opened.size());
+        for (Acquisition acquisition : opened) {
+            insertedIds.add(acquisition.id());
+        }
+        sold.removeIf(allocation -> insertedIds.contains(allocation.acquisitionId()));
+        acquisitionRows.subtractSold(id, span, sold);
+        lotsTouched.removeAll(insertedIds);
+        List<PortfolioSnapshot.LotState> lotReturns = new ArrayList<>(lotsTouched.size());
+        for (AcquisitionId acquisitionId : lotsTouched) {
+            lotReturns.add(portfolio.lotState(acquisitionId).orElseThrow());
+        }
+        acquisitionRows.updateReturns(id, span, lotReturns);
+
+        List<Holding> held = new ArrayList<>(touched.size());
+        List<AssetId> soldOut = new ArrayList<>();
+        for (AssetId assetId : touched) {
+            portfolio.holding(assetId).ifPresentOrElse(held::add, () -> soldOut.add(assetId));
+        }
+        holdingRows.upsert(id, held);
+        holdingRows.delete(id, soldOut);
+
+        paid.addAll(touched);
+        List<PortfolioSnapshot.PositionState> positions = new ArrayList<>(paid.size());
+        for (AssetId assetId : paid) {
+            positions.add(portfolio.positionState(assetId).orElseThrow());
+        }
+        assetPerformanceRows.upsert(id, positions);
+    }
+}
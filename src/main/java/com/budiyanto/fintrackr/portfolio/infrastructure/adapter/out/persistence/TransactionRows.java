@@ -0,0 +1,335 @@
+package com.budiyanto.fintrackr.portfolio.infrastructure.adapter.out.persistence;
+
+import com.budiyanto.fintrackr.portfolio.domain.model.AcquisitionId;
+import com.budiyanto.fintrackr.portfolio.domain.model.Buy;
+import com.budiyanto.fintrackr.portfolio.domain.model.Deposit;
+import com.budiyanto.fintrackr.portfolio.domain.model.Dividend;
+import com.budiyanto.fintrackr.portfolio.domain.model.DividendAllocation;
+import com.budiyanto.fintrackr.portfolio.domain.model.PortfolioId;
+import com.budiyanto.fintrackr.portfolio.domain.model.Sell;
+import com.budiyanto.fintrackr.portfolio.domain.model.SellAllocation;
+import com.budiyanto.fintrackr.portfolio.domain.model.Transaction;
+import com.budiyanto.fintrackr.portfolio.domain.model.TransactionId;
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The ledger tables, {@code transactions} and {@code transaction_allocations}: appended in JDBC batches or, for
+ * bulk appends, with COPY, and read back by position range or by date. Each {@link Transaction} type maps to its
+ * columns through an exhaustive switch, so a new type does not compile until it has a row layout (ADR-009). Every
+ * row also keeps its transaction's cash delta (V11), so a balance is one aggregate over the rows it counts, and a
+ * Sell's row the gain it realized (V12), which the Portfolio cannot work out again without the lots' history.
+ * <p>
+ * Both tables are partitioned by transaction date. An allocation row repeats its transaction's Portfolio, position
+ * and date, so it lands in the same year's partition and a page reads it without joining the two tables. A page is
+ * a position range, which says nothing about dates once transactions are backdated, so the only date bound it has
+ * is the Portfolio's {@link LedgerSpan}: the planner skips the years before its first transaction and after its
+ * last, and probes every year in between through its primary key. A read by date is bounded by its own dates, and
+ * walks the {@code (portfolio_id, date)} index of only the years they cover.
+ */
+final class TransactionRows {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_TRANSACTION = """
+            INSERT INTO transactions (portfolio_id, position, id, type, date, asset_id, quantity, price, fee, amount,
+                                      acquisition_id, cum_date, cash_delta, realized_gain)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String INSERT_ALLOCATION = """
+            INSERT INTO transaction_allocations (transaction_id, ordinal, portfolio_id, position, transaction_date,
+                                                 acquisition_id, quantity, amount)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String COPY_TRANSACTIONS = """
+            COPY transactions (portfolio_id, position, id, type, date, asset_id, quantity, price, fee, amount,
+                               acquisition_id, cum_date, cash_delta, realized_gain)
+            FROM STDIN
+            """;
+    private static final String COPY_ALLOCATIONS = """
+            COPY transaction_allocations (transaction_id, ordinal, portfolio_id, position, transaction_date,
+                                          acquisition_id, quantity, amount)
+            FROM STDIN
+            """;
+    private static final String SELECT_PAGE = """
+            SELECT id, type, date, asset_id, quantity, price, fee, amount, acquisition_id, cum_date
+            FROM transactions
+            WHERE portfolio_id = ? AND position >= ? AND position < ? AND date >= ? AND date <= ?
+            ORDER BY position
+            """;
+    private static final String SELECT_PAGE_ALLOCATIONS = """
+            SELECT transaction_id, acquisition_id, quantity, amount
+            FROM transaction_allocations
+            WHERE portfolio_id = ? AND position >= ? AND position < ? AND transaction_date >= ? AND transaction_date <= ?
+            ORDER BY position, ordinal
+            """;
+    private static final String SELECT_DATED = """
+            SELECT id, type, date, asset_id, quantity, price, fee, amount, acquisition_id, cum_date
+            FROM transactions
+            WHERE portfolio_id = ? AND position < ? AND date >= ? AND date <= ?
+            ORDER BY date, position
+            """;
+    private static final String SELECT_DATED_ALLOCATIONS = """
+            SELECT transaction_id, acquisition_id, quantity, amount
+            FROM transaction_allocations
+            WHERE portfolio_id = ? AND position < ? AND transaction_date >= ? AND transaction_date <= ?
+            ORDER BY position, ordinal
+            """;
+    private static final String SELECT_TRADES = """
+            SELECT id, type, date, asset_id, quantity, price, fee, amount, acquisition_id, cum_date
+            FROM transactions
+            WHERE portfolio_id = ? AND position < ? AND date >= ? AND date <= ? AND asset_id = ? AND type IN ('BUY', 'SELL')
+            ORDER BY date, position
+            """;
+    private static final String SELECT_TRADE_ALLOCATIONS = """
+            SELECT a.transaction_id, a.acquisition_id, a.quantity, a.amount
+            FROM transaction_allocations a
+            JOIN transactions t ON t.portfolio_id = a.portfolio_id AND t.position = a.position AND t.date = a.transaction_date
+            WHERE a.portfolio_id = ? AND a.position < ? AND a.transaction_date >= ? AND a.transaction_date <= ?
+              AND t.date >= ? AND t.date <= ? AND t.asset_id = ? AND t.type = 'SELL'
+            ORDER BY a.position, a.ordinal
+            """;
+    private static final String SELECT_REALIZED_GAIN = """
+            SELECT realized_gain
+            FROM transactions
+            WHERE id = ? AND portfolio_id = ? AND position < ? AND type = 'SELL' AND date >= ? AND date <= ?
+            """;
+    private static final String SUM_CASH_DELTA_AFTER = """
+            SELECT coalesce(sum(cash_delta), 0)
+            FROM transactions
+            WHERE portfolio_id = ? AND position < ? AND date > ? AND date <= ?
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    TransactionRows(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Appends {@code transactions} at positions {@code firstPosition, firstPosition + 1, …}, each Sell with its
+     * entry in {@code realizedBySell}; from {@link CopyRows#THRESHOLD} transactions on, with COPY instead of batched
+     * INSERTs.
+     */
+    void append(PortfolioId portfolioId, int firstPosition, List<Transaction> transactions, Map<TransactionId, Money> realizedBySell) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        UUID portfolio = portfolioId.value();
+        List<Row> rows = new ArrayList<>(transactions.size());
+        List<AllocationRow> allocations = new ArrayList<>();
+        for (int i = 0; i < transactions.size(); i++) {
+            Transaction transaction = transactions.get(i);
+            rows.add(Row.of(firstPosition + i, transaction, realizedBySell));
+            collectAllocations(portfolio, firstPosition + i, transaction, allocations);
+        }
+
+        if (rows.size() >= CopyRows.THRESHOLD) {
+            CopyRows.copy(jdbc, COPY_TRANSACTIONS, rows, (row, out) -> out.add(portfolio).add(row.position())
+                    .add(row.id()).add(row.type()).add(row.date()).add(row.assetId()).add(row.quantity())
+                    .add(row.price()).add(row.fee()).add(row.amount()).add(row.acquisitionId()).add(row.cumDate())
+                    .add(row.cashDelta()).add(row.realizedGain()));
+            CopyRows.copy(jdbc, COPY_ALLOCATIONS, allocations, (allocation, out) -> out.add(allocation.transactionId())
+                    .add(allocation.ordinal()).add(allocation.portfolioId()).add(allocation.position())
+                    .add(allocation.transactionDate()).add(allocation.acquisitionId()).add(allocation.quantity())
+                    .add(allocation.amount()));
+            return;
+        }
+        jdbc.batchUpdate(INSERT_TRANSACTION, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setObject(1, portfolio);
+            ps.setInt(2, row.position());
+            ps.setObject(3, row.id());
+            ps.setString(4, row.type());
+            ps.setObject(5, row.date());
+            ps.setString(6, row.assetId());
+            ps.setBigDecimal(7, row.quantity());
+            ps.setBigDecimal(8, row.price());
+            ps.setBigDecimal(9, row.fee());
+            ps.setBigDecimal(10, row.amount());
+            ps.setObject(11, row.acquisitionId());
+            ps.setObject(12, row.cumDate());
+            ps.setBigDecimal(13, row.cashDelta());
+            ps.setBigDecimal(14, row.realizedGain());
+        });
+        jdbc.batchUpdate(INSERT_ALLOCATION, allocations, BATCH_SIZE, TransactionRows::setAllocation);
+    }
+
+    /**
+     * The transactions at positions {@code [from, to)}, in recording order; {@code span} is the Portfolio's, null
+     * when it has none stored.
+     */
+    List<Transaction> read(PortfolioId portfolioId, int from, int to, LedgerSpan span) {
+        if (span == null) {
+            return List.of();
+        }
+        Object[] bounds = {portfolioId.value(), from, to, span.first(), span.last()};
+        return read(portfolioId, SELECT_PAGE, bounds, SELECT_PAGE_ALLOCATIONS, bounds);
+    }
+
+    /**
+     * The transactions at positions before {@code size} dated within {@code dates}, in date order and, within a
+     * date, in recording order.
+     */
+    List<Transaction> readDated(PortfolioId portfolioId, int size, LedgerSpan dates) {
+        Object[] bounds = {portfolioId.value(), size, dates.first(), dates.last()};
+        return read(portfolioId, SELECT_DATED, bounds, SELECT_DATED_ALLOCATIONS, bounds);
+    }
+
+    /**
+     * As {@link #readDated}, only the Buys and Sells of {@code assetId}.
+     */
+    List<Transaction> readTrades(PortfolioId portfolioId, int size, AssetId assetId, LedgerSpan dates) {
+        UUID portfolio = portfolioId.value();
+        return read(portfolioId,
+                SELECT_TRADES, new Object[]{portfolio, size, dates.first(), dates.last(), assetId.value()},
+                SELECT_TRADE_ALLOCATIONS, new Object[]{portfolio, size, dates.first(), dates.last(), dates.first(), dates.last(), assetId.value()});
+    }
+
+    /**
+     * The sum of the cash deltas of the transactions at positions before {@code size} dated after {@code date} and
+     * on or before {@code last}.
+     */
+    Money sumCashDeltaAfter(PortfolioId portfolioId, int size, LocalDate date, LocalDate last) {
+        return Money.of(jdbc.queryForObject(SUM_CASH_DELTA_AFTER, BigDecimal.class, portfolioId.value(), size, date, last));
+    }
+
+    /**
+     * What the Sell {@code sellId}, at a position before {@code size}, realized; empty if there is no such Sell.
+     */
+    Optional<Money> readRealizedGain(PortfolioId portfolioId, int size, TransactionId sellId, LedgerSpan span) {
+        List<BigDecimal> realized = jdbc.queryForList(SELECT_REALIZED_GAIN, BigDecimal.class, sellId.value(),
+                portfolioId.value(), size, span.first(), span.last());
+        return realized.stream().findFirst().map(Money::of);
+    }
+
+    private List<Transaction> read(PortfolioId portfolioId, String transactionsSql, Object[] transactionArgs,
+                                   String allocationsSql, Object[] allocationArgs) {
+        UUID portfolio = portfolioId.value();
+        Map<UUID, List<AllocationRow>> allocations = new HashMap<>();
+        jdbc.query(allocationsSql, rs -> {
+            AllocationRow allocation = new AllocationRow(rs.getObject(1, UUID.class), 0, portfolio, 0, null,
+                    rs.getObject(2, UUID.class), rs.getBigDecimal(3), rs.getBigDecimal(4));
+            allocations.computeIfAbsent(allocation.transactionId(), id -> new ArrayList<>()).add(allocation);
+        }, allocationArgs);
+        return jdbc.query(transactionsSql, (rs, rowNum) -> toTransaction(rs, portfolioId, allocations), transactionArgs);
+    }
+
+    private static void collectAllocations(UUID portfolio, int position, Transaction transaction, List<AllocationRow> allocations) {
+        UUID id = transaction.id().value();
+        LocalDate date = transaction.date();
+        switch (transaction) {
+            case Sell sell -> {
+                int ordinal = 0;
+                for (SellAllocation allocation : sell.allocations()) {
+                    allocations.add(new AllocationRow(id, ordinal++, portfolio, position, date, allocation.acquisitionId().value(),
+                            allocation.sharesSoldFromAcquisition().value(), allocation.feeAllocated().amount()));
+                }
+            }
+            case Dividend dividend -> {
+                int ordinal = 0;
+                for (DividendAllocation allocation : dividend.allocations()) {
+                    allocations.add(new AllocationRow(id, ordinal++, portfolio, position, date, allocation.acquisitionId().value(),
+                            allocation.sharesEligibleAtCumDate().value(), allocation.amount().amount()));
+                }
+            }
+            case Deposit deposit -> { }
+            case Buy buy -> { }
+        }
+    }
+
+    private static void setAllocation(PreparedStatement ps, AllocationRow allocation) throws SQLException {
+        ps.setObject(1, allocation.transactionId());
+        ps.setInt(2, allocation.ordinal());
+        ps.setObject(3, allocation.portfolioId());
+        ps.setInt(4, allocation.position());
+        ps.setObject(5, allocation.transactionDate());
+        ps.setObject(6, allocation.acquisitionId());
+        ps.setBigDecimal(7, allocation.quantity());
+        ps.setBigDecimal(8, allocation.amount());
+    }
+
+    private static Transaction toTransaction(ResultSet rs, PortfolioId portfolioId, Map<UUID, List<AllocationRow>> allocations) throws SQLException {
+        TransactionId id = new TransactionId(rs.getObject("id", UUID.class));
+        LocalDate date = rs.getObject("date", LocalDate.class);
+        List<AllocationRow> allocationRows = allocations.getOrDefault(id.value(), List.of());
+        return switch (rs.getString("type")) {
+            case Row.DEPOSIT -> new Deposit(id, portfolioId, date, money(rs, "amount"));
+            case Row.BUY -> new Buy(id, portfolioId, date, AssetId.of(rs.getString("asset_id")), quantity(rs.getBigDecimal("quantity")),
+                    money(rs, "price"), money(rs, "fee"), new AcquisitionId(rs.getObject("acquisition_id", UUID.class)));
+            case Row.SELL -> {
+                List<SellAllocation> sold = new ArrayList<>(allocationRows.size());
+                for (AllocationRow row : allocationRows) {
+                    sold.add(new SellAllocation(new AcquisitionId(row.acquisitionId()), quantity(row.quantity()), Money.of(row.amount())));
+                }
+                yield new Sell(id, portfolioId, date, AssetId.of(rs.getString("asset_id")), money(rs, "price"),
+                        quantity(rs.getBigDecimal("quantity")), money(rs, "fee"), sold);
+            }
+            case Row.DIVIDEND -> {
+                List<DividendAllocation> paid = new ArrayList<>(allocationRows.size());
+                for (AllocationRow row : allocationRows) {
+                    paid.add(new DividendAllocation(new AcquisitionId(row.acquisitionId()), quantity(row.quantity()), Money.of(row.amount())));
+                }
+                yield new Dividend(id, portfolioId, date, AssetId.of(rs.getString("asset_id")), rs.getObject("cum_date", LocalDate.class),
+                        date, money(rs, "price"), paid);
+            }
+            default -> throw new IllegalStateException("unknown transaction type: " + rs.getString("type"));
+        };
+    }
+
+    private static Money money(ResultSet rs, String column) throws SQLException {
+        return Money.of(rs.getBigDecimal(column));
+    }
+
+    // Shares are stored with scale 0 and units with scale 4; an unconstrained NUMERIC keeps the scale written
+    static Quantity quantity(BigDecimal value) {
+        return value.scale() == 0 ? Quantity.ofShares(value) : Quantity.ofUnits(value);
+    }
+
+    // One transactions row; columns the type does not use are null
+    private record Row(int position, UUID id, String type, LocalDate date, String assetId, BigDecimal quantity,
+                       BigDecimal price, BigDecimal fee, BigDecimal amount, UUID acquisitionId, LocalDate cumDate,
+                       BigDecimal cashDelta, BigDecimal realizedGain) {
+
+        static final String DEPOSIT = "DEPOSIT";
+        static final String BUY = "BUY";
+        static final String SELL = "SELL";
+        static final String DIVIDEND = "DIVIDEND";
+
+        static Row of(int position, Transaction transaction, Map<TransactionId, Money> realizedBySell) {
+            UUID id = transaction.id().value();
+            LocalDate date = transaction.date();
+            BigDecimal cashDelta = transaction.cashDelta().amount();
+            return switch (transaction) {
+                case Deposit deposit -> new Row(position, id, DEPOSIT, date, null, null, null, null,
+                        deposit.amount().amount(), null, null, cashDelta, null);
+                case Buy buy -> new Row(position, id, BUY, date, buy.assetId().value(), buy.quantity().value(),
+                        buy.price().amount(), buy.fee().amount(), null, buy.acquisitionId().value(), null, cashDelta, null);
+                case Sell sell -> new Row(position, id, SELL, date, sell.assetId().value(), sell.totalQuantity().value(),
+                        sell.price().amount(), sell.totalFee().amount(), null, null, null, cashDelta,
+                        Objects.requireNonNull(realizedBySell.get(sell.id()), "sell has no realized gain").amount());
+                case Dividend dividend -> new Row(position, id, DIVIDEND, date, dividend.assetId().value(), null,
+                        dividend.dps().amount(), null, null, null, dividend.cumDate(), cashDelta, null);
+            };
+        }
+    }
+
+    // One transaction_allocations row; position and date are its transaction's
+    private record AllocationRow(UUID transactionId, int ordinal, UUID portfolioId, int position, LocalDate transactionDate,
+                                 UUID acquisitionId, BigDecimal quantity, BigDecimal amount) {
+    }
+}
@@ -0,0 +1,402 @@
+package com.budiyanto.fintrackr.portfolio.infrastructure.codec;
+
+import com.budiyanto.fintrackr.portfolio.domain.model.Acquisition;
+import com.budiyanto.fintrackr.portfolio.domain.model.AcquisitionId;
+import com.budiyanto.fintrackr.portfolio.domain.model.Buy;
+import com.budiyanto.fintrackr.portfolio.domain.model.Deposit;
+import com.budiyanto.fintrackr.portfolio.domain.model.Dividend;
+import com.budiyanto.fintrackr.portfolio.domain.model.DividendAllocation;
+import com.budiyanto.fintrackr.portfolio.domain.model.Portfolio;
+import com.budiyanto.fintrackr.portfolio.domain.model.PortfolioId;
+import com.budiyanto.fintrackr.portfolio.domain.model.PortfolioSnapshot;
+import com.budiyanto.fintrackr.portfolio.domain.model.Sell;
+import com.budiyanto.fintrackr.portfolio.domain.model.SellAllocation;
+import com.budiyanto.fintrackr.portfolio.domain.model.Transaction;
+import com.budiyanto.fintrackr.portfolio.domain.model.TransactionId;
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.BinaryReader;
+import com.budiyanto.fintrackr.shared.BinaryWriter;
+import com.budiyanto.fintrackr.shared.BrokerAccountId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A versioned, compact binary form of Portfolios, their ledgers and {@link PortfolioSnapshot}s, for snapshot
+ * stores, caches and export files. Values use the encoding of {@link BinaryWriter}: varint amounts and quantities,
+ * 16-byte ids, epoch-day dates and a dictionary of ISINs.
+ * <p>
+ * Every encoding starts with {@code FTRK}, the format version and what it holds. A Portfolio id is written once
+ * per encoding, not per transaction. An Acquisition id that a Buy earlier in the same encoding opened is written
+ * as its index among those Buys, so Sell and Dividend allocations and snapshots rarely spend 16 bytes on one.
+ * <p>
+ * How the format evolves:
+ * <ul>
+ *   <li>Each transaction is a type tag followed by a length-prefixed record; Acquisitions and Holdings are
+ *       length-prefixed records too. New fields are only ever appended to a record. A reader skips the fields it
+ *       does not know, and a reader that knows a field an older writer left out treats it as absent.</li>
+ *   <li>A new {@link Transaction} type gets the next tag, and tags are never reused. The switch over the sealed
+ *       hierarchy does not compile until the type has a tag. A reader that meets a tag it does not know fails
+ *       rather than skip it, because a ledger missing a transaction replays to the wrong state.</li>
+ *   <li>{@link #FORMAT_VERSION} changes only for changes those rules cannot express. A reader accepts its own
+ *       version and older ones, and rejects newer ones.</li>
+ * </ul>
+ * Version 2 adds a snapshot's returns: each Acquisition record carries its realized gain and dividends, and a
+ * list of per-asset records follows the Holdings. A version 1 snapshot has no returns to restore from, so a
+ * Portfolio encoded with one is replayed from its ledger instead, and decoding one on its own fails.
+ * <p>
+ * Malformed input fails with an {@link IllegalArgumentException}.
+ */
+public final class PortfolioCodec {
+
+    public static final int FORMAT_VERSION = 2;
+
+    private static final byte[] MAGIC = {'F', 'T', 'R', 'K'};
+
+    private static final int KIND_LEDGER = 1;
+    private static final int KIND_SNAPSHOT = 2;
+    private static final int KIND_PORTFOLIO = 3;
+
+    private static final int TAG_DEPOSIT = 1;
+    private static final int TAG_BUY = 2;
+    private static final int TAG_SELL = 3;
+    private static final int TAG_DIVIDEND = 4;
+
+    private PortfolioCodec() {
+    }
+
+    /**
+     * A Portfolio's identity, whole ledger and latest snapshot, if it has one. The ledger is read through, so for a
+     * Portfolio loaded from storage this pages in every transaction.
+     */
+    public static byte[] encode(Portfolio portfolio) {
+        Encoder encoder = new Encoder(KIND_PORTFOLIO);
+        encoder.out.writeUuid(portfolio.brokerAccountId().value());
+        encoder.out.writeString(portfolio.name());
+        encoder.ledger(portfolio.id(), portfolio.transactions());
+        PortfolioSnapshot snapshot = portfolio.latestSnapshot().orElse(null);
+        encoder.out.writeByte(snapshot == null ? 0 : 1);
+        if (snapshot != null) {
+            encoder.snapshot(snapshot, false);  // the ledger already carries the portfolio id
+        }
+        return encoder.out.toByteArray();
+    }
+
+    /**
+     * The Portfolio {@link #encode(Portfolio)} wrote, restored from its snapshot when it has one of this version and
+     * replayed otherwise. Its whole ledger counts as saved.
+     */
+    public static Portfolio decodePortfolio(byte[] bytes) {
+        Decoder decoder = new Decoder(bytes, KIND_PORTFOLIO);
+        BrokerAccountId brokerAccountId = new BrokerAccountId(decoder.in.readUuid());
+        String name = decoder.in.readString();
+        PortfolioId id = new PortfolioId(decoder.in.readUuid());
+        List<Transaction> ledger = decoder.transactions(id);
+        PortfolioSnapshot snapshot = decoder.in.readByte() == 0 ? null : decoder.snapshot(id);
+        Portfolio portfolio = snapshot == null
+                ? Portfolio.replay(id, brokerAccountId, name, ledger)
+                : Portfolio.restore(id, brokerAccountId, name, snapshot, ledger);
+        portfolio.markSaved();
+        return portfolio;
+    }
+
+    /**
+     * A run of one Portfolio's transactions, such as a whole ledger for export.
+     */
+    public static byte[] encodeLedger(PortfolioId portfolioId, List<Transaction> transactions) {
+        Encoder encoder = new Encoder(KIND_LEDGER);
+        encoder.ledger(portfolioId, transactions);
+        return encoder.out.toByteArray();
+    }
+
+    public static List<Transaction> decodeLedger(byte[] bytes) {
+        Decoder decoder = new Decoder(bytes, KIND_LEDGER);
+        return decoder.transactions(new PortfolioId(decoder.in.readUuid()));
+    }
+
+    public static byte[] encodeSnapshot(PortfolioSnapshot snapshot) {
+        Encoder encoder = new Encoder(KIND_SNAPSHOT);
+        encoder.snapshot(snapshot, true);
+        return encoder.out.toByteArray();
+    }
+
+    public static PortfolioSnapshot decodeSnapshot(byte[] bytes) {
+        Decoder decoder = new Decoder(bytes, KIND_SNAPSHOT);
+        PortfolioSnapshot snapshot = decoder.snapshot(new PortfolioId(decoder.in.readUuid()));
+        if (snapshot == null) {
+            throw new IllegalArgumentException("a version 1 snapshot has no returns to restore from; replay the ledger instead");
+        }
+        return snapshot;
+    }
+
+    // One encoding's writer and the Acquisitions its Buys opened so far
+    private static final class Encoder {
+
+        private final BinaryWriter out = new BinaryWriter();
+        private final Map<AcquisitionId, Integer> opened = new HashMap<>();
+
+        private Encoder(int kind) {
+            out.writeBytes(MAGIC);
+            out.writeVarInt(FORMAT_VERSION);
+            out.writeByte(kind);
+        }
+
+        private void ledger(PortfolioId portfolioId, List<Transaction> transactions) {
+            out.writeUuid(portfolioId.value());
+            out.writeVarInt(transactions.size());
+            for (Transaction transaction : transactions) {
+                transaction(transaction);
+            }
+        }
+
+        private void transaction(Transaction transaction) {
+            out.writeVarInt(switch (transaction) {
+                case Deposit deposit -> TAG_DEPOSIT;
+                case Buy buy -> TAG_BUY;
+                case Sell sell -> TAG_SELL;
+                case Dividend dividend -> TAG_DIVIDEND;
+            });
+            int record = out.startRecord();
+            out.writeUuid(transaction.id().value());
+            out.writeDate(transaction.date());
+            switch (transaction) {
+                case Deposit deposit -> out.writeMoney(deposit.amount());
+                case Buy buy -> {
+                    out.writeAssetId(buy.assetId());
+                    out.writeQuantity(buy.quantity());
+                    out.writeMoney(buy.price());
+                    out.writeMoney(buy.fee());
+                    acquisition(buy.acquisitionId());
+                    opened.putIfAbsent(buy.acquisitionId(), opened.size());
+                }
+                case Sell sell -> {
+                    out.writeAssetId(sell.assetId());
+                    out.writeMoney(sell.price());
+                    out.writeQuantity(sell.totalQuantity());
+                    out.writeMoney(sell.totalFee());
+                    out.writeVarInt(sell.allocations().size());
+                    for (SellAllocation allocation : sell.allocations()) {
+                        acquisition(allocation.acquisitionId());
+                        out.writeQuantity(allocation.sharesSoldFromAcquisition());
+                        out.writeMoney(allocation.feeAllocated());
+                    }
+                }
+                // Dated by its payment date, which is therefore not written again
+                case Dividend dividend -> {
+                    out.writeAssetId(dividend.assetId());
+                    out.writeDate(dividend.cumDate());
+                    out.writeMoney(dividend.dps());
+                    out.writeVarInt(dividend.allocations().size());
+                    for (DividendAllocation allocation : dividend.allocations()) {
+                        acquisition(allocation.acquisitionId());
+                        out.writeQuantity(allocation.sharesEligibleAtCumDate());
+                        out.writeMoney(allocation.amount());
+                    }
+                }
+            }
+            out.endRecord(record);
+        }
+
+        private void snapshot(PortfolioSnapshot snapshot, boolean withPortfolioId) {
+            if (withPortfolioId) {
+                out.writeUuid(snapshot.portfolioId().value());
+            }
+            out.writeVarInt(snapshot.ledgerPosition());
+            out.writeMoney(snapshot.tradingBalance());
+            Map<AcquisitionId, PortfolioSnapshot.LotState> lots = new HashMap<>();
+            for (PortfolioSnapshot.LotState lot : snapshot.lots()) {
+                lots.put(lot.acquisitionId(), lot);
+            }
+            out.writeVarInt(snapshot.acquisitions().size());
+            for (Acquisition acquisition : snapshot.acquisitions()) {
+                PortfolioSnapshot.LotState lot = Objects.requireNonNull(lots.get(acquisition.id()), "snapshot has no lot state for an acquisition");
+                int record = out.startRecord();
+                acquisition(acquisition.id());
+                out.writeAssetId(acquisition.assetId());
+                out.writeDate(acquisition.openDate());
+                out.writeMoney(acquisition.openPrice());
+                out.writeMoney(acquisition.openFee());
+                out.writeQuantity(acquisition.initialQuantity());
+                out.writeQuantity(acquisition.remainingQuantity());
+                out.writeMoney(lot.realizedGain());
+                out.writeMoney(lot.dividends());
+                out.endRecord(record);
+            }
+            out.writeVarInt(snapshot.holdings().size());
+            for (PortfolioSnapshot.HoldingState holding : snapshot.holdings()) {
+                int record = out.startRecord();
+                out.writeAssetId(holding.assetId());
+                out.writeQuantity(holding.totalQuantity());
+                out.writeMoney(holding.totalInvested());
+                out.writeVarInt(holding.openAcquisitionIds().size());
+                for (AcquisitionId acquisitionId : holding.openAcquisitionIds()) {
+                    acquisition(acquisitionId);
+                }
+                out.endRecord(record);
+            }
+            out.writeVarInt(snapshot.positions().size());
+            for (PortfolioSnapshot.PositionState position : snapshot.positions()) {
+                int record = out.startRecord();
+                out.writeAssetId(position.assetId());
+                out.writeMoney(position.costBasis());
+                out.writeMoney(position.realizedGain());
+                out.writeMoney(position.dividends());
+                out.endRecord(record);
+            }
+        }
+
+        // 0 and the id for one no Buy in this encoding opened, else 1 + the index of the Buy that did
+        private void acquisition(AcquisitionId id) {
+            Integer index = opened.get(id);
+            if (index == null) {
+                out.writeVarInt(0);
+                out.writeUuid(id.value());
+            } else {
+                out.writeVarInt(index + 1);
+            }
+        }
+    }
+
+    private static final class Decoder {
+
+        private final BinaryReader in;
+        private final int version;
+        private final List<AcquisitionId> opened = new ArrayList<>();
+        private final Set<AcquisitionId> openedIds = new HashSet<>();
+
+        private Decoder(byte[] bytes, int kind) {
+            in = new BinaryReader(bytes);
+            for (byte b : MAGIC) {
+                if (in.readByte() != b) {
+                    throw new IllegalArgumentException("not an encoded portfolio: bad magic");
+                }
+            }
+            version = in.readVarInt();
+            if (version < 1 || version > FORMAT_VERSION) {
+                throw new IllegalArgumentException("format version " + version + " is not supported; this reader knows 1 to " + FORMAT_VERSION);
+            }
+            int actualKind = in.readByte();
+            if (actualKind != kind) {
+                throw new IllegalArgumentException("expected encoding kind " + kind + " but found " + actualKind);
+            }
+        }
+
+        private List<Transaction> transactions(PortfolioId portfolioId) {
+            int count = in.readVarInt();
+            List<Transaction> transactions = new ArrayList<>(Math.min(count, 1 << 16));
+            for (int i = 0; i < count; i++) {
+                transactions.add(transaction(portfolioId));
+            }
+            return transactions;
+        }
+
+        private Transaction transaction(PortfolioId portfolioId) {
+            int tag = in.readVarInt();
+            int end = in.startRecord();
+            TransactionId id = new TransactionId(in.readUuid());
+            LocalDate date = in.readDate();
+            Transaction transaction = switch (tag) {
+                case TAG_DEPOSIT -> new Deposit(id, portfolioId, date, in.readMoney());
+                case TAG_BUY -> {
+                    Buy buy = new Buy(id, portfolioId, date, in.readAssetId(), in.readQuantity(), in.readMoney(),
+                            in.readMoney(), acquisition());
+                    if (openedIds.add(buy.acquisitionId())) {
+                        opened.add(buy.acquisitionId());
+                    }
+                    yield buy;
+                }
+                case TAG_SELL -> {
+                    AssetId assetId = in.readAssetId();
+                    Money price = in.readMoney();
+                    Quantity totalQuantity = in.readQuantity();
+                    Money totalFee = in.readMoney();
+                    int count = in.readVarInt();
+                    List<SellAllocation> allocations = new ArrayList<>(Math.min(count, 1 << 10));
+                    for (int i = 0; i < count; i++) {
+                        allocations.add(new SellAllocation(acquisition(), in.readQuantity(), in.readMoney()));
+                    }
+                    yield new Sell(id, portfolioId, date, assetId, price, totalQuantity, totalFee, allocations);
+                }
+                case TAG_DIVIDEND -> {
+                    AssetId assetId = in.readAssetId();
+                    LocalDate cumDate = in.readDate();
+                    Money dps = in.readMoney();
+                    int count = in.readVarInt();
+                    List<DividendAllocation> allocations = new ArrayList<>(Math.min(count, 1 << 10));
+                    for (int i = 0; i < count; i++) {
+                        allocations.add(new DividendAllocation(acquisition(), in.readQuantity(), in.readMoney()));
+                    }
+                    yield new Dividend(id, portfolioId, date, assetId, cumDate, date, dps, allocations); // dated by its payment
+                }
+                default -> throw new IllegalArgumentException("unknown transaction tag " + tag
+                        + "; the ledger was written by a newer version");
+            };
+            in.endRecord(end);
+            return transaction;
+        }
+
+        // Null for a version 1 snapshot, which is read past but has no returns to restore from
+        private PortfolioSnapshot snapshot(PortfolioId portfolioId) {
+            int ledgerPosition = in.readVarInt();
+            Money tradingBalance = in.readMoney();
+            int acquisitionCount = in.readVarInt();
+            List<Acquisition> acquisitions = new ArrayList<>(Math.min(acquisitionCount, 1 << 16));
+            List<PortfolioSnapshot.LotState> lots = new ArrayList<>(Math.min(acquisitionCount, 1 << 16));
+            for (int i = 0; i < acquisitionCount; i++) {
+                int end = in.startRecord();
+                Acquisition acquisition = Acquisition.restore(acquisition(), portfolioId, in.readAssetId(), in.readDate(),
+                        in.readMoney(), in.readMoney(), in.readQuantity(), in.readQuantity());
+                acquisitions.add(acquisition);
+                if (version >= 2) {
+                    lots.add(new PortfolioSnapshot.LotState(acquisition.id(), in.readMoney(), in.readMoney(), null));
+                }
+                in.endRecord(end);
+            }
+            int holdingCount = in.readVarInt();
+            List<PortfolioSnapshot.HoldingState> holdings = new ArrayList<>(Math.min(holdingCount, 1 << 16));
+            for (int i = 0; i < holdingCount; i++) {
+                int end = in.startRecord();
+                AssetId assetId = in.readAssetId();
+                Quantity totalQuantity = in.readQuantity();
+                Money totalInvested = in.readMoney();
+                int openCount = in.readVarInt();
+                List<AcquisitionId> open = new ArrayList<>(Math.min(openCount, 1 << 16));
+                for (int j = 0; j < openCount; j++) {
+                    open.add(acquisition());
+                }
+                holdings.add(new PortfolioSnapshot.HoldingState(assetId, totalQuantity, totalInvested, open));
+                in.endRecord(end);
+            }
+            if (version < 2) {
+                return null;
+            }
+            int positionCount = in.readVarInt();
+            List<PortfolioSnapshot.PositionState> positions = new ArrayList<>(Math.min(positionCount, 1 << 16));
+            for (int i = 0; i < positionCount; i++) {
+                int end = in.startRecord();
+                positions.add(new PortfolioSnapshot.PositionState(in.readAssetId(), in.readMoney(), in.readMoney(), in.readMoney()));
+                in.endRecord(end);
+            }
+            return new PortfolioSnapshot(portfolioId, ledgerPosition, tradingBalance, acquisitions, holdings, lots, positions);
+        }
+
+        private AcquisitionId acquisition() {
+            int reference = in.readVarInt();
+            if (reference == 0) {
+                return new AcquisitionId(in.readUuid());
+            }
+            if (reference > opened.size()) {
+                throw new IllegalArgumentException("acquisition " + reference + " referenced before it was opened");
+            }
+            return opened.get(reference - 1);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.budiyanto.fintrackr.portfolio.infrastructure.config;
+
+import com.budiyanto.fintrackr.portfolio.application.LedgerImportService;
+import com.budiyanto.fintrackr.portfolio.application.OptimisticRetry;
+import com.budiyanto.fintrackr.portfolio.application.RecordTransactionService;
+import com.budiyanto.fintrackr.portfolio.application.RetryPolicy;
+import com.budiyanto.fintrackr.portfolio.application.port.BrokerAccountCash;
+import com.budiyanto.fintrackr.portfolio.application.port.PortfolioEventPublisher;
+import com.budiyanto.fintrackr.portfolio.application.port.PortfolioRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Wires Portfolio Management's application services, which stay free of Spring annotations. Scheduling is switched
+ * on for the job that creates ledger partitions ahead of time.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableScheduling
+public class PortfolioConfiguration {
+
+    @Bean
+    RetryPolicy portfolioRetryPolicy(@Value("${fintrackr.portfolio.retry.max-attempts}") int maxAttempts,
+                                     @Value("${fintrackr.portfolio.retry.initial-backoff}") Duration initialBackoff,
+                                     @Value("${fintrackr.portfolio.retry.max-backoff}") Duration maxBackoff) {
+        return new RetryPolicy(maxAttempts, initialBackoff, maxBackoff);
+    }
+
+    @Bean
+    OptimisticRetry portfolioOptimisticRetry(PlatformTransactionManager transactionManager, RetryPolicy portfolioRetryPolicy, MeterRegistry meterRegistry) {
+        return new OptimisticRetry(new TransactionTemplate(transactionManager), portfolioRetryPolicy, meterRegistry);
+    }
+
+    @Bean
+    RecordTransactionService recordTransactionService(PortfolioRepository portfolios, BrokerAccountCash brokerAccounts,
+                                                      PortfolioEventPublisher events, OptimisticRetry portfolioOptimisticRetry) {
+        return new RecordTransactionService(portfolios, brokerAccounts, events, portfolioOptimisticRetry, Clock.systemDefaultZone());
+    }
+
+    @Bean
+    LedgerImportService ledgerImportService(PortfolioRepository portfolios, BrokerAccountCash brokerAccounts,
+                                            PortfolioEventPublisher events, OptimisticRetry portfolioOptimisticRetry) {
+        return new LedgerImportService(portfolios, brokerAccounts, events, portfolioOptimisticRetry, Clock.systemDefaultZone());
+    }
+}
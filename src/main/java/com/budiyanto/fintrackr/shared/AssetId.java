@@ -2,24 +2,108 @@ package com.budiyanto.fintrackr.shared;
 
 import org.apache.commons.validator.routines.checkdigit.ISINCheckDigit;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
-public record AssetId(String value) {
+/**
+ * The identity of an Asset: its ISIN (ADR-012).
+ * <p>
+ * {@link #of(String)} validates an ISIN once and interns the result, so the same few thousand ISINs seen by
+ * imports and price feeds map to one shared instance each. The 12 ASCII characters are also packed into two
+ * {@code long}s, which is what {@code equals}/{@code hashCode} use when an {@code AssetId} keys a map.
+ */
+public final class AssetId {
 
-    public AssetId {
+    private static final int ISIN_LENGTH = 12;
+    private static final int MAX_INTERNED = 16_384;
+    private static final Map<String, AssetId> INTERNED = new ConcurrentHashMap<>();
 
+    private final String value;
+    private final long high; // characters 0-7, one byte each
+    private final long low;  // characters 8-11
+
+    private AssetId(String value) {
+        this.value = value;
+        this.high = pack(value, 0, 8);
+        this.low = pack(value, 8, ISIN_LENGTH);
+    }
+
+    public static AssetId of(String value) {
         Objects.requireNonNull(value, "Isin value cannot be null");
-        if (value.isBlank()) {
-            throw new IllegalArgumentException("Isin value cannot be blank");
+        AssetId interned = INTERNED.get(value);
+        if (interned != null) {
+            return interned;
+        }
+        validate(value);
+        AssetId assetId = new AssetId(value);
+        if (INTERNED.size() >= MAX_INTERNED) {
+            // Bounded so a stream of distinct ids cannot grow the cache without limit; still valid, just not shared
+            return assetId;
+        }
+        AssetId existing = INTERNED.putIfAbsent(value, assetId);
+        return existing != null ? existing : assetId;
+    }
+
+    /**
+     * Whether {@link #of(String)} would accept {@code value}, without throwing for a bad one; for imports that
+     * report every bad row.
+     */
+    public static boolean isValid(String value) {
+        return value != null && (INTERNED.containsKey(value) || invalidReason(value) == null);
+    }
+
+    public String value() { return value; }
+
+    private static void validate(String value) {
+        String reason = invalidReason(value);
+        if (reason != null) {
+            throw new IllegalArgumentException(reason);
         }
+    }
 
+    // null when value is a valid ISIN
+    private static String invalidReason(String value) {
+        if (value.isBlank()) {
+            return "Isin value cannot be blank";
+        }
+        if (value.length() != ISIN_LENGTH) {
+            return "Isin value should be 12 characters";
+        }
+        for (int i = 0; i < ISIN_LENGTH; i++) {
+            char c = value.charAt(i);
+            if (!(c >= 'A' && c <= 'Z') && !(c >= '0' && c <= '9')) {
+                return "Isin value should be uppercase alphanumeric";
+            }
+        }
         if (!ISINCheckDigit.ISIN_CHECK_DIGIT.isValid(value)) {
-             throw new IllegalArgumentException("Isin value should be Luhn check digit");
+            return "Isin value should be Luhn check digit";
         }
+        return null;
     }
 
-    public static AssetId of(String value) {
-        return new AssetId(value);
+    private static long pack(String value, int from, int to) {
+        long packed = 0L;
+        for (int i = from; i < to; i++) {
+            packed = (packed << 8) | value.charAt(i);
+        }
+        return packed;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AssetId that)) return false;
+        return high == that.high && low == that.low;
     }
 
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high * 31 + low);
+    }
+
+    @Override
+    public String toString() {
+        return "AssetId[value=" + value + "]";
+    }
 }
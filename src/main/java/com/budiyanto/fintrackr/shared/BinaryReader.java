@@ -0,0 +1,168 @@
+package com.budiyanto.fintrackr.shared;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads values written by {@link BinaryWriter}, in the order they were written. Malformed or truncated input
+ * fails with an {@link IllegalArgumentException}.
+ * <p>
+ * Not thread-safe.
+ */
+public final class BinaryReader {
+
+    private static final int ISIN_LENGTH = 12;
+
+    private final byte[] buffer;
+    private int position;
+    private final List<AssetId> assetIds = new ArrayList<>();
+
+    public BinaryReader(byte[] buffer) {
+        this.buffer = buffer;
+    }
+
+    public int readByte() {
+        require(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    public byte[] readBytes(int length) {
+        require(length);
+        byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+        position += length;
+        return bytes;
+    }
+
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("varint longer than 10 bytes at " + position);
+    }
+
+    public int readVarInt() {
+        long value = readVarLong();
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("varint out of int range: " + value);
+        }
+        return (int) value;
+    }
+
+    public long readSignedVarLong() {
+        long zigzag = readVarLong();
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    public UUID readUuid() {
+        return new UUID(readLong(), readLong());
+    }
+
+    public LocalDate readDate() {
+        long epochDay = readSignedVarLong();
+        try {
+            return LocalDate.ofEpochDay(epochDay);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("epoch day out of range: " + epochDay, e);
+        }
+    }
+
+    public String readString() {
+        int length = readVarInt();
+        require(length);
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public Money readMoney() {
+        long header = readVarLong();
+        if ((header & 1) == 0) {
+            long zigzag = header >>> 1;
+            return Money.of((zigzag >>> 1) ^ -(zigzag & 1));
+        }
+        long length = header >>> 1;
+        require(length);
+        return Money.of(new BigDecimal(new BigInteger(readBytes((int) length))));
+    }
+
+    public Quantity readQuantity() {
+        long header = readVarLong();
+        return (header & 1) == 0 ? Quantity.ofShares(header >>> 1) : Quantity.ofScaledUnits(header >>> 1);
+    }
+
+    public AssetId readAssetId() {
+        int index = readVarInt();
+        if (index < assetIds.size()) {
+            return assetIds.get(index);
+        }
+        if (index > assetIds.size()) {
+            throw new IllegalArgumentException("asset id " + index + " read before asset id " + assetIds.size());
+        }
+        require(ISIN_LENGTH);
+        AssetId assetId = AssetId.of(new String(buffer, position, ISIN_LENGTH, StandardCharsets.US_ASCII));
+        position += ISIN_LENGTH;
+        assetIds.add(assetId);
+        return assetId;
+    }
+
+    /**
+     * Reads the length prefix of a record written between {@link BinaryWriter#startRecord()} and
+     * {@link BinaryWriter#endRecord(int)}, and returns the position where it ends.
+     */
+    public int startRecord() {
+        int length = readVarInt();
+        require(length);
+        return position + length;
+    }
+
+    /**
+     * Whether the record ending at {@code end} has fields left, such as ones a newer writer appended.
+     */
+    public boolean hasMore(int end) {
+        return position < end;
+    }
+
+    /**
+     * Skips whatever is left of the record ending at {@code end}.
+     *
+     * @throws IllegalArgumentException if more was read than the record holds
+     */
+    public void endRecord(int end) {
+        if (position > end) {
+            throw new IllegalArgumentException("record read " + (position - end) + " bytes past its end");
+        }
+        position = end;
+    }
+
+    public boolean hasRemaining() {
+        return position < buffer.length;
+    }
+
+    private long readLong() {
+        require(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (buffer[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    private void require(long length) {
+        if (length < 0 || length > buffer.length - position) {
+            throw new IllegalArgumentException("input truncated: needs " + length + " bytes at " + position
+                    + ", has " + (buffer.length - position));
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.budiyanto.fintrackr.shared;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Writes values in Fintrackr's compact binary encoding, read back by {@link BinaryReader}.
+ * <ul>
+ *   <li>Counts and other non-negative integers are unsigned LEB128 varints: 7 bits a byte, low bits first.</li>
+ *   <li>{@link Money} is its scale-0 amount, zigzag-encoded so small amounts of either sign stay short, shifted
+ *       left one bit. A set low bit instead marks an amount too large for that, followed by its two's-complement
+ *       bytes.</li>
+ *   <li>{@link Quantity} is a whole number of shares, or units in ten-thousandths, shifted left one bit; the low
+ *       bit tells which.</li>
+ *   <li>Dates are zigzag varints of their epoch day, UUIDs their 16 bytes, strings UTF-8 behind their length.</li>
+ *   <li>{@link AssetId}s are dictionary-encoded: the first occurrence of an ISIN writes the next free index and
+ *       its 12 characters, every later one the index alone. The dictionary lives in the writer, so a reader rebuilds
+ *       it while reading the same stream in order.</li>
+ * </ul>
+ * Records can be length-prefixed with {@link #startRecord()} and {@link #endRecord(int)}, so a reader can skip
+ * fields appended after it was written.
+ * <p>
+ * Not thread-safe.
+ */
+public final class BinaryWriter {
+
+    private byte[] buffer;
+    private int size;
+    private final Map<AssetId, Integer> assetIds = new HashMap<>();
+
+    public BinaryWriter() {
+        this(256);
+    }
+
+    public BinaryWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    public BinaryWriter writeByte(int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+        return this;
+    }
+
+    public BinaryWriter writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+        return this;
+    }
+
+    /**
+     * An unsigned varint; negative values take the full ten bytes.
+     */
+    public BinaryWriter writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+        return this;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code value} is negative
+     */
+    public BinaryWriter writeVarInt(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("varint cannot be negative: " + value);
+        }
+        return writeVarLong(value);
+    }
+
+    public BinaryWriter writeSignedVarLong(long value) {
+        return writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    public BinaryWriter writeUuid(UUID value) {
+        writeLong(value.getMostSignificantBits());
+        return writeLong(value.getLeastSignificantBits());
+    }
+
+    public BinaryWriter writeDate(LocalDate value) {
+        return writeSignedVarLong(value.toEpochDay());
+    }
+
+    public BinaryWriter writeString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        return writeBytes(bytes);
+    }
+
+    /**
+     * @throws IllegalArgumentException for an amount in another currency than IDR, the only one the encoding
+     *                                  carries (ADR-007)
+     */
+    public BinaryWriter writeMoney(Money value) {
+        if (!Money.IDR.equals(value.currency())) {
+            throw new IllegalArgumentException("only IDR amounts can be encoded: " + value);
+        }
+        if (value.hasLongAmount()) {
+            long zigzag = (value.longAmount() << 1) ^ (value.longAmount() >> 63);
+            if (zigzag >>> 63 == 0) {
+                return writeVarLong(zigzag << 1);
+            }
+        }
+        byte[] bytes = value.amount().toBigIntegerExact().toByteArray();
+        writeVarLong(((long) bytes.length << 1) | 1);
+        return writeBytes(bytes);
+    }
+
+    public BinaryWriter writeQuantity(Quantity value) {
+        return value.isUnits()
+                ? writeVarLong((value.scaledValue() << 1) | 1)
+                : writeVarLong((value.scaledValue() / Quantity.SCALE_FACTOR) << 1);
+    }
+
+    public BinaryWriter writeAssetId(AssetId value) {
+        Integer index = assetIds.get(value);
+        if (index != null) {
+            return writeVarInt(index);
+        }
+        int next = assetIds.size();
+        assetIds.put(value, next);
+        writeVarInt(next);
+        return writeBytes(value.value().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Starts a length-prefixed record; pass the result to {@link #endRecord(int)} once its fields are written.
+     */
+    public int startRecord() {
+        return size;
+    }
+
+    /**
+     * Prefixes the bytes written since {@code start} with their length.
+     */
+    public BinaryWriter endRecord(int start) {
+        Objects.checkIndex(start, size + 1);
+        int length = size - start;
+        int prefix = varLongSize(length);
+        ensureCapacity(prefix);
+        System.arraycopy(buffer, start, buffer, start + prefix, length);
+        int end = size + prefix;
+        size = start;
+        writeVarLong(length);
+        size = end;
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private BinaryWriter writeLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[size++] = (byte) (value >>> shift);
+        }
+        return this;
+    }
+
+    private static int varLongSize(long value) {
+        int bytes = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            bytes++;
+        }
+        return bytes;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
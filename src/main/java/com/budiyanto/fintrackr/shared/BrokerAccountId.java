@@ -10,7 +10,12 @@ public record BrokerAccountId(UUID value) {
     }
 
     public static BrokerAccountId generate() {
-        return new BrokerAccountId(UUID.randomUUID());
+        return generate(IdGenerator.timeOrdered());
+    }
+
+    public static BrokerAccountId generate(IdGenerator generator) {
+        Objects.requireNonNull(generator, "generator cannot be null");
+        return new BrokerAccountId(generator.nextId());
     }
 
 }
@@ -0,0 +1,20 @@
+package com.budiyanto.fintrackr.shared;
+
+import java.util.UUID;
+
+/**
+ * Source of aggregate and entity ids. The id records' {@code generate()} factories use {@link #timeOrdered()};
+ * the {@code generate(IdGenerator)} overloads let tests and importers plug in their own.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    UUID nextId();
+
+    /**
+     * Monotonic, time-ordered UUIDv7 ids (RFC 9562), generated lock-free from per-thread state.
+     */
+    static IdGenerator timeOrdered() {
+        return UuidV7Generator.INSTANCE;
+    }
+}
@@ -5,52 +5,132 @@ import java.math.RoundingMode;
 import java.util.Currency;
 import java.util.Objects;
 
+/**
+ * A scale-0 monetary amount (ADR-007).
+ * <p>
+ * The amount is held as an exact {@code long} while it fits, and only falls back to a {@link BigDecimal}
+ * when it does not. The representation is canonical — a value that fits in a {@code long} is never stored
+ * as a {@code BigDecimal} — so equality and ordering do not depend on how a {@code Money} was built.
+ */
+public final class Money implements Comparable<Money> {
 
-public record Money(BigDecimal amount, Currency currency) implements Comparable<Money> {
+    public static final Currency IDR = Currency.getInstance("IDR");
 
-    public Money {
+    private static final Money ZERO = new Money(0L, IDR);
+
+    private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private final long units;
+    private final BigDecimal overflow; // null while the amount fits in units
+    private final Currency currency;
+
+    public Money(BigDecimal amount, Currency currency) {
         Objects.requireNonNull(amount, "amount cannot be null");
         Objects.requireNonNull(currency, "currency cannot be null");
-        amount = amount.setScale(0, RoundingMode.HALF_EVEN);
+        BigDecimal normalized = amount.setScale(0, RoundingMode.HALF_EVEN);
+        boolean fitsInLong = fitsInLong(normalized);
+        this.units = fitsInLong ? normalized.longValue() : 0L;
+        this.overflow = fitsInLong ? null : normalized;
+        this.currency = currency;
+    }
+
+    private Money(long units, Currency currency) {
+        this.units = units;
+        this.overflow = null;
+        this.currency = currency;
     }
 
     public static Money of(BigDecimal amount) {
-        return new Money(amount, Currency.getInstance("IDR"));
+        return new Money(amount, IDR);
     }
 
     public static Money of(BigDecimal amount, Currency currency) {
         return new Money(amount, currency);
     }
 
+    public static Money of(long amount) {
+        return new Money(amount, IDR);
+    }
+
+    public static Money of(long amount, Currency currency) {
+        Objects.requireNonNull(currency, "currency cannot be null");
+        return new Money(amount, currency);
+    }
+
     public static Money zero() {
-        return new Money(BigDecimal.ZERO, Currency.getInstance("IDR"));
+        return ZERO;
     }
 
     public Money add(Money toAdd) {
         checkSameCurrency(toAdd);
-        return new Money(amount.add(toAdd.amount), currency);
+        if (overflow == null && toAdd.overflow == null) {
+            long sum = units + toAdd.units;
+            // Overflow iff both operands share a sign that the result does not
+            if (((units ^ sum) & (toAdd.units ^ sum)) >= 0) {
+                return new Money(sum, currency);
+            }
+        }
+        return new Money(amount().add(toAdd.amount()), currency);
     }
 
     public Money negate() {
-        return new Money(amount.negate(), currency);
+        if (overflow == null && units != Long.MIN_VALUE) {
+            return new Money(-units, currency);
+        }
+        return new Money(amount().negate(), currency);
+    }
+
+    public BigDecimal amount() {
+        return overflow != null ? overflow : BigDecimal.valueOf(units);
+    }
+
+    public Currency currency() { return currency; }
+
+    /**
+     * The amount as a {@code long}, for exact integer bookkeeping such as running sums.
+     *
+     * @throws ArithmeticException if the amount does not fit in a {@code long}
+     */
+    public long longValueExact() {
+        if (overflow != null) {
+            throw new ArithmeticException("Money amount does not fit in a long: " + overflow);
+        }
+        return units;
     }
 
+    // Allocation-free access to the long representation for MoneyAccumulator
+    boolean hasLongAmount() { return overflow == null; }
+
+    long longAmount() { return units; }
+
     @Override
     public int compareTo(Money value) {
         checkSameCurrency(value);
-        return amount.compareTo(value.amount);
+        if (overflow == null && value.overflow == null) {
+            return Long.compare(units, value.units);
+        }
+        return amount().compareTo(value.amount());
+    }
+
+    public int signum() {
+        return overflow != null ? overflow.signum() : Long.signum(units);
+    }
+
+    public boolean isZero() {
+        return signum() == 0;
     }
 
     public boolean isPositive() {
-        return compareTo(Money.zero()) > 0;
+        return signum() > 0;
     }
 
     public boolean isNegative() {
-        return compareTo(Money.zero()) < 0;
+        return signum() < 0;
     }
 
     public boolean isZeroOrNegative() {
-        return compareTo(Money.zero()) <= 0;
+        return signum() <= 0;
     }
 
     private void checkSameCurrency(Money value) {
@@ -59,4 +139,29 @@ public record Money(BigDecimal amount, Currency currency) implements Comparable<
             throw new IllegalArgumentException("The input currency is not equal to currency");
         }
     }
+
+    private static boolean fitsInLong(BigDecimal scaleZeroAmount) {
+        return scaleZeroAmount.precision() <= 18
+                || (scaleZeroAmount.compareTo(LONG_MIN) >= 0 && scaleZeroAmount.compareTo(LONG_MAX) <= 0);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Money that)) return false;
+        return units == that.units
+                && Objects.equals(overflow, that.overflow)
+                && currency.equals(that.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        int amountHash = overflow != null ? overflow.hashCode() : Long.hashCode(units);
+        return 31 * amountHash + currency.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "Money[amount=" + amount() + ", currency=" + currency + "]";
+    }
 }
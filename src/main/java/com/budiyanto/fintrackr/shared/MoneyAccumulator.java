@@ -0,0 +1,162 @@
+package com.budiyanto.fintrackr.shared;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+
+/**
+ * Mutable, single-currency running sum of {@link Money} and {@code quantity × price} terms.
+ * <p>
+ * Terms are summed exactly into a {@code long} register scaled to 4 decimal places (the finest
+ * {@link Quantity} scale, ADR-008), falling back to {@code BigDecimal} only on overflow. Rounding to a
+ * scale-0 {@code Money} happens once, in {@link #toMoney()} — the compose-then-normalize rule of ADR-007.
+ * Not thread-safe; use {@link #summing()} or {@link #combine(MoneyAccumulator)} to sum in parallel.
+ */
+public final class MoneyAccumulator {
+
+    private static final int SCALE = 4;
+    private static final long SCALE_FACTOR = 10_000L;
+    private static final long MAX_SCALABLE = Long.MAX_VALUE / SCALE_FACTOR;
+
+    private final Currency currency;
+    private long scaled;
+    private BigDecimal overflow; // exact sum once the register has overflowed, null before
+
+    private MoneyAccumulator(Currency currency) {
+        this.currency = currency;
+    }
+
+    public static MoneyAccumulator create() {
+        return new MoneyAccumulator(Money.IDR);
+    }
+
+    public static MoneyAccumulator create(Currency currency) {
+        Objects.requireNonNull(currency, "currency cannot be null");
+        return new MoneyAccumulator(currency);
+    }
+
+    public static Collector<Money, ?, Money> summing() {
+        return summing(Money.IDR);
+    }
+
+    public static Collector<Money, ?, Money> summing(Currency currency) {
+        return summing(currency, MoneyAccumulator::add);
+    }
+
+    /**
+     * A collector that folds each element into the accumulator with {@code term}, e.g.
+     * {@code (sum, buy) -> sum.addProduct(buy.quantity(), buy.price())}.
+     */
+    public static <T> Collector<T, MoneyAccumulator, Money> summing(Currency currency, BiConsumer<MoneyAccumulator, ? super T> term) {
+        Objects.requireNonNull(currency, "currency cannot be null");
+        Objects.requireNonNull(term, "term cannot be null");
+        return Collector.of(
+                () -> new MoneyAccumulator(currency),
+                term::accept,
+                MoneyAccumulator::combine,
+                MoneyAccumulator::toMoney,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    public MoneyAccumulator add(Money money) {
+        checkSameCurrency(money);
+        if (isScalable(money)) {
+            addScaled(money.longAmount() * SCALE_FACTOR);
+        } else {
+            addAmount(money.amount());
+        }
+        return this;
+    }
+
+    public MoneyAccumulator subtract(Money money) {
+        checkSameCurrency(money);
+        if (isScalable(money)) {
+            addScaled(-money.longAmount() * SCALE_FACTOR);
+        } else {
+            addAmount(money.amount().negate());
+        }
+        return this;
+    }
+
+    public MoneyAccumulator addProduct(Quantity quantity, Money price) {
+        Objects.requireNonNull(quantity, "quantity cannot be null");
+        checkSameCurrency(price);
+        if (price.hasLongAmount()) {
+            // Quantity is already in ten-thousandths, so the product lands on the register's scale
+            long high = Math.multiplyHigh(quantity.scaledValue(), price.longAmount());
+            long product = quantity.scaledValue() * price.longAmount();
+            if ((high == 0 && product >= 0) || (high == -1 && product < 0)) {
+                addScaled(product);
+                return this;
+            }
+        }
+        addAmount(quantity.multiply(price));
+        return this;
+    }
+
+    public MoneyAccumulator combine(MoneyAccumulator other) {
+        Objects.requireNonNull(other, "other cannot be null");
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("The input currency is not equal to currency");
+        }
+        if (other.overflow != null) {
+            addExact(other.overflow);
+        } else {
+            addScaled(other.scaled);
+        }
+        return this;
+    }
+
+    public Money toMoney() {
+        if (overflow != null) {
+            return Money.of(overflow, currency);
+        }
+        if (scaled % SCALE_FACTOR == 0) {
+            return Money.of(scaled / SCALE_FACTOR, currency);
+        }
+        return Money.of(BigDecimal.valueOf(scaled, SCALE), currency);
+    }
+
+    public Currency currency() { return currency; }
+
+    private static boolean isScalable(Money money) {
+        return money.hasLongAmount() && money.longAmount() >= -MAX_SCALABLE && money.longAmount() <= MAX_SCALABLE;
+    }
+
+    // Every public term has scale <= SCALE: Money is scale 0 and Quantity at most scale 4.
+    private void addAmount(BigDecimal amount) {
+        if (overflow == null && amount.scale() <= SCALE && amount.precision() - amount.scale() <= 14) {
+            addScaled(amount.movePointRight(SCALE).longValue());
+        } else {
+            addExact(amount);
+        }
+    }
+
+    private void addScaled(long term) {
+        if (overflow == null) {
+            long sum = scaled + term;
+            // Overflow iff both operands share a sign that the result does not
+            if (((scaled ^ sum) & (term ^ sum)) >= 0) {
+                scaled = sum;
+                return;
+            }
+        }
+        addExact(BigDecimal.valueOf(term, SCALE));
+    }
+
+    private void addExact(BigDecimal amount) {
+        if (overflow == null) {
+            overflow = BigDecimal.valueOf(scaled, SCALE);
+        }
+        overflow = overflow.add(amount);
+    }
+
+    private void checkSameCurrency(Money money) {
+        Objects.requireNonNull(money, "money cannot be null");
+        if (!currency.equals(money.currency())) {
+            throw new IllegalArgumentException("The input currency is not equal to currency");
+        }
+    }
+}
@@ -1,62 +1,154 @@
 package com.budiyanto.fintrackr.shared;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.Objects;
 
-public class Quantity {
+/**
+ * A non-negative share or unit count (ADR-008), held as a fixed-point {@code long} in ten-thousandths.
+ * <p>
+ * Shares are whole numbers and units carry at most 4 decimals, so both fit the same scaled {@code long};
+ * the original scale (0 for shares, 4 for units) is kept so {@link #value()} and equality behave as before.
+ * Whole lots of 100 shares are interned. {@link #compareTo} is numeric and therefore, like
+ * {@code BigDecimal}, inconsistent with {@code equals} across shares and units of the same magnitude.
+ */
+public final class Quantity implements Comparable<Quantity> {
 
-    private final BigDecimal value;
+    private static final int SHARE_SCALE = 0;
+    private static final int UNIT_SCALE = 4;
+    static final long SCALE_FACTOR = 10_000L;
+    // The largest count either scale holds: units at this magnitude still fit in ten-thousandths
+    private static final long MAX_WHOLE = Long.MAX_VALUE / SCALE_FACTOR;
+    private static final BigDecimal MAX_VALUE = BigDecimal.valueOf(MAX_WHOLE);
 
-    private Quantity(BigDecimal value) {
-        Objects.requireNonNull(value, "Quantity value cannot be null");
-        if (value.compareTo(BigDecimal.ZERO) < 0) {
+    private static final int LOT_SIZE = 100;
+    private static final Quantity[] LOTS = new Quantity[1_001];
+
+    static {
+        for (int lots = 0; lots < LOTS.length; lots++) {
+            LOTS[lots] = new Quantity(lots * LOT_SIZE * SCALE_FACTOR, SHARE_SCALE);
+        }
+    }
+
+    private final long scaled;
+    private final int scale;
+
+    private Quantity(long scaled, int scale) {
+        if (scaled < 0) {
             throw new IllegalArgumentException("Quantity value cannot be negative");
         }
-        this.value = value;
+        this.scaled = scaled;
+        this.scale = scale;
     }
 
     public static Quantity ofShares(BigDecimal value) {
-        BigDecimal normalizedValue = normalize(value);
-        if (normalizedValue.scale() != 0) {
+        checkNonNegative(value);
+        boolean isWhole = value.scale() <= 0 || value.signum() == 0 || value.stripTrailingZeros().scale() <= 0;
+        if (!isWhole) {
             throw new IllegalArgumentException("Quantity of shares must be a whole number");
         }
-        return new Quantity(normalizedValue);
+        checkMagnitude(value);
+        return ofShares(value.longValue());
+    }
+
+    public static Quantity ofShares(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Quantity value cannot be negative");
+        }
+        if (value > MAX_WHOLE) {
+            throw new IllegalArgumentException("Quantity value is too large");
+        }
+        if (value % LOT_SIZE == 0 && value / LOT_SIZE < LOTS.length) {
+            return LOTS[(int) (value / LOT_SIZE)];
+        }
+        return new Quantity(value * SCALE_FACTOR, SHARE_SCALE);
     }
 
     public static Quantity ofUnits(BigDecimal value) {
-        BigDecimal normalizedValue = normalize(value);
-        if (normalizedValue.scale() > 4) {
+        checkNonNegative(value);
+        if (value.scale() > UNIT_SCALE && value.stripTrailingZeros().scale() > UNIT_SCALE) {
             throw new IllegalArgumentException("Quantity of units cannot have more than 4 decimal places");
         }
-        return new Quantity(value.setScale(4, RoundingMode.UNNECESSARY));
+        checkMagnitude(value);
+        return new Quantity(value.movePointRight(UNIT_SCALE).longValue(), UNIT_SCALE);
+    }
+
+    public Quantity add(Quantity other) {
+        Objects.requireNonNull(other, "other cannot be null");
+        return new Quantity(Math.addExact(scaled, other.scaled), Math.max(scale, other.scale));
+    }
+
+    public Quantity subtract(Quantity other) {
+        Objects.requireNonNull(other, "other cannot be null");
+        return new Quantity(scaled - other.scaled, Math.max(scale, other.scale));
+    }
+
+    /**
+     * The exact, unrounded {@code quantity × price}. A monetary intermediate, not money: normalize it
+     * into {@link Money} once, where it becomes committed state (ADR-007).
+     */
+    public BigDecimal multiply(Money price) {
+        Objects.requireNonNull(price, "price cannot be null");
+        long unscaled = scale == SHARE_SCALE ? scaled / SCALE_FACTOR : scaled;
+        if (price.hasLongAmount()) {
+            long high = Math.multiplyHigh(unscaled, price.longAmount());
+            long product = unscaled * price.longAmount();
+            if ((high == 0 && product >= 0) || (high == -1 && product < 0)) {
+                return BigDecimal.valueOf(product, scale);
+            }
+        }
+        return value().multiply(price.amount());
     }
 
     public boolean isZero() {
-        return value.compareTo(BigDecimal.ZERO) == 0;
+        return scaled == 0;
+    }
+
+    public BigDecimal value() {
+        return scale == SHARE_SCALE ? BigDecimal.valueOf(scaled / SCALE_FACTOR) : BigDecimal.valueOf(scaled, UNIT_SCALE);
+    }
+
+    // The value in ten-thousandths, for allocation-free arithmetic in MoneyAccumulator
+    long scaledValue() { return scaled; }
+
+    // For BinaryWriter and BinaryReader, which encode shares as whole numbers and units in ten-thousandths
+    boolean isUnits() { return scale == UNIT_SCALE; }
+
+    static Quantity ofScaledUnits(long scaled) {
+        return new Quantity(scaled, UNIT_SCALE);
     }
 
-    public BigDecimal value() { return value; }
+    @Override
+    public int compareTo(Quantity other) {
+        return Long.compare(scaled, other.scaled);
+    }
 
-    // Strip tailing zeros to normalize (e.g., 10.00 -> 10)
-    private static BigDecimal normalize(BigDecimal value) {
+    private static void checkNonNegative(BigDecimal value) {
         Objects.requireNonNull(value, "Quantity value must not be null");
-        BigDecimal normalizedValue = value.stripTrailingZeros();
-        if (normalizedValue.scale() <= 0) {
-            normalizedValue = normalizedValue.setScale(0, RoundingMode.UNNECESSARY);
+        if (value.signum() < 0) {
+            throw new IllegalArgumentException("Quantity value cannot be negative");
+        }
+    }
+
+    private static void checkMagnitude(BigDecimal value) {
+        if (value.compareTo(MAX_VALUE) > 0) {
+            throw new IllegalArgumentException("Quantity value is too large");
         }
-        return normalizedValue;
     }
 
     @Override
     public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) return false;
-        Quantity quantity = (Quantity) o;
-        return Objects.equals(value, quantity.value);
+        if (this == o) return true;
+        if (!(o instanceof Quantity quantity)) return false;
+        return scaled == quantity.scaled && scale == quantity.scale;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(value);
+        return 31 * Long.hashCode(scaled) + scale;
+    }
+
+    @Override
+    public String toString() {
+        return "Quantity[value=" + value() + "]";
     }
 }
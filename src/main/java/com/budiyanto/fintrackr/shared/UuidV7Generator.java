@@ -0,0 +1,57 @@
+package com.budiyanto.fintrackr.shared;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * UUIDv7 (RFC 9562): a 48-bit Unix-millisecond timestamp, then a 12-bit counter in {@code rand_a}
+ * (RFC 9562 §6.2, method 1), then 62 random bits.
+ * <p>
+ * Each thread keeps its own last timestamp and counter, so ids are strictly increasing per thread without
+ * any shared lock, and time-ordered to the millisecond across threads. The counter starts at a random
+ * value below 2048 each millisecond; when it runs out, the timestamp is advanced by one millisecond rather
+ * than waiting. A clock that steps backwards is treated as the last-seen millisecond.
+ */
+final class UuidV7Generator implements IdGenerator {
+
+    static final UuidV7Generator INSTANCE = new UuidV7Generator(System::currentTimeMillis);
+
+    private static final int COUNTER_BITS = 12;
+    private static final int MAX_COUNTER = (1 << COUNTER_BITS) - 1;
+    private static final int COUNTER_SEED_BOUND = 1 << (COUNTER_BITS - 1);
+    private static final long VERSION = 0x7L << COUNTER_BITS;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final long RAND_B_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    private final LongSupplier clock;
+    private final ThreadLocal<State> state = ThreadLocal.withInitial(State::new);
+
+    UuidV7Generator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public UUID nextId() {
+        State current = state.get();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now = clock.getAsLong();
+        if (now > current.millis) {
+            current.millis = now;
+            current.counter = random.nextInt(COUNTER_SEED_BOUND);
+        } else if (current.counter < MAX_COUNTER) {
+            current.counter++;
+        } else {
+            current.millis++;
+            current.counter = random.nextInt(COUNTER_SEED_BOUND);
+        }
+        long mostSignificant = (current.millis << 16) | VERSION | current.counter;
+        long leastSignificant = VARIANT | (random.nextLong() & RAND_B_MASK);
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    private static final class State {
+        private long millis = Long.MIN_VALUE;
+        private int counter;
+    }
+}
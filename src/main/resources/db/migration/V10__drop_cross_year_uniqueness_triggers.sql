@@ -0,0 +1,9 @@
+-- The V9 triggers joined every row a statement inserted against the whole of transactions and acquisitions, so a
+-- bulk import paid a probe per row per year, against every Portfolio's rows. Positions are assigned by the save
+-- path only, which must start at the stored ledger_size under the Portfolio row's version check (ADR-003), and ids
+-- are generated UUIDv7s; the per-year constraints of V5 stay.
+
+DROP TRIGGER transactions_unique_across_years ON transactions;
+DROP TRIGGER acquisitions_unique_across_years ON acquisitions;
+DROP FUNCTION reject_duplicate_transactions();
+DROP FUNCTION reject_duplicate_acquisitions();
@@ -0,0 +1,26 @@
+-- Each ledger row keeps its transaction's signed effect on the trading balance, as Transaction#cashDelta computes
+-- it, so the balance as of a date is one aggregate over the rows dated after it instead of a pass over the whole
+-- ledger. Rows are written with it from now on; the ones already stored are filled in here, the only update the
+-- append-only ledger ever takes.
+
+ALTER TABLE transactions ADD COLUMN cash_delta NUMERIC(19, 0);
+
+-- Money rounds half to even (ADR-007); round() on NUMERIC rounds half away from zero
+CREATE FUNCTION round_half_even(value NUMERIC) RETURNS NUMERIC LANGUAGE sql IMMUTABLE AS $$
+    SELECT CASE WHEN abs(value - trunc(value)) = 0.5 AND mod(trunc(value), 2) = 0 THEN trunc(value) ELSE round(value) END
+$$;
+
+ALTER TABLE transactions DISABLE TRIGGER transactions_append_only;
+UPDATE transactions t
+SET cash_delta = CASE t.type
+    WHEN 'DEPOSIT'  THEN t.amount
+    WHEN 'BUY'      THEN -round_half_even(t.quantity * t.price + t.fee)
+    WHEN 'SELL'     THEN round_half_even(t.quantity * t.price - t.fee)
+    WHEN 'DIVIDEND' THEN (SELECT coalesce(sum(a.amount), 0)
+                          FROM transaction_allocations a
+                          WHERE a.portfolio_id = t.portfolio_id AND a.position = t.position AND a.transaction_date = t.date)
+END;
+ALTER TABLE transactions ENABLE TRIGGER transactions_append_only;
+
+DROP FUNCTION round_half_even(NUMERIC);
+ALTER TABLE transactions ALTER COLUMN cash_delta SET NOT NULL;
@@ -0,0 +1,84 @@
+-- The returns PerformanceTracker keeps are stored with the rows they belong to, so a loaded Portfolio restores them
+-- instead of replaying its whole ledger: each Acquisition keeps what it has realized and been paid and the day it
+-- closed, each asset ever bought its cost basis, realized gain and dividends, and each Sell ledger row the gain it
+-- realized. Rows are written with them from now on; the ones already stored are worked out here the way the tracker
+-- does. A Sell realizes each allocation's proceeds, net of its fee slice, less the drop in its lot's pro-rata
+-- remaining cost, taking the lot's Sells in recording order; a lot's dividends are its dividend allocations.
+
+ALTER TABLE acquisitions
+    ADD COLUMN realized_gain NUMERIC(19, 0) NOT NULL DEFAULT 0,
+    ADD COLUMN dividends     NUMERIC(19, 0) NOT NULL DEFAULT 0,
+    ADD COLUMN closed_on     DATE;
+ALTER TABLE transactions ADD COLUMN realized_gain NUMERIC(19, 0);
+
+CREATE TABLE asset_performance (
+    portfolio_id  UUID           NOT NULL REFERENCES portfolios (id),
+    asset_id      CHAR(12)       NOT NULL,
+    cost_basis    NUMERIC(19, 0) NOT NULL,
+    realized_gain NUMERIC(19, 0) NOT NULL,
+    dividends     NUMERIC(19, 0) NOT NULL,
+    PRIMARY KEY (portfolio_id, asset_id)
+);
+
+-- Money rounds half to even (ADR-007); round() on NUMERIC rounds half away from zero
+CREATE FUNCTION round_half_even(value NUMERIC) RETURNS NUMERIC LANGUAGE sql IMMUTABLE AS $$
+    SELECT CASE WHEN abs(value - trunc(value)) = 0.5 AND mod(trunc(value), 2) = 0 THEN trunc(value) ELSE round(value) END
+$$;
+
+-- Acquisition#remainingCost: the open cost pro rata to the shares left, to 8 decimals and then to Money. The
+-- quotient is taken to 30 decimals, so a tie at the 9th is a true one.
+CREATE FUNCTION remaining_cost(open_cost NUMERIC, initial NUMERIC, remaining NUMERIC) RETURNS NUMERIC LANGUAGE sql IMMUTABLE AS $$
+    SELECT CASE WHEN remaining = initial THEN open_cost
+                ELSE round_half_even(round_half_even((open_cost * remaining)::NUMERIC(60, 30) / initial * 100000000) / 100000000) END
+$$;
+
+-- Every Sell allocation with the shares its lot held before it and the gain it realized
+CREATE TEMPORARY TABLE sold_allocations AS
+SELECT s.portfolio_id, s.position, s.transaction_date, s.acquisition_id, s.shares, s.held,
+       s.proceeds - (remaining_cost(s.open_cost, s.initial, s.held) - remaining_cost(s.open_cost, s.initial, s.held - s.shares)) AS gain
+FROM (SELECT a.portfolio_id, a.position, a.transaction_date, a.acquisition_id, a.quantity AS shares,
+             round_half_even(a.quantity * t.price - a.amount) AS proceeds,
+             q.open_cost, q.initial_quantity AS initial,
+             q.initial_quantity - coalesce(sum(a.quantity) OVER (PARTITION BY a.acquisition_id ORDER BY a.position, a.ordinal
+                                                                 ROWS BETWEEN UNBOUNDED PRECEDING AND 1 PRECEDING), 0) AS held
+      FROM transaction_allocations a
+      JOIN transactions t ON t.portfolio_id = a.portfolio_id AND t.position = a.position AND t.date = a.transaction_date
+      JOIN (SELECT id, initial_quantity, round_half_even(initial_quantity * open_price + open_fee) AS open_cost
+            FROM acquisitions) q ON q.id = a.acquisition_id
+      WHERE t.type = 'SELL') s;
+
+ALTER TABLE transactions DISABLE TRIGGER transactions_append_only;
+UPDATE transactions t
+SET realized_gain = s.gain
+FROM (SELECT portfolio_id, position, transaction_date, sum(gain) AS gain
+      FROM sold_allocations
+      GROUP BY portfolio_id, position, transaction_date) s
+WHERE t.portfolio_id = s.portfolio_id AND t.position = s.position AND t.date = s.transaction_date;
+ALTER TABLE transactions ENABLE TRIGGER transactions_append_only;
+
+UPDATE acquisitions q
+SET realized_gain = s.gain, closed_on = s.closed_on
+FROM (SELECT acquisition_id, sum(gain) AS gain, max(transaction_date) FILTER (WHERE held = shares) AS closed_on
+      FROM sold_allocations
+      GROUP BY acquisition_id) s
+WHERE q.id = s.acquisition_id;
+
+UPDATE acquisitions q
+SET dividends = d.amount
+FROM (SELECT a.acquisition_id, sum(a.amount) AS amount
+      FROM transaction_allocations a
+      JOIN transactions t ON t.portfolio_id = a.portfolio_id AND t.position = a.position AND t.date = a.transaction_date
+      WHERE t.type = 'DIVIDEND'
+      GROUP BY a.acquisition_id) d
+WHERE q.id = d.acquisition_id;
+
+INSERT INTO asset_performance (portfolio_id, asset_id, cost_basis, realized_gain, dividends)
+SELECT portfolio_id, asset_id, sum(round_half_even(initial_quantity * open_price + open_fee)), sum(realized_gain), sum(dividends)
+FROM acquisitions
+GROUP BY portfolio_id, asset_id;
+
+DROP TABLE sold_allocations;
+DROP FUNCTION remaining_cost(NUMERIC, NUMERIC, NUMERIC);
+DROP FUNCTION round_half_even(NUMERIC);
+ALTER TABLE acquisitions ALTER COLUMN realized_gain DROP DEFAULT, ALTER COLUMN dividends DROP DEFAULT;
+ALTER TABLE transactions ADD CONSTRAINT transactions_sell_realized_gain CHECK ((type = 'SELL') = (realized_gain IS NOT NULL));
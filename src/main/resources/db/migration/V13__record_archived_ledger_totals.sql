@@ -0,0 +1,10 @@
+-- What each Portfolio's ledger held in a year LedgerPartitions has detached, recorded as the year is detached. A
+-- loaded Portfolio no longer reads that year's rows: its balance as of a date before the year takes out the year's
+-- cash delta from here, and its full history is known to be archived rather than missing.
+CREATE TABLE archived_ledger_totals (
+    portfolio_id UUID           NOT NULL REFERENCES portfolios (id),
+    year         INTEGER        NOT NULL REFERENCES archived_ledger_years (year),
+    transactions INTEGER        NOT NULL,
+    cash_delta   NUMERIC(19, 0) NOT NULL,
+    PRIMARY KEY (portfolio_id, year)
+);
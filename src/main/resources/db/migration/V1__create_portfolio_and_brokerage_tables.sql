@@ -0,0 +1,107 @@
+-- Money is NUMERIC(19, 0): scale 0 and the range of Money's long representation (ADR-007).
+-- Quantity is unconstrained NUMERIC, which keeps the scale it was written with: 0 for shares, 4 for units (ADR-008).
+
+CREATE TABLE broker_accounts (
+    id            UUID           PRIMARY KEY,
+    name          VARCHAR(100)   NOT NULL,
+    rdn           NUMERIC(19, 0) NOT NULL CHECK (rdn >= 0),
+    buy_fee_rate  NUMERIC(7, 6)  NOT NULL,
+    sell_fee_rate NUMERIC(7, 6)  NOT NULL
+);
+
+-- No foreign key to broker_accounts: Brokerage owns that table, and modules do not share schema (ADR-001).
+CREATE TABLE portfolios (
+    id                UUID           PRIMARY KEY,
+    broker_account_id UUID           NOT NULL,
+    name              VARCHAR(100)   NOT NULL,
+    trading_balance   NUMERIC(19, 0) NOT NULL,
+    ledger_size       INTEGER        NOT NULL CHECK (ledger_size >= 0)
+);
+
+CREATE INDEX portfolios_broker_account_id_idx ON portfolios (broker_account_id);
+
+-- The ledger (ADR-004). One row per Transaction, at its position in recording order; the position is what
+-- LedgerSource pages by. Columns a transaction type does not use are null.
+--   DEPOSIT:  amount
+--   BUY:      asset_id, quantity, price, fee, acquisition_id
+--   SELL:     asset_id, quantity (total), price, fee (total); one transaction_allocations row per lot sold from
+--   DIVIDEND: asset_id, price (per share), cum_date, date (payment); one transaction_allocations row per lot paid
+CREATE TABLE transactions (
+    portfolio_id   UUID           NOT NULL REFERENCES portfolios (id),
+    position       INTEGER        NOT NULL,
+    id             UUID           NOT NULL UNIQUE,
+    type           VARCHAR(8)     NOT NULL CHECK (type IN ('DEPOSIT', 'BUY', 'SELL', 'DIVIDEND')),
+    date           DATE           NOT NULL,
+    asset_id       CHAR(12),
+    quantity       NUMERIC,
+    price          NUMERIC(19, 0),
+    fee            NUMERIC(19, 0),
+    amount         NUMERIC(19, 0),
+    acquisition_id UUID,
+    cum_date       DATE,
+    PRIMARY KEY (portfolio_id, position),
+    CHECK (CASE type
+        WHEN 'DEPOSIT'  THEN amount IS NOT NULL
+        WHEN 'BUY'      THEN asset_id IS NOT NULL AND quantity IS NOT NULL AND price IS NOT NULL AND fee IS NOT NULL
+                             AND acquisition_id IS NOT NULL
+        WHEN 'SELL'     THEN asset_id IS NOT NULL AND quantity IS NOT NULL AND price IS NOT NULL AND fee IS NOT NULL
+        WHEN 'DIVIDEND' THEN asset_id IS NOT NULL AND price IS NOT NULL AND cum_date IS NOT NULL
+    END)
+);
+
+-- For a SELL, the shares taken from one Acquisition and the fee slice that went with them; for a DIVIDEND, the
+-- shares one Acquisition held at the cum date and what they earned.
+CREATE TABLE transaction_allocations (
+    transaction_id UUID           NOT NULL REFERENCES transactions (id),
+    ordinal        INTEGER        NOT NULL,
+    acquisition_id UUID           NOT NULL,
+    quantity       NUMERIC        NOT NULL,
+    amount         NUMERIC(19, 0) NOT NULL,
+    PRIMARY KEY (transaction_id, ordinal)
+);
+
+-- The ledger is append-only: a correction is a new transaction, never an edit (ADR-004).
+CREATE FUNCTION reject_ledger_change() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    RAISE EXCEPTION 'the ledger is append-only: % on % is not allowed', TG_OP, TG_TABLE_NAME;
+END
+$$;
+
+CREATE TRIGGER transactions_append_only
+    BEFORE UPDATE OR DELETE ON transactions
+    FOR EACH ROW EXECUTE FUNCTION reject_ledger_change();
+
+CREATE TRIGGER transactions_no_truncate
+    BEFORE TRUNCATE ON transactions
+    FOR EACH STATEMENT EXECUTE FUNCTION reject_ledger_change();
+
+CREATE TRIGGER transaction_allocations_append_only
+    BEFORE UPDATE OR DELETE ON transaction_allocations
+    FOR EACH ROW EXECUTE FUNCTION reject_ledger_change();
+
+CREATE TRIGGER transaction_allocations_no_truncate
+    BEFORE TRUNCATE ON transaction_allocations
+    FOR EACH STATEMENT EXECUTE FUNCTION reject_ledger_change();
+
+-- Cached derived state, rebuildable from the ledger (ADR-004). position is the Acquisition's place in the
+-- Portfolio's recording order, which is also the order a Holding keeps its open lots in.
+CREATE TABLE acquisitions (
+    id                 UUID           PRIMARY KEY,
+    portfolio_id       UUID           NOT NULL REFERENCES portfolios (id),
+    position           INTEGER        NOT NULL,
+    asset_id           CHAR(12)       NOT NULL,
+    open_date          DATE           NOT NULL,
+    open_price         NUMERIC(19, 0) NOT NULL,
+    open_fee           NUMERIC(19, 0) NOT NULL,
+    initial_quantity   NUMERIC        NOT NULL,
+    remaining_quantity NUMERIC        NOT NULL CHECK (remaining_quantity >= 0),
+    UNIQUE (portfolio_id, position)
+);
+
+CREATE TABLE holdings (
+    portfolio_id   UUID           NOT NULL REFERENCES portfolios (id),
+    asset_id       CHAR(12)       NOT NULL,
+    total_quantity NUMERIC        NOT NULL,
+    total_invested NUMERIC(19, 0) NOT NULL,
+    PRIMARY KEY (portfolio_id, asset_id)
+);
@@ -0,0 +1,24 @@
+-- Spring Modulith's JPA event publication registry, in the layout of its PostgreSQL schema
+CREATE TABLE event_publication (
+    id               UUID                     PRIMARY KEY,
+    listener_id      TEXT                     NOT NULL,
+    event_type       TEXT                     NOT NULL,
+    serialized_event TEXT                     NOT NULL,
+    publication_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    completion_date  TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX event_publication_serialized_event_hash_idx ON event_publication USING hash (serialized_event);
+CREATE INDEX event_publication_by_completion_date_idx ON event_publication (completion_date);
+
+CREATE TABLE event_publication_archive (
+    id               UUID                     PRIMARY KEY,
+    listener_id      TEXT                     NOT NULL,
+    event_type       TEXT                     NOT NULL,
+    serialized_event TEXT                     NOT NULL,
+    publication_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    completion_date  TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX event_publication_archive_serialized_event_hash_idx ON event_publication_archive USING hash (serialized_event);
+CREATE INDEX event_publication_archive_by_completion_date_idx ON event_publication_archive (completion_date);
@@ -0,0 +1,3 @@
+-- Optimistic concurrency: every update of an aggregate row checks and bumps its version
+ALTER TABLE broker_accounts ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE portfolios ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,25 @@
+-- Dashboard read model, projected from Portfolio Management's events. Every row keeps the ledger position (or,
+-- for prices, the trade date) it was projected from; an upsert only replaces a row with newer state.
+CREATE TABLE dashboard_portfolios (
+    portfolio_id    UUID                     PRIMARY KEY,
+    position        INT                      NOT NULL,
+    trading_balance NUMERIC(19, 0)           NOT NULL,
+    recorded_at     TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Sold-out holdings stay, at zero, so a late event from before the sale cannot bring them back
+CREATE TABLE dashboard_holdings (
+    portfolio_id UUID           NOT NULL,
+    asset_id     CHAR(12)       NOT NULL,
+    position     INT            NOT NULL,
+    quantity     NUMERIC        NOT NULL,
+    invested     NUMERIC(19, 0) NOT NULL,
+    PRIMARY KEY (portfolio_id, asset_id)
+);
+
+-- The last price each asset traded at in any ledger
+CREATE TABLE dashboard_prices (
+    asset_id   CHAR(12)       PRIMARY KEY,
+    price      NUMERIC(19, 0) NOT NULL,
+    price_date DATE           NOT NULL
+);
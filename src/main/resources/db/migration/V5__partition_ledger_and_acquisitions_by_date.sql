@@ -0,0 +1,144 @@
+-- The ledger and Acquisitions, range-partitioned by date: one partition per calendar year, plus one for
+-- everything before 2000. Each year's indexes cover only that year, so the year being written to keeps small
+-- indexes and vacuums only its own rows however long the history grows. A finished year can be detached for
+-- archival (LedgerPartitions).
+--
+-- Postgres requires every unique constraint on a partitioned table to include the partition key:
+--   * transactions:            (portfolio_id, position) is unique per Portfolio only within a partition. The save
+--                              path still guarantees it: a save must start at the stored ledger_size, under an
+--                              optimistic version check (ADR-003).
+--   * transaction_allocations: carries its transaction's portfolio, position and date, which both partitions it
+--                              with its transaction and lets a ledger page read it without a join. It keeps no
+--                              foreign key to transactions, which would stop a year from being detached; one
+--                              writer inserts both in the same statement sequence.
+--   * acquisitions:            keyed by (id, open_date); updates name the open date, or the Portfolio's date span,
+--                              so they touch only the partitions that can hold the row.
+--
+-- Every Portfolio-scoped query also bounds the partition key by the Portfolio's first and last transaction dates,
+-- stored on its row, so the planner prunes the years outside them.
+
+ALTER TABLE portfolios ADD COLUMN first_date DATE;
+ALTER TABLE portfolios ADD COLUMN last_date DATE;
+UPDATE portfolios p
+SET first_date = span.first_date, last_date = span.last_date
+FROM (SELECT portfolio_id, min(date) AS first_date, max(date) AS last_date FROM transactions GROUP BY portfolio_id) span
+WHERE span.portfolio_id = p.id;
+
+-- Move the unpartitioned tables aside; their rows are copied below and the tables dropped
+ALTER TABLE transaction_allocations RENAME TO transaction_allocations_v1;
+ALTER INDEX transaction_allocations_pkey RENAME TO transaction_allocations_v1_pkey;
+ALTER TABLE transactions RENAME TO transactions_v1;
+ALTER INDEX transactions_pkey RENAME TO transactions_v1_pkey;
+ALTER INDEX transactions_id_key RENAME TO transactions_v1_id_key;
+ALTER TABLE acquisitions RENAME TO acquisitions_v1;
+ALTER INDEX acquisitions_pkey RENAME TO acquisitions_v1_pkey;
+ALTER INDEX acquisitions_portfolio_id_position_key RENAME TO acquisitions_v1_portfolio_id_position_key;
+
+CREATE TABLE transactions (
+    portfolio_id   UUID           NOT NULL REFERENCES portfolios (id),
+    position       INTEGER        NOT NULL,
+    id             UUID           NOT NULL,
+    type           VARCHAR(8)     NOT NULL CHECK (type IN ('DEPOSIT', 'BUY', 'SELL', 'DIVIDEND')),
+    date           DATE           NOT NULL,
+    asset_id       CHAR(12),
+    quantity       NUMERIC,
+    price          NUMERIC(19, 0),
+    fee            NUMERIC(19, 0),
+    amount         NUMERIC(19, 0),
+    acquisition_id UUID,
+    cum_date       DATE,
+    PRIMARY KEY (portfolio_id, position, date),
+    UNIQUE (id, date),
+    CHECK (CASE type
+        WHEN 'DEPOSIT'  THEN amount IS NOT NULL
+        WHEN 'BUY'      THEN asset_id IS NOT NULL AND quantity IS NOT NULL AND price IS NOT NULL AND fee IS NOT NULL
+                             AND acquisition_id IS NOT NULL
+        WHEN 'SELL'     THEN asset_id IS NOT NULL AND quantity IS NOT NULL AND price IS NOT NULL AND fee IS NOT NULL
+        WHEN 'DIVIDEND' THEN asset_id IS NOT NULL AND price IS NOT NULL AND cum_date IS NOT NULL
+    END)
+) PARTITION BY RANGE (date);
+
+CREATE INDEX transactions_portfolio_id_date_idx ON transactions (portfolio_id, date);
+
+CREATE TABLE transaction_allocations (
+    transaction_id   UUID           NOT NULL,
+    ordinal          INTEGER        NOT NULL,
+    portfolio_id     UUID           NOT NULL,
+    position         INTEGER        NOT NULL,
+    transaction_date DATE           NOT NULL,
+    acquisition_id   UUID           NOT NULL,
+    quantity         NUMERIC        NOT NULL,
+    amount           NUMERIC(19, 0) NOT NULL,
+    PRIMARY KEY (portfolio_id, position, ordinal, transaction_date)
+) PARTITION BY RANGE (transaction_date);
+
+CREATE TABLE acquisitions (
+    id                 UUID           NOT NULL,
+    portfolio_id       UUID           NOT NULL REFERENCES portfolios (id),
+    position           INTEGER        NOT NULL,
+    asset_id           CHAR(12)       NOT NULL,
+    open_date          DATE           NOT NULL,
+    open_price         NUMERIC(19, 0) NOT NULL,
+    open_fee           NUMERIC(19, 0) NOT NULL,
+    initial_quantity   NUMERIC        NOT NULL,
+    remaining_quantity NUMERIC        NOT NULL CHECK (remaining_quantity >= 0),
+    PRIMARY KEY (id, open_date),
+    UNIQUE (portfolio_id, position, open_date)
+) PARTITION BY RANGE (open_date);
+
+-- Row triggers on the partitioned tables are cloned onto every partition; TRUNCATE triggers are per table and
+-- are added to each ledger partition as it is created.
+CREATE TRIGGER transactions_append_only
+    BEFORE UPDATE OR DELETE ON transactions
+    FOR EACH ROW EXECUTE FUNCTION reject_ledger_change();
+
+CREATE TRIGGER transaction_allocations_append_only
+    BEFORE UPDATE OR DELETE ON transaction_allocations
+    FOR EACH ROW EXECUTE FUNCTION reject_ledger_change();
+
+-- Creates the partitions of one range in all three tables, named <table>_<suffix>; a no-op for those that exist
+CREATE FUNCTION create_ledger_partition(suffix TEXT, from_date DATE, to_date DATE) RETURNS void LANGUAGE plpgsql AS $$
+DECLARE
+    ledger_table TEXT;
+    bounds       TEXT := CASE WHEN from_date IS NULL
+                              THEN format('FROM (MINVALUE) TO (%L)', to_date)
+                              ELSE format('FROM (%L) TO (%L)', from_date, to_date) END;
+BEGIN
+    FOREACH ledger_table IN ARRAY ARRAY['transactions', 'transaction_allocations'] LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES %s',
+                       ledger_table || '_' || suffix, ledger_table, bounds);
+        EXECUTE format('CREATE OR REPLACE TRIGGER %I BEFORE TRUNCATE ON %I FOR EACH STATEMENT EXECUTE FUNCTION reject_ledger_change()',
+                       ledger_table || '_no_truncate', ledger_table || '_' || suffix);
+    END LOOP;
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF acquisitions FOR VALUES %s', 'acquisitions_' || suffix, bounds);
+END
+$$;
+
+-- The yearly partitions from first_year to last_year, inclusive; what the scheduled job calls
+CREATE FUNCTION create_ledger_partitions(first_year INTEGER, last_year INTEGER) RETURNS void LANGUAGE plpgsql AS $$
+BEGIN
+    FOR partition_year IN first_year .. last_year LOOP
+        PERFORM create_ledger_partition(partition_year::TEXT, make_date(partition_year, 1, 1), make_date(partition_year + 1, 1, 1));
+    END LOOP;
+END
+$$;
+
+SELECT create_ledger_partition('before_2000', NULL, DATE '2000-01-01');
+SELECT create_ledger_partitions(2000, extract(YEAR FROM current_date)::INTEGER + 1);
+
+INSERT INTO transactions
+SELECT portfolio_id, position, id, type, date, asset_id, quantity, price, fee, amount, acquisition_id, cum_date
+FROM transactions_v1;
+
+INSERT INTO transaction_allocations
+SELECT a.transaction_id, a.ordinal, t.portfolio_id, t.position, t.date, a.acquisition_id, a.quantity, a.amount
+FROM transaction_allocations_v1 a
+JOIN transactions_v1 t ON t.id = a.transaction_id;
+
+INSERT INTO acquisitions
+SELECT id, portfolio_id, position, asset_id, open_date, open_price, open_fee, initial_quantity, remaining_quantity
+FROM acquisitions_v1;
+
+DROP TABLE transaction_allocations_v1;
+DROP TABLE transactions_v1;
+DROP TABLE acquisitions_v1;
@@ -0,0 +1,12 @@
+-- A Portfolio is loaded with only its open Acquisitions; sold-out ones stay in storage and are replayed from the
+-- ledger when something asks for them. The partial index keeps that read to the lots still held, and is cloned
+-- onto every partition, including those created later.
+CREATE INDEX acquisitions_open ON acquisitions (portfolio_id, position) WHERE remaining_quantity > 0;
+
+-- The position the next Acquisition is inserted at, which the loaded Acquisitions no longer tell
+ALTER TABLE portfolios ADD COLUMN acquisition_count INTEGER NOT NULL DEFAULT 0 CHECK (acquisition_count >= 0);
+UPDATE portfolios p
+SET acquisition_count = opened.acquisition_count
+FROM (SELECT portfolio_id, count(*) AS acquisition_count FROM acquisitions GROUP BY portfolio_id) opened
+WHERE opened.portfolio_id = p.id;
+ALTER TABLE portfolios ALTER COLUMN acquisition_count DROP DEFAULT;
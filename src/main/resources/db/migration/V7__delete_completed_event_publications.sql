@@ -0,0 +1,3 @@
+-- Completed publications are now deleted as they complete (completion-mode=delete); a dashboard rebuild reads
+-- Portfolio Management's stored state instead of replaying them. Drop the ones kept so far.
+DELETE FROM event_publication WHERE completion_date IS NOT NULL;
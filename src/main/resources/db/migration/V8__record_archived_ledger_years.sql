@@ -0,0 +1,6 @@
+-- The years whose ledger partitions LedgerPartitions has detached. A Portfolio is loaded with them and rejects any
+-- transaction dated in one, which would otherwise find no partition to insert into.
+CREATE TABLE archived_ledger_years (
+    year        INTEGER                  PRIMARY KEY,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
@@ -0,0 +1,53 @@
+-- A unique constraint on a partitioned table must include the partition key (V5), so (portfolio_id, position) and
+-- id are only unique within a year of transactions and Acquisitions. These statement triggers check the rows a
+-- statement inserted against every year, and reject a duplicate the way a unique constraint would.
+--
+-- Each inserted row costs one index probe per yearly partition, on the (portfolio_id, position, …) and (id, …)
+-- keys every partition already has. The checks see only committed rows and the inserting transaction's own, so
+-- two concurrent inserts could still both pass; the save path rules that out, since a save must start at the
+-- stored ledger_size under an optimistic version check (ADR-003). The triggers catch everything else, such as a
+-- bug that writes a position twice on different dates, or a manual insert.
+
+CREATE FUNCTION reject_duplicate_transactions() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    IF EXISTS (SELECT 1
+               FROM inserted i
+               JOIN transactions t ON t.portfolio_id = i.portfolio_id AND t.position = i.position
+               GROUP BY i.portfolio_id, i.position
+               HAVING count(*) > 1) THEN
+        RAISE EXCEPTION 'a transaction already holds this ledger position' USING ERRCODE = 'unique_violation';
+    END IF;
+    IF EXISTS (SELECT 1 FROM inserted i JOIN transactions t ON t.id = i.id GROUP BY i.id HAVING count(*) > 1) THEN
+        RAISE EXCEPTION 'a transaction already has this id' USING ERRCODE = 'unique_violation';
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+CREATE FUNCTION reject_duplicate_acquisitions() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    IF EXISTS (SELECT 1
+               FROM inserted i
+               JOIN acquisitions a ON a.portfolio_id = i.portfolio_id AND a.position = i.position
+               GROUP BY i.portfolio_id, i.position
+               HAVING count(*) > 1) THEN
+        RAISE EXCEPTION 'an Acquisition already holds this position' USING ERRCODE = 'unique_violation';
+    END IF;
+    IF EXISTS (SELECT 1 FROM inserted i JOIN acquisitions a ON a.id = i.id GROUP BY i.id HAVING count(*) > 1) THEN
+        RAISE EXCEPTION 'an Acquisition already has this id' USING ERRCODE = 'unique_violation';
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+-- On the partitioned tables themselves, where every insert and COPY is aimed; the transition table collects the
+-- rows routed to all partitions
+CREATE TRIGGER transactions_unique_across_years
+    AFTER INSERT ON transactions
+    REFERENCING NEW TABLE AS inserted
+    FOR EACH STATEMENT EXECUTE FUNCTION reject_duplicate_transactions();
+
+CREATE TRIGGER acquisitions_unique_across_years
+    AFTER INSERT ON acquisitions
+    REFERENCING NEW TABLE AS inserted
+    FOR EACH STATEMENT EXECUTE FUNCTION reject_duplicate_acquisitions();
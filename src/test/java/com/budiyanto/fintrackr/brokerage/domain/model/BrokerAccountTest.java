@@ -115,6 +115,34 @@ class BrokerAccountTest {
 
     }
 
+    @Nested
+    @DisplayName("Restore Tests")
+    class RestoreTest {
+
+        @Test
+        @DisplayName("Restore a BrokerAccount with its id and RDN")
+        void should_keepIdAndRdn_when_restored() {
+            // Given
+            brokerAccount.applyCashFlow(Money.of(new BigDecimal("1000000")));
+
+            // When
+            var restored = BrokerAccount.restore(brokerAccount.id(), name, brokerAccount.rdn(), feeStructure);
+
+            // Then
+            assertThat(restored).isEqualTo(brokerAccount);
+            assertThat(restored.rdn()).isEqualTo(Money.of(new BigDecimal("1000000")));
+            assertThat(restored.feeStructure()).isEqualTo(feeStructure);
+        }
+
+        @Test
+        @DisplayName("Reject restore when the RDN is negative")
+        void should_throwIAE_when_rdnIsNegative() {
+            // When & Then
+            assertThatThrownBy(() -> BrokerAccount.restore(brokerAccount.id(), name, Money.of(new BigDecimal("-1")), feeStructure))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
     @Nested
     @DisplayName("Apply Cash Flow Tests")
     class ApplyCashFlowTest {
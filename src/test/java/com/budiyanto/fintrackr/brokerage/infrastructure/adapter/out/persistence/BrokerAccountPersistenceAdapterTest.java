@@ -0,0 +1,74 @@
+package com.budiyanto.fintrackr.brokerage.infrastructure.adapter.out.persistence;
+
+import com.budiyanto.fintrackr.TestcontainersConfiguration;
+import com.budiyanto.fintrackr.brokerage.domain.model.BrokerAccount;
+import com.budiyanto.fintrackr.brokerage.domain.model.FeeStructure;
+import com.budiyanto.fintrackr.brokerage.domain.model.Percentage;
+import com.budiyanto.fintrackr.shared.Money;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, BrokerAccountPersistenceAdapter.class})
+@DisplayName("BrokerAccountPersistenceAdapter Tests")
+class BrokerAccountPersistenceAdapterTest {
+
+    private final FeeStructure feeStructure = FeeStructure.of(
+            Percentage.of(new BigDecimal("0.0015")),
+            Percentage.of(new BigDecimal("0.0025")));
+
+    @Autowired
+    private BrokerAccountPersistenceAdapter adapter;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Load back the name, RDN and fee structure that were saved")
+    void should_restoreSameState_when_loadedAfterSave() {
+        // Given
+        BrokerAccount brokerAccount = BrokerAccount.create("Stockbit", feeStructure);
+        brokerAccount.applyCashFlow(Money.of(10_000_000L));
+
+        // When
+        adapter.save(brokerAccount);
+        entityManager.flush();
+        entityManager.clear();
+        BrokerAccount loaded = adapter.findById(brokerAccount.id()).orElseThrow();
+
+        // Then
+        assertThat(loaded.name()).isEqualTo("Stockbit");
+        assertThat(loaded.rdn()).isEqualTo(Money.of(10_000_000L));
+        assertThat(loaded.feeStructure()).isEqualTo(feeStructure);
+    }
+
+    @Test
+    @DisplayName("Overwrite the stored row when saved again")
+    void should_updateRow_when_savedAgain() {
+        // Given
+        BrokerAccount brokerAccount = BrokerAccount.create("Stockbit", feeStructure);
+        adapter.save(brokerAccount);
+        entityManager.flush();
+        entityManager.clear();
+        BrokerAccount loaded = adapter.findById(brokerAccount.id()).orElseThrow();
+        loaded.rename("Ajaib");
+
+        // When
+        adapter.save(loaded);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertThat(adapter.findById(brokerAccount.id()).orElseThrow().name()).isEqualTo("Ajaib");
+    }
+}
@@ -0,0 +1,113 @@
+package com.budiyanto.fintrackr.dashboard.infrastructure.adapter.out.persistence;
+
+import com.budiyanto.fintrackr.TestcontainersConfiguration;
+import com.budiyanto.fintrackr.dashboard.HoldingView;
+import com.budiyanto.fintrackr.dashboard.PortfolioValuation;
+import com.budiyanto.fintrackr.dashboard.application.HoldingsProjection;
+import com.budiyanto.fintrackr.portfolio.PortfolioEvent;
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, JdbcDashboardStore.class})
+@DisplayName("JdbcDashboardStore Tests")
+class JdbcDashboardStoreTest {
+
+    private final Instant recordedAt = Instant.parse("2026-06-28T09:00:00Z");
+    private final LocalDate date = LocalDate.of(2026, 6, 20);
+    private final String bbca = "ID1000109507";
+    private final UUID portfolioId = UUID.randomUUID();
+
+    @Autowired
+    private JdbcDashboardStore store;
+
+    private SimpleMeterRegistry meterRegistry;
+    private HoldingsProjection projection;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        projection = new HoldingsProjection(store, Clock.fixed(recordedAt.plusSeconds(2), ZoneOffset.UTC), meterRegistry);
+    }
+
+    private PortfolioEvent.BuyRecorded buy(int position, long held, long invested, long price, long balance) {
+        return new PortfolioEvent.BuyRecorded(portfolioId, position, date, bbca, BigDecimal.valueOf(100), BigDecimal.valueOf(price),
+                BigDecimal.valueOf(1_350), new PortfolioEvent.HoldingState(bbca, BigDecimal.valueOf(held), BigDecimal.valueOf(invested)),
+                BigDecimal.valueOf(balance), recordedAt);
+    }
+
+    @Test
+    @DisplayName("Value holdings at the last traded price and add the trading balance")
+    void should_valueHoldingsAtLastPrice_when_buysProjected() {
+        // Given
+        projection.apply(new PortfolioEvent.DepositRecorded(portfolioId, 0, date, BigDecimal.valueOf(10_000_000),
+                BigDecimal.valueOf(10_000_000), recordedAt));
+        projection.apply(buy(1, 100, 901_350, 9_000, 9_098_650));
+        projection.apply(buy(2, 200, 1_852_700, 9_500, 8_147_300));
+
+        // When
+        PortfolioValuation valuation = store.valuation(portfolioId).orElseThrow();
+
+        // Then
+        assertThat(store.holdings(portfolioId)).singleElement().satisfies(holding -> {
+            assertThat(holding.assetId()).isEqualTo(AssetId.of(bbca));
+            assertThat(holding.quantity()).isEqualTo(Quantity.ofShares(200L));
+            assertThat(holding.lastPrice()).isEqualTo(Money.of(9_500L));
+            assertThat(holding.marketValue()).isEqualTo(Money.of(1_900_000L));
+        });
+        assertThat(valuation.position()).isEqualTo(2);
+        assertThat(valuation.invested()).isEqualTo(Money.of(1_852_700L));
+        assertThat(valuation.total()).isEqualTo(Money.of(8_147_300L + 1_900_000L));
+        assertThat(meterRegistry.get(HoldingsProjection.LAG).timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Keep the newest state when events arrive late or twice")
+    void should_keepNewestState_when_eventsOutOfOrderOrRepeated() {
+        // Given
+        projection.apply(buy(2, 200, 1_852_700, 9_500, 8_147_300));
+
+        // When
+        projection.apply(buy(1, 100, 901_350, 9_000, 9_098_650));
+        projection.apply(buy(2, 200, 1_852_700, 9_500, 8_147_300));
+
+        // Then
+        assertThat(store.holdings(portfolioId)).extracting(HoldingView::quantity).containsExactly(Quantity.ofShares(200L));
+        assertThat(store.valuation(portfolioId).orElseThrow().tradingBalance()).isEqualTo(Money.of(8_147_300L));
+    }
+
+    @Test
+    @DisplayName("Leave a sold-out holding out of the dashboard")
+    void should_omitHolding_when_soldOut() {
+        // Given
+        projection.apply(buy(1, 100, 901_350, 9_000, 9_098_650));
+
+        // When
+        projection.apply(new PortfolioEvent.SellRecorded(portfolioId, 2, date.plusDays(1), bbca, BigDecimal.valueOf(100),
+                BigDecimal.valueOf(10_000), BigDecimal.valueOf(2_500), new PortfolioEvent.HoldingState(bbca, BigDecimal.ZERO, BigDecimal.ZERO),
+                BigDecimal.valueOf(10_096_150), recordedAt));
+
+        // Then
+        assertThat(store.holdings(portfolioId)).isEmpty();
+        assertThat(store.valuation(portfolioId).orElseThrow().marketValue()).isEqualTo(Money.zero());
+    }
+}
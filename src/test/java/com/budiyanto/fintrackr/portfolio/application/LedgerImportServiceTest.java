@@ -0,0 +1,169 @@
+package com.budiyanto.fintrackr.portfolio.application;
+
+import com.budiyanto.fintrackr.portfolio.PortfolioEvent;
+import com.budiyanto.fintrackr.portfolio.application.port.BrokerAccountCash;
+import com.budiyanto.fintrackr.portfolio.application.port.PortfolioRepository;
+import com.budiyanto.fintrackr.portfolio.domain.model.Portfolio;
+import com.budiyanto.fintrackr.portfolio.domain.model.PortfolioId;
+import com.budiyanto.fintrackr.portfolio.domain.model.Violation;
+import com.budiyanto.fintrackr.shared.BrokerAccountId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LedgerImportService Tests")
+class LedgerImportServiceTest {
+
+    private final LocalDate today = LocalDate.of(2026, 6, 28);
+    private final BrokerAccountId brokerAccountId = BrokerAccountId.generate();
+
+    private InMemoryPortfolioRepository repository;
+    private List<Money> cashFlows;
+    private List<PortfolioEvent> events;
+    private LedgerImportService service;
+    private PortfolioId portfolioId;
+
+    @BeforeEach
+    void setup() {
+        repository = new InMemoryPortfolioRepository();
+        cashFlows = new ArrayList<>();
+        events = new ArrayList<>();
+        BrokerAccountCash cash = new BrokerAccountCash() {
+            @Override
+            public Money buyFee(BrokerAccountId brokerAccountId, Quantity quantity, Money price) {
+                throw new AssertionError("imports carry their own fees");
+            }
+
+            @Override
+            public Money sellFee(BrokerAccountId brokerAccountId, Quantity quantity, Money price) {
+                throw new AssertionError("imports carry their own fees");
+            }
+
+            @Override
+            public void applyCashFlow(BrokerAccountId brokerAccountId, Money delta) {
+                cashFlows.add(delta);
+            }
+        };
+        OptimisticRetry retry = new OptimisticRetry(TransactionOperations.withoutTransaction(),
+                new RetryPolicy(3, Duration.ZERO, Duration.ZERO), new SimpleMeterRegistry());
+        service = new LedgerImportService(repository, cash, events::add, retry, Clock.fixed(today.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+
+        Portfolio portfolio = Portfolio.create(brokerAccountId, "Main");
+        repository.save(portfolio);
+        portfolioId = portfolio.id();
+    }
+
+    @Test
+    @DisplayName("Record every row in one save and move the RDN once by their sum")
+    void should_recordAllRowsAndMoveRdnOnce_when_everyRowValid() {
+        // Given
+        List<LedgerImportRow> rows = List.of(
+                new LedgerImportRow.Deposit(Money.of(10_000_000L), today.minusDays(3)),
+                new LedgerImportRow.Buy("ID1000109507", Quantity.ofShares(100L), Money.of(9_000L), Money.of(1_500L), today.minusDays(2)),
+                new LedgerImportRow.Buy("ID1000118201", Quantity.ofShares(200L), Money.of(4_000L), Money.of(1_200L), today.minusDays(1)));
+
+        // When
+        ImportReport report = service.importLedger(portfolioId, rows);
+
+        // Then
+        assertThat(report.isImported()).isTrue();
+        assertThat(report.cashDelta()).isEqualTo(Money.of(10_000_000L - 901_500L - 801_200L));
+        assertThat(repository.saves).isEqualTo(2);
+        assertThat(repository.findById(portfolioId).orElseThrow().transactions()).hasSize(3);
+        assertThat(cashFlows).containsExactly(report.cashDelta());
+        assertThat(events).singleElement().isInstanceOf(PortfolioEvent.LedgerImported.class);
+        PortfolioEvent.LedgerImported imported = (PortfolioEvent.LedgerImported) events.getFirst();
+        assertThat(imported.firstPosition()).isZero();
+        assertThat(imported.position()).isEqualTo(2);
+        assertThat(imported.holdings()).extracting(PortfolioEvent.HoldingState::isin).containsExactly("ID1000109507", "ID1000118201");
+        assertThat(imported.prices()).extracting(PortfolioEvent.TradePrice::price).containsExactly(new BigDecimal("9000"), new BigDecimal("4000"));
+    }
+
+    @Test
+    @DisplayName("Report bad ISINs and the rule breaks of the other rows, and write nothing")
+    void should_reportEveryBadRowAndWriteNothing_when_isinInvalid() {
+        // Given
+        List<LedgerImportRow> rows = List.of(
+                new LedgerImportRow.Deposit(Money.of(1_000_000L), today.minusDays(3)),
+                new LedgerImportRow.Buy("IDN000053409", Quantity.ofShares(100L), Money.of(9_000L), Money.of(1_500L), today.minusDays(2)),
+                new LedgerImportRow.Buy("ID1000109507", Quantity.ofShares(200L), Money.of(9_000L), Money.of(1_500L), today.minusDays(1)));
+
+        // When
+        ImportReport report = service.importLedger(portfolioId, rows);
+
+        // Then
+        assertThat(report.isImported()).isFalse();
+        assertThat(report.invalidIsins()).containsOnlyKeys(1).containsValue("IDN000053409");
+        assertThat(report.violations()).containsOnlyKeys(2);
+        assertThat(report.violations().get(2)).isInstanceOf(Violation.InsufficientBalance.class);
+        assertThat(report.cashDelta()).isEqualTo(Money.zero());
+        assertThat(repository.saves).isEqualTo(1);
+        assertThat(cashFlows).isEmpty();
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Report rows the Portfolio rejects by their index in the file, and write nothing")
+    void should_reportViolationsAndWriteNothing_when_rowBreaksRule() {
+        // Given
+        List<LedgerImportRow> rows = List.of(
+                new LedgerImportRow.Deposit(Money.of(1_000_000L), today.minusDays(3)),
+                new LedgerImportRow.Deposit(Money.of(500_000L), today.plusDays(1)));
+
+        // When
+        ImportReport report = service.importLedger(portfolioId, rows);
+
+        // Then
+        assertThat(report.invalidIsins()).isEmpty();
+        assertThat(report.violations()).containsOnlyKeys(1);
+        assertThat(report.violations().get(1)).isInstanceOf(Violation.FutureDated.class);
+        assertThat(repository.findById(portfolioId).orElseThrow().transactions()).isEmpty();
+        assertThat(cashFlows).isEmpty();
+    }
+
+    // Hands out a fresh copy on every load, as a database would, and counts saves
+    private static class InMemoryPortfolioRepository implements PortfolioRepository {
+
+        private final Map<PortfolioId, Portfolio> portfolios = new HashMap<>();
+        private int saves;
+
+        @Override
+        public List<PortfolioId> findAllIds() {
+            return List.copyOf(portfolios.keySet());
+        }
+
+        @Override
+        public Optional<Portfolio> findById(PortfolioId id) {
+            return Optional.ofNullable(portfolios.get(id))
+                    .map(stored -> Portfolio.replay(stored.id(), stored.brokerAccountId(), stored.name(), List.copyOf(stored.transactions())));
+        }
+
+        @Override
+        public void save(Portfolio portfolio) {
+            saves++;
+            portfolios.put(portfolio.id(), portfolio);
+        }
+
+        @Override
+        public void repair(Portfolio replayed) {
+            portfolios.put(replayed.id(), replayed);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.budiyanto.fintrackr.portfolio.application;
+
+import com.budiyanto.fintrackr.portfolio.application.port.PortfolioRepository;
+import com.budiyanto.fintrackr.portfolio.application.port.RdnLookup;
+import com.budiyanto.fintrackr.portfolio.domain.model.Portfolio;
+import com.budiyanto.fintrackr.portfolio.domain.model.PortfolioId;
+import com.budiyanto.fintrackr.portfolio.domain.model.PortfolioSnapshot;
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.BrokerAccountId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Ledger Rebuild Engine Tests")
+class LedgerRebuildEngineTest {
+
+    private final LocalDate date = LocalDate.of(2026, 6, 20);
+    private final LocalDate today = LocalDate.of(2026, 6, 28);
+    private final AssetId bbca = AssetId.of("ID1000109507");
+    private final BrokerAccountId brokerAccountId = BrokerAccountId.generate();
+
+    private InMemoryPortfolioRepository repository;
+    private Map<BrokerAccountId, Money> rdns;
+    private LedgerRebuildEngine engine;
+
+    @BeforeEach
+    void setup() {
+        repository = new InMemoryPortfolioRepository();
+        rdns = new HashMap<>();
+        RdnLookup rdnLookup = brokerAccountId -> Optional.ofNullable(rdns.get(brokerAccountId));
+        engine = new LedgerRebuildEngine(repository, rdnLookup, 4);
+    }
+
+    @Test
+    @DisplayName("Report a clean run when every cache matches its ledger and the RDN matches the trading balances")
+    void should_reportClean_when_cachesAndRdnInSync() {
+        // Given
+        repository.save(portfolioWith(Money.of(10_000_000L)));
+        repository.save(portfolioWith(Money.of(5_000_000L)));
+        rdns.put(brokerAccountId, Money.of(15_000_000L - 582_500L * 2));
+
+        // When
+        RebuildReport report = engine.verify();
+
+        // Then
+        assertThat(report.portfoliosChecked()).isEqualTo(2);
+        assertThat(report.isClean()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Report drift without saving anything when verifying")
+    void should_reportDriftWithoutSaving_when_verifying() {
+        // Given
+        Portfolio drifted = drifted(portfolioWith(Money.of(10_000_000L)));
+        repository.save(drifted);
+        rdns.put(brokerAccountId, Money.of(10_000_000L - 582_500L));
+        int savesBefore = repository.saves.get();
+
+        // When
+        RebuildReport report = engine.verify();
+
+        // Then
+        assertThat(report.drifts()).singleElement().satisfies(drift -> {
+            assertThat(drift.portfolioId()).isEqualTo(drifted.id());
+            assertThat(drift.balanceDrifted()).isTrue();
+            assertThat(drift.replayedBalance()).isEqualTo(Money.of(10_000_000L - 582_500L));
+            assertThat(drift.repaired()).isFalse();
+        });
+        assertThat(report.breaches()).isEmpty(); // checked against the replayed balance
+        assertThat(repository.saves.get()).isEqualTo(savesBefore);
+    }
+
+    @Test
+    @DisplayName("Save the replayed state over a drifted cache when repairing")
+    void should_saveReplayedState_when_repairing() {
+        // Given
+        repository.save(drifted(portfolioWith(Money.of(10_000_000L))));
+        rdns.put(brokerAccountId, Money.of(10_000_000L - 582_500L));
+
+        // When
+        RebuildReport repaired = engine.repair();
+        RebuildReport afterwards = engine.verify();
+
+        // Then
+        assertThat(repaired.drifts()).singleElement().extracting(RebuildReport.PortfolioDrift::repaired).isEqualTo(true);
+        assertThat(afterwards.isClean()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Report a cash invariant breach when the RDN differs from the sum of trading balances")
+    void should_reportBreach_when_rdnDiffers() {
+        // Given
+        BrokerAccountId unknown = BrokerAccountId.generate();
+        repository.save(portfolioWith(Money.of(10_000_000L)));
+        repository.save(Portfolio.create(unknown, "Orphan"));
+        rdns.put(brokerAccountId, Money.of(10_000_000L));
+
+        // When
+        RebuildReport report = engine.verify();
+
+        // Then
+        assertThat(report.drifts()).isEmpty();
+        assertThat(report.breaches())
+                .extracting(RebuildReport.CashInvariantBreach::brokerAccountId)
+                .containsExactlyInAnyOrder(brokerAccountId, unknown);
+        assertThat(report.breaches())
+                .filteredOn(breach -> breach.brokerAccountId().equals(brokerAccountId))
+                .singleElement()
+                .satisfies(breach -> assertThat(breach.tradingBalances()).isEqualTo(Money.of(10_000_000L - 582_500L)));
+    }
+
+    @Test
+    @DisplayName("Check every portfolio when there are many more portfolios than permits")
+    void should_checkEveryPortfolio_when_manyPortfolios() {
+        // Given
+        int count = 500;
+        for (int i = 0; i < count; i++) {
+            repository.save(i % 50 == 0 ? drifted(portfolioWith(Money.of(1_000_000L))) : portfolioWith(Money.of(1_000_000L)));
+        }
+        rdns.put(brokerAccountId, Money.of(count * (1_000_000L - 582_500L)));
+
+        // When
+        RebuildReport report = engine.verify();
+
+        // Then
+        assertThat(report.portfoliosChecked()).isEqualTo(count);
+        assertThat(report.drifts()).hasSize(count / 50);
+        assertThat(report.breaches()).isEmpty();
+        assertThat(repository.maxConcurrentLoads.get()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Report a failing portfolio and keep checking the others when one cannot be loaded")
+    void should_reportFailureAndContinue_when_onePortfolioThrows() {
+        // Given
+        Portfolio drifted = drifted(portfolioWith(Money.of(10_000_000L)));
+        Portfolio broken = portfolioWith(Money.of(5_000_000L));
+        repository.save(drifted);
+        repository.save(broken);
+        repository.failing.add(broken.id());
+        rdns.put(brokerAccountId, Money.of(10_000_000L - 582_500L));
+
+        // When
+        RebuildReport report = engine.repair();
+
+        // Then
+        assertThat(report.portfoliosChecked()).isEqualTo(2);
+        assertThat(report.drifts()).singleElement().satisfies(drift -> {
+            assertThat(drift.portfolioId()).isEqualTo(drifted.id());
+            assertThat(drift.repaired()).isTrue();
+        });
+        assertThat(report.failures()).singleElement().satisfies(failure -> {
+            assertThat(failure.portfolioId()).isEqualTo(broken.id());
+            assertThat(failure.error()).contains("concurrently modified");
+        });
+        assertThat(report.isClean()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Throw an IllegalArgumentException when parallelism is below one")
+    void should_throwException_when_parallelismBelowOne() {
+        // When & Then
+        assertThatThrownBy(() -> new LedgerRebuildEngine(repository, brokerAccountId -> Optional.empty(), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Portfolio portfolioWith(Money deposit) {
+        Portfolio portfolio = Portfolio.create(brokerAccountId, "Long-Term");
+        portfolio.recordDeposit(deposit, date, today);
+        portfolio.recordBuy(bbca, Quantity.ofShares(100L), Money.of(5_800L), Money.of(2_500L), date, today);
+        return portfolio;
+    }
+
+    // The same ledger behind a snapshot whose cached balance is off by one
+    private static Portfolio drifted(Portfolio portfolio) {
+        PortfolioSnapshot genuine = portfolio.takeSnapshot();
+        PortfolioSnapshot tampered = new PortfolioSnapshot(genuine.portfolioId(), genuine.ledgerPosition(),
+                genuine.tradingBalance().add(Money.of(1L)), genuine.acquisitions(), genuine.holdings(), genuine.lots(), genuine.positions());
+        return Portfolio.restore(portfolio.id(), portfolio.brokerAccountId(), portfolio.name(), tampered, portfolio.transactions());
+    }
+
+    private static class InMemoryPortfolioRepository implements PortfolioRepository {
+
+        private final Map<PortfolioId, Portfolio> portfolios = new ConcurrentHashMap<>();
+        private final AtomicInteger saves = new AtomicInteger();
+        private final AtomicInteger concurrentLoads = new AtomicInteger();
+        private final AtomicInteger maxConcurrentLoads = new AtomicInteger();
+        private final Set<PortfolioId> failing = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public List<PortfolioId> findAllIds() {
+            return List.copyOf(portfolios.keySet());
+        }
+
+        @Override
+        public Optional<Portfolio> findById(PortfolioId id) {
+            maxConcurrentLoads.accumulateAndGet(concurrentLoads.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(1);
+                if (failing.contains(id)) {
+                    throw new IllegalStateException("Portfolio " + id + " was concurrently modified");
+                }
+                return Optional.ofNullable(portfolios.get(id));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } finally {
+                concurrentLoads.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void save(Portfolio portfolio) {
+            saves.incrementAndGet();
+            portfolios.put(portfolio.id(), portfolio);
+        }
+
+        @Override
+        public void repair(Portfolio replayed) {
+            save(replayed);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.budiyanto.fintrackr.portfolio.application;
+
+import com.budiyanto.fintrackr.portfolio.domain.exception.InsufficientBalanceException;
+import com.budiyanto.fintrackr.shared.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("OptimisticRetry Tests")
+class OptimisticRetryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OptimisticRetry retry = new OptimisticRetry(TransactionOperations.withoutTransaction(),
+            new RetryPolicy(3, Duration.ZERO, Duration.ZERO), meterRegistry);
+
+    private double count(String name) {
+        return meterRegistry.get(name).tag("operation", "buy").counter().count();
+    }
+
+    @Test
+    @DisplayName("Run the work again after a lost version check, and count the conflict")
+    void should_retry_when_conflictThenSuccess() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        String result = retry.execute("buy", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new OptimisticLockingFailureException("version moved on");
+            }
+            return "saved";
+        });
+
+        // Then
+        assertThat(result).isEqualTo("saved");
+        assertThat(attempts).hasValue(2);
+        assertThat(count(OptimisticRetry.CONFLICTS)).isEqualTo(1);
+        assertThat(count(OptimisticRetry.RETRIES)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Give up after the last attempt and rethrow the conflict")
+    void should_rethrowConflict_when_everyAttemptLoses() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When & Then
+        assertThatThrownBy(() -> retry.execute("buy", () -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("version moved on");
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(attempts).hasValue(3);
+        assertThat(count(OptimisticRetry.CONFLICTS)).isEqualTo(3);
+        assertThat(count(OptimisticRetry.RETRIES)).isEqualTo(2);
+        assertThat(count(OptimisticRetry.EXHAUSTED)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Not retry a command the domain rejected")
+    void should_notRetry_when_domainExceptionThrown() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When & Then
+        assertThatThrownBy(() -> retry.execute("buy", () -> {
+            attempts.incrementAndGet();
+            throw new InsufficientBalanceException(Money.zero(), Money.of(1L));
+        })).isInstanceOf(InsufficientBalanceException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Keep every pause within the policy's growing, capped ceiling")
+    void should_boundBackoff_when_retriesGrow() {
+        // Given
+        RetryPolicy policy = new RetryPolicy(10, Duration.ofMillis(10), Duration.ofMillis(40));
+
+        // When & Then
+        for (int i = 0; i < 100; i++) {
+            assertThat(policy.backoff(1)).isBetween(Duration.ZERO, Duration.ofMillis(10));
+            assertThat(policy.backoff(2)).isBetween(Duration.ZERO, Duration.ofMillis(20));
+            assertThat(policy.backoff(9)).isBetween(Duration.ZERO, Duration.ofMillis(40));
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.budiyanto.fintrackr.portfolio.application;
+
+import com.budiyanto.fintrackr.portfolio.PortfolioEvent;
+import com.budiyanto.fintrackr.portfolio.application.port.BrokerAccountCash;
+import com.budiyanto.fintrackr.portfolio.application.port.PortfolioRepository;
+import com.budiyanto.fintrackr.portfolio.domain.exception.InsufficientBalanceException;
+import com.budiyanto.fintrackr.portfolio.domain.model.Portfolio;
+import com.budiyanto.fintrackr.portfolio.domain.model.PortfolioId;
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.BrokerAccountId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RecordTransactionService Tests")
+class RecordTransactionServiceTest {
+
+    private final LocalDate today = LocalDate.of(2026, 6, 28);
+    private final AssetId bbca = AssetId.of("ID1000109507");
+    private final BrokerAccountId brokerAccountId = BrokerAccountId.generate();
+
+    private InMemoryPortfolioRepository repository;
+    private Map<BrokerAccountId, Money> rdns;
+    private List<PortfolioEvent> events;
+    private RecordTransactionService service;
+    private PortfolioId portfolioId;
+
+    @BeforeEach
+    void setup() {
+        repository = new InMemoryPortfolioRepository();
+        rdns = new HashMap<>();
+        events = new ArrayList<>();
+        BrokerAccountCash cash = new BrokerAccountCash() {
+            @Override
+            public Money buyFee(BrokerAccountId brokerAccountId, Quantity quantity, Money price) {
+                return Money.of(1_500L);
+            }
+
+            @Override
+            public Money sellFee(BrokerAccountId brokerAccountId, Quantity quantity, Money price) {
+                return Money.of(2_500L);
+            }
+
+            @Override
+            public void applyCashFlow(BrokerAccountId brokerAccountId, Money delta) {
+                rdns.merge(brokerAccountId, delta, Money::add);
+            }
+        };
+        OptimisticRetry retry = new OptimisticRetry(TransactionOperations.withoutTransaction(),
+                new RetryPolicy(3, Duration.ZERO, Duration.ZERO), new SimpleMeterRegistry());
+        service = new RecordTransactionService(repository, cash, events::add, retry, Clock.fixed(today.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+
+        Portfolio portfolio = Portfolio.create(brokerAccountId, "Main");
+        repository.save(portfolio);
+        portfolioId = portfolio.id();
+    }
+
+    @Test
+    @DisplayName("Move the trading balance and the RDN by the same delta, at the broker account's fee")
+    void should_moveBalanceAndRdnTogether_when_buyRecorded() {
+        // Given
+        service.recordDeposit(portfolioId, Money.of(10_000_000L), today);
+
+        // When
+        Money delta = service.recordBuy(portfolioId, bbca, Quantity.ofShares(100L), Money.of(9_000L), today);
+
+        // Then
+        assertThat(delta).isEqualTo(Money.of(-901_500L));
+        assertThat(repository.findById(portfolioId).orElseThrow().tradingBalance()).isEqualTo(Money.of(9_098_500L));
+        assertThat(rdns.get(brokerAccountId)).isEqualTo(Money.of(9_098_500L));
+    }
+
+    @Test
+    @DisplayName("Re-run a command that lost to another writer against the state that writer saved")
+    void should_reloadAndRetry_when_saveConflicts() {
+        // Given
+        service.recordDeposit(portfolioId, Money.of(10_000_000L), today);
+        repository.conflictsToThrow = 1;
+
+        // When
+        service.recordDeposit(portfolioId, Money.of(1_000_000L), today);
+
+        // Then
+        Portfolio saved = repository.findById(portfolioId).orElseThrow();
+        assertThat(saved.transactions()).hasSize(2);
+        assertThat(saved.tradingBalance()).isEqualTo(Money.of(11_000_000L));
+        assertThat(rdns.get(brokerAccountId)).isEqualTo(Money.of(11_000_000L));
+    }
+
+    @Test
+    @DisplayName("Leave the RDN untouched when the domain rejects the command")
+    void should_notMoveRdn_when_commandRejected() {
+        // When & Then
+        assertThatThrownBy(() -> service.recordBuy(portfolioId, bbca, Quantity.ofShares(100L), Money.of(9_000L), today))
+                .isInstanceOf(InsufficientBalanceException.class);
+        assertThat(rdns).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Publish each recorded transaction with its ledger position and the state after the save")
+    void should_publishRecordedEvents_when_transactionsRecorded() {
+        // Given
+        service.recordDeposit(portfolioId, Money.of(10_000_000L), today);
+
+        // When
+        service.recordBuy(portfolioId, bbca, Quantity.ofShares(100L), Money.of(9_000L), today);
+
+        // Then
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0)).isInstanceOf(PortfolioEvent.DepositRecorded.class);
+        PortfolioEvent.BuyRecorded buy = (PortfolioEvent.BuyRecorded) events.get(1);
+        assertThat(buy.position()).isEqualTo(1);
+        assertThat(buy.isin()).isEqualTo(bbca.value());
+        assertThat(buy.holding().quantity()).isEqualByComparingTo("100");
+        assertThat(buy.holding().invested()).isEqualByComparingTo("901500");
+        assertThat(buy.tradingBalance()).isEqualByComparingTo("9098500");
+    }
+
+    @Test
+    @DisplayName("Publish nothing for a command that lost its save and publish it once when the retry succeeds")
+    void should_publishOnce_when_saveRetried() {
+        // Given
+        repository.conflictsToThrow = 1;
+
+        // When
+        service.recordDeposit(portfolioId, Money.of(1_000_000L), today);
+
+        // Then
+        assertThat(events).singleElement().extracting(PortfolioEvent::position).isEqualTo(0);
+    }
+
+    // Hands out a fresh copy on every load, as a database would, and can fail saves like a lost version check
+    private static class InMemoryPortfolioRepository implements PortfolioRepository {
+
+        private final Map<PortfolioId, Portfolio> portfolios = new HashMap<>();
+        private int conflictsToThrow;
+
+        @Override
+        public List<PortfolioId> findAllIds() {
+            return List.copyOf(portfolios.keySet());
+        }
+
+        @Override
+        public Optional<Portfolio> findById(PortfolioId id) {
+            return Optional.ofNullable(portfolios.get(id))
+                    .map(stored -> Portfolio.replay(stored.id(), stored.brokerAccountId(), stored.name(), List.copyOf(stored.transactions())));
+        }
+
+        @Override
+        public void save(Portfolio portfolio) {
+            if (conflictsToThrow > 0) {
+                conflictsToThrow--;
+                throw new OptimisticLockingFailureException("version moved on");
+            }
+            portfolios.put(portfolio.id(), portfolio);
+        }
+
+        @Override
+        public void repair(Portfolio replayed) {
+            portfolios.put(replayed.id(), replayed);
+        }
+    }
+}
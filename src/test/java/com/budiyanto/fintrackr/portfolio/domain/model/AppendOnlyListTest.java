@@ -0,0 +1,77 @@
+package com.budiyanto.fintrackr.portfolio.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AppendOnlyList Tests")
+class AppendOnlyListTest {
+
+    @Test
+    @DisplayName("Keep a view at its size when elements are appended afterwards, including across growth")
+    void should_keepViewUnchanged_when_elementsAppendedLater() {
+        // Given
+        AppendOnlyList<Integer> list = new AppendOnlyList<>();
+        IntStream.range(0, 10).forEach(list::add);
+        List<Integer> view = list.view();
+
+        // When
+        IntStream.range(10, 1_000).forEach(list::add); // forces several array growths
+
+        // Then
+        assertThat(view).containsExactlyElementsOf(IntStream.range(0, 10).boxed().toList());
+        assertThat(list.view()).hasSize(1_000);
+        assertThat(list.view().get(999)).isEqualTo(999);
+    }
+
+    @Test
+    @DisplayName("Return the same view when read repeatedly without appends in between")
+    void should_returnSameView_when_noAppendsBetweenReads() {
+        // Given
+        AppendOnlyList<String> list = new AppendOnlyList<>();
+        list.add("deposit");
+
+        // When
+        List<String> first = list.view();
+        List<String> second = list.view();
+        list.add("buy");
+        List<String> third = list.view();
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(third).isNotSameAs(first).containsExactly("deposit", "buy");
+    }
+
+    @Test
+    @DisplayName("Throw an UnsupportedOperationException when a view is modified")
+    void should_throwException_when_viewModified() {
+        // Given
+        AppendOnlyList<String> list = new AppendOnlyList<>();
+        list.add("deposit");
+        List<String> view = list.view();
+
+        // When & Then
+        assertThatThrownBy(() -> view.add("buy"))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> view.set(0, "buy"))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(view::clear)
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("Throw a NullPointerException when a null element is appended")
+    void should_throwNPE_when_elementIsNull() {
+        // Given
+        AppendOnlyList<String> list = new AppendOnlyList<>();
+
+        // When & Then
+        assertThatThrownBy(() -> list.add(null))
+                .isInstanceOf(NullPointerException.class);
+    }
+}
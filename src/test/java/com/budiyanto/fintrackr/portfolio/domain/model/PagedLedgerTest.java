@@ -0,0 +1,114 @@
+package com.budiyanto.fintrackr.portfolio.domain.model;
+
+import com.budiyanto.fintrackr.shared.Money;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PagedLedger Tests")
+class PagedLedgerTest {
+
+    private final PortfolioId portfolioId = PortfolioId.generate();
+    private final LocalDate date = LocalDate.of(2026, 6, 20);
+
+    @Test
+    @DisplayName("Read no history until a position in it is read, then only the page holding it")
+    void should_readOnlyTouchedPage_when_positionRead() {
+        // Given
+        CountingSource source = new CountingSource(deposits(3 * PagedLedger.PAGE_SIZE));
+        PagedLedger ledger = new PagedLedger(source);
+
+        // When
+        int size = ledger.size();
+        Transaction read = ledger.get(PagedLedger.PAGE_SIZE + 5);
+
+        // Then
+        assertThat(size).isEqualTo(3 * PagedLedger.PAGE_SIZE);
+        assertThat(read).isEqualTo(source.transactions.get(PagedLedger.PAGE_SIZE + 5));
+        assertThat(source.offsets).containsExactly(PagedLedger.PAGE_SIZE);
+    }
+
+    @Test
+    @DisplayName("Read each page once when the ledger is iterated in order")
+    void should_readEachPageOnce_when_iterated() {
+        // Given
+        CountingSource source = new CountingSource(deposits(2 * PagedLedger.PAGE_SIZE + 10));
+        PagedLedger ledger = new PagedLedger(source);
+
+        // When
+        List<Transaction> iterated = new ArrayList<>(ledger.view());
+
+        // Then
+        assertThat(iterated).containsExactlyElementsOf(source.transactions);
+        assertThat(source.offsets).containsExactly(0, PagedLedger.PAGE_SIZE, 2 * PagedLedger.PAGE_SIZE);
+    }
+
+    @Test
+    @DisplayName("Place recorded transactions after the history and keep an earlier view at its size")
+    void should_appendAfterHistory_when_transactionRecorded() {
+        // Given
+        CountingSource source = new CountingSource(deposits(3));
+        PagedLedger ledger = new PagedLedger(source);
+        List<Transaction> before = ledger.view();
+        Transaction recorded = deposits(1).getFirst();
+
+        // When
+        ledger.add(recorded);
+
+        // Then
+        assertThat(before).hasSize(3);
+        assertThat(ledger.view()).hasSize(4).last().isEqualTo(recorded);
+        assertThat(ledger.get(3)).isEqualTo(recorded);
+    }
+
+    @Test
+    @DisplayName("Throw an IllegalStateException when the source returns a short page")
+    void should_throwException_when_sourceReturnsShortPage() {
+        // Given
+        List<Transaction> transactions = deposits(10);
+        LedgerSource shortPages = new LedgerSource() {
+            @Override
+            public int size() { return transactions.size(); }
+
+            @Override
+            public List<Transaction> page(int offset, int limit) { return transactions.subList(offset, offset + limit - 1); }
+        };
+        PagedLedger ledger = new PagedLedger(shortPages);
+
+        // When & Then
+        assertThatThrownBy(() -> ledger.get(0)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private List<Transaction> deposits(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> (Transaction) Deposit.create(TransactionId.generate(), portfolioId, date, Money.of(1_000L + i)))
+                .toList();
+    }
+
+    private static final class CountingSource implements LedgerSource {
+
+        private final List<Transaction> transactions;
+        private final List<Integer> offsets = new ArrayList<>();
+
+        private CountingSource(List<Transaction> transactions) {
+            this.transactions = transactions;
+        }
+
+        @Override
+        public int size() { return transactions.size(); }
+
+        @Override
+        public List<Transaction> page(int offset, int limit) {
+            offsets.add(offset);
+            return transactions.subList(offset, offset + limit);
+        }
+    }
+}
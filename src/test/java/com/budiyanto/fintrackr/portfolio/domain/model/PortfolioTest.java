@@ -8,11 +8,17 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.lang.management.ManagementFactory;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 @DisplayName("Portfolio Tests")
 class PortfolioTest {
@@ -98,6 +104,72 @@ class PortfolioTest {
 
         }
 
+        @Test
+        @DisplayName("Keep a previously read ledger unchanged when a later deposit is recorded")
+        void should_keepReadLedgerUnchanged_when_laterDepositRecorded() {
+            // Given
+            portfolio.recordDeposit(Money.of(new BigDecimal("1000")), date, today);
+            List<Transaction> ledgerBefore = portfolio.transactions();
+
+            // When
+            portfolio.recordDeposit(Money.of(new BigDecimal("2000")), date, today);
+
+            // Then
+            assertThat(ledgerBefore).hasSize(1);
+            assertThat(portfolio.transactions()).hasSize(2);
+            assertThatThrownBy(() -> ledgerBefore.add(ledgerBefore.getFirst()))
+                    .isInstanceOf(UnsupportedOperationException.class);
+        }
+
+        @Test
+        @DisplayName("Allocate no throwaway Money when a deposit is recorded")
+        void should_allocateNoThrowawayMoney_when_recordDeposit() {
+            // Given
+            var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+            Money amount = Money.of(new BigDecimal("1000"));
+            int deposits = 20_000;
+            recordDeposits(amount, 2 * deposits); // warm up both paths
+            retainDeposits(amount, 2 * deposits);
+
+            // When: the cost of the second N deposits, so what a Portfolio allocates once cancels out
+            long recordBytes = allocatedBytes(threads, () -> recordDeposits(amount, 2 * deposits))
+                    - allocatedBytes(threads, () -> recordDeposits(amount, deposits));
+            long retainBytes = allocatedBytes(threads, () -> retainDeposits(amount, 2 * deposits))
+                    - allocatedBytes(threads, () -> retainDeposits(amount, deposits));
+
+            // Then: a throwaway Money (header + fields) costs at least 16 bytes per deposit
+            assertThat((recordBytes - retainBytes) / deposits).isLessThan(16);
+        }
+
+        private void recordDeposits(Money amount, int deposits) {
+            Portfolio fresh = Portfolio.create(BrokerAccountId.generate(), "Allocation Test");
+            for (int i = 0; i < deposits; i++) {
+                fresh.recordDeposit(amount, date, today);
+            }
+        }
+
+        // Exactly the allocations recordDeposit has to make, in the same structures: the Deposit with its id, the
+        // ledger slot, the date-index slot and the new trading balance
+        private void retainDeposits(Money amount, int deposits) {
+            AppendOnlyList<Transaction> ledger = new AppendOnlyList<>();
+            List<Transaction> onDate = new ArrayList<>(2);
+            Money balance = Money.zero();
+            for (int i = 0; i < deposits; i++) {
+                Transaction deposit = Deposit.create(TransactionId.generate(), portfolio.id(), date, amount);
+                ledger.add(deposit);
+                onDate.add(deposit);
+                balance = balance.add(amount);
+            }
+            assertThat(balance.isPositive()).isTrue();
+        }
+
+        private static long allocatedBytes(com.sun.management.ThreadMXBean threads, Runnable action) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            action.run();
+            return threads.getCurrentThreadAllocatedBytes() - before;
+        }
+
         // Invariant Violations
         @ParameterizedTest
         @ValueSource(strings = {"0", "-1500"})
@@ -123,6 +195,18 @@ class PortfolioTest {
                     .isInstanceOf(FutureDatedTransactionException.class);
         }
 
+        @Test
+        @DisplayName("Reject a deposit dated in an archived year")
+        void should_throwException_when_dateInArchivedYear() {
+            // Given
+            portfolio.archivedYears(Set.of(Year.of(2025)));
+
+            // When & Then
+            assertThatThrownBy(() -> portfolio.recordDeposit(Money.of(new BigDecimal("1000")), LocalDate.of(2025, 12, 31), today))
+                    .isInstanceOf(ArchivedYearException.class);
+            assertThat(portfolio.transactions()).isEmpty();
+        }
+
         @ParameterizedTest
         @CsvSource({
                 "0, 2026-06-01", // Zero amount
@@ -381,4 +465,1142 @@ class PortfolioTest {
 
     }
 
+    @Nested
+    @DisplayName("Record Batch Tests")
+    class RecordBatchTest {
+
+        private final AssetId bbca = AssetId.of("ID1000109507");
+        private final Money fee = Money.of(new BigDecimal("2500"));
+
+        @Test
+        @DisplayName("Record every command and return the summed cash delta when the batch is valid")
+        void should_recordEveryCommand_when_batchValid() {
+            // Given
+            List<PortfolioCommand> commands = List.of(
+                    new PortfolioCommand.RecordDeposit(Money.of(10_000_000L), date),
+                    new PortfolioCommand.RecordBuy(bbca, Quantity.ofShares(1_000L), Money.of(5_800L), fee, date),
+                    new PortfolioCommand.RecordDeposit(Money.of(1_000L), date));
+
+            // When
+            Money cashDelta = portfolio.recordBatch(commands, today);
+
+            // Then
+            assertThat(cashDelta).isEqualTo(Money.of(4_198_500L));
+            assertThat(portfolio.tradingBalance()).isEqualTo(Money.of(4_198_500L));
+            assertThat(portfolio.transactions()).extracting(Transaction::cashDelta)
+                    .containsExactly(Money.of(10_000_000L), Money.of(-5_802_500L), Money.of(1_000L));
+            assertThat(portfolio.holding(bbca).orElseThrow().totalQuantity()).isEqualTo(Quantity.ofShares(1_000L));
+            assertThat(portfolio.verifyHoldings()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Record nothing and report every failing command when any command is invalid")
+        void should_recordNothing_when_anyCommandInvalid() {
+            // Given
+            portfolio.recordDeposit(Money.of(1_000_000L), date, today);
+            List<PortfolioCommand> commands = List.of(
+                    new PortfolioCommand.RecordDeposit(Money.of(1_000L), date),
+                    new PortfolioCommand.RecordDeposit(Money.of(1_000L), today.plusDays(1)),
+                    new PortfolioCommand.RecordBuy(bbca, Quantity.ofShares(100L), Money.of(5_800L), fee, date),
+                    new PortfolioCommand.RecordBuy(bbca, Quantity.ofShares(1_000L), Money.of(5_800L), fee, date));
+
+            // When & Then
+            assertThatThrownBy(() -> portfolio.recordBatch(commands, today))
+                    .isInstanceOfSatisfying(RejectedBatchException.class, e -> {
+                        assertThat(e.failures().keySet()).containsExactly(1, 3);
+                        assertThat(e.failures().get(1)).isInstanceOf(Violation.FutureDated.class);
+                        assertThat(e.failures().get(3)).isInstanceOf(Violation.InsufficientBalance.class);
+                    });
+            assertThat(portfolio.tradingBalance()).isEqualTo(Money.of(1_000_000L));
+            assertThat(portfolio.transactions()).hasSize(1);
+            assertThat(portfolio.acquisitions()).isEmpty();
+            assertThat(portfolio.holding(bbca)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Fund a buy from a deposit earlier in the same batch")
+        void should_fundBuy_when_depositEarlierInBatch() {
+            // Given
+            List<PortfolioCommand> fundedLater = List.of(
+                    new PortfolioCommand.RecordBuy(bbca, Quantity.ofShares(100L), Money.of(5_800L), fee, date),
+                    new PortfolioCommand.RecordDeposit(Money.of(1_000_000L), date));
+            List<PortfolioCommand> fundedFirst = List.of(fundedLater.get(1), fundedLater.get(0));
+
+            // When & Then
+            assertThatThrownBy(() -> portfolio.recordBatch(fundedLater, today))
+                    .isInstanceOf(RejectedBatchException.class);
+            portfolio.recordBatch(fundedFirst, today);
+            assertThat(portfolio.tradingBalance()).isEqualTo(Money.of(417_500L));
+        }
+    }
+
+    @Nested
+    @DisplayName("Validate Tests")
+    class ValidateTest {
+
+        private final AssetId bbca = AssetId.of("ID1000109507");
+        private final Money fee = Money.of(new BigDecimal("2500"));
+
+        @Test
+        @DisplayName("Report the broken rule of each command without throwing or recording anything")
+        void should_reportViolationPerCommand_when_commandsInvalid() {
+            // Given
+            portfolio.recordDeposit(Money.of(1_000_000L), date, today);
+            List<PortfolioCommand> commands = List.of(
+                    new PortfolioCommand.RecordDeposit(Money.of(0L), date),
+                    new PortfolioCommand.RecordDeposit(Money.of(1_000L), today.plusDays(1)),
+                    new PortfolioCommand.RecordBuy(bbca, Quantity.ofShares(0L), Money.of(5_800L), fee, date),
+                    new PortfolioCommand.RecordBuy(bbca, Quantity.ofShares(100L), Money.of(0L), fee, date),
+                    new PortfolioCommand.RecordBuy(bbca, Quantity.ofShares(100L), Money.of(5_800L), Money.of(-1L), date),
+                    new PortfolioCommand.RecordBuy(bbca, Quantity.ofShares(100L), Money.of(5_800L), fee, date),
+                    new PortfolioCommand.RecordBuy(bbca, Quantity.ofShares(1_000L), Money.of(5_800L), fee, date));
+
+            // When
+            List<Validation> validations = portfolio.validate(commands, today);
+
+            // Then
+            assertThat(validations).extracting(validation -> validation instanceof Validation.Rejected rejected
+                            ? rejected.violation().getClass() : validation.getClass())
+                    .containsExactly(
+                            Violation.NonPositiveAmount.class,
+                            Violation.FutureDated.class,
+                            Violation.ZeroQuantity.class,
+                            Violation.NonPositivePrice.class,
+                            Violation.NegativeFee.class,
+                            Validation.Accepted.class,
+                            Violation.InsufficientBalance.class);  // checked against the balance left by the accepted buy
+            assertThat(validations.get(5)).isEqualTo(new Validation.Accepted(Money.of(-582_500L)));
+            assertThat(portfolio.transactions()).hasSize(1);
+            assertThat(portfolio.tradingBalance()).isEqualTo(Money.of(1_000_000L));
+        }
+
+        @Test
+        @DisplayName("Convert a violation to the exception the throwing API raises for the same rule")
+        void should_convertToMatchingException_when_violationThrown() {
+            // Given
+            Violation violation = portfolio.validate(
+                    List.of(new PortfolioCommand.RecordBuy(bbca, Quantity.ofShares(100L), Money.of(5_800L), fee, date)), today)
+                    .stream()
+                    .map(validation -> ((Validation.Rejected) validation).violation())
+                    .findFirst()
+                    .orElseThrow();
+
+            // When & Then
+            assertThat(violation.toException()).isInstanceOf(InsufficientBalanceException.class);
+            assertThatThrownBy(() -> portfolio.recordBuy(bbca, Quantity.ofShares(100L), Money.of(5_800L), fee, date, today))
+                    .isInstanceOf(InsufficientBalanceException.class);
+        }
+
+        @Test
+        @DisplayName("Record exactly the accepted commands when they are passed on to recordBatch")
+        void should_recordAcceptedCommands_when_passedToRecordBatch() {
+            // Given
+            List<PortfolioCommand> commands = List.of(
+                    new PortfolioCommand.RecordDeposit(Money.of(1_000_000L), date),
+                    new PortfolioCommand.RecordDeposit(Money.of(-5L), date),
+                    new PortfolioCommand.RecordBuy(bbca, Quantity.ofShares(100L), Money.of(5_800L), fee, date));
+            List<Validation> validations = portfolio.validate(commands, today);
+            List<PortfolioCommand> accepted = new ArrayList<>();
+            for (int i = 0; i < commands.size(); i++) {
+                if (validations.get(i) instanceof Validation.Accepted) {
+                    accepted.add(commands.get(i));
+                }
+            }
+
+            // When
+            portfolio.recordBatch(accepted, today);
+
+            // Then
+            assertThat(portfolio.transactions()).hasSize(2);
+            assertThat(portfolio.tradingBalance()).isEqualTo(Money.of(417_500L));
+        }
+    }
+
+    @Nested
+    @DisplayName("Holding Cache Tests")
+    class HoldingCacheTest {
+
+        private final AssetId bbca = AssetId.of("ID1000109507");
+        private final AssetId bbri = AssetId.of("ID1000118201");
+        private final Money fee = Money.of(new BigDecimal("2500"));
+
+        @BeforeEach
+        void setup() {
+            portfolio.recordDeposit(Money.of(new BigDecimal("50000000")), date, today);
+        }
+
+        @Test
+        @DisplayName("Have no holding for an asset that was never bought")
+        void should_returnEmpty_when_assetNeverBought() {
+            // When & Then
+            assertThat(portfolio.holding(bbca)).isEmpty();
+            assertThat(portfolio.holdings()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Aggregate quantity, invested amount and open acquisitions per asset when buys are recorded")
+        void should_aggregatePerAsset_when_buysRecorded() {
+            // When
+            portfolio.recordBuy(bbca, Quantity.ofShares(1_000L), Money.of(5_800L), fee, date, today);
+            portfolio.recordBuy(bbri, Quantity.ofShares(500L), Money.of(4_500L), fee, date, today);
+            portfolio.recordBuy(bbca, Quantity.ofShares(300L), Money.of(6_000L), fee, date, today);
+
+            // Then
+            Holding holding = portfolio.holding(bbca).orElseThrow();
+            assertThat(holding.portfolioId()).isEqualTo(portfolio.id());
+            assertThat(holding.totalQuantity()).isEqualTo(Quantity.ofShares(1_300L));
+            assertThat(holding.totalInvested()).isEqualTo(Money.of(7_605_000L)); // 5802500 + 1802500
+            assertThat(holding.openAcquisitions())
+                    .extracting(Acquisition::assetId)
+                    .containsExactly(bbca, bbca);
+            assertThat(portfolio.holdings()).extracting(Holding::assetId).containsExactly(bbca, bbri);
+        }
+
+        @Test
+        @DisplayName("Invest exactly the cash each buy moved when buying fractional units")
+        void should_investCostDelta_when_unitsBought() {
+            // When
+            Money first = portfolio.recordBuy(bbca, Quantity.ofUnits(new BigDecimal("1.5")), Money.of(5_801L), Money.zero(), date, today);
+            Money second = portfolio.recordBuy(bbca, Quantity.ofUnits(new BigDecimal("1.5")), Money.of(5_801L), Money.zero(), date, today);
+
+            // Then
+            assertThat(portfolio.holding(bbca).orElseThrow().totalInvested())
+                    .isEqualTo(first.add(second).negate()); // 8702 + 8702, each rounded once, not 17403
+        }
+
+        @Test
+        @DisplayName("Report no drift when the cache was only changed through the aggregate")
+        void should_reportNoDrift_when_cacheInSync() {
+            // Given
+            portfolio.recordBuy(bbca, Quantity.ofShares(1_000L), Money.of(5_800L), fee, date, today);
+            portfolio.recordBuy(bbri, Quantity.ofShares(500L), Money.of(4_500L), fee, date, today);
+
+            // When
+            Set<AssetId> drifted = portfolio.verifyHoldings();
+
+            // Then
+            assertThat(drifted).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Detect and repair drift when the cache diverges from the ledger")
+        void should_detectAndRepairDrift_when_cacheDiverges() {
+            // Given
+            portfolio.recordBuy(bbca, Quantity.ofShares(1_000L), Money.of(5_800L), fee, date, today);
+            portfolio.recordBuy(bbri, Quantity.ofShares(500L), Money.of(4_500L), fee, date, today);
+            Holding expected = portfolio.holding(bbca).orElseThrow();
+            Quantity expectedQuantity = expected.totalQuantity();
+            expected.open(Acquisition.create(portfolio.id(), bbca, date, Money.of(5_800L), fee, Quantity.ofShares(100L)));
+
+            // When
+            Set<AssetId> drifted = portfolio.verifyHoldings();
+            portfolio.rebuildHoldings();
+
+            // Then
+            assertThat(drifted).containsExactly(bbca);
+            assertThat(portfolio.verifyHoldings()).isEmpty();
+            assertThat(portfolio.holding(bbca).orElseThrow().totalQuantity()).isEqualTo(expectedQuantity);
+        }
+    }
+
+    @Nested
+    @DisplayName("Record Sell Tests")
+    class RecordSellTest {
+
+        private final AssetId bbca = AssetId.of("ID1000109507");
+        private final Money price = Money.of(8_000L);
+        private final Money fee = Money.of(1_000L);
+        private Acquisition cheapest;
+        private Acquisition dearest;
+        private Acquisition oldest;
+
+        @BeforeEach
+        void setup() {
+            portfolio.recordDeposit(Money.of(new BigDecimal("50000000")), LocalDate.of(2026, 6, 1), today);
+            portfolio.recordBuy(bbca, Quantity.ofShares(100L), Money.of(5_000L), Money.zero(), LocalDate.of(2026, 6, 10), today);
+            portfolio.recordBuy(bbca, Quantity.ofShares(200L), Money.of(7_000L), Money.zero(), LocalDate.of(2026, 6, 12), today);
+            portfolio.recordBuy(bbca, Quantity.ofShares(300L), Money.of(6_000L), Money.zero(), LocalDate.of(2026, 6, 5), today); // backdated
+            cheapest = portfolio.acquisitions().get(0);
+            dearest = portfolio.acquisitions().get(1);
+            oldest = portfolio.acquisitions().get(2);
+        }
+
+        private List<SellAllocation> lastSellAllocations() {
+            List<Transaction> ledger = portfolio.transactions();
+            return ((Sell) ledger.get(ledger.size() - 1)).allocations();
+        }
+
+        @Test
+        @DisplayName("Take the oldest lots by open date first when selling FIFO")
+        void should_takeOldestFirst_when_fifo() {
+            // When
+            portfolio.recordSell(bbca, Quantity.ofShares(350L), price, fee, date, new AcquisitionSelectionStrategy.Fifo(), today);
+
+            // Then
+            assertThat(lastSellAllocations())
+                    .extracting(SellAllocation::acquisitionId, SellAllocation::sharesSoldFromAcquisition)
+                    .containsExactly(tuple(oldest.id(), Quantity.ofShares(300L)), tuple(cheapest.id(), Quantity.ofShares(50L)));
+            assertThat(oldest.status()).isEqualTo(AcquisitionStatus.CLOSED);
+            assertThat(cheapest.status()).isEqualTo(AcquisitionStatus.PARTIALLY_CLOSED);
+            assertThat(dearest.status()).isEqualTo(AcquisitionStatus.OPEN);
+        }
+
+        @Test
+        @DisplayName("Take the newest lots by open date first when selling LIFO")
+        void should_takeNewestFirst_when_lifo() {
+            // When
+            portfolio.recordSell(bbca, Quantity.ofShares(350L), price, fee, date, new AcquisitionSelectionStrategy.Lifo(), today);
+
+            // Then
+            assertThat(lastSellAllocations())
+                    .extracting(SellAllocation::acquisitionId, SellAllocation::sharesSoldFromAcquisition)
+                    .containsExactly(tuple(dearest.id(), Quantity.ofShares(200L)), tuple(cheapest.id(), Quantity.ofShares(100L)),
+                            tuple(oldest.id(), Quantity.ofShares(50L)));
+        }
+
+        @Test
+        @DisplayName("Take lots by cost per share when selling HighestCost or LowestCost")
+        void should_takeByCost_when_costStrategy() {
+            // When
+            portfolio.recordSell(bbca, Quantity.ofShares(250L), price, fee, date, new AcquisitionSelectionStrategy.HighestCost(), today);
+            List<SellAllocation> highest = lastSellAllocations();
+            portfolio.recordSell(bbca, Quantity.ofShares(150L), price, fee, date, new AcquisitionSelectionStrategy.LowestCost(), today);
+            List<SellAllocation> lowest = lastSellAllocations();
+
+            // Then
+            assertThat(highest)
+                    .extracting(SellAllocation::acquisitionId, SellAllocation::sharesSoldFromAcquisition)
+                    .containsExactly(tuple(dearest.id(), Quantity.ofShares(200L)), tuple(oldest.id(), Quantity.ofShares(50L)));
+            assertThat(lowest)
+                    .extracting(SellAllocation::acquisitionId, SellAllocation::sharesSoldFromAcquisition)
+                    .containsExactly(tuple(cheapest.id(), Quantity.ofShares(100L)), tuple(oldest.id(), Quantity.ofShares(50L)));
+        }
+
+        @Test
+        @DisplayName("Take exactly the named lots when selling Manual")
+        void should_takeNamedLots_when_manual() {
+            // Given
+            AcquisitionSelectionStrategy manual = new AcquisitionSelectionStrategy.Manual(List.of(
+                    new AcquisitionSelectionStrategy.Manual.Lot(dearest.id(), Quantity.ofShares(150L))));
+
+            // When
+            portfolio.recordSell(bbca, Quantity.ofShares(150L), price, fee, date, manual, today);
+
+            // Then
+            assertThat(dearest.remainingQuantity()).isEqualTo(Quantity.ofShares(50L));
+            assertThat(portfolio.holding(bbca).orElseThrow().totalQuantity()).isEqualTo(Quantity.ofShares(450L));
+        }
+
+        @Test
+        @DisplayName("Allocate the fee in proportion to shares, summing exactly to the fee")
+        void should_allocateFeeProportionally_when_sellSpansLots() {
+            // When
+            portfolio.recordSell(bbca, Quantity.ofShares(350L), price, fee, date, new AcquisitionSelectionStrategy.Fifo(), today);
+
+            // Then
+            assertThat(lastSellAllocations())
+                    .extracting(SellAllocation::feeAllocated)
+                    .containsExactly(Money.of(857L), Money.of(143L)); // 1000 × 300/350 rounded, remainder to the last lot
+        }
+
+        @Test
+        @DisplayName("Return the proceeds and credit the trading balance when a sell is recorded")
+        void should_returnProceeds_when_sellRecorded() {
+            // Given
+            Money before = portfolio.tradingBalance();
+
+            // When
+            Money proceeds = portfolio.recordSell(bbca, Quantity.ofShares(350L), price, fee, date, new AcquisitionSelectionStrategy.Fifo(), today);
+
+            // Then
+            assertThat(proceeds).isEqualTo(Money.of(2_799_000L)); // 350 × 8000 − 1000
+            assertThat(portfolio.tradingBalance()).isEqualTo(before.add(proceeds));
+            assertThat(portfolio.holding(bbca).orElseThrow().totalInvested()).isEqualTo(Money.of(1_650_000L)); // 50 × 5000 + 200 × 7000
+        }
+
+        @Test
+        @DisplayName("Drop the holding when every share is sold")
+        void should_dropHolding_when_everyShareSold() {
+            // When
+            portfolio.recordSell(bbca, Quantity.ofShares(600L), price, fee, date, new AcquisitionSelectionStrategy.LowestCost(), today);
+
+            // Then
+            assertThat(portfolio.holding(bbca)).isEmpty();
+            assertThat(portfolio.acquisitions()).extracting(Acquisition::status).containsOnly(AcquisitionStatus.CLOSED);
+        }
+
+        @Test
+        @DisplayName("Throw an InsufficientHoldingException and record nothing when selling more than is held")
+        void should_throwException_when_sellingMoreThanHeld() {
+            // Given
+            int recorded = portfolio.transactions().size();
+
+            // When & Then
+            assertThatThrownBy(() -> portfolio.recordSell(bbca, Quantity.ofShares(601L), price, fee, date, new AcquisitionSelectionStrategy.Fifo(), today))
+                    .isInstanceOf(InsufficientHoldingException.class);
+            assertThat(portfolio.transactions()).hasSize(recorded);
+            assertThat(portfolio.holding(bbca).orElseThrow().totalQuantity()).isEqualTo(Quantity.ofShares(600L));
+        }
+
+        @Test
+        @DisplayName("Throw when Manual lots are not open or do not add up to the quantity")
+        void should_throwException_when_manualLotsInvalid() {
+            // Given
+            AcquisitionSelectionStrategy overdrawn = new AcquisitionSelectionStrategy.Manual(List.of(
+                    new AcquisitionSelectionStrategy.Manual.Lot(cheapest.id(), Quantity.ofShares(60L)),
+                    new AcquisitionSelectionStrategy.Manual.Lot(cheapest.id(), Quantity.ofShares(60L))));
+            AcquisitionSelectionStrategy undersized = new AcquisitionSelectionStrategy.Manual(List.of(
+                    new AcquisitionSelectionStrategy.Manual.Lot(cheapest.id(), Quantity.ofShares(60L))));
+
+            // When & Then
+            assertThatThrownBy(() -> portfolio.recordSell(bbca, Quantity.ofShares(120L), price, fee, date, overdrawn, today))
+                    .isInstanceOf(InvalidSellAllocationException.class);
+            assertThatThrownBy(() -> portfolio.recordSell(bbca, Quantity.ofShares(120L), price, fee, date, undersized, today))
+                    .isInstanceOf(SellAllocationMismatchException.class);
+            assertThat(cheapest.remainingQuantity()).isEqualTo(Quantity.ofShares(100L));
+        }
+
+        @Test
+        @DisplayName("Take only lots opened on or before the sell date when the sell is backdated")
+        void should_skipLaterLots_when_sellBackdated() {
+            // When
+            portfolio.recordSell(bbca, Quantity.ofShares(350L), price, fee, LocalDate.of(2026, 6, 11), new AcquisitionSelectionStrategy.Lifo(), today);
+
+            // Then
+            assertThat(lastSellAllocations())
+                    .extracting(SellAllocation::acquisitionId, SellAllocation::sharesSoldFromAcquisition)
+                    .containsExactly(tuple(cheapest.id(), Quantity.ofShares(100L)), tuple(oldest.id(), Quantity.ofShares(250L)));
+            assertThat(dearest.status()).isEqualTo(AcquisitionStatus.OPEN);
+            assertThat(portfolio.verifyHoldings()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Throw and record nothing when a backdated sell needs lots opened after its date")
+        void should_throwException_when_sellDatedBeforeLotsOpened() {
+            // Given
+            int recorded = portfolio.transactions().size();
+            AcquisitionSelectionStrategy laterLot = new AcquisitionSelectionStrategy.Manual(List.of(
+                    new AcquisitionSelectionStrategy.Manual.Lot(dearest.id(), Quantity.ofShares(50L))));
+
+            // When & Then
+            assertThatThrownBy(() -> portfolio.recordSell(bbca, Quantity.ofShares(401L), price, fee, LocalDate.of(2026, 6, 11),
+                    new AcquisitionSelectionStrategy.Fifo(), today))
+                    .isInstanceOf(InsufficientHoldingException.class);
+            assertThatThrownBy(() -> portfolio.recordSell(bbca, Quantity.ofShares(50L), price, fee, LocalDate.of(2026, 6, 11), laterLot, today))
+                    .isInstanceOf(InvalidSellAllocationException.class);
+            assertThatThrownBy(() -> portfolio.recordSell(bbca, Quantity.ofShares(1L), price, fee, LocalDate.of(2026, 6, 4),
+                    new AcquisitionSelectionStrategy.Fifo(), today))
+                    .isInstanceOf(InsufficientHoldingException.class);
+            assertThat(portfolio.transactions()).hasSize(recorded);
+            assertThat(portfolio.holding(bbca).orElseThrow().totalQuantity()).isEqualTo(Quantity.ofShares(600L));
+        }
+
+        @Test
+        @DisplayName("Match the cache, a full replay and a snapshot restore after sells")
+        void should_matchReplay_when_sellsRecorded() {
+            // Given
+            PortfolioSnapshot snapshot = portfolio.takeSnapshot();
+            portfolio.recordSell(bbca, Quantity.ofShares(350L), price, fee, date, new AcquisitionSelectionStrategy.HighestCost(), today);
+            portfolio.recordSell(bbca, Quantity.ofShares(100L), price, fee, date, new AcquisitionSelectionStrategy.Lifo(), today);
+            List<Transaction> ledger = List.copyOf(portfolio.transactions());
+
+            // When
+            Portfolio restored = Portfolio.restore(portfolio.id(), portfolio.brokerAccountId(), "Long-Term", snapshot, ledger);
+            Portfolio replayed = Portfolio.replay(portfolio.id(), portfolio.brokerAccountId(), "Long-Term", ledger);
+
+            // Then
+            assertThat(portfolio.verifyHoldings()).isEmpty();
+            assertThat(portfolio.verifySnapshot(snapshot)).isTrue();
+            assertThat(portfolio.verifySnapshot(portfolio.takeSnapshot())).isTrue();
+            for (Portfolio rehydrated : List.of(restored, replayed)) {
+                assertThat(rehydrated.holdings()).containsExactlyElementsOf(portfolio.holdings());
+                assertThat(rehydrated.tradingBalance()).isEqualTo(portfolio.tradingBalance());
+                assertThat(rehydrated.acquisitions()).extracting(Acquisition::remainingQuantity)
+                        .containsExactlyElementsOf(portfolio.acquisitions().stream().map(Acquisition::remainingQuantity).toList());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Record Dividend Tests")
+    class RecordDividendTest {
+
+        private final AssetId bbca = AssetId.of("ID1000109507");
+        private final Money dps = Money.of(100L);
+
+        @BeforeEach
+        void setup() {
+            portfolio.recordDeposit(Money.of(new BigDecimal("50000000")), LocalDate.of(2024, 1, 1), today);
+            portfolio.recordBuy(bbca, Quantity.ofShares(100L), Money.of(5_000L), Money.zero(), LocalDate.of(2024, 3, 1), today);
+            portfolio.recordBuy(bbca, Quantity.ofShares(200L), Money.of(6_000L), Money.zero(), LocalDate.of(2024, 6, 1), today);
+            portfolio.recordSell(bbca, Quantity.ofShares(150L), Money.of(7_000L), Money.zero(), LocalDate.of(2024, 9, 1),
+                    new AcquisitionSelectionStrategy.Fifo(), today);
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+                "2024-05-01, 10000",  // only the first lot is open
+                "2024-06-01, 30000",  // a lot opened on the cum date is eligible
+                "2024-09-01, 15000",  // shares sold on the cum date are not
+                "2025-09-01, 15000"   // after the last change, the holding as it stands
+        })
+        @DisplayName("Pay the shares each lot held at the cum date")
+        void should_payEligibleShares_when_dividendRecorded(LocalDate cumDate, long expected) {
+            // Given
+            Money before = portfolio.tradingBalance();
+
+            // When
+            Money cashDelta = portfolio.recordDividend(bbca, dps, cumDate, cumDate.plusDays(14), today);
+
+            // Then
+            assertThat(cashDelta).isEqualTo(Money.of(expected));
+            assertThat(portfolio.tradingBalance()).isEqualTo(before.add(cashDelta));
+        }
+
+        @Test
+        @DisplayName("Allocate the dividend per Acquisition")
+        void should_allocatePerAcquisition_when_dividendRecorded() {
+            // When
+            portfolio.recordDividend(bbca, dps, LocalDate.of(2024, 9, 1), LocalDate.of(2024, 9, 20), today);
+
+            // Then
+            Dividend dividend = (Dividend) portfolio.transactions().get(portfolio.transactions().size() - 1);
+            assertThat(dividend.date()).isEqualTo(LocalDate.of(2024, 9, 20));
+            assertThat(dividend.allocations())
+                    .extracting(DividendAllocation::acquisitionId, DividendAllocation::sharesEligibleAtCumDate, DividendAllocation::amount)
+                    .containsExactly(tuple(portfolio.acquisitions().get(1).id(), Quantity.ofShares(150L), Money.of(15_000L)));
+        }
+
+        @Test
+        @DisplayName("Throw a NoEligibleSharesException when nothing was held at the cum date")
+        void should_throwException_when_nothingHeldAtCumDate() {
+            // When & Then
+            assertThatThrownBy(() -> portfolio.recordDividend(bbca, dps, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 20), today))
+                    .isInstanceOf(NoEligibleSharesException.class);
+        }
+
+        @Test
+        @DisplayName("Throw a PaymentBeforeCumDateException when the payment precedes the cum date")
+        void should_throwException_when_paymentBeforeCumDate() {
+            // When & Then
+            assertThatThrownBy(() -> portfolio.recordDividend(bbca, dps, LocalDate.of(2024, 9, 1), LocalDate.of(2024, 8, 31), today))
+                    .isInstanceOf(PaymentBeforeCumDateException.class);
+        }
+
+        @Test
+        @DisplayName("Reject a dividend whose cum date is not after the latest archived year, wherever it is paid")
+        void should_throwException_when_cumDateNotAfterArchivedYear() {
+            // Given
+            portfolio.archivedYears(Set.of(Year.of(2023)));
+            int recorded = portfolio.transactions().size();
+
+            // When & Then
+            assertThatThrownBy(() -> portfolio.recordDividend(bbca, dps, LocalDate.of(2023, 12, 31), LocalDate.of(2024, 1, 20), today))
+                    .isInstanceOf(ArchivedYearException.class);
+            assertThat(portfolio.recordDividend(bbca, dps, LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 20), today))
+                    .isEqualTo(Money.of(10_000L));
+            assertThat(portfolio.transactions()).hasSize(recorded + 1);
+        }
+
+        @Test
+        @DisplayName("Record a backfill like the same dividends one by one, skipping cum dates with nothing held")
+        void should_matchSingleRecords_when_backfilled() {
+            // Given
+            List<DividendDeclaration> declarations = List.of(
+                    new DividendDeclaration(bbca, dps, LocalDate.of(2024, 9, 1), LocalDate.of(2024, 9, 20)),
+                    new DividendDeclaration(bbca, dps, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 20)),
+                    new DividendDeclaration(bbca, dps, LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 20)));
+            int recorded = portfolio.transactions().size();
+
+            // When
+            List<Money> cashDeltas = portfolio.recordDividends(declarations, today);
+
+            // Then
+            assertThat(cashDeltas).containsExactly(Money.of(15_000L), Money.of(0L), Money.of(10_000L));
+            assertThat(portfolio.transactions()).hasSize(recorded + 2);
+            assertThat(Portfolio.replay(portfolio.id(), portfolio.brokerAccountId(), "Long-Term", List.copyOf(portfolio.transactions()))
+                    .tradingBalance()).isEqualTo(portfolio.tradingBalance());
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+                "2024-05-01, 10000",
+                "2024-06-01, 30000",
+                "2024-09-01, 15000",
+                "2025-09-01, 15000"
+        })
+        @DisplayName("Pay the shares each lot held at the cum date from the stored trades after it when restored")
+        void should_payEligibleShares_when_restoredWithoutLedgerPages(LocalDate cumDate, long expected) {
+            // Given
+            Portfolio restored = Portfolio.restore(portfolio.id(), portfolio.brokerAccountId(), "Long-Term",
+                    portfolio.takeSnapshot(), withoutPages(List.copyOf(portfolio.transactions())));
+
+            // When
+            Money cashDelta = restored.recordDividend(bbca, dps, cumDate, cumDate.plusDays(14), today);
+
+            // Then
+            assertThat(cashDelta).isEqualTo(Money.of(expected));
+        }
+
+        @Test
+        @DisplayName("Read the earlier stored trades when a restored Portfolio is asked for an earlier cum date")
+        void should_payEligibleShares_when_earlierCumDateFollowsLaterOne() {
+            // Given
+            Portfolio restored = Portfolio.restore(portfolio.id(), portfolio.brokerAccountId(), "Long-Term",
+                    portfolio.takeSnapshot(), withoutPages(List.copyOf(portfolio.transactions())));
+            restored.recordDividend(bbca, dps, LocalDate.of(2024, 9, 1), LocalDate.of(2024, 9, 20), today);
+
+            // When
+            List<Money> cashDeltas = restored.recordDividends(List.of(
+                    new DividendDeclaration(bbca, dps, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 20)),
+                    new DividendDeclaration(bbca, dps, LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 20))), today);
+
+            // Then
+            assertThat(cashDeltas).containsExactly(Money.of(30_000L), Money.of(10_000L));
+        }
+
+        @Test
+        @DisplayName("Throw a RejectedBatchException and record nothing when any declaration breaks a rule")
+        void should_rejectBackfill_when_anyDeclarationInvalid() {
+            // Given
+            List<DividendDeclaration> declarations = List.of(
+                    new DividendDeclaration(bbca, dps, LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 20)),
+                    new DividendDeclaration(bbca, Money.of(0L), LocalDate.of(2024, 9, 1), LocalDate.of(2024, 9, 20)));
+            int recorded = portfolio.transactions().size();
+
+            // When & Then
+            assertThatThrownBy(() -> portfolio.recordDividends(declarations, today))
+                    .isInstanceOfSatisfying(RejectedBatchException.class, e -> {
+                        assertThat(e.failures().keySet()).containsExactly(1);
+                        assertThat(e.failures().get(1)).isInstanceOf(Violation.NonPositiveAmount.class);
+                    });
+            assertThat(portfolio.transactions()).hasSize(recorded);
+        }
+    }
+
+    @Nested
+    @DisplayName("Performance Tests")
+    class PerformanceTest {
+
+        private final AssetId bbca = AssetId.of("ID1000109507");
+        private Acquisition first;
+        private Acquisition second;
+
+        @BeforeEach
+        void setup() {
+            portfolio.recordDeposit(Money.of(new BigDecimal("50000000")), LocalDate.of(2024, 1, 1), today);
+            portfolio.recordBuy(bbca, Quantity.ofShares(100L), Money.of(5_000L), Money.of(1_000L), LocalDate.of(2024, 1, 2), today);
+            portfolio.recordBuy(bbca, Quantity.ofShares(200L), Money.of(6_000L), Money.zero(), LocalDate.of(2024, 6, 1), today);
+            portfolio.recordSell(bbca, Quantity.ofShares(150L), Money.of(7_000L), Money.of(1_500L), LocalDate.of(2025, 1, 2),
+                    new AcquisitionSelectionStrategy.Fifo(), today);
+            portfolio.recordDividend(bbca, Money.of(100L), LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 20), today);
+            first = portfolio.acquisitions().get(0);
+            second = portfolio.acquisitions().get(1);
+        }
+
+        @Test
+        @DisplayName("Realize proceeds net of the allocated fee over the cost of the shares sold")
+        void should_realizeGainPerAcquisition_when_sold() {
+            // When
+            Performance closed = portfolio.performance(first.id()).orElseThrow();
+            Performance open = portfolio.performance(second.id()).orElseThrow();
+
+            // Then
+            assertThat(closed.costBasis()).isEqualTo(Money.of(501_000L));
+            assertThat(closed.realizedGain()).isEqualTo(Money.of(198_000L));  // 100 × 7000 − 1000 − 501000
+            assertThat(open.realizedGain()).isEqualTo(Money.of(49_500L));     // 50 × 7000 − 500 − 300000
+            assertThat(open.dividends()).isEqualTo(Money.of(15_000L));        // 150 × 100
+        }
+
+        @Test
+        @DisplayName("Realize a sell's gain across every acquisition it sold from")
+        void should_sumRealizedGainOverAllocations_when_sellQueried() {
+            // Given
+            Transaction sell = portfolio.transactions().get(3);
+
+            // When
+            Optional<Money> realized = portfolio.realizedGain(sell.id());
+
+            // Then
+            assertThat(realized).contains(Money.of(247_500L));                 // 198000 + 49500
+            assertThat(portfolio.realizedGain(portfolio.transactions().get(0).id())).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Value open shares at the last marked price, per acquisition, holding and portfolio")
+        void should_computeUnrealizedGain_when_priceMarked() {
+            // When
+            portfolio.markPrice(bbca, Money.of(8_000L), LocalDate.of(2026, 6, 1));
+
+            // Then
+            assertThat(portfolio.performance(second.id()).orElseThrow().unrealizedGain()).isEqualTo(Money.of(300_000L)); // 150 × (8000 − 6000)
+            assertThat(portfolio.performance(bbca).orElseThrow().unrealizedGain()).isEqualTo(Money.of(300_000L));
+            assertThat(portfolio.performance().totalReturn()).isEqualTo(Money.of(562_500L)); // 247500 + 300000 + 15000
+        }
+
+        @Test
+        @DisplayName("Annualize a closed lot to its close date and an open lot to the last price mark")
+        void should_computeCagr_when_horizonKnown() {
+            // Given
+            assertThat(portfolio.cagr(second.id())).isEmpty();
+
+            // When
+            portfolio.markPrice(bbca, Money.of(8_000L), LocalDate.of(2026, 6, 1));
+
+            // Then
+            assertThat(portfolio.cagr(first.id())).hasValue(new BigDecimal("0.394258"));  // 699000 / 501000 over 366 days
+            assertThat(portfolio.cagr(second.id())).hasValueSatisfying(rate -> assertThat(rate).isPositive());
+        }
+
+        @Test
+        @DisplayName("Match the incremental figures when rebuilt from the ledger")
+        void should_matchReplay_when_rehydrated() {
+            // Given
+            portfolio.markPrice(bbca, Money.of(8_000L), LocalDate.of(2026, 6, 1));
+            Portfolio replayed = Portfolio.replay(portfolio.id(), portfolio.brokerAccountId(), "Long-Term", List.copyOf(portfolio.transactions()));
+
+            // When
+            replayed.markPrice(bbca, Money.of(8_000L), LocalDate.of(2026, 6, 1));
+
+            // Then
+            assertThat(replayed.performance()).isEqualTo(portfolio.performance());
+            assertThat(replayed.performance(first.id())).isEqualTo(portfolio.performance(first.id()));
+        }
+
+        @Test
+        @DisplayName("Restore the figures from the snapshot and read a closed lot's from the ledger source, without paging")
+        void should_matchOriginal_when_restoredWithoutLedgerPages() {
+            // Given
+            Transaction sell = portfolio.transactions().get(3);
+            Portfolio restored = Portfolio.restore(portfolio.id(), portfolio.brokerAccountId(), "Long-Term",
+                    portfolio.takeSnapshot(), withoutPages(List.copyOf(portfolio.transactions())));
+
+            // When
+            for (Portfolio each : List.of(portfolio, restored)) {
+                each.recordDividend(bbca, Money.of(50L), LocalDate.of(2024, 7, 1), LocalDate.of(2025, 4, 1), today);
+                each.markPrice(bbca, Money.of(8_000L), LocalDate.of(2026, 6, 1));
+            }
+
+            // Then
+            assertThat(restored.performance()).isEqualTo(portfolio.performance());
+            assertThat(restored.performance(bbca)).isEqualTo(portfolio.performance(bbca));
+            assertThat(restored.performance(first.id())).isEqualTo(portfolio.performance(first.id()));
+            assertThat(restored.performance(first.id()).orElseThrow().dividends()).isEqualTo(Money.of(5_000L)); // 100 × 50
+            assertThat(restored.cagr(first.id())).isEqualTo(portfolio.cagr(first.id()));
+            assertThat(restored.realizedGain(sell.id())).contains(Money.of(247_500L));
+        }
+
+        @Test
+        @DisplayName("Count a dividend replayed after the snapshot once, on a lot closed before it")
+        void should_countTailDividendOnce_when_restoredFromOlderSnapshot() {
+            // Given
+            PortfolioSnapshot snapshot = portfolio.takeSnapshot();
+            portfolio.recordDividend(bbca, Money.of(50L), LocalDate.of(2024, 7, 1), LocalDate.of(2025, 4, 1), today);
+
+            // When
+            Portfolio restored = Portfolio.restore(portfolio.id(), portfolio.brokerAccountId(), "Long-Term",
+                    snapshot, List.copyOf(portfolio.transactions()));
+
+            // Then
+            assertThat(restored.performance(first.id())).isEqualTo(portfolio.performance(first.id()));
+            assertThat(restored.performance()).isEqualTo(portfolio.performance());
+            assertThat(restored.takeSnapshot()).isEqualTo(portfolio.takeSnapshot());
+        }
+
+        @Test
+        @DisplayName("Throw a NonPositivePriceException when marking a non-positive price")
+        void should_throwException_when_markedPriceNotPositive() {
+            // When & Then
+            assertThatThrownBy(() -> portfolio.markPrice(bbca, Money.of(0L), today))
+                    .isInstanceOf(NonPositivePriceException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Date Index Tests")
+    class DateIndexTest {
+
+        private final AssetId assetId = AssetId.of("ID1000109507"); // BBCA
+
+        @BeforeEach
+        void setup() {
+            // Recorded out of date order: the second deposit and the buy are backdated
+            portfolio.recordDeposit(Money.of(new BigDecimal("10000000")), LocalDate.of(2026, 6, 20), today);
+            portfolio.recordDeposit(Money.of(new BigDecimal("5000000")), LocalDate.of(2026, 6, 5), today);
+            portfolio.recordBuy(assetId, Quantity.ofShares(new BigDecimal("1000")), Money.of(new BigDecimal("5800")),
+                    Money.of(new BigDecimal("2500")), LocalDate.of(2026, 6, 10), today);
+        }
+
+        @Test
+        @DisplayName("Return transactions in date order when queried by date range")
+        void should_returnTransactionsInDateOrder_when_queriedByRange() {
+            // When
+            List<Transaction> result = portfolio.transactionsBetween(LocalDate.of(2026, 6, 1), LocalDate.of(2026, 6, 30));
+
+            // Then
+            assertThat(result).extracting(Transaction::date).containsExactly(
+                    LocalDate.of(2026, 6, 5), LocalDate.of(2026, 6, 10), LocalDate.of(2026, 6, 20));
+        }
+
+        @Test
+        @DisplayName("Include both bounds when queried by date range")
+        void should_includeBothBounds_when_queriedByRange() {
+            // When
+            List<Transaction> result = portfolio.transactionsBetween(LocalDate.of(2026, 6, 10), LocalDate.of(2026, 6, 20));
+
+            // Then
+            assertThat(result).hasSize(2);
+            assertThat(result.getFirst()).isInstanceOf(Buy.class);
+        }
+
+        @Test
+        @DisplayName("Throw an IllegalArgumentException when the range starts after it ends")
+        void should_throwException_when_fromIsAfterTo() {
+            // When & Then
+            assertThatThrownBy(() -> portfolio.transactionsBetween(LocalDate.of(2026, 6, 20), LocalDate.of(2026, 6, 10)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+                "2026-06-04, 0",
+                "2026-06-05, 5000000",
+                "2026-06-10, -802500",   // 5000000 - 5802500: the backdated buy predates the first deposit's funds
+                "2026-06-19, -802500",
+                "2026-06-20, 9197500",
+                "2026-12-31, 9197500"
+        })
+        @DisplayName("Return the balance counting only transactions dated on or before the given date")
+        void should_returnPointInTimeBalance_when_queriedAsOfDate(LocalDate asOf, String expected) {
+            // When
+            Money result = portfolio.tradingBalanceAsOf(asOf);
+
+            // Then
+            assertThat(result).isEqualTo(Money.of(new BigDecimal(expected)));
+        }
+
+        @Test
+        @DisplayName("Match a full replay when entries span years and are recorded out of order")
+        void should_matchFullReplay_when_entriesSpanYearsOutOfOrder() {
+            // Given
+            Portfolio longLived = Portfolio.create(BrokerAccountId.generate(), "Long-Lived");
+            LocalDate[] dates = {
+                    LocalDate.of(2024, 3, 1), LocalDate.of(2016, 1, 4), LocalDate.of(2026, 6, 28),
+                    LocalDate.of(2019, 7, 15), LocalDate.of(2016, 1, 4), LocalDate.of(2021, 12, 31)
+            };
+            for (int i = 0; i < dates.length; i++) {
+                longLived.recordDeposit(Money.of(1_000L * (i + 1)), dates[i], today);
+            }
+
+            // When & Then
+            for (LocalDate asOf = LocalDate.of(2015, 12, 31); asOf.isBefore(today); asOf = asOf.plusDays(37)) {
+                LocalDate day = asOf;
+                Money replayed = longLived.transactions().stream()
+                        .filter(transaction -> !transaction.date().isAfter(day))
+                        .map(Transaction::cashDelta)
+                        .reduce(Money.zero(), Money::add);
+                assertThat(longLived.tradingBalanceAsOf(day)).isEqualTo(replayed);
+            }
+            assertThat(longLived.tradingBalanceAsOf(today)).isEqualTo(longLived.tradingBalance());
+        }
+
+        @Test
+        @DisplayName("Answer from the ledger source's date queries, not its pages, when restored")
+        void should_queryLedgerSourceByDate_when_restored() {
+            // Given
+            Portfolio restored = Portfolio.restore(portfolio.id(), portfolio.brokerAccountId(), "Long-Term",
+                    portfolio.takeSnapshot(), withoutPages(List.copyOf(portfolio.transactions())));
+
+            // When
+            restored.recordDeposit(Money.of(1_000L), LocalDate.of(2026, 6, 10), today);
+
+            // Then
+            List<Transaction> result = restored.transactionsBetween(LocalDate.of(2026, 6, 1), LocalDate.of(2026, 6, 30));
+            assertThat(result).extracting(Transaction::date).containsExactly(LocalDate.of(2026, 6, 5),
+                    LocalDate.of(2026, 6, 10), LocalDate.of(2026, 6, 10), LocalDate.of(2026, 6, 20));
+            assertThat(result.get(2)).isInstanceOf(Deposit.class);
+            assertThat(restored.tradingBalanceAsOf(LocalDate.of(2026, 6, 9))).isEqualTo(Money.of(5_000_000L));
+            assertThat(restored.tradingBalanceAsOf(LocalDate.of(2026, 6, 10))).isEqualTo(Money.of(-801_500L));
+            assertThat(restored.tradingBalanceAsOf(today)).isEqualTo(restored.tradingBalance());
+        }
+
+        @Test
+        @DisplayName("Answer balances when entries lie centuries apart")
+        void should_returnPointInTimeBalance_when_entriesLieCenturiesApart() {
+            // Given
+            Portfolio farApart = Portfolio.create(BrokerAccountId.generate(), "Far Apart");
+            farApart.recordDeposit(Money.of(1_000L), LocalDate.of(2026, 1, 2), today);
+            farApart.recordDeposit(Money.of(2_000L), LocalDate.of(1, 1, 1), today);
+
+            // When & Then
+            assertThat(farApart.tradingBalanceAsOf(LocalDate.of(1, 1, 1))).isEqualTo(Money.of(2_000L));
+            assertThat(farApart.tradingBalanceAsOf(LocalDate.of(2025, 12, 31))).isEqualTo(Money.of(2_000L));
+            assertThat(farApart.tradingBalanceAsOf(today)).isEqualTo(Money.of(3_000L));
+        }
+    }
+
+    @Nested
+    @DisplayName("Snapshot Tests")
+    class SnapshotTest {
+
+        private final AssetId bbca = AssetId.of("ID1000109507");
+        private final AssetId bbri = AssetId.of("ID1000118201");
+        private final Money fee = Money.of(new BigDecimal("2500"));
+        private final BrokerAccountId brokerAccountId = BrokerAccountId.generate();
+
+        @BeforeEach
+        void setup() {
+            portfolio.recordDeposit(Money.of(new BigDecimal("50000000")), date, today);
+            portfolio.recordBuy(bbca, Quantity.ofShares(1_000L), Money.of(5_800L), fee, date, today);
+        }
+
+        @Test
+        @DisplayName("Match a full replay when restored from a snapshot and the ledger tail")
+        void should_matchFullReplay_when_restoredFromSnapshotAndTail() {
+            // Given
+            PortfolioSnapshot snapshot = portfolio.takeSnapshot();
+            portfolio.recordBuy(bbri, Quantity.ofShares(500L), Money.of(4_500L), fee, date, today);
+            portfolio.recordBuy(bbca, Quantity.ofShares(300L), Money.of(6_000L), fee, LocalDate.of(2026, 6, 1), today);
+            portfolio.recordDeposit(Money.of(1_000L), date, today);
+            List<Transaction> ledger = List.copyOf(portfolio.transactions());
+
+            // When
+            Portfolio restored = Portfolio.restore(portfolio.id(), brokerAccountId, "Long-Term", snapshot, ledger);
+            Portfolio replayed = Portfolio.replay(portfolio.id(), brokerAccountId, "Long-Term", ledger);
+
+            // Then
+            for (Portfolio rehydrated : List.of(restored, replayed)) {
+                assertThat(rehydrated.tradingBalance()).isEqualTo(portfolio.tradingBalance());
+                assertThat(rehydrated.transactions()).containsExactlyElementsOf(ledger);
+                assertThat(rehydrated.acquisitions()).containsExactlyElementsOf(portfolio.acquisitions());
+                assertThat(rehydrated.holdings()).containsExactlyElementsOf(portfolio.holdings());
+                assertThat(rehydrated.verifyHoldings()).isEmpty();
+                assertThat(rehydrated.tradingBalanceAsOf(LocalDate.of(2026, 6, 1)))
+                        .isEqualTo(portfolio.tradingBalanceAsOf(LocalDate.of(2026, 6, 1)));
+            }
+            assertThat(restored.latestSnapshot()).contains(snapshot);
+        }
+
+        @Test
+        @DisplayName("Keep only open Acquisitions in a snapshot and replay the closed ones when asked for every one")
+        void should_replayClosedAcquisitions_when_restoredFromSnapshotWithoutThem() {
+            // Given
+            portfolio.recordBuy(bbri, Quantity.ofShares(500L), Money.of(4_500L), fee, date, today);
+            portfolio.recordSell(bbca, Quantity.ofShares(1_000L), Money.of(6_000L), fee, date,
+                    new AcquisitionSelectionStrategy.Fifo(), today);
+            PortfolioSnapshot snapshot = portfolio.takeSnapshot();
+            List<Transaction> ledger = List.copyOf(portfolio.transactions());
+
+            // When
+            Portfolio restored = Portfolio.restore(portfolio.id(), brokerAccountId, "Long-Term", snapshot, ledger);
+            restored.recordBuy(bbca, Quantity.ofShares(100L), Money.of(6_100L), fee, date, today);
+
+            // Then
+            assertThat(snapshot.acquisitions()).extracting(Acquisition::assetId).containsExactly(bbri);
+            assertThat(restored.unsavedAcquisitions()).extracting(Acquisition::assetId).containsExactly(bbca);
+            assertThat(restored.acquisitions()).extracting(Acquisition::remainingQuantity)
+                    .containsExactly(Quantity.ofShares(0L), Quantity.ofShares(500L), Quantity.ofShares(100L));
+            assertThat(restored.unsavedAcquisitions()).extracting(Acquisition::assetId).containsExactly(bbca);
+            assertThat(restored.verifyHoldings()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Read the closed Acquisitions from the ledger source, not its pages, when asked for every one")
+        void should_readClosedAcquisitionsFromSource_when_restoredWithoutLedgerPages() {
+            // Given
+            portfolio.recordBuy(bbri, Quantity.ofShares(500L), Money.of(4_500L), fee, date, today);
+            portfolio.recordSell(bbca, Quantity.ofShares(1_000L), Money.of(6_000L), fee, date,
+                    new AcquisitionSelectionStrategy.Fifo(), today);
+            Portfolio restored = Portfolio.restore(portfolio.id(), brokerAccountId, "Long-Term", portfolio.takeSnapshot(),
+                    withoutPages(List.copyOf(portfolio.transactions())));
+
+            // When
+            restored.recordBuy(bbca, Quantity.ofShares(100L), Money.of(6_100L), fee, date, today);
+
+            // Then
+            assertThat(restored.acquisitions()).extracting(Acquisition::remainingQuantity)
+                    .containsExactly(Quantity.ofShares(0L), Quantity.ofShares(500L), Quantity.ofShares(100L));
+            assertThat(restored.acquisitions().get(1)).isSameAs(restored.holding(bbri).orElseThrow().openAcquisitions().getFirst());
+            assertThat(restored.unsavedAcquisitions()).extracting(Acquisition::assetId).containsExactly(bbca);
+        }
+
+        @Test
+        @DisplayName("Read only the ledger pages after the snapshot when restored from a paged ledger")
+        void should_readOnlyTailPages_when_restoredFromLedgerSource() {
+            // Given
+            for (int i = 0; i < 3 * PagedLedger.PAGE_SIZE; i++) {
+                portfolio.recordDeposit(Money.of(1_000L), date, today);
+            }
+            PortfolioSnapshot snapshot = portfolio.takeSnapshot();
+            portfolio.recordBuy(bbri, Quantity.ofShares(500L), Money.of(4_500L), fee, date, today);
+            List<Transaction> ledger = List.copyOf(portfolio.transactions());
+            List<Integer> offsets = new ArrayList<>();
+            LedgerSource source = new LedgerSource() {
+                @Override
+                public int size() { return ledger.size(); }
+
+                @Override
+                public List<Transaction> page(int offset, int limit) {
+                    offsets.add(offset);
+                    return ledger.subList(offset, offset + limit);
+                }
+            };
+
+            // When
+            Portfolio restored = Portfolio.restore(portfolio.id(), brokerAccountId, "Long-Term", snapshot, source);
+
+            // Then
+            assertThat(offsets).containsExactly(snapshot.ledgerPosition() / PagedLedger.PAGE_SIZE * PagedLedger.PAGE_SIZE);
+            assertThat(restored.tradingBalance()).isEqualTo(portfolio.tradingBalance());
+            assertThat(restored.holdings()).containsExactlyElementsOf(portfolio.holdings());
+            assertThat(restored.transactions()).containsExactlyElementsOf(ledger);
+        }
+
+        @Test
+        @DisplayName("Capture a snapshot automatically every snapshot interval")
+        void should_captureSnapshot_when_intervalReached() {
+            // Given
+            assertThat(portfolio.latestSnapshot()).isEmpty();
+
+            // When
+            for (int i = portfolio.transactions().size(); i < Portfolio.SNAPSHOT_INTERVAL; i++) {
+                portfolio.recordDeposit(Money.of(1_000L), date, today);
+            }
+
+            // Then
+            PortfolioSnapshot snapshot = portfolio.latestSnapshot().orElseThrow();
+            assertThat(snapshot.ledgerPosition()).isEqualTo(Portfolio.SNAPSHOT_INTERVAL);
+            assertThat(snapshot.tradingBalance()).isEqualTo(portfolio.tradingBalance());
+            assertThat(portfolio.verifySnapshot(snapshot)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Verify a snapshot against a full replay of the ledger")
+        void should_verifySnapshot_when_itMatchesReplay() {
+            // Given
+            PortfolioSnapshot snapshot = portfolio.takeSnapshot();
+            portfolio.recordDeposit(Money.of(1_000L), date, today);
+
+            // When & Then
+            assertThat(portfolio.verifySnapshot(snapshot)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Reject a snapshot that diverges from a full replay of the ledger")
+        void should_rejectSnapshot_when_itDivergesFromReplay() {
+            // Given
+            PortfolioSnapshot genuine = portfolio.takeSnapshot();
+            PortfolioSnapshot tampered = new PortfolioSnapshot(genuine.portfolioId(), genuine.ledgerPosition(),
+                    genuine.tradingBalance().add(Money.of(1L)), genuine.acquisitions(), genuine.holdings(), genuine.lots(), genuine.positions());
+            PortfolioSnapshot ahead = new PortfolioSnapshot(genuine.portfolioId(), genuine.ledgerPosition() + 1,
+                    genuine.tradingBalance(), genuine.acquisitions(), genuine.holdings(), genuine.lots(), genuine.positions());
+
+            // When & Then
+            assertThat(portfolio.verifySnapshot(tampered)).isFalse();
+            assertThat(portfolio.verifySnapshot(ahead)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Throw an IllegalArgumentException when restoring another portfolio's snapshot")
+        void should_throwException_when_snapshotBelongsToAnotherPortfolio() {
+            // Given
+            PortfolioSnapshot snapshot = portfolio.takeSnapshot();
+            List<Transaction> ledger = List.copyOf(portfolio.transactions());
+
+            // When & Then
+            assertThatThrownBy(() -> Portfolio.restore(PortfolioId.generate(), brokerAccountId, "Other", snapshot, ledger))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Unsaved Transactions Tests")
+    class UnsavedTransactionsTest {
+
+        @Test
+        @DisplayName("Leave only what was recorded after the last save unsaved")
+        void should_returnTransactionsSinceLastSave_when_marked() {
+            // Given
+            portfolio.recordDeposit(Money.of(1_000_000L), date, today);
+            portfolio.markSaved();
+            portfolio.recordDeposit(Money.of(2_000L), date, today);
+
+            // When
+            List<Transaction> unsaved = portfolio.unsavedTransactions();
+
+            // Then
+            assertThat(unsaved).containsExactly(portfolio.transactions().get(1));
+        }
+
+        @Test
+        @DisplayName("Count a loaded ledger as saved")
+        void should_haveNoUnsavedTransactions_when_loaded() {
+            // Given
+            portfolio.recordDeposit(Money.of(1_000_000L), date, today);
+            List<Transaction> ledger = List.copyOf(portfolio.transactions());
+
+            // When
+            Portfolio loaded = Portfolio.replay(portfolio.id(), portfolio.brokerAccountId(), portfolio.name(), ledger);
+
+            // Then
+            assertThat(portfolio.unsavedTransactions()).hasSize(1);
+            assertThat(loaded.unsavedTransactions()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Restore an Acquisition with the shares it had left")
+        void should_keepRemainingQuantity_when_acquisitionRestored() {
+            // Given
+            AssetId bbca = AssetId.of("ID1000109507");
+
+            // When
+            Acquisition restored = Acquisition.restore(AcquisitionId.generate(), portfolio.id(), bbca, date,
+                    Money.of(5_000L), Money.zero(), Quantity.ofShares(300L), Quantity.ofShares(100L));
+
+            // Then
+            assertThat(restored.remainingQuantity()).isEqualTo(Quantity.ofShares(100L));
+            assertThat(restored.status()).isEqualTo(AcquisitionStatus.PARTIALLY_CLOSED);
+        }
+
+        @Test
+        @DisplayName("Reject restoring an Acquisition with more shares left than it opened with")
+        void should_throwIllegalArgumentException_when_remainingExceedsInitial() {
+            // When & Then
+            assertThatThrownBy(() -> Acquisition.restore(AcquisitionId.generate(), portfolio.id(), AssetId.of("ID1000109507"),
+                    date, Money.of(5_000L), Money.zero(), Quantity.ofShares(100L), Quantity.ofShares(200L)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    // A stored ledger that answers the date and returns queries but fails any read of its pages
+    private static LedgerSource withoutPages(List<Transaction> ledger) {
+        LedgerSource stored = LedgerSource.of(ledger);
+        return new LedgerSource() {
+            @Override
+            public int size() { return ledger.size(); }
+
+            @Override
+            public List<Transaction> page(int offset, int limit) {
+                throw new AssertionError("read the ledger page at " + offset);
+            }
+
+            @Override
+            public List<Transaction> between(LocalDate from, LocalDate to) { return stored.between(from, to); }
+
+            @Override
+            public Money cashDeltaAfter(LocalDate date) { return stored.cashDeltaAfter(date); }
+
+            @Override
+            public List<Transaction> trades(AssetId assetId, LocalDate from, LocalDate to) { return stored.trades(assetId, from, to); }
+
+            @Override
+            public Optional<StoredLot> lot(AcquisitionId acquisitionId, int position) { return stored.lot(acquisitionId, position); }
+
+            @Override
+            public Optional<Money> realizedGain(TransactionId sellId) { return stored.realizedGain(sellId); }
+
+            @Override
+            public List<Acquisition> acquisitions() { return stored.acquisitions(); }
+        };
+    }
 }
@@ -0,0 +1,162 @@
+package com.budiyanto.fintrackr.portfolio.domain.service;
+
+import com.budiyanto.fintrackr.portfolio.domain.model.AcquisitionSelectionStrategy;
+import com.budiyanto.fintrackr.portfolio.domain.model.Portfolio;
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.BrokerAccountId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.OptionalDouble;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("ReturnCalculator Tests")
+class ReturnCalculatorTest {
+
+    private final ReturnCalculator calculator = new ReturnCalculator();
+    private final AssetId bbca = AssetId.of("ID1000109507");
+    private final LocalDate start = LocalDate.of(2025, 1, 1);
+    private final LocalDate today = LocalDate.of(2026, 1, 1);
+
+    private static int day(String date) {
+        return (int) LocalDate.parse(date).toEpochDay();
+    }
+
+    @Nested
+    @DisplayName("Over cash flows")
+    class OverCashFlowsTest {
+
+        @Test
+        @DisplayName("Solve XIRR to the rate a spreadsheet gives for irregularly dated flows")
+        void should_matchSpreadsheetXirr_when_flowsIrregular() {
+            // Given
+            CashFlows flows = CashFlows.of(
+                    new int[]{day("2008-01-01"), day("2008-03-01"), day("2008-10-30"), day("2009-02-15")},
+                    new double[]{10_000, -2_750, -4_250, -3_250},
+                    new double[4],
+                    day("2009-04-01"), 2_750);
+
+            // When
+            OptionalDouble xirr = calculator.xirr(flows);
+
+            // Then
+            assertThat(xirr).isPresent();
+            assertThat(xirr.getAsDouble()).isCloseTo(0.3733625335, within(1e-9));
+        }
+
+        @Test
+        @DisplayName("Chain the growth of each sub-period, whatever was paid in between")
+        void should_chainSubPeriods_when_computingTwr() {
+            // Given
+            // +50% on the first 100, then −20% on the 250 after the second deposit
+            CashFlows flows = CashFlows.of(new int[]{0, 182}, new double[]{100, 100}, new double[]{0, 150}, 365, 200);
+
+            // When
+            OptionalDouble twr = calculator.twr(flows);
+            OptionalDouble xirr = calculator.xirr(flows);
+
+            // Then
+            assertThat(twr.getAsDouble()).isCloseTo(0.2, within(1e-12));
+            assertThat(xirr.getAsDouble()).isCloseTo(0.0, within(1e-12));  // 200 paid in, 200 at the end
+        }
+
+        @Test
+        @DisplayName("Return no rate when nothing was paid in")
+        void should_returnEmpty_when_noFlows() {
+            // Given
+            CashFlows flows = CashFlows.of(new int[0], new double[0], new double[0], 365, 0);
+
+            // When & Then
+            assertThat(calculator.xirr(flows)).isEmpty();
+            assertThat(calculator.twr(flows)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Reject flows out of date order")
+        void should_throwIllegalArgumentException_when_daysOutOfOrder() {
+            // When & Then
+            assertThatThrownBy(() -> CashFlows.of(new int[]{10, 5}, new double[2], new double[2], 20, 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Over a portfolio")
+    class OverPortfolioTest {
+
+        @Test
+        @DisplayName("Grow a year's single deposit to its value at the marked price")
+        void should_equalSimpleGrowth_when_singleDepositHeldAYear() {
+            // Given
+            Portfolio portfolio = Portfolio.create(BrokerAccountId.generate(), "Main");
+            portfolio.recordDeposit(Money.of(1_000_000L), start, today);
+            portfolio.recordBuy(bbca, Quantity.ofShares(100L), Money.of(10_000L), Money.zero(), start, today);
+            portfolio.markPrice(bbca, Money.of(11_000L), today);
+
+            // When
+            Returns returns = calculator.returnsOf(portfolio, today);
+
+            // Then
+            assertThat(returns.moneyWeighted()).contains(new BigDecimal("0.100000"));
+            assertThat(returns.timeWeighted()).contains(new BigDecimal("0.100000"));
+        }
+
+        @Test
+        @DisplayName("Weigh a late deposit that earned nothing into XIRR but not into TWR")
+        void should_separateMoneyAndTimeWeighting_when_depositArrivesAfterGain() {
+            // Given
+            Portfolio portfolio = Portfolio.create(BrokerAccountId.generate(), "Main");
+            portfolio.recordDeposit(Money.of(1_000_000L), start, today);
+            portfolio.recordBuy(bbca, Quantity.ofShares(100L), Money.of(10_000L), Money.zero(), start, today);
+            portfolio.recordSell(bbca, Quantity.ofShares(100L), Money.of(12_000L), Money.zero(), start.plusDays(100),
+                    new AcquisitionSelectionStrategy.Fifo(), today);
+            portfolio.recordDeposit(Money.of(1_000_000L), start.plusDays(200), today);
+
+            // When
+            Returns returns = calculator.returnsOf(portfolio, today);
+
+            // Then
+            assertThat(returns.timeWeighted()).contains(new BigDecimal("0.200000"));
+            assertThat(returns.moneyWeighted()).contains(new BigDecimal("0.139281"));  // 2.2M = 1M·(1+r) + 1M·(1+r)^(165/365)
+        }
+
+        @Test
+        @DisplayName("Measure many portfolios at once, in the order given")
+        void should_keepOrder_when_measuredInParallel() {
+            // Given
+            Portfolio empty = Portfolio.create(BrokerAccountId.generate(), "Empty");
+            Portfolio funded = Portfolio.create(BrokerAccountId.generate(), "Funded");
+            funded.recordDeposit(Money.of(1_000_000L), start, today);
+
+            // When
+            List<Returns> returns = calculator.returnsOf(List.of(empty, funded), today);
+
+            // Then
+            assertThat(returns).extracting(Returns::portfolioId).containsExactly(empty.id(), funded.id());
+            assertThat(returns.get(0).moneyWeighted()).isEmpty();
+            assertThat(returns.get(1).moneyWeighted()).contains(new BigDecimal("0.000000"));
+        }
+
+        @Test
+        @DisplayName("Reject a valuation date before the latest transaction")
+        void should_throwIllegalArgumentException_when_asOfBeforeLedgerEnds() {
+            // Given
+            Portfolio portfolio = Portfolio.create(BrokerAccountId.generate(), "Main");
+            portfolio.recordDeposit(Money.of(1_000_000L), today, today);
+
+            // When & Then
+            assertThatThrownBy(() -> calculator.returnsOf(portfolio, start))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.budiyanto.fintrackr.portfolio.infrastructure.adapter.out.persistence;
+
+import com.budiyanto.fintrackr.TestcontainersConfiguration;
+import com.budiyanto.fintrackr.portfolio.PortfolioEvent;
+import com.budiyanto.fintrackr.portfolio.PortfolioState;
+import com.budiyanto.fintrackr.portfolio.domain.model.AcquisitionSelectionStrategy;
+import com.budiyanto.fintrackr.portfolio.domain.model.Portfolio;
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.BrokerAccountId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, PortfolioPersistenceAdapter.class, JdbcPortfolioStateReader.class})
+@DisplayName("JdbcPortfolioStateReader Tests")
+class JdbcPortfolioStateReaderTest {
+
+    private final LocalDate date = LocalDate.of(2026, 6, 20);
+    private final LocalDate today = LocalDate.of(2026, 6, 28);
+    private final AssetId bbca = AssetId.of("ID1000109507");
+    private final AssetId tlkm = AssetId.of("ID1000129000");
+
+    @Autowired
+    private PortfolioPersistenceAdapter adapter;
+
+    @Autowired
+    private JdbcPortfolioStateReader reader;
+
+    private Portfolio savedPortfolio() {
+        Portfolio portfolio = Portfolio.create(BrokerAccountId.generate(), "Main");
+        portfolio.recordDeposit(Money.of(10_000_000L), date, today);
+        portfolio.recordBuy(bbca, Quantity.ofShares(100L), Money.of(9_000L), Money.of(1_350L), date, today);
+        portfolio.recordBuy(tlkm, Quantity.ofShares(200L), Money.of(3_000L), Money.of(900L), date, today);
+        portfolio.recordSell(tlkm, Quantity.ofShares(200L), Money.of(3_200L), Money.of(1_600L), date.plusDays(1),
+                new AcquisitionSelectionStrategy.Fifo(), today);
+        adapter.save(portfolio);
+        return portfolio;
+    }
+
+    @Test
+    @DisplayName("Report every asset a Portfolio bought at its last ledger position, sold-out ones as zero")
+    void should_reportHoldingsAndSoldOutAssets_when_portfolioRead() {
+        // Given
+        Portfolio portfolio = savedPortfolio();
+
+        // When
+        List<PortfolioState> page = reader.page(null, 10);
+
+        // Then
+        assertThat(page).singleElement().satisfies(state -> {
+            assertThat(state.portfolioId()).isEqualTo(portfolio.id().value());
+            assertThat(state.position()).isEqualTo(3);
+            assertThat(state.tradingBalance()).isEqualByComparingTo(portfolio.tradingBalance().amount());
+            assertThat(state.holdings()).extracting(PortfolioEvent.HoldingState::isin, PortfolioEvent.HoldingState::quantity)
+                    .containsExactly(
+                            tuple(bbca.value(), BigDecimal.valueOf(100L)),
+                            tuple(tlkm.value(), BigDecimal.ZERO));
+        });
+    }
+
+    @Test
+    @DisplayName("Page Portfolios in id order, skipping those with an empty ledger")
+    void should_pageInIdOrder_when_readAfterPreviousPage() {
+        // Given
+        Portfolio first = savedPortfolio();
+        Portfolio second = savedPortfolio();
+        adapter.save(Portfolio.create(BrokerAccountId.generate(), "Empty"));
+        List<Portfolio> ordered = Stream.of(first, second)
+                .sorted(Comparator.comparing(portfolio -> portfolio.id().value()))
+                .toList();
+
+        // When
+        List<PortfolioState> firstPage = reader.page(null, 1);
+        List<PortfolioState> secondPage = reader.page(firstPage.getLast().portfolioId(), 1);
+        List<PortfolioState> lastPage = reader.page(secondPage.getLast().portfolioId(), 1);
+
+        // Then
+        assertThat(firstPage).extracting(PortfolioState::portfolioId).containsExactly(ordered.getFirst().id().value());
+        assertThat(secondPage).extracting(PortfolioState::portfolioId).containsExactly(ordered.getLast().id().value());
+        assertThat(lastPage).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Report the latest price each asset traded at over every Portfolio")
+    void should_reportLatestTradePrice_when_assetTradedSeveralTimes() {
+        // Given
+        savedPortfolio();
+
+        // When
+        List<PortfolioEvent.TradePrice> prices = reader.lastTradePrices();
+
+        // Then
+        assertThat(prices).extracting(PortfolioEvent.TradePrice::isin, PortfolioEvent.TradePrice::date)
+                .containsExactly(
+                        tuple(bbca.value(), date),
+                        tuple(tlkm.value(), date.plusDays(1)));
+        assertThat(prices.getLast().price()).isEqualByComparingTo("3200");
+    }
+}
@@ -0,0 +1,173 @@
+package com.budiyanto.fintrackr.portfolio.infrastructure.adapter.out.persistence;
+
+import com.budiyanto.fintrackr.TestcontainersConfiguration;
+import com.budiyanto.fintrackr.portfolio.domain.exception.ArchivedYearException;
+import com.budiyanto.fintrackr.portfolio.domain.model.AcquisitionSelectionStrategy;
+import com.budiyanto.fintrackr.portfolio.domain.model.Portfolio;
+import com.budiyanto.fintrackr.portfolio.domain.model.PortfolioId;
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.BrokerAccountId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, LedgerPartitions.class, PortfolioPersistenceAdapter.class})
+@DisplayName("LedgerPartitions Tests")
+class LedgerPartitionsTest {
+
+    private final int thisYear = LocalDate.now().getYear();
+    private final LocalDate date = LocalDate.of(2026, 6, 20);
+    private final LocalDate today = LocalDate.of(2026, 6, 28);
+    private final AssetId bbca = AssetId.of("ID1000109507");
+
+    @Autowired
+    private LedgerPartitions partitions;
+
+    @Autowired
+    private PortfolioPersistenceAdapter adapter;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Portfolio savedPortfolio(LocalDate on) {
+        Portfolio portfolio = Portfolio.create(BrokerAccountId.generate(), "Main");
+        portfolio.recordDeposit(Money.of(10_000_000L), on, today);
+        portfolio.recordBuy(bbca, Quantity.ofShares(100L), Money.of(9_000L), Money.of(1_350L), on, today);
+        adapter.save(portfolio);
+        return portfolio;
+    }
+
+    // The ledger is append-only (V1), so the rows a test committed are deleted with its triggers off
+    private void delete(PortfolioId id) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.execute("SET LOCAL session_replication_role = replica");
+            for (String table : new String[]{"transaction_allocations", "transactions", "acquisitions", "holdings", "asset_performance"}) {
+                jdbcTemplate.update("DELETE FROM " + table + " WHERE portfolio_id = ?", id.value());
+            }
+            jdbcTemplate.update("DELETE FROM portfolios WHERE id = ?", id.value());
+        });
+    }
+
+    private boolean partitionExists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+
+    @Test
+    @DisplayName("Create the configured years ahead in every partitioned table")
+    void should_createFuturePartitions_when_createAheadRuns() {
+        // When
+        partitions.createAhead();
+
+        // Then
+        for (String table : new String[]{"transactions", "transaction_allocations", "acquisitions"}) {
+            assertThat(partitionExists(table + "_" + thisYear)).as(table).isTrue();
+            assertThat(partitionExists(table + "_" + (thisYear + 1))).as(table).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Refuse to detach a year that can still be written to")
+    void should_throwIllegalArgumentException_when_detachingCurrentYear() {
+        // When & Then
+        assertThatThrownBy(() -> partitions.detach(thisYear))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(partitionExists("transactions_" + thisYear)).isTrue();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Load, record and report from stored state after a year with history is detached")
+    void should_keepWorkingFromStoredState_when_yearWithHistoryDetached() {
+        // Given
+        LocalDate archivedDate = LocalDate.of(2002, 3, 4);
+        Portfolio portfolio = Portfolio.create(BrokerAccountId.generate(), "Main");
+        portfolio.recordDeposit(Money.of(10_000_000L), archivedDate, today);
+        portfolio.recordBuy(bbca, Quantity.ofShares(100L), Money.of(9_000L), Money.of(1_350L), archivedDate, today);
+        portfolio.recordSell(bbca, Quantity.ofShares(100L), Money.of(9_500L), Money.of(1_425L), archivedDate.plusMonths(6),
+                new AcquisitionSelectionStrategy.Fifo(), today);
+        portfolio.recordBuy(bbca, Quantity.ofShares(100L), Money.of(9_000L), Money.of(1_350L), date, today);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> adapter.save(portfolio));
+        partitions.detach(2002);
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                Portfolio loaded = adapter.findById(portfolio.id()).orElseThrow();
+                assertThat(loaded.performance(bbca)).isEqualTo(portfolio.performance(bbca));
+
+                // When
+                loaded.recordDividend(bbca, Money.of(50L), date.plusDays(1), date.plusDays(3), today);
+                adapter.save(loaded);
+
+                // Then
+                assertThat(loaded.tradingBalance()).isEqualTo(portfolio.tradingBalance().add(Money.of(5_000L)));
+                assertThat(loaded.acquisitions()).containsExactlyElementsOf(portfolio.acquisitions());
+                assertThat(loaded.tradingBalanceAsOf(LocalDate.of(2001, 12, 31))).isEqualTo(Money.of(0L));
+                assertThat(loaded.tradingBalanceAsOf(LocalDate.of(2002, 12, 31)))
+                        .isEqualTo(portfolio.tradingBalanceAsOf(LocalDate.of(2002, 12, 31)));
+                assertThatThrownBy(() -> loaded.tradingBalanceAsOf(archivedDate))
+                        .isInstanceOf(IllegalArgumentException.class);
+                assertThatThrownBy(() -> List.copyOf(loaded.transactions()))
+                        .isInstanceOf(IllegalStateException.class);
+                assertThatThrownBy(() -> loaded.recordDeposit(Money.of(1_000L), archivedDate, today))
+                        .isInstanceOf(ArchivedYearException.class);
+            });
+        } finally {
+            partitions.attach(2002);
+            delete(portfolio.id());
+        }
+        assertThat(LedgerPartitions.archivedYears(jdbcTemplate)).isEmpty();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Keep loading and recording after a year is detached, and reject commands dated in it")
+    void should_rejectBackdatedCommand_when_yearDetached() {
+        // Given
+        partitions.detach(2001);
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                Portfolio portfolio = savedPortfolio(date);
+                entityManager.clear();
+                Portfolio loaded = adapter.findById(portfolio.id()).orElseThrow();
+
+                // When
+                loaded.recordDividend(bbca, Money.of(50L), date.plusDays(1), date.plusDays(3), today);
+                adapter.save(loaded);
+
+                // Then
+                assertThat(loaded.transactions()).hasSize(3);
+                assertThatThrownBy(() -> loaded.recordDeposit(Money.of(1_000L), LocalDate.of(2001, 6, 1), today))
+                        .isInstanceOf(ArchivedYearException.class);
+            });
+        } finally {
+            partitions.attach(2001);
+        }
+        assertThat(partitionExists("transactions_2001")).isTrue();
+    }
+}
@@ -0,0 +1,333 @@
+package com.budiyanto.fintrackr.portfolio.infrastructure.adapter.out.persistence;
+
+import com.budiyanto.fintrackr.TestcontainersConfiguration;
+import com.budiyanto.fintrackr.portfolio.domain.model.Acquisition;
+import com.budiyanto.fintrackr.portfolio.domain.model.AcquisitionSelectionStrategy;
+import com.budiyanto.fintrackr.portfolio.domain.model.Portfolio;
+import com.budiyanto.fintrackr.portfolio.domain.model.Transaction;
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.BrokerAccountId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, PortfolioPersistenceAdapter.class})
+@DisplayName("PortfolioPersistenceAdapter Tests")
+class PortfolioPersistenceAdapterTest {
+
+    private final LocalDate date = LocalDate.of(2026, 6, 20);
+    private final LocalDate today = LocalDate.of(2026, 6, 28);
+    private final AssetId bbca = AssetId.of("ID1000109507");
+
+    @Autowired
+    private PortfolioPersistenceAdapter adapter;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Portfolio tradedPortfolio() {
+        Portfolio portfolio = Portfolio.create(BrokerAccountId.generate(), "Main");
+        portfolio.recordDeposit(Money.of(10_000_000L), date, today);
+        portfolio.recordBuy(bbca, Quantity.ofShares(100L), Money.of(9_000L), Money.of(1_350L), date, today);
+        portfolio.recordBuy(bbca, Quantity.ofShares(200L), Money.of(9_500L), Money.of(2_850L), date.plusDays(1), today);
+        portfolio.recordSell(bbca, Quantity.ofShares(150L), Money.of(10_000L), Money.of(3_750L), date.plusDays(2),
+                new AcquisitionSelectionStrategy.Fifo(), today);
+        portfolio.recordDividend(bbca, Money.of(50L), date.plusDays(3), date.plusDays(5), today);
+        return portfolio;
+    }
+
+    private Portfolio reload(Portfolio portfolio) {
+        entityManager.clear();
+        return adapter.findById(portfolio.id()).orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Load back the ledger, balance, acquisitions and holdings that were saved")
+    void should_restoreSameState_when_loadedAfterSave() {
+        // Given
+        Portfolio portfolio = tradedPortfolio();
+
+        // When
+        adapter.save(portfolio);
+        Portfolio loaded = reload(portfolio);
+
+        // Then
+        assertThat(loaded.transactions()).containsExactlyElementsOf(portfolio.transactions());
+        assertThat(loaded.tradingBalance()).isEqualTo(portfolio.tradingBalance());
+        assertThat(loaded.holdings()).containsExactlyElementsOf(portfolio.holdings());
+        assertThat(loaded.acquisitions()).extracting(acquisition -> acquisition.remainingQuantity())
+                .containsExactly(Quantity.ofShares(0L), Quantity.ofShares(150L));
+        assertThat(loaded.unsavedTransactions()).isEmpty();
+        assertThat(loaded.verifyHoldings()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Append only the transactions recorded since the Portfolio was loaded")
+    void should_appendOnlyNewTransactions_when_savedAgain() {
+        // Given
+        Portfolio portfolio = tradedPortfolio();
+        adapter.save(portfolio);
+        Portfolio loaded = reload(portfolio);
+        loaded.recordSell(bbca, Quantity.ofShares(150L), Money.of(10_500L), Money.of(3_900L), date.plusDays(6),
+                new AcquisitionSelectionStrategy.Fifo(), today);
+
+        // When
+        adapter.save(loaded);
+        Portfolio reloaded = reload(loaded);
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM transactions WHERE portfolio_id = ?", Integer.class,
+                portfolio.id().value())).isEqualTo(6);
+        assertThat(reloaded.transactions()).containsExactlyElementsOf(loaded.transactions());
+        assertThat(reloaded.holding(bbca)).isEmpty();
+        assertThat(reloaded.tradingBalance()).isEqualTo(loaded.tradingBalance());
+    }
+
+    @Test
+    @DisplayName("Load only the open Acquisitions and insert new ones after every stored one, sold-out ones included")
+    void should_loadOnlyOpenAcquisitions_when_someSoldOut() {
+        // Given
+        Portfolio portfolio = tradedPortfolio();
+        adapter.save(portfolio);
+        Portfolio loaded = reload(portfolio);
+        loaded.recordBuy(bbca, Quantity.ofShares(50L), Money.of(9_800L), Money.of(750L), date.plusDays(6), today);
+
+        // When
+        adapter.save(loaded);
+        Portfolio reloaded = reload(loaded);
+
+        // Then
+        assertThat(loaded.latestSnapshot()).hasValueSatisfying(snapshot -> assertThat(snapshot.acquisitions())
+                .extracting(acquisition -> acquisition.remainingQuantity())
+                .containsExactly(Quantity.ofShares(150L)));
+        assertThat(jdbcTemplate.queryForList("SELECT position FROM acquisitions WHERE portfolio_id = ? ORDER BY position",
+                Integer.class, portfolio.id().value())).containsExactly(0, 1, 2);
+        assertThat(reloaded.acquisitions()).extracting(acquisition -> acquisition.remainingQuantity())
+                .containsExactly(Quantity.ofShares(0L), Quantity.ofShares(150L), Quantity.ofShares(50L));
+        assertThat(reloaded.verifyHoldings()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Copy a bulk append and load back the same state, sells against lots opened in the same save included")
+    void should_restoreSameState_when_bulkAppendCopied() {
+        // Given
+        Portfolio portfolio = Portfolio.create(BrokerAccountId.generate(), "Imported");
+        portfolio.recordDeposit(Money.of(100_000_000_000L), date, today);
+        for (int i = 0; i < CopyRows.THRESHOLD; i++) {
+            portfolio.recordBuy(bbca, Quantity.ofShares(100L), Money.of(9_000L), Money.of(1_350L), date, today);
+        }
+        portfolio.recordSell(bbca, Quantity.ofShares(250L), Money.of(10_000L), Money.of(3_750L), date.plusDays(1),
+                new AcquisitionSelectionStrategy.Fifo(), today);
+        portfolio.recordDividend(bbca, Money.of(50L), date.plusDays(2), date.plusDays(4), today);
+
+        // When
+        adapter.save(portfolio);
+        Portfolio loaded = reload(portfolio);
+
+        // Then
+        assertThat(loaded.transactions()).containsExactlyElementsOf(portfolio.transactions());
+        assertThat(loaded.tradingBalance()).isEqualTo(portfolio.tradingBalance());
+        assertThat(loaded.acquisitions()).extracting(acquisition -> acquisition.remainingQuantity())
+                .containsExactlyElementsOf(portfolio.acquisitions().stream().map(acquisition -> acquisition.remainingQuantity()).toList());
+        assertThat(loaded.holdings()).containsExactlyElementsOf(portfolio.holdings());
+        assertThat(loaded.verifyHoldings()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Store each transaction in its year's partition and load back a ledger that spans years")
+    void should_restoreSameState_when_ledgerSpansYears() {
+        // Given
+        Portfolio portfolio = Portfolio.create(BrokerAccountId.generate(), "Since 2024");
+        portfolio.recordDeposit(Money.of(10_000_000L), LocalDate.of(2024, 3, 1), today);
+        portfolio.recordBuy(bbca, Quantity.ofShares(100L), Money.of(9_000L), Money.of(1_350L), LocalDate.of(2024, 3, 4), today);
+        adapter.save(portfolio);
+        Portfolio loaded = reload(portfolio);
+        loaded.recordSell(bbca, Quantity.ofShares(40L), Money.of(10_000L), Money.of(1_000L), LocalDate.of(2025, 2, 3),
+                new AcquisitionSelectionStrategy.Fifo(), today);
+
+        // When
+        adapter.save(loaded);
+        Portfolio reloaded = reload(loaded);
+
+        // Then
+        assertThat(jdbcTemplate.queryForList("SELECT tableoid::regclass::text FROM transactions WHERE portfolio_id = ? ORDER BY position",
+                String.class, portfolio.id().value())).containsExactly("transactions_2024", "transactions_2024", "transactions_2025");
+        assertThat(jdbcTemplate.queryForList("SELECT tableoid::regclass::text FROM transaction_allocations WHERE portfolio_id = ?",
+                String.class, portfolio.id().value())).containsExactly("transaction_allocations_2025");
+        assertThat(reloaded.transactions()).containsExactlyElementsOf(loaded.transactions());
+        assertThat(reloaded.acquisitions()).extracting(acquisition -> acquisition.remainingQuantity())
+                .containsExactly(Quantity.ofShares(60L));
+        assertThat(reloaded.verifyHoldings()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Answer date queries and cum dates of a loaded Portfolio from reads of the stored ledger by date")
+    void should_matchSavedPortfolio_when_queriedByDateAfterLoad() {
+        // Given
+        Portfolio portfolio = tradedPortfolio();
+        adapter.save(portfolio);
+        Portfolio loaded = reload(portfolio);
+
+        // When
+        Money paid = loaded.recordDividend(bbca, Money.of(50L), date.plusDays(1), date.plusDays(5), today);
+
+        // Then
+        assertThat(paid).isEqualTo(Money.of(15_000L));
+        assertThat(loaded.transactionsBetween(date.plusDays(1), date.plusDays(3)))
+                .containsExactlyElementsOf(portfolio.transactionsBetween(date.plusDays(1), date.plusDays(3)));
+        for (LocalDate asOf = date.minusDays(1); !asOf.isAfter(date.plusDays(5)); asOf = asOf.plusDays(1)) {
+            assertThat(loaded.tradingBalanceAsOf(asOf)).isEqualTo(portfolio.tradingBalanceAsOf(asOf).add(
+                    asOf.isBefore(date.plusDays(5)) ? Money.zero() : paid));
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT sum(cash_delta) FROM transactions WHERE portfolio_id = ?",
+                BigDecimal.class, portfolio.id().value())).isEqualByComparingTo(portfolio.tradingBalance().amount());
+    }
+
+    @Test
+    @DisplayName("Load back the returns of every lot, asset and Sell, closed lots paid after the load included")
+    void should_matchSavedPortfolio_when_performanceQueriedAfterLoad() {
+        // Given
+        Portfolio portfolio = tradedPortfolio();
+        adapter.save(portfolio);
+        Portfolio loaded = reload(portfolio);
+        Acquisition closed = portfolio.acquisitions().get(0);
+        Transaction sell = portfolio.transactions().get(3);
+
+        // When
+        for (Portfolio each : List.of(portfolio, loaded)) {
+            each.recordDividend(bbca, Money.of(20L), date, date.plusDays(6), today);
+        }
+        adapter.save(loaded);
+        Portfolio reloaded = reload(portfolio);
+
+        // Then
+        assertThat(reloaded.performance()).isEqualTo(portfolio.performance());
+        assertThat(reloaded.performance(bbca)).isEqualTo(portfolio.performance(bbca));
+        for (Acquisition acquisition : portfolio.acquisitions()) {
+            assertThat(reloaded.performance(acquisition.id())).isEqualTo(portfolio.performance(acquisition.id()));
+        }
+        assertThat(reloaded.performance(closed.id()).orElseThrow().dividends()).isEqualTo(Money.of(2_000L));  // 100 × 20
+        assertThat(reloaded.realizedGain(sell.id())).isEqualTo(portfolio.realizedGain(sell.id()));
+        assertThat(reloaded.takeSnapshot()).isEqualTo(portfolio.takeSnapshot());
+    }
+
+    @Test
+    @DisplayName("Plan a ledger page bounded by the Portfolio's dates against only the partitions of those years")
+    void should_prunePartitions_when_pageBoundedByLedgerSpan() {
+        // When
+        String plan = String.join("\n", jdbcTemplate.queryForList("""
+                EXPLAIN (COSTS OFF)
+                SELECT id FROM transactions
+                WHERE portfolio_id = gen_random_uuid() AND position >= 0 AND position < 100
+                  AND date >= DATE '2024-03-01' AND date <= DATE '2025-02-03'
+                """, String.class));
+
+        // Then
+        assertThat(plan).contains("transactions_2024", "transactions_2025")
+                .doesNotContain("transactions_2023", "transactions_2026", "transactions_before_2000");
+    }
+
+    @Test
+    @DisplayName("Reject a save from a copy that is behind the stored ledger")
+    void should_throwOptimisticLockingFailureException_when_storedLedgerMovedOn() {
+        // Given
+        Portfolio portfolio = tradedPortfolio();
+        adapter.save(portfolio);
+        Portfolio first = reload(portfolio);
+        Portfolio second = reload(portfolio);
+        first.recordDeposit(Money.of(1_000_000L), today, today);
+        second.recordDeposit(Money.of(2_000_000L), today, today);
+        adapter.save(first);
+
+        // When & Then
+        assertThatThrownBy(() -> adapter.save(second))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @Test
+    @DisplayName("Reject a save from a copy loaded before another writer saved, even with nothing appended since")
+    void should_throwOptimisticLockingFailureException_when_loadedVersionIsStale() {
+        // Given
+        Portfolio portfolio = tradedPortfolio();
+        adapter.save(portfolio);
+        Portfolio stale = reload(portfolio);
+        jdbcTemplate.update("UPDATE portfolios SET name = 'Renamed', version = version + 1 WHERE id = ?", portfolio.id().value());
+        entityManager.clear();
+        stale.recordDeposit(Money.of(1_000_000L), today, today);
+
+        // When & Then
+        assertThatThrownBy(() -> adapter.save(stale))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @Test
+    @DisplayName("Write nothing when saving a Portfolio with nothing recorded since it was loaded")
+    void should_writeNothing_when_savedWithNothingRecorded() {
+        // Given
+        Portfolio portfolio = tradedPortfolio();
+        adapter.save(portfolio);
+        Portfolio loaded = reload(portfolio);
+
+        // When
+        adapter.save(loaded);
+        entityManager.flush();
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM portfolios WHERE id = ?", Long.class,
+                portfolio.id().value())).isEqualTo(loaded.version());
+    }
+
+    @Test
+    @DisplayName("Overwrite the stored Holdings with a replay of the ledger when repaired")
+    void should_restoreReplayedHoldings_when_repaired() {
+        // Given
+        Portfolio portfolio = tradedPortfolio();
+        adapter.save(portfolio);
+        jdbcTemplate.update("UPDATE holdings SET total_quantity = 1 WHERE portfolio_id = ?", portfolio.id().value());
+        Portfolio drifted = reload(portfolio);
+        Portfolio replayed = Portfolio.replay(drifted.id(), drifted.brokerAccountId(), drifted.name(), drifted.transactions());
+        replayed.version(drifted.version());
+
+        // When
+        adapter.repair(replayed);
+        Portfolio repaired = reload(portfolio);
+
+        // Then
+        assertThat(repaired.holdings()).containsExactlyElementsOf(portfolio.holdings());
+        assertThat(repaired.version()).isGreaterThan(drifted.version());
+    }
+
+    @Test
+    @DisplayName("Refuse to change a stored transaction")
+    void should_rejectUpdate_when_ledgerRowChanged() {
+        // Given
+        Portfolio portfolio = tradedPortfolio();
+        adapter.save(portfolio);
+        entityManager.flush();
+
+        // When & Then
+        assertThatThrownBy(() -> jdbcTemplate.update("UPDATE transactions SET amount = 1 WHERE portfolio_id = ?", portfolio.id().value()))
+                .isInstanceOf(DataAccessException.class);
+    }
+}
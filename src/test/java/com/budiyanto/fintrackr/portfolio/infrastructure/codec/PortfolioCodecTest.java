@@ -0,0 +1,146 @@
+package com.budiyanto.fintrackr.portfolio.infrastructure.codec;
+
+import com.budiyanto.fintrackr.portfolio.domain.model.AcquisitionSelectionStrategy;
+import com.budiyanto.fintrackr.portfolio.domain.model.Portfolio;
+import com.budiyanto.fintrackr.portfolio.domain.model.PortfolioSnapshot;
+import com.budiyanto.fintrackr.portfolio.domain.model.Transaction;
+import com.budiyanto.fintrackr.shared.AssetId;
+import com.budiyanto.fintrackr.shared.BinaryWriter;
+import com.budiyanto.fintrackr.shared.BrokerAccountId;
+import com.budiyanto.fintrackr.shared.Money;
+import com.budiyanto.fintrackr.shared.Quantity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PortfolioCodec Tests")
+class PortfolioCodecTest {
+
+    private final LocalDate date = LocalDate.of(2026, 6, 20);
+    private final LocalDate today = LocalDate.of(2026, 6, 28);
+    private final AssetId bbca = AssetId.of("ID1000109507");
+
+    private Portfolio tradedPortfolio() {
+        Portfolio portfolio = Portfolio.create(BrokerAccountId.generate(), "Main");
+        portfolio.recordDeposit(Money.of(10_000_000L), date, today);
+        portfolio.recordBuy(bbca, Quantity.ofShares(100L), Money.of(9_000L), Money.of(1_350L), date, today);
+        portfolio.recordBuy(bbca, Quantity.ofShares(200L), Money.of(9_500L), Money.of(2_850L), date.plusDays(1), today);
+        portfolio.recordSell(bbca, Quantity.ofShares(150L), Money.of(10_000L), Money.of(3_750L), date.plusDays(2),
+                new AcquisitionSelectionStrategy.Fifo(), today);
+        portfolio.recordDividend(bbca, Money.of(50L), date.plusDays(3), date.plusDays(5), today);
+        return portfolio;
+    }
+
+    @Test
+    @DisplayName("Decode the same ledger, balance and holdings that were encoded, with nothing left unsaved")
+    void should_restoreSameState_when_portfolioDecoded() {
+        // Given
+        Portfolio portfolio = tradedPortfolio();
+
+        // When
+        Portfolio decoded = PortfolioCodec.decodePortfolio(PortfolioCodec.encode(portfolio));
+
+        // Then
+        assertThat(decoded.id()).isEqualTo(portfolio.id());
+        assertThat(decoded.brokerAccountId()).isEqualTo(portfolio.brokerAccountId());
+        assertThat(decoded.name()).isEqualTo(portfolio.name());
+        assertThat(decoded.transactions()).containsExactlyElementsOf(portfolio.transactions());
+        assertThat(decoded.tradingBalance()).isEqualTo(portfolio.tradingBalance());
+        assertThat(decoded.holdings()).containsExactlyElementsOf(portfolio.holdings());
+        assertThat(decoded.unsavedTransactions()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Restore a Portfolio from the snapshot it was encoded with and replay only what followed")
+    void should_restoreFromSnapshot_when_portfolioHadOne() {
+        // Given
+        Portfolio portfolio = tradedPortfolio();
+        PortfolioSnapshot snapshot = portfolio.takeSnapshot();
+        portfolio.recordDeposit(Money.of(1_000_000L), today, today);
+
+        // When
+        Portfolio decoded = PortfolioCodec.decodePortfolio(PortfolioCodec.encode(portfolio));
+
+        // Then
+        assertThat(decoded.latestSnapshot()).contains(snapshot);
+        assertThat(decoded.verifySnapshot(snapshot)).isTrue();
+        assertThat(decoded.tradingBalance()).isEqualTo(portfolio.tradingBalance());
+        assertThat(decoded.acquisitions()).extracting(acquisition -> acquisition.remainingQuantity())
+                .containsExactly(Quantity.ofShares(0L), Quantity.ofShares(150L));
+    }
+
+    @Test
+    @DisplayName("Write the portfolio id once when a Portfolio is encoded with its snapshot")
+    void should_writePortfolioIdOnce_when_portfolioEncodedWithSnapshot() {
+        // Given
+        Portfolio portfolio = tradedPortfolio();
+        portfolio.takeSnapshot();
+        byte[] id = new BinaryWriter().writeUuid(portfolio.id().value()).toByteArray();
+
+        // When
+        byte[] encoded = PortfolioCodec.encode(portfolio);
+
+        // Then
+        int occurrences = 0;
+        for (int i = 0; i + id.length <= encoded.length; i++) {
+            if (Arrays.equals(encoded, i, i + id.length, id, 0, id.length)) {
+                occurrences++;
+            }
+        }
+        assertThat(occurrences).isEqualTo(1);
+        assertThat(PortfolioCodec.decodePortfolio(encoded).latestSnapshot()).isEqualTo(portfolio.latestSnapshot());
+    }
+
+    @Test
+    @DisplayName("Decode a ledger and a snapshot encoded on their own")
+    void should_decodeSameValues_when_ledgerAndSnapshotEncodedAlone() {
+        // Given
+        Portfolio portfolio = tradedPortfolio();
+        PortfolioSnapshot snapshot = portfolio.takeSnapshot();
+
+        // When
+        List<Transaction> ledger = PortfolioCodec.decodeLedger(PortfolioCodec.encodeLedger(portfolio.id(), portfolio.transactions()));
+        PortfolioSnapshot decoded = PortfolioCodec.decodeSnapshot(PortfolioCodec.encodeSnapshot(snapshot));
+
+        // Then
+        assertThat(ledger).containsExactlyElementsOf(portfolio.transactions());
+        assertThat(decoded).isEqualTo(snapshot);
+        assertThat(portfolio.verifySnapshot(decoded)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Reject an encoding written by a newer format version")
+    void should_throwIllegalArgumentException_when_formatVersionIsNewer() {
+        // Given
+        byte[] bytes = new BinaryWriter().writeBytes(new byte[]{'F', 'T', 'R', 'K'})
+                .writeVarInt(PortfolioCodec.FORMAT_VERSION + 1).writeByte(1).toByteArray();
+
+        // When & Then
+        assertThatThrownBy(() -> PortfolioCodec.decodeLedger(bytes))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("format version");
+    }
+
+    @Test
+    @DisplayName("Reject a transaction type the reader does not know rather than skip it")
+    void should_throwIllegalArgumentException_when_transactionTagUnknown() {
+        // Given
+        BinaryWriter writer = new BinaryWriter().writeBytes(new byte[]{'F', 'T', 'R', 'K'})
+                .writeVarInt(PortfolioCodec.FORMAT_VERSION).writeByte(1)
+                .writeUuid(UUID.randomUUID()).writeVarInt(1).writeVarInt(99);
+        int record = writer.startRecord();
+        writer.writeUuid(UUID.randomUUID()).writeDate(date).endRecord(record);
+
+        // When & Then
+        assertThatThrownBy(() -> PortfolioCodec.decodeLedger(writer.toByteArray()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("unknown transaction tag 99");
+    }
+}
@@ -3,6 +3,7 @@ package com.budiyanto.fintrackr.shared;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.EmptySource;
 import org.junit.jupiter.params.provider.NullSource;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -69,4 +70,59 @@ class AssetIdTest {
                 .isInstanceOf(IllegalArgumentException.class);
 
     }
+
+    // 6. lowercase -> rejected
+    @Test
+    @DisplayName("Given a lowercase ISIN string, when constructed, then throws an IllegalArgumentException")
+    void should_throwException_when_isinIsLowercase() {
+        // Given
+        String lowercaseIsin = "idn000053402";
+
+        // When & Then
+        assertThatThrownBy(() -> AssetId.of(lowercaseIsin))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // 7. same ISIN -> one shared instance
+    @Test
+    @DisplayName("Given the same ISIN from distinct strings, when constructed, then return the same interned AssetId")
+    void should_returnSameInstance_when_sameIsinIsGiven() {
+        // Given
+        String isin = "ID1000118201";
+        String parsedIsin = new String(isin.toCharArray()); // as read from an import file
+
+        // When
+        AssetId first = AssetId.of(isin);
+        AssetId second = AssetId.of(parsedIsin);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(second.value()).isEqualTo(isin);
+    }
+
+    // 8. equality over the ISIN alone
+    @ParameterizedTest
+    @CsvSource({
+            "IDN000053402, IDN000053402, true",
+            "ID1000118201, ID1000094204, false",
+            "US0378331005, ID1000118201, false"
+    })
+    @DisplayName("Given two ISINs, when compared, then AssetIds are equal only when the ISINs are equal")
+    void should_beEqual_when_isinsAreEqual(String left, String right, boolean expected) {
+        // When
+        AssetId leftId = AssetId.of(left);
+        AssetId rightId = AssetId.of(right);
+
+        // Then
+        assertThat(leftId.equals(rightId)).isEqualTo(expected);
+    }
+
+    // 9. checked without throwing, as imports do
+    @ParameterizedTest
+    @CsvSource(value = {"ID1000118201, true", "IDN000053409, false", "idn000053402, false", "ID100011820, false", "NULL, false"}, nullValues = "NULL")
+    @DisplayName("Given any string, when checked, then report whether it would construct an AssetId")
+    void should_reportValidity_when_checked(String isin, boolean expected) {
+        // When & Then
+        assertThat(AssetId.isValid(isin)).isEqualTo(expected);
+    }
 }
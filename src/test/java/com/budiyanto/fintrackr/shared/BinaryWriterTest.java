@@ -0,0 +1,162 @@
+package com.budiyanto.fintrackr.shared;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BinaryWriter Tests")
+class BinaryWriterTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "-1", "63", "-64", "9223372036854775807", "-9223372036854775808",
+            "123456789012345678901234567890", "-123456789012345678901234567890"})
+    @DisplayName("Read back every Money amount, including those beyond a long")
+    void should_readBackMoney_when_written(String amount) {
+        // Given
+        Money money = Money.of(new BigDecimal(amount));
+
+        // When
+        Money read = new BinaryReader(new BinaryWriter().writeMoney(money).toByteArray()).readMoney();
+
+        // Then
+        assertThat(read).isEqualTo(money);
+    }
+
+    @Test
+    @DisplayName("Write a small amount in one byte")
+    void should_writeOneByte_when_moneyIsSmall() {
+        // When
+        byte[] bytes = new BinaryWriter().writeMoney(Money.of(-5L)).toByteArray();
+
+        // Then
+        assertThat(bytes).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Reject an amount in another currency than IDR")
+    void should_throwIllegalArgumentException_when_moneyIsNotIdr() {
+        // When & Then
+        assertThatThrownBy(() -> new BinaryWriter().writeMoney(Money.of(1L, Currency.getInstance("USD"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Read back shares and units as the kind of Quantity they were")
+    void should_readBackQuantityKind_when_written() {
+        // Given
+        BinaryWriter writer = new BinaryWriter()
+                .writeQuantity(Quantity.ofShares(1_500L))
+                .writeQuantity(Quantity.ofUnits(new BigDecimal("12.3456")));
+
+        // When
+        BinaryReader reader = new BinaryReader(writer.toByteArray());
+
+        // Then
+        assertThat(reader.readQuantity()).isEqualTo(Quantity.ofShares(1_500L));
+        assertThat(reader.readQuantity()).isEqualTo(Quantity.ofUnits(new BigDecimal("12.3456")));
+    }
+
+    @Test
+    @DisplayName("Write an ISIN once and refer to it by index afterwards")
+    void should_writeIsinOnce_when_assetIdRepeats() {
+        // Given
+        AssetId bbca = AssetId.of("ID1000109507");
+        AssetId tlkm = AssetId.of("ID1000129000");
+
+        // When
+        byte[] bytes = new BinaryWriter().writeAssetId(bbca).writeAssetId(tlkm).writeAssetId(bbca).toByteArray();
+        BinaryReader reader = new BinaryReader(bytes);
+
+        // Then
+        assertThat(bytes).hasSize(2 * 13 + 1);
+        assertThat(reader.readAssetId()).isEqualTo(bbca);
+        assertThat(reader.readAssetId()).isEqualTo(tlkm);
+        assertThat(reader.readAssetId()).isEqualTo(bbca);
+    }
+
+    @Test
+    @DisplayName("Read back ids, dates and strings")
+    void should_readBackIdsDatesAndStrings_when_written() {
+        // Given
+        UUID id = UUID.randomUUID();
+        LocalDate date = LocalDate.of(1969, 12, 31);
+
+        // When
+        BinaryReader reader = new BinaryReader(new BinaryWriter().writeUuid(id).writeDate(date).writeString("Dana Pensiun").toByteArray());
+
+        // Then
+        assertThat(reader.readUuid()).isEqualTo(id);
+        assertThat(reader.readDate()).isEqualTo(date);
+        assertThat(reader.readString()).isEqualTo("Dana Pensiun");
+        assertThat(reader.hasRemaining()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Skip the fields of a record that the reader does not know")
+    void should_skipUnreadFields_when_recordEnded() {
+        // Given
+        BinaryWriter writer = new BinaryWriter();
+        int record = writer.startRecord();
+        writer.writeVarInt(1);
+        for (int i = 0; i < 200; i++) {
+            writer.writeVarInt(i);
+        }
+        writer.endRecord(record).writeVarInt(42);
+        BinaryReader reader = new BinaryReader(writer.toByteArray());
+
+        // When
+        int end = reader.startRecord();
+        int known = reader.readVarInt();
+        boolean more = reader.hasMore(end);
+        reader.endRecord(end);
+
+        // Then
+        assertThat(known).isEqualTo(1);
+        assertThat(more).isTrue();
+        assertThat(reader.readVarInt()).isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("Fail on truncated input")
+    void should_throwIllegalArgumentException_when_inputTruncated() {
+        // Given
+        byte[] bytes = new BinaryWriter().writeUuid(UUID.randomUUID()).toByteArray();
+        BinaryReader reader = new BinaryReader(Arrays.copyOf(bytes, 10));
+
+        // When & Then
+        assertThatThrownBy(reader::readUuid)
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Fail on a date beyond the supported range")
+    void should_throwIllegalArgumentException_when_dateOutOfRange() {
+        // Given
+        BinaryReader reader = new BinaryReader(new BinaryWriter().writeSignedVarLong(Long.MAX_VALUE).toByteArray());
+
+        // When & Then
+        assertThatThrownBy(reader::readDate)
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Fail on a money length beyond the int range")
+    void should_throwIllegalArgumentException_when_moneyLengthOutOfRange() {
+        // Given
+        BinaryReader reader = new BinaryReader(new BinaryWriter().writeVarLong((1L << 40) << 1 | 1).toByteArray());
+
+        // When & Then
+        assertThatThrownBy(reader::readMoney)
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,169 @@
+package com.budiyanto.fintrackr.shared;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("MoneyAccumulator Tests")
+class MoneyAccumulatorTest {
+
+    @Nested
+    @DisplayName("Summation Tests")
+    class SummationTest {
+
+        @Test
+        @DisplayName("Given no terms, when converted to Money, then return zero")
+        void should_returnZero_when_noTermsAdded() {
+            // When
+            Money result = MoneyAccumulator.create().toMoney();
+
+            // Then
+            assertThat(result).isEqualTo(Money.zero());
+        }
+
+        @Test
+        @DisplayName("Given added and subtracted amounts, when converted to Money, then return the net sum")
+        void should_returnNetSum_when_amountsAddedAndSubtracted() {
+            // When
+            Money result = MoneyAccumulator.create()
+                    .add(Money.of(20_000_000L))
+                    .subtract(Money.of(5_802_500L))
+                    .add(Money.of(-1_000L))
+                    .toMoney();
+
+            // Then
+            assertThat(result).isEqualTo(Money.of(14_196_500L));
+        }
+
+        @ParameterizedTest(name = "{0} x {1} + {2} = {3}")
+        @CsvSource({
+                "1.5, 5801, 11, 8712",     // 8712.5 rounds once (HALF_EVEN), not 8702 + 11 = 8713
+                "1.6, 5801, 100, 9382",    // 9281.6 + 100 = 9381.6
+                "1000, 5800, 2500, 5802500"
+        })
+        @DisplayName("Given quantity x price terms, when converted to Money, then round once at the end")
+        void should_roundOnce_when_productsAreSummed(String quantity, String price, String fee, String expected) {
+            // When
+            Money result = MoneyAccumulator.create()
+                    .addProduct(Quantity.ofUnits(new BigDecimal(quantity)), Money.of(new BigDecimal(price)))
+                    .add(Money.of(new BigDecimal(fee)))
+                    .toMoney();
+
+            // Then
+            assertThat(result).isEqualTo(Money.of(new BigDecimal(expected)));
+        }
+
+        @Test
+        @DisplayName("Given fractional products, when summed, then carry the fractions instead of rounding each term")
+        void should_carryFractions_when_productsAreSummed() {
+            // Given
+            Quantity halfUnit = Quantity.ofUnits(new BigDecimal("0.5"));
+            Money price = Money.of(1L);
+            MoneyAccumulator sum = MoneyAccumulator.create();
+
+            // When
+            for (int i = 0; i < 4; i++) {
+                sum.addProduct(halfUnit, price); // 0.5 each; rounding per term would give 0 every time
+            }
+
+            // Then
+            assertThat(sum.toMoney()).isEqualTo(Money.of(2L));
+        }
+
+        @Test
+        @DisplayName("Given terms beyond the long register, when summed, then return the exact sum")
+        void should_returnExactSum_when_registerOverflows() {
+            // Given
+            Money large = Money.of(Long.MAX_VALUE / 10_000L);
+
+            // When
+            Money result = MoneyAccumulator.create()
+                    .add(large)
+                    .add(large)
+                    .add(Money.of(new BigDecimal("92233720368547758070")))
+                    .toMoney();
+
+            // Then
+            assertThat(result.amount()).isEqualByComparingTo("92235565042955129024"); // 2 x 922337203685477 + 10 x Long.MAX_VALUE
+        }
+
+        @Test
+        @DisplayName("Given a different currency, when added, then throws an IllegalArgumentException")
+        void should_throwException_when_currencyDiffers() {
+            // Given
+            Money usd = Money.of(1_500L, Currency.getInstance("USD"));
+
+            // When & Then
+            assertThatThrownBy(() -> MoneyAccumulator.create().add(usd))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Given a null term, when added, then throws a NullPointerException")
+        void should_throwNPE_when_termIsNull() {
+            // When & Then
+            assertThatThrownBy(() -> MoneyAccumulator.create().add(null))
+                    .isInstanceOf(NullPointerException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Combine and Collector Tests")
+    class CombineTest {
+
+        @Test
+        @DisplayName("Given two partial sums, when combined, then return the sum of both")
+        void should_returnTotal_when_partialSumsCombined() {
+            // Given
+            MoneyAccumulator left = MoneyAccumulator.create().add(Money.of(1_000L));
+            MoneyAccumulator right = MoneyAccumulator.create()
+                    .addProduct(Quantity.ofUnits(new BigDecimal("0.5")), Money.of(3L));
+
+            // When
+            Money result = left.combine(right).toMoney();
+
+            // Then
+            assertThat(result).isEqualTo(Money.of(1_002L)); // 1001.5 -> 1002 (HALF_EVEN)
+        }
+
+        @Test
+        @DisplayName("Given a parallel stream of Money, when collected, then return the same sum as a sequential stream")
+        void should_matchSequentialSum_when_collectedInParallel() {
+            // When
+            Money parallel = LongStream.rangeClosed(1, 1_000_000).parallel()
+                    .mapToObj(Money::of)
+                    .collect(MoneyAccumulator.summing());
+            Money sequential = LongStream.rangeClosed(1, 1_000_000)
+                    .mapToObj(Money::of)
+                    .collect(MoneyAccumulator.summing());
+
+            // Then
+            assertThat(parallel).isEqualTo(Money.of(500_000_500_000L));
+            assertThat(parallel).isEqualTo(sequential);
+        }
+
+        @Test
+        @DisplayName("Given a custom term, when collected, then fold each element with that term")
+        void should_foldCustomTerm_when_collected() {
+            // Given
+            Quantity quantity = Quantity.ofUnits(new BigDecimal("1.5"));
+
+            // When
+            Money result = LongStream.of(5801, 5801).boxed().parallel()
+                    .collect(MoneyAccumulator.summing(Money.IDR,
+                            (MoneyAccumulator sum, Long price) -> sum.addProduct(quantity, Money.of(price))));
+
+            // Then
+            assertThat(result).isEqualTo(Money.of(17_403L)); // 2 x 8701.5
+        }
+    }
+}
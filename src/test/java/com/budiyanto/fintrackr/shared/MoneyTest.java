@@ -2,11 +2,13 @@ package com.budiyanto.fintrackr.shared;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.lang.management.ManagementFactory;
 import java.math.BigDecimal;
 import java.util.Currency;
 
@@ -92,6 +94,212 @@ class MoneyTest {
         assertThat(result.currency().getCurrencyCode()).isEqualTo("IDR");
     }
 
+    @Test
+    @DisplayName("Given a long amount, when constructed via factory method, then equal Money built from BigDecimal")
+    void should_beEqual_when_constructedFromLongOrBigDecimal() {
+        // When
+        Money fromLong = Money.of(1500L);
+        Money fromBigDecimal = Money.of(new BigDecimal("1500.00"));
+
+        // Then
+        assertThat(fromLong).isEqualTo(fromBigDecimal);
+        assertThat(fromLong.hashCode()).isEqualTo(fromBigDecimal.hashCode());
+        assertThat(fromLong.amount()).isEqualByComparingTo("1500");
+    }
+
+    @Test
+    @DisplayName("Given an amount beyond the long range, when constructed, then keep the exact amount with scale 0")
+    void should_keepExactAmount_when_amountExceedsLongRange() {
+        // Given
+        BigDecimal amount = new BigDecimal("92233720368547758070.6"); // 10 x Long.MAX_VALUE + 0.6
+
+        // When
+        Money result = Money.of(amount);
+
+        // Then
+        assertThat(result.amount()).isEqualTo(new BigDecimal("92233720368547758071"));
+        assertThat(result.amount().scale()).isZero();
+    }
+
+    @Test
+    @DisplayName("Given amounts inside and beyond the long range, when converted to a long, then return it exactly or throw an ArithmeticException")
+    void should_returnExactLong_when_amountFitsInLong() {
+        // Given
+        Money fits = Money.of(new BigDecimal("-9223372036854775808"));
+        Money beyond = Money.of(new BigDecimal("9223372036854775808"));
+
+        // When & Then
+        assertThat(fits.longValueExact()).isEqualTo(Long.MIN_VALUE);
+        assertThatThrownBy(beyond::longValueExact)
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @ParameterizedTest(name = "{0} + {1} = {2}")
+    @CsvSource({
+            "1500, 2500, 4000",
+            "1500, -2500, -1000",
+            "9223372036854775807, 1, 9223372036854775808",     // Long.MAX_VALUE + 1 overflows the long fast path
+            "-9223372036854775808, -1, -9223372036854775809",  // Long.MIN_VALUE - 1 overflows the long fast path
+            "9223372036854775808, -1, 9223372036854775807"     // Back inside the long range
+    })
+    @DisplayName("Given two amounts, when added, then return the exact sum")
+    void should_returnExactSum_when_added(String augend, String addend, String expected) {
+        // Given
+        Money a = Money.of(new BigDecimal(augend));
+        Money b = Money.of(new BigDecimal(addend));
+
+        // When
+        Money result = a.add(b);
+
+        // Then
+        assertThat(result.amount()).isEqualByComparingTo(expected);
+        assertThat(result).isEqualTo(Money.of(new BigDecimal(expected)));
+    }
+
+    @ParameterizedTest(name = "-({0}) = {1}")
+    @CsvSource({
+            "1500, -1500",
+            "0, 0",
+            "-9223372036854775808, 9223372036854775808" // Long.MIN_VALUE has no long negation
+    })
+    @DisplayName("Given an amount, when negated, then return the exact negation")
+    void should_returnExactNegation_when_negated(String input, String expected) {
+        // When
+        Money result = Money.of(new BigDecimal(input)).negate();
+
+        // Then
+        assertThat(result.amount()).isEqualByComparingTo(expected);
+    }
+
+    @ParameterizedTest(name = "compare({0}, {1}) = {2}")
+    @CsvSource({
+            "1500, 2500, -1",
+            "2500, 1500, 1",
+            "1500, 1500.00, 0",
+            "9223372036854775808, 9223372036854775807, 1",
+            "-9223372036854775809, -9223372036854775808, -1"
+    })
+    @DisplayName("Given two amounts, when compared, then order them numerically")
+    void should_orderNumerically_when_compared(String left, String right, int expected) {
+        // When
+        int result = Money.of(new BigDecimal(left)).compareTo(Money.of(new BigDecimal(right)));
+
+        // Then
+        assertThat(Integer.signum(result)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Given amounts in different currencies, when added, then throws an IllegalArgumentException")
+    void should_throwException_when_addingDifferentCurrencies() {
+        // Given
+        Money idr = Money.of(new BigDecimal("1500"));
+        Money usd = Money.of(new BigDecimal("1500"), Currency.getInstance("USD"));
+
+        // When & Then
+        assertThatThrownBy(() -> idr.add(usd))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest(name = "{0} -> signum {1}")
+    @CsvSource({
+            "1500, 1, true, false, false, false",
+            "0, 0, false, false, true, true",
+            "-1500, -1, false, true, false, true",
+            "92233720368547758070, 1, true, false, false, false",
+            "-92233720368547758070, -1, false, true, false, true"
+    })
+    @DisplayName("Given an amount, when its sign is checked, then report the sign of the amount")
+    void should_reportSign_when_signIsChecked(String input, int signum, boolean positive, boolean negative,
+                                             boolean zero, boolean zeroOrNegative) {
+        // Given
+        Money money = Money.of(new BigDecimal(input));
+
+        // When & Then
+        assertThat(money.signum()).isEqualTo(signum);
+        assertThat(money.isPositive()).isEqualTo(positive);
+        assertThat(money.isNegative()).isEqualTo(negative);
+        assertThat(money.isZero()).isEqualTo(zero);
+        assertThat(money.isZeroOrNegative()).isEqualTo(zeroOrNegative);
+    }
+
+    @Test
+    @DisplayName("Given the zero factory, when called repeatedly, then return the cached IDR zero")
+    void should_returnCachedZero_when_zeroIsCalled() {
+        // When
+        Money zero = Money.zero();
+
+        // Then
+        assertThat(zero).isSameAs(Money.zero());
+        assertThat(zero.currency()).isSameAs(Money.IDR);
+        assertThat(zero.amount()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("Given a Money, when its sign is checked many times, then nothing is allocated")
+    void should_allocateNothing_when_signIsChecked() {
+        // Given
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        Money money = Money.of(new BigDecimal("1500"));
+        int iterations = 100_000;
+
+        // When
+        long before = threads.getCurrentThreadAllocatedBytes();
+        int positives = 0;
+        for (int i = 0; i < iterations; i++) {
+            if (money.isPositive() && !money.isNegative() && !money.isZeroOrNegative() && money.signum() == 1) {
+                positives++;
+            }
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // Then
+        assertThat(positives).isEqualTo(iterations);
+        assertThat(allocated).isLessThan(1024); // a throwaway Money per check would be several MB
+    }
+
+    @Test
+    @DisplayName("Given amounts that fit in a long, when added many times, then no BigDecimal is allocated")
+    void should_allocateNoBigDecimal_when_addingOnLongPath() {
+        // Given
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        Money amount = Money.of(1_500L);
+        int iterations = 100_000;
+        sumByAdding(amount, iterations); // warm up both loops
+        sumByConstructing(iterations);
+
+        // When
+        long before = threads.getCurrentThreadAllocatedBytes();
+        Money sum = sumByAdding(amount, iterations);
+        long addBytes = threads.getCurrentThreadAllocatedBytes() - before;
+        before = threads.getCurrentThreadAllocatedBytes();
+        sumByConstructing(iterations);
+        long constructBytes = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // Then: each add allocates its result and nothing more; a BigDecimal would add at least 32 bytes
+        assertThat(sum.hasLongAmount()).isTrue();
+        assertThat(sum).isEqualTo(Money.of(1_500L * iterations));
+        assertThat((addBytes - constructBytes) / iterations).isLessThan(16);
+    }
+
+    private static Money sumByAdding(Money amount, int iterations) {
+        Money sum = Money.zero();
+        for (int i = 0; i < iterations; i++) {
+            sum = sum.add(amount);
+        }
+        return sum;
+    }
+
+    // The same number of Money instances, built directly from a long
+    private static Money sumByConstructing(int iterations) {
+        Money last = Money.zero();
+        for (int i = 0; i < iterations; i++) {
+            last = Money.of(1_500L * (i + 1));
+        }
+        return last;
+    }
+
     @Test
     @DisplayName("Given null amount when constructed, then throws exception")
     void should_throwException_when_amountIsNull() {
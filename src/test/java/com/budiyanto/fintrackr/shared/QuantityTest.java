@@ -2,6 +2,7 @@ package com.budiyanto.fintrackr.shared;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.NullSource;
@@ -166,4 +167,148 @@ class QuantityTest {
 
     }
 
+    @Nested
+    @DisplayName("Fixed-point Representation Tests")
+    class FixedPointTest {
+
+        @ParameterizedTest
+        @ValueSource(longs = {0, 100, 500, 100_000})
+        @DisplayName("Given a whole lot of 100 shares, when ofShares is called twice, then return the same instance")
+        void should_returnSameInstance_when_valueIsWholeLot(long shares) {
+            // When
+            Quantity first = Quantity.ofShares(shares);
+            Quantity second = Quantity.ofShares(BigDecimal.valueOf(shares));
+
+            // Then
+            assertThat(first).isSameAs(second);
+        }
+
+        @Test
+        @DisplayName("Given a value that is not a whole lot, when ofShares is called, then return an equal Quantity")
+        void should_returnEqualQuantity_when_valueIsNotWholeLot() {
+            // When
+            Quantity fromLong = Quantity.ofShares(150L);
+            Quantity fromBigDecimal = Quantity.ofShares(new BigDecimal("150.00"));
+
+            // Then
+            assertThat(fromLong).isEqualTo(fromBigDecimal);
+            assertThat(fromLong.hashCode()).isEqualTo(fromBigDecimal.hashCode());
+        }
+
+        @Test
+        @DisplayName("Given shares and units of the same magnitude, when compared, then they are not equal but compare as equal")
+        void should_compareAsEqualButNotBeEqual_when_sharesAndUnitsHaveSameMagnitude() {
+            // Given
+            Quantity shares = Quantity.ofShares(10L);
+            Quantity units = Quantity.ofUnits(BigDecimal.TEN);
+
+            // When & Then
+            assertThat(shares).isNotEqualTo(units);
+            assertThat(shares.compareTo(units)).isZero();
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"922337203685478", "1E+15"})
+        @DisplayName("Given a value beyond the fixed-point range, when ofShares is called, then throws an IllegalArgumentException")
+        void should_throwException_when_valueIsTooLarge(String input) {
+            // Given
+            BigDecimal value = new BigDecimal(input);
+
+            // When & Then
+            assertThatThrownBy(() -> Quantity.ofShares(value))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Given the largest value, when created from a long or a BigDecimal, then both accept it")
+        void should_acceptLargestValue_when_createdFromLongOrBigDecimal() {
+            // When
+            Quantity fromLong = Quantity.ofShares(922_337_203_685_477L);
+            Quantity fromBigDecimal = Quantity.ofShares(new BigDecimal("922337203685477"));
+            Quantity units = Quantity.ofUnits(new BigDecimal("922337203685477.0000"));
+
+            // Then
+            assertThat(fromBigDecimal).isEqualTo(fromLong);
+            assertThat(units.compareTo(fromLong)).isZero();
+        }
+
+        @Test
+        @DisplayName("Given units just past the largest value, when ofUnits is called, then throws an IllegalArgumentException")
+        void should_throwException_when_unitsExceedLargestValue() {
+            // Given
+            BigDecimal value = new BigDecimal("922337203685477.0001");
+
+            // When & Then
+            assertThatThrownBy(() -> Quantity.ofUnits(value))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Arithmetic Tests")
+    class ArithmeticTest {
+
+        @ParameterizedTest(name = "{0} + {1} = {2}")
+        @CsvSource({
+                "100, 50, 150",
+                "0, 1000, 1000"
+        })
+        @DisplayName("Given two share quantities, when added, then return the share sum")
+        void should_returnShareSum_when_sharesAdded(long left, long right, long expected) {
+            // When
+            Quantity result = Quantity.ofShares(left).add(Quantity.ofShares(right));
+
+            // Then
+            assertThat(result).isEqualTo(Quantity.ofShares(expected));
+            assertThat(result.value().scale()).isEqualTo(0);
+        }
+
+        @ParameterizedTest(name = "{0} - {1} = {2}")
+        @CsvSource({
+                "10.5, 0.2501, 10.2499",
+                "1.0001, 1.0001, 0"
+        })
+        @DisplayName("Given two unit quantities, when subtracted, then return the exact difference")
+        void should_returnExactDifference_when_unitsSubtracted(String left, String right, String expected) {
+            // When
+            Quantity result = Quantity.ofUnits(new BigDecimal(left)).subtract(Quantity.ofUnits(new BigDecimal(right)));
+
+            // Then
+            assertThat(result).isEqualTo(Quantity.ofUnits(new BigDecimal(expected)));
+        }
+
+        @Test
+        @DisplayName("Given a larger subtrahend, when subtracted, then throws an IllegalArgumentException")
+        void should_throwException_when_differenceIsNegative() {
+            // Given
+            Quantity hundred = Quantity.ofShares(100L);
+            Quantity twoHundred = Quantity.ofShares(200L);
+
+            // When & Then
+            assertThatThrownBy(() -> hundred.subtract(twoHundred))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @ParameterizedTest(name = "{0} x {1} = {2}")
+        @CsvSource({
+                "shares, 1000, 5800, 5800000",
+                "units, 1.5, 5801, 8701.5000",
+                "units, 0.0001, 1, 0.0001",
+                "shares, 922337203685477, 922337203685477, 850705917302345087271540717529"
+        })
+        @DisplayName("Given a quantity and a price, when multiplied, then return the exact unrounded product")
+        void should_returnExactProduct_when_multipliedByPrice(String kind, String quantity, String price, String expected) {
+            // Given
+            BigDecimal value = new BigDecimal(quantity);
+            Quantity q = kind.equals("shares") ? Quantity.ofShares(value) : Quantity.ofUnits(value);
+
+            // When
+            BigDecimal result = q.multiply(Money.of(new BigDecimal(price)));
+
+            // Then
+            assertThat(result).isEqualTo(q.value().multiply(new BigDecimal(price)));
+            assertThat(result).isEqualByComparingTo(expected);
+        }
+    }
+
 }
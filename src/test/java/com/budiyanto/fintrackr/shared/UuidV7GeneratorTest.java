@@ -0,0 +1,85 @@
+package com.budiyanto.fintrackr.shared;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UuidV7Generator Tests")
+class UuidV7GeneratorTest {
+
+    private static final long NOW = 1_792_281_600_000L; // 2026-10-18T00:00:00Z
+
+    @Test
+    @DisplayName("Given a clock, when an id is generated, then return a version 7 IETF-variant UUID carrying the timestamp")
+    void should_returnVersion7Uuid_when_idGenerated() {
+        // Given
+        UuidV7Generator generator = new UuidV7Generator(() -> NOW);
+
+        // When
+        UUID id = generator.nextId();
+
+        // Then
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(NOW);
+    }
+
+    @Test
+    @DisplayName("Given more ids than the counter holds within one millisecond, when generated, then ids keep increasing")
+    void should_keepIncreasing_when_counterOverflowsWithinOneMillisecond() {
+        // Given
+        UuidV7Generator generator = new UuidV7Generator(() -> NOW);
+        UUID previous = generator.nextId();
+
+        // When & Then
+        for (int i = 0; i < 10_000; i++) {
+            UUID next = generator.nextId();
+            assertThat(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits())).isPositive();
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("Given a clock that steps backwards, when ids are generated, then ids keep increasing")
+    void should_keepIncreasing_when_clockStepsBackwards() {
+        // Given
+        AtomicLong clock = new AtomicLong(NOW);
+        UuidV7Generator generator = new UuidV7Generator(clock::get);
+        UUID before = generator.nextId();
+
+        // When
+        clock.set(NOW - 5_000);
+        UUID after = generator.nextId();
+
+        // Then
+        assertThat(Long.compareUnsigned(after.getMostSignificantBits(), before.getMostSignificantBits())).isPositive();
+    }
+
+    @Test
+    @DisplayName("Given concurrent writers, when ids are generated, then every id is unique")
+    void should_returnUniqueIds_when_generatedConcurrently() {
+        // Given
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            IntStream.range(0, 8).forEach(thread -> executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    ids.add(IdGenerator.timeOrdered().nextId());
+                }
+            }));
+        }
+
+        // Then
+        assertThat(ids).hasSize(80_000);
+    }
+}